@@ -2,6 +2,7 @@ import java.util.*
 
 plugins {
     id("java-library")
+    id("java-test-fixtures")
     id("com.github.johnrengelman.shadow")
     id("biz.aQute.bnd.builder")
     id("maven-publish")
@@ -12,6 +13,7 @@ plugins {
     id("com.github.sgtsilvio.gradle.utf8")
     id("com.github.sgtsilvio.gradle.metadata")
     id("com.github.sgtsilvio.gradle.javadoc-links")
+    id("me.champeau.gradle.jmh")
 }
 
 
@@ -94,7 +96,7 @@ dependencies {
 
 /* ******************** optional dependencies ******************** */
 
-listOf("websocket", "proxy", "epoll").forEach {
+listOf("websocket", "proxy", "epoll", "dns").forEach {
     java.registerFeature(it) {
         usingSourceSet(sourceSets["main"])
     }
@@ -104,6 +106,46 @@ dependencies {
     "websocketImplementation"("io.netty:netty-codec-http:${property("netty.version")}")
     "proxyImplementation"("io.netty:netty-handler-proxy:${property("netty.version")}")
     "epollImplementation"("io.netty:netty-transport-native-epoll:${property("netty.version")}:linux-x86_64")
+    "dnsImplementation"("io.netty:netty-resolver-dns:${property("netty.version")}")
+}
+
+
+/* ******************** java 11 (multi-release jar) ******************** */
+
+val java11 by sourceSets.creating {
+    java.setSrcDirs(listOf("src/main/java11"))
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+}
+
+tasks.named<JavaCompile>(java11.compileJavaTaskName) {
+    sourceCompatibility = "11"
+    targetCompatibility = "11"
+    options.release.set(11)
+}
+
+// the java 11 classes have to be in front of the main classes as they replace some of them
+val java11Test by sourceSets.creating {
+    java.setSrcDirs(listOf("src/test/java11"))
+    compileClasspath = java11.output + sourceSets.test.get().compileClasspath
+    runtimeClasspath = output + java11.output + sourceSets.test.get().runtimeClasspath
+}
+
+tasks.named<JavaCompile>(java11Test.compileJavaTaskName) {
+    sourceCompatibility = "11"
+    targetCompatibility = "11"
+    options.release.set(11)
+}
+
+val java11TestTask = tasks.register<Test>("java11Test") {
+    description = "Runs the tests of the java 11 classes."
+    group = "verification"
+    testClassesDirs = java11Test.output.classesDirs
+    classpath = java11Test.runtimeClasspath
+    useJUnitPlatform()
+}
+
+tasks.check {
+    dependsOn(java11TestTask)
 }
 
 
@@ -133,10 +175,34 @@ dependencies {
     testImplementation("org.bouncycastle:bcprov-jdk15on:${property("bouncycastle.version")}")
     testImplementation("org.bouncycastle:bcpkix-jdk15on:${property("bouncycastle.version")}")
     testImplementation("org.eclipse.paho:org.eclipse.paho.client.mqttv3:${property("paho.version")}")
+    testImplementation("io.netty:netty-resolver-dns:${property("netty.version")}")
     testRuntimeOnly("org.slf4j:slf4j-simple:${property("slf4j.version")}")
 }
 
 
+/* ******************** test fixtures ******************** */
+
+dependencies {
+    testFixturesImplementation("io.netty:netty-buffer:${property("netty.version")}")
+    testFixturesImplementation("io.netty:netty-codec:${property("netty.version")}")
+    testFixturesImplementation("io.netty:netty-common:${property("netty.version")}")
+    testFixturesImplementation("io.netty:netty-transport:${property("netty.version")}")
+    testFixturesImplementation("org.jetbrains:annotations:${property("annotations.version")}")
+}
+
+(components["java"] as AdhocComponentWithVariants).apply {
+    withVariantsFromConfiguration(configurations["testFixturesApiElements"]) { skip() }
+    withVariantsFromConfiguration(configurations["testFixturesRuntimeElements"]) { skip() }
+}
+
+
+/* ******************** benchmarks ******************** */
+
+jmh {
+    jmhVersion = "${property("jmh.version")}"
+}
+
+
 /* ******************** jars ******************** */
 
 allprojects {
@@ -171,12 +237,21 @@ tasks.jar {
                 "com.hivemq.client.rx.*," +
                 "com.hivemq.client.util.*")
     }
+    into("META-INF/versions/11") {
+        from(java11.output)
+    }
+    manifest.attributes("Multi-Release" to "true")
 }
 
 tasks.shadowJar {
     archiveAppendix.set("shaded")
     archiveClassifier.set("")
 
+    into("META-INF/versions/11") {
+        from(java11.output)
+    }
+    manifest.attributes("Multi-Release" to "true")
+
     configurations = listOf(project.run {
         configurations.create("shaded") {
             extendsFrom(configurations["runtimeClasspath"])
@@ -17,4 +17,5 @@ metadata {
 
 dependencies {
     implementation(rootProject)
+    implementation("io.netty:netty-codec-http:${property("netty.version")}")
 }
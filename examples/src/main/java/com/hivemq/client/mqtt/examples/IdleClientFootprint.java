@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.examples;
+
+import com.hivemq.client.mqtt.mqtt5.Mqtt5AsyncClient;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5Client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Measures the retained heap per connected but idle client.
+ * <p>
+ * Usage: <code>IdleClientFootprint &lt;client count&gt; [server host] [server port]</code>, e.g.
+ * <code>IdleClientFootprint 100000 localhost 1883</code>. Connecting many clients from one host requires raising the
+ * open file limit and usually several source addresses or broker ports.
+ * <p>
+ * The retained heap is measured after several full garbage collections and does not include socket buffers allocated
+ * by the operating system or direct memory of Netty's buffer pools. The result depends on the JVM, its settings and the
+ * configuration of the clients, so it is only meaningful for comparing builds on the same setup.
+ */
+public class IdleClientFootprint {
+
+    public static void main(final String[] args) throws InterruptedException {
+        final int clientCount = Integer.parseInt(args[0]);
+        final String host = (args.length > 1) ? args[1] : "localhost";
+        final int port = (args.length > 2) ? Integer.parseInt(args[2]) : 1883;
+
+        final List<Mqtt5AsyncClient> clients = new ArrayList<>(clientCount);
+        final long baseline = usedHeap();
+
+        final List<CompletableFuture<?>> connectFutures = new ArrayList<>(clientCount);
+        for (int i = 0; i < clientCount; i++) {
+            final Mqtt5AsyncClient client = Mqtt5Client.builder().serverHost(host).serverPort(port).buildAsync();
+            clients.add(client);
+            connectFutures.add(client.connect());
+        }
+        CompletableFuture.allOf(connectFutures.toArray(new CompletableFuture[0])).join();
+
+        // let the clients settle into the idle state, e.g. the first keep alive pings are sent and acknowledged
+        Thread.sleep(5_000);
+        final long connected = usedHeap();
+
+        System.out.println("Clients:            " + clientCount);
+        System.out.println("Retained heap:      " + ((connected - baseline) / 1024) + " KiB");
+        System.out.println("Bytes per client:   " + ((connected - baseline) / clientCount));
+
+        final List<CompletableFuture<?>> disconnectFutures = new ArrayList<>(clientCount);
+        for (final Mqtt5AsyncClient client : clients) {
+            disconnectFutures.add(client.disconnect());
+        }
+        CompletableFuture.allOf(disconnectFutures.toArray(new CompletableFuture[0])).join();
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        final Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // several collections are needed until finalizers and soft references settle
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(200);
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
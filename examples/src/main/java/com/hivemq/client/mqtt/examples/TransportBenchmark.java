@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.examples;
+
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.MqttTransportType;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5BlockingClient;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5Client;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput and round trip latency of publishes over a selectable transport.
+ * <p>
+ * Usage: <code>TransportBenchmark &lt;transport type&gt; &lt;server host or path&gt; [server port]</code>, e.g.
+ * <code>TransportBenchmark EPOLL_DOMAIN_SOCKET /var/run/mqtt.sock</code> or <code>TransportBenchmark NIO localhost
+ * 1883</code>.
+ */
+public class TransportBenchmark {
+
+    private static final int THROUGHPUT_MESSAGES = 1_000_000;
+    private static final int LATENCY_MESSAGES = 10_000;
+    private static final int PAYLOAD_SIZE = 64;
+
+    public static void main(final String[] args) throws InterruptedException {
+        final MqttTransportType transportType = MqttTransportType.valueOf(args[0]);
+        final boolean usesServerPath =
+                (transportType == MqttTransportType.EPOLL_DOMAIN_SOCKET) || (transportType == MqttTransportType.LOCAL);
+
+        final Mqtt5BlockingClient client = Mqtt5Client.builder()
+                .transportConfig()
+                .transportType(transportType)
+                .serverHost(usesServerPath ? "localhost" : args[1])
+                .serverPort((args.length > 2) ? Integer.parseInt(args[2]) : 1883)
+                .serverPath(usesServerPath ? args[1] : null)
+                .applyTransportConfig()
+                .buildBlocking();
+        client.connect();
+
+        throughput(client);
+        latency(client);
+
+        client.disconnect();
+    }
+
+    private static void throughput(final Mqtt5BlockingClient client) throws InterruptedException {
+        final CountDownLatch received = new CountDownLatch(THROUGHPUT_MESSAGES);
+        client.toAsync()
+                .subscribeWith()
+                .topicFilter("benchmark/throughput")
+                .callback(publish -> received.countDown())
+                .send()
+                .join();
+
+        final byte[] payload = new byte[PAYLOAD_SIZE];
+        final long start = System.nanoTime();
+        for (int i = 0; i < THROUGHPUT_MESSAGES; i++) {
+            client.toAsync().publishWith().topic("benchmark/throughput").qos(MqttQos.AT_MOST_ONCE).payload(payload)
+                    .send();
+        }
+        final boolean completed = received.await(1, TimeUnit.MINUTES);
+        final long durationNanos = System.nanoTime() - start;
+        client.unsubscribeWith().topicFilter("benchmark/throughput").send();
+
+        final long receivedCount = THROUGHPUT_MESSAGES - received.getCount();
+        System.out.println("throughput: " + (receivedCount * TimeUnit.SECONDS.toNanos(1) / durationNanos) +
+                " messages/s" + (completed ? "" : " (" + receivedCount + " of " + THROUGHPUT_MESSAGES + " received)"));
+    }
+
+    private static void latency(final Mqtt5BlockingClient client) throws InterruptedException {
+        final long[] latencies = new long[LATENCY_MESSAGES];
+        try (final Mqtt5BlockingClient.Mqtt5Publishes publishes =
+                     client.publishes(MqttGlobalPublishFilter.SUBSCRIBED)) {
+            client.subscribeWith().topicFilter("benchmark/latency").send();
+            for (int i = 0; i < LATENCY_MESSAGES; i++) {
+                final ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_SIZE);
+                payload.putLong(0, System.nanoTime());
+                client.publishWith().topic("benchmark/latency").qos(MqttQos.AT_MOST_ONCE).payload(payload).send();
+                final Mqtt5Publish publish = publishes.receive();
+                latencies[i] = System.nanoTime() - publish.getPayload().map(p -> p.getLong(0)).orElse(0L);
+            }
+            client.unsubscribeWith().topicFilter("benchmark/latency").send();
+        }
+
+        Arrays.sort(latencies);
+        System.out.println("latency: p50=" + micros(latencies, 0.5) + "us p99=" + micros(latencies, 0.99) +
+                "us p99.9=" + micros(latencies, 0.999) + "us max=" + micros(latencies, 1) + "us");
+    }
+
+    private static long micros(final long[] sortedLatencies, final double percentile) {
+        final int index = Math.min(sortedLatencies.length - 1, (int) (sortedLatencies.length * percentile));
+        return TimeUnit.NANOSECONDS.toMicros(sortedLatencies[index]);
+    }
+}
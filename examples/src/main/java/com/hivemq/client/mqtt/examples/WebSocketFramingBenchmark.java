@@ -0,0 +1,154 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.examples;
+
+import com.hivemq.client.internal.mqtt.handler.websocket.MqttWebSocketFrameCoalescer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocket13FrameEncoder;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketClientExtension;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionData;
+import io.netty.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateClientExtensionHandshaker;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Measures the bytes on the wire and the CPU time of the outgoing WebSocket framing of the client for bursts of MQTT
+ * packets with and without permessage-deflate and frame coalescing.
+ * <p>
+ * The outgoing WebSocket pipeline of the client (frame encoder with masking, optional deflate encoder, framing of MQTT
+ * packets, optional coalescing) runs in an embedded channel, so no server is needed and the numbers only contain the
+ * framing and compression work.
+ */
+public class WebSocketFramingBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int ITERATIONS = 10_000;
+    private static final int PUBACK_BURST = 1_000;
+    private static final int PUBLISH_BURST = 100;
+
+    public static void main(final String[] args) {
+        final ByteBuf[] pubAcks = new ByteBuf[PUBACK_BURST];
+        for (int i = 0; i < PUBACK_BURST; i++) {
+            pubAcks[i] = Unpooled.wrappedBuffer(new byte[]{0x40, 0x02, (byte) (i >> 8), (byte) i});
+        }
+        final ByteBuf[] publishes = new ByteBuf[PUBLISH_BURST];
+        for (int i = 0; i < PUBLISH_BURST; i++) {
+            publishes[i] = publish(i);
+        }
+
+        System.out.println(String.format("%-26s| %28s | %28s", "mode", PUBACK_BURST + " PUBACKs: bytes, cpu us",
+                PUBLISH_BURST + " PUBLISHes: bytes, cpu us"));
+        run("per packet frames", false, false, false, pubAcks, publishes);
+        run("coalescing", true, false, false, pubAcks, publishes);
+        run("deflate", false, true, false, pubAcks, publishes);
+        run("deflate, coalescing", true, true, false, pubAcks, publishes);
+        run("deflate no ctx, coalescing", true, true, true, pubAcks, publishes);
+    }
+
+    private static void run(
+            final String mode,
+            final boolean coalescing,
+            final boolean deflate,
+            final boolean noContextTakeover,
+            final ByteBuf[] pubAcks,
+            final ByteBuf[] publishes) {
+
+        final EmbeddedChannel channel = channel(coalescing, deflate, noContextTakeover);
+        final String pubAckResult = measure(channel, pubAcks);
+        final String publishResult = measure(channel, publishes);
+        channel.finishAndReleaseAll();
+        System.out.println(String.format("%-26s| %28s | %28s", mode, pubAckResult, publishResult));
+    }
+
+    private static EmbeddedChannel channel(
+            final boolean coalescing, final boolean deflate, final boolean noContextTakeover) {
+
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        channel.pipeline().addLast(new WebSocket13FrameEncoder(true));
+        if (deflate) {
+            final Map<String, String> parameters = noContextTakeover ?
+                    Collections.singletonMap("client_no_context_takeover", null) : Collections.emptyMap();
+            final WebSocketClientExtension extension =
+                    new PerMessageDeflateClientExtensionHandshaker(6, false, 15, noContextTakeover, false)
+                            .handshakeExtension(new WebSocketExtensionData("permessage-deflate", parameters));
+            channel.pipeline().addLast(extension.newExtensionEncoder());
+        }
+        channel.pipeline().addLast(new ChannelOutboundHandlerAdapter() { // same as MqttWebSocketCodec
+            @Override
+            public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+                ctx.write(new BinaryWebSocketFrame((ByteBuf) msg), promise);
+            }
+        });
+        if (coalescing) {
+            channel.pipeline().addLast(new MqttWebSocketFrameCoalescer());
+        }
+        return channel;
+    }
+
+    private static String measure(final EmbeddedChannel channel, final ByteBuf[] burst) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            writeBurst(channel, burst);
+        }
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        final long startCpuNanos = threadMXBean.getCurrentThreadCpuTime();
+        long bytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes += writeBurst(channel, burst);
+        }
+        final long cpuNanos = threadMXBean.getCurrentThreadCpuTime() - startCpuNanos;
+        return String.format("%10d, %10.1f", bytes / ITERATIONS, cpuNanos / 1_000.0 / ITERATIONS);
+    }
+
+    private static long writeBurst(final EmbeddedChannel channel, final ByteBuf[] burst) {
+        for (final ByteBuf packet : burst) {
+            channel.write(packet.retainedDuplicate());
+        }
+        channel.flush();
+        long bytes = 0;
+        ByteBuf out;
+        while ((out = channel.readOutbound()) != null) {
+            bytes += out.readableBytes();
+            out.release();
+        }
+        return bytes;
+    }
+
+    private static ByteBuf publish(final int index) {
+        final byte[] topic = ("sensors/" + (index % 10) + "/temperature").getBytes(StandardCharsets.UTF_8);
+        final byte[] payload = ("{\"sensor\":" + (index % 10) + ",\"value\":" + (20 + index % 7) + ".5,\"unit\":\"C\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        final int remainingLength = 2 + topic.length + 2 + 1 + payload.length; // topic, packet id, properties, payload
+        final ByteBuf buf = Unpooled.buffer(2 + remainingLength);
+        buf.writeByte(0x32); // PUBLISH QoS 1
+        buf.writeByte(remainingLength);
+        buf.writeShort(topic.length).writeBytes(topic);
+        buf.writeShort(index + 1);
+        buf.writeByte(0);
+        buf.writeBytes(payload);
+        return buf;
+    }
+}
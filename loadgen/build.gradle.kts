@@ -0,0 +1,31 @@
+plugins {
+    id("java")
+    id("application")
+}
+
+
+/* ******************** metadata ******************** */
+
+description = "Load generator using the HiveMQ MQTT Client"
+
+metadata {
+    moduleName.set("com.hivemq.client.mqtt.loadgen")
+    readableName.set("HiveMQ MQTT Client load generator")
+}
+
+
+/* ******************** dependencies ******************** */
+
+dependencies {
+    implementation(rootProject)
+    implementation(project(":${rootProject.name}-reactor"))
+    implementation("org.jetbrains:annotations:${property("annotations.version")}")
+    implementation("org.hdrhistogram:HdrHistogram:${property("hdrhistogram.version")}")
+}
+
+
+/* ******************** application ******************** */
+
+application {
+    mainClass.set("com.hivemq.client.mqtt.loadgen.LoadGenerator")
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.loadgen;
+
+import com.hivemq.client.mqtt.mqtt5.Mqtt5ClientBuilder;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5Client;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5RxClient;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscribe;
+import com.hivemq.client.mqtt.mqtt5.reactor.Mqtt5ReactorClient;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.disposables.CompositeDisposable;
+import io.reactivex.disposables.Disposables;
+import org.jetbrains.annotations.NotNull;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Generates MQTT load with many clients and reports throughput, latency, GC and allocation statistics.
+ * <p>
+ * Usage: <code>LoadGenerator [--name=value ...]</code>, see {@link LoadGeneratorOptions#USAGE} for the options, e.g.
+ * <code>LoadGenerator --host=broker --publishers=100 --subscribers=10 --rate=500 --qos=1 --topics=1000</code>.
+ * <p>
+ * All clients share the Netty event loop group of the client library. Publishers publish at their target rate with
+ * {@link Mqtt5RxClient#publish(Flowable)}, messages which can not be published at the target rate are dropped and
+ * counted instead of queued. Subscribers subscribe to all topics with manual acknowledgement and acknowledge every
+ * message after recording it. Each payload starts with the publish timestamp, which is used for the latencies.
+ * <p>
+ * With <code>--api=reactor</code> the same load is generated with {@link Mqtt5ReactorClient}, which allows comparing
+ * the overhead of the RxJava and the reactor API.
+ */
+public class LoadGenerator {
+
+    private static final @NotNull String TOPIC_PREFIX = "loadgen/";
+
+    public static void main(final @NotNull String @NotNull [] args) throws InterruptedException {
+        final LoadGeneratorOptions options;
+        try {
+            options = new LoadGeneratorOptions(args);
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadGeneratorOptions.USAGE);
+            System.exit(1);
+            return;
+        }
+        new LoadGenerator(options).run();
+    }
+
+    private final @NotNull LoadGeneratorOptions options;
+    private final @NotNull LoadStatistics statistics = new LoadStatistics();
+    private final @NotNull List<Mqtt5RxClient> publishers = new ArrayList<>();
+    private final @NotNull List<Mqtt5RxClient> subscribers = new ArrayList<>();
+    private final @NotNull CompositeDisposable flows = new CompositeDisposable();
+
+    private LoadGenerator(final @NotNull LoadGeneratorOptions options) {
+        this.options = options;
+    }
+
+    private void run() throws InterruptedException {
+        for (int i = 0; i < options.subscribers; i++) {
+            subscribers.add(client("loadgen-sub-" + i));
+        }
+        for (int i = 0; i < options.publishers; i++) {
+            publishers.add(client("loadgen-pub-" + i));
+        }
+        connect(subscribers);
+        connect(publishers);
+        System.out.println("Connected " + subscribers.size() + " subscribers and " + publishers.size() + " publishers");
+
+        for (final Mqtt5RxClient subscriber : subscribers) {
+            subscribe(subscriber);
+        }
+        for (int i = 0; i < publishers.size(); i++) {
+            publish(publishers.get(i), i);
+        }
+
+        final ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(statistics::printIntervalReport, 1, 1, TimeUnit.SECONDS);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(options.duration));
+        reporter.shutdownNow();
+
+        flows.dispose();
+        final List<Completable> disconnects = new ArrayList<>(publishers.size() + subscribers.size());
+        for (final Mqtt5RxClient client : publishers) {
+            disconnects.add(client.disconnect().onErrorComplete());
+        }
+        for (final Mqtt5RxClient client : subscribers) {
+            disconnects.add(client.disconnect().onErrorComplete());
+        }
+        Completable.merge(disconnects).blockingAwait();
+        statistics.printSummary();
+    }
+
+    private @NotNull Mqtt5RxClient client(final @NotNull String identifier) {
+        final Mqtt5ClientBuilder builder =
+                Mqtt5Client.builder().identifier(identifier).serverHost(options.host).serverPort(options.port);
+        if (options.threads > 0) {
+            // all clients with the same executor config share one event loop group
+            builder.executorConfig().nettyThreads(options.threads).applyExecutorConfig();
+        }
+        return builder.buildRx();
+    }
+
+    private void connect(final @NotNull List<Mqtt5RxClient> clients) {
+        final List<Completable> connects = new ArrayList<>(clients.size());
+        for (final Mqtt5RxClient client : clients) {
+            connects.add(client.connectWith()
+                    .restrictions()
+                    .sendTopicAliasMaximum(options.topicAliases)
+                    .applyRestrictions()
+                    .applyConnect()
+                    .ignoreElement());
+        }
+        Completable.merge(connects).blockingAwait();
+    }
+
+    private void subscribe(final @NotNull Mqtt5RxClient subscriber) {
+        final Mqtt5Subscribe subscribe =
+                Mqtt5Subscribe.builder().topicFilter(TOPIC_PREFIX + "#").qos(options.qos).build();
+        final Consumer<Mqtt5Publish> onPublish = publish -> {
+            publish.getPayload().map(LoadGenerator::timestamp).ifPresent(statistics::recordEndToEndLatency);
+            statistics.received.increment();
+            publish.acknowledge();
+        };
+        final Consumer<Throwable> onError = throwable -> System.err.println("Subscriber failed: " + throwable);
+
+        if (options.reactor) {
+            final reactor.core.Disposable flow = Mqtt5ReactorClient.from(subscriber)
+                    .subscribePublishes(subscribe, true)
+                    .subscribe(onPublish, onError);
+            flows.add(Disposables.fromAction(flow::dispose));
+        } else {
+            flows.add(subscriber.subscribePublishes(subscribe, true).subscribe(onPublish::accept, onError::accept));
+        }
+    }
+
+    private void publish(final @NotNull Mqtt5RxClient publisher, final int index) {
+        final long periodNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        final Consumer<Mqtt5PublishResult> onResult = result -> {
+            if (result.getError().isPresent()) {
+                statistics.failed.increment();
+            } else {
+                result.getPublish().getPayload().map(LoadGenerator::timestamp).ifPresent(statistics::recordAckLatency);
+                statistics.acknowledged.increment();
+            }
+        };
+        final Consumer<Throwable> onError = throwable -> System.err.println("Publisher failed: " + throwable);
+
+        if (options.reactor) {
+            final Flux<Mqtt5Publish> publishFlux = Flux.interval(Duration.ofNanos(periodNanos))
+                    .onBackpressureDrop(ignored -> statistics.dropped.increment())
+                    .map(count -> createPublish(index, count));
+            final reactor.core.Disposable flow =
+                    Mqtt5ReactorClient.from(publisher).publish(publishFlux).subscribe(onResult, onError);
+            flows.add(Disposables.fromAction(flow::dispose));
+        } else {
+            final Flowable<Mqtt5Publish> publishFlowable = Flowable.interval(periodNanos, TimeUnit.NANOSECONDS)
+                    .onBackpressureDrop(ignored -> statistics.dropped.increment())
+                    .map(count -> createPublish(index, count));
+            flows.add(publisher.publish(publishFlowable).subscribe(onResult::accept, onError::accept));
+        }
+    }
+
+    private @NotNull Mqtt5Publish createPublish(final int index, final long count) {
+        final ByteBuffer payload = ByteBuffer.allocate(options.payloadSize);
+        payload.putLong(0, System.nanoTime());
+        statistics.published.increment();
+        return Mqtt5Publish.builder()
+                .topic(TOPIC_PREFIX + ((index + count) % options.topics))
+                .qos(options.qos)
+                .payload(payload)
+                .build();
+    }
+
+    private static long timestamp(final @NotNull ByteBuffer payload) {
+        return payload.getLong(payload.position());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.loadgen;
+
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options of the {@link LoadGenerator}, parsed from <code>--name=value</code> arguments.
+ */
+class LoadGeneratorOptions {
+
+    static final @NotNull String USAGE = "Options (all optional):\n" +
+            "  --host=<host>                 server host (default localhost)\n" +
+            "  --port=<port>                 server port (default 1883)\n" +
+            "  --publishers=<count>          publishing clients (default 1)\n" +
+            "  --subscribers=<count>         subscribing clients (default 1)\n" +
+            "  --rate=<messages/s>           publish rate per publishing client (default 1000)\n" +
+            "  --qos=<0|1|2>                 QoS of publishes and subscriptions (default 1)\n" +
+            "  --payload-size=<bytes>        payload size, at least 8 for the timestamp (default 64)\n" +
+            "  --topics=<count>              topic cardinality, topics are loadgen/<index> (default 1)\n" +
+            "  --topic-aliases=<count>       topic alias maximum for sending, 0 disables (default 0)\n" +
+            "  --threads=<count>             Netty threads shared by all clients, 0 for the default (default 0)\n" +
+            "  --duration=<seconds>          duration of the load (default 60)\n" +
+            "  --api=<rx|reactor>            client API used for publishing and subscribing (default rx)\n";
+
+    final @NotNull String host;
+    final int port;
+    final int publishers;
+    final int subscribers;
+    final int rate;
+    final @NotNull MqttQos qos;
+    final int payloadSize;
+    final int topics;
+    final int topicAliases;
+    final int threads;
+    final int duration;
+    final boolean reactor;
+
+    LoadGeneratorOptions(final @NotNull String @NotNull [] args) {
+        final Map<String, String> options = new HashMap<>();
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || (separator == -1)) {
+                throw new IllegalArgumentException("Invalid argument: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        host = string(options, "host", "localhost");
+        port = integer(options, "port", 1883, 1, 65_535);
+        publishers = integer(options, "publishers", 1, 0, Integer.MAX_VALUE);
+        subscribers = integer(options, "subscribers", 1, 0, Integer.MAX_VALUE);
+        rate = integer(options, "rate", 1000, 1, 1_000_000_000);
+        qos = MqttQos.values()[integer(options, "qos", 1, 0, 2)];
+        payloadSize = integer(options, "payload-size", 64, Long.BYTES, 268_435_455);
+        topics = integer(options, "topics", 1, 1, Integer.MAX_VALUE);
+        topicAliases = integer(options, "topic-aliases", 0, 0, 65_535);
+        threads = integer(options, "threads", 0, 0, Integer.MAX_VALUE);
+        duration = integer(options, "duration", 60, 1, Integer.MAX_VALUE);
+        final String api = string(options, "api", "rx");
+        if (!api.equals("rx") && !api.equals("reactor")) {
+            throw new IllegalArgumentException("--api must be rx or reactor, but was " + api);
+        }
+        reactor = api.equals("reactor");
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+    }
+
+    private static @NotNull String string(
+            final @NotNull Map<String, String> options, final @NotNull String name, final @NotNull String def) {
+
+        final String value = options.remove(name);
+        return (value == null) ? def : value;
+    }
+
+    private static int integer(
+            final @NotNull Map<String, String> options,
+            final @NotNull String name,
+            final int def,
+            final int min,
+            final int max) {
+
+        final String value = options.remove(name);
+        if (value == null) {
+            return def;
+        }
+        final int integer;
+        try {
+            integer = Integer.parseInt(value);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("--" + name + " must be an integer, but was " + value);
+        }
+        if ((integer < min) || (integer > max)) {
+            throw new IllegalArgumentException("--" + name + " must be in the range [" + min + ", " + max + "]");
+        }
+        return integer;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the counters and latency histograms of the {@link LoadGenerator} and prints interval and summary reports.
+ * <p>
+ * Latencies are recorded in microseconds:
+ * <ul>
+ *   <li>ack latency: from creating the Publish message until its result is emitted, i.e. until the PubAck (QoS 1),
+ *     PubComp (QoS 2) or the write (QoS 0)
+ *   <li>end to end latency: from creating the Publish message until it is received by a subscriber, only meaningful if
+ *     publishers and subscribers run in this process or on hosts with synchronized clocks
+ * </ul>
+ * Allocation statistics sum the allocated bytes of all live threads, so allocations of threads which terminated
+ * during the run are not included.
+ */
+class LoadStatistics {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    final @NotNull LongAdder published = new LongAdder();
+    final @NotNull LongAdder dropped = new LongAdder();
+    final @NotNull LongAdder acknowledged = new LongAdder();
+    final @NotNull LongAdder failed = new LongAdder();
+    final @NotNull LongAdder received = new LongAdder();
+
+    private final @NotNull Recorder ackLatency = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final @NotNull Recorder endToEndLatency = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final @NotNull Histogram totalAckLatency = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final @NotNull Histogram totalEndToEndLatency = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private @Nullable Histogram ackInterval;
+    private @Nullable Histogram endToEndInterval;
+
+    private final long startNanos = System.nanoTime();
+    private long lastReportNanos = startNanos;
+    private long lastPublished;
+    private long lastAcknowledged;
+    private long lastReceived;
+    private long lastGcCount;
+    private long lastGcMillis;
+    private final long startAllocatedBytes = allocatedBytes();
+    private long lastAllocatedBytes = startAllocatedBytes;
+
+    void recordAckLatency(final long publishNanos) {
+        ackLatency.recordValue(micros(publishNanos));
+    }
+
+    void recordEndToEndLatency(final long publishNanos) {
+        endToEndLatency.recordValue(micros(publishNanos));
+    }
+
+    private static long micros(final long publishNanos) {
+        return Math.min(Math.max(0, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - publishNanos)),
+                HIGHEST_TRACKABLE_MICROS);
+    }
+
+    synchronized void printIntervalReport() {
+        final long now = System.nanoTime();
+        final double seconds = (now - lastReportNanos) / 1e9;
+        lastReportNanos = now;
+
+        final long published = this.published.sum();
+        final long acknowledged = this.acknowledged.sum();
+        final long received = this.received.sum();
+        ackInterval = ackLatency.getIntervalHistogram(ackInterval);
+        endToEndInterval = endToEndLatency.getIntervalHistogram(endToEndInterval);
+        totalAckLatency.add(ackInterval);
+        totalEndToEndLatency.add(endToEndInterval);
+
+        final long gcCount = gcCount();
+        final long gcMillis = gcMillis();
+        final long allocatedBytes = allocatedBytes();
+
+        System.out.printf("%6.1fs | publish/s %9.0f | ack/s %9.0f | receive/s %9.0f | ack us %s | e2e us %s | " +
+                        "gc %3d (%4d ms) | alloc MB/s %7.1f%n", (now - startNanos) / 1e9,
+                (published - lastPublished) / seconds, (acknowledged - lastAcknowledged) / seconds,
+                (received - lastReceived) / seconds, percentiles(ackInterval), percentiles(endToEndInterval),
+                gcCount - lastGcCount, gcMillis - lastGcMillis,
+                (allocatedBytes - lastAllocatedBytes) / seconds / (1024 * 1024));
+
+        lastPublished = published;
+        lastAcknowledged = acknowledged;
+        lastReceived = received;
+        lastGcCount = gcCount;
+        lastGcMillis = gcMillis;
+        lastAllocatedBytes = allocatedBytes;
+    }
+
+    synchronized void printSummary() {
+        printIntervalReport();
+        final double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.println();
+        System.out.printf("Duration:        %.1f s%n", seconds);
+        System.out.printf("Published:       %d (%.0f/s), dropped by rate limiting: %d%n", published.sum(),
+                published.sum() / seconds, dropped.sum());
+        System.out.printf("Acknowledged:    %d (%.0f/s), failed: %d%n", acknowledged.sum(),
+                acknowledged.sum() / seconds, failed.sum());
+        System.out.printf("Received:        %d (%.0f/s)%n", received.sum(), received.sum() / seconds);
+        System.out.printf("Ack latency:     %s%n", percentiles(totalAckLatency));
+        System.out.printf("E2E latency:     %s%n", percentiles(totalEndToEndLatency));
+        System.out.printf("GC:              %d collections, %d ms%n", gcCount(), gcMillis());
+        System.out.printf("Allocated:       %.1f MB%n", (allocatedBytes() - startAllocatedBytes) / (1024.0 * 1024));
+    }
+
+    private static @NotNull String percentiles(final @NotNull Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return "p50 - p99 - p99.9 - max -";
+        }
+        return String.format("p50 %d p99 %d p99.9 %d max %d", histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), histogram.getMaxValue());
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    private static long allocatedBytes() {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            return 0;
+        }
+        long bytes = 0;
+        for (final long threadBytes : ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(
+                threadMXBean.getAllThreadIds())) {
+            bytes += Math.max(0, threadBytes);
+        }
+        return bytes;
+    }
+}
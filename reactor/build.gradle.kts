@@ -1,5 +1,6 @@
 plugins {
     id("java-library")
+    id("me.champeau.gradle.jmh")
 }
 
 
@@ -28,10 +29,18 @@ dependencies {
 
 dependencies {
     testImplementation("io.projectreactor:reactor-test:${property("reactor.version")}")
+    testImplementation(testFixtures(rootProject))
     testImplementation("com.google.guava:guava:${property("guava.version")}")
 }
 
 
+/* ******************** benchmarks ******************** */
+
+jmh {
+    jmhVersion = "${property("jmh.version")}"
+}
+
+
 /* ******************** jars ******************** */
 
 tasks.jar {
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.reactor;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.util.MqttChecks;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two ways the publishes of {@link MqttReactorClient#publish(org.reactivestreams.Publisher)} can reach the
+ * acknowledgement link: through {@link Flowable#fromPublisher(org.reactivestreams.Publisher)} as before, or by
+ * subscribing the flux directly. The subscriber behaves like the acknowledgement link: it is a {@link
+ * FlowableSubscriber} and requests in batches like the merge of the outgoing publish flows does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MqttReactorPublishBenchmark {
+
+    @Param({"1", "1000"})
+    public int count;
+
+    private Flux<MqttPublish> publishFlux;
+
+    @Setup
+    public void setup() {
+        final Mqtt5Publish publish = new MqttPublishBuilder.Default().topic("test/topic").payload(new byte[16]).build();
+        publishFlux = Flux.range(0, count)
+                .map(i -> publish)
+                .subscribeOn(Schedulers.immediate())
+                .map(MqttChecks::publish);
+    }
+
+    @Benchmark
+    public long bridgedThroughRxJava(final @NotNull Blackhole blackhole) {
+        final LinkSubscriber subscriber = new LinkSubscriber(blackhole);
+        Flowable.fromPublisher(publishFlux).subscribe(subscriber);
+        return subscriber.received;
+    }
+
+    @Benchmark
+    public long direct(final @NotNull Blackhole blackhole) {
+        final LinkSubscriber subscriber = new LinkSubscriber(blackhole);
+        publishFlux.subscribe(subscriber);
+        return subscriber.received;
+    }
+
+    private static class LinkSubscriber implements FlowableSubscriber<MqttPublish> {
+
+        private static final int BATCH = 64;
+
+        private final @NotNull Blackhole blackhole;
+        private @Nullable Subscription subscription;
+        private int outstanding;
+        long received;
+
+        LinkSubscriber(final @NotNull Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onSubscribe(final @NotNull Subscription subscription) {
+            this.subscription = subscription;
+            outstanding = BATCH;
+            subscription.request(BATCH);
+        }
+
+        @Override
+        public void onNext(final @NotNull MqttPublish publish) {
+            blackhole.consume(publish);
+            received++;
+            if (--outstanding == 0) {
+                assert subscription != null;
+                outstanding = BATCH;
+                subscription.request(BATCH);
+            }
+        }
+
+        @Override
+        public void onError(final @NotNull Throwable t) {
+            blackhole.consume(t);
+        }
+
+        @Override
+        public void onComplete() {}
+    }
+}
@@ -153,7 +153,11 @@ public class Mqtt3ReactorClientView implements Mqtt3ReactorClient {
 
         @Override
         public @NotNull FluxWithSingle<Mqtt3Publish, Mqtt3SubAck> applySubscribe() {
-            return subscribePublishes(build(), manualAcknowledgement);
+            return FluxWithSingle.from(delegate.subscribePublishesWith()
+                    .addSubscriptions(build().getSubscriptions())
+                    .manualAcknowledgement(manualAcknowledgement)
+                    .conflate(conflate)
+                    .applySubscribe());
         }
     }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.reactor;
+
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttGlobalIncomingPublishFlowable;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttIncomingPublishFlowableBridge;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import org.jetbrains.annotations.NotNull;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+
+/**
+ * Subscribes reactor subscribers directly to the global incoming publish flow without bridging to RxJava.
+ */
+class MqttGlobalIncomingPublishFlux extends Flux<Mqtt5Publish> {
+
+    private final @NotNull MqttGlobalIncomingPublishFlowable flowable;
+
+    MqttGlobalIncomingPublishFlux(final @NotNull MqttGlobalIncomingPublishFlowable flowable) {
+        this.flowable = flowable;
+    }
+
+    @Override
+    public void subscribe(final @NotNull CoreSubscriber<? super Mqtt5Publish> subscriber) {
+        MqttIncomingPublishFlowableBridge.subscribe(flowable, subscriber);
+    }
+}
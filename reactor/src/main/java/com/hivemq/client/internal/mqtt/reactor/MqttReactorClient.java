@@ -16,12 +16,21 @@
 
 package com.hivemq.client.internal.mqtt.reactor;
 
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttRxClient;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttGlobalIncomingPublishFlowable;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttSubscribedPublishFlowable;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckFlowable;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnectBuilder;
 import com.hivemq.client.internal.mqtt.message.disconnect.MqttDisconnect;
 import com.hivemq.client.internal.mqtt.message.disconnect.MqttDisconnectBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribeBuilder;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribeBuilder;
+import com.hivemq.client.internal.mqtt.util.MqttChecks;
+import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5AsyncClient;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5BlockingClient;
@@ -38,22 +47,34 @@ import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5Unsubscribe;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
 import com.hivemq.client.mqtt.mqtt5.reactor.Mqtt5ReactorClient;
 import com.hivemq.client.rx.reactor.FluxWithSingle;
-import io.reactivex.Flowable;
 import org.jetbrains.annotations.NotNull;
 import org.reactivestreams.Publisher;
 import reactor.adapter.rxjava.RxJava2Adapter;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.concurrent.Queues;
+
+import java.util.function.Function;
 
 /**
+ * The streams of publishes and publish results subscribe reactor subscribers directly to the internal flows and only
+ * use reactor operators, they are not bridged to RxJava.
+ *
  * @author Silvio Giebl
  */
 public class MqttReactorClient implements Mqtt5ReactorClient {
 
-    private final @NotNull Mqtt5RxClient delegate;
+    private static final @NotNull Function<Mqtt5Publish, MqttPublish> PUBLISH_MAPPER = MqttChecks::publish;
 
-    public MqttReactorClient(final @NotNull Mqtt5RxClient delegate) {
+    private final @NotNull MqttRxClient delegate;
+    private final @NotNull MqttClientConfig clientConfig;
+    private final @NotNull Scheduler applicationScheduler;
+
+    public MqttReactorClient(final @NotNull MqttRxClient delegate) {
         this.delegate = delegate;
+        clientConfig = delegate.getConfig();
+        applicationScheduler = new MqttReactorScheduler(clientConfig.getExecutorConfig().getApplicationScheduler());
     }
 
     @Override
@@ -92,7 +113,15 @@ public class MqttReactorClient implements Mqtt5ReactorClient {
     public @NotNull FluxWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribePublishes(
             final @NotNull Mqtt5Subscribe subscribe, final boolean manualAcknowledgement) {
 
-        return FluxWithSingle.from(delegate.subscribePublishes(subscribe, manualAcknowledgement));
+        return subscribePublishes(MqttChecks.subscribe(subscribe), manualAcknowledgement, false);
+    }
+
+    private @NotNull FluxWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribePublishes(
+            final @NotNull MqttSubscribe subscribe, final boolean manualAcknowledgement, final boolean conflate) {
+
+        return new MqttSubscribedPublishFlux(
+                new MqttSubscribedPublishFlowable(subscribe, clientConfig, manualAcknowledgement, conflate))
+                .publishBothOn(applicationScheduler, true, Queues.SMALL_BUFFER_SIZE);
     }
 
     @Override
@@ -109,7 +138,11 @@ public class MqttReactorClient implements Mqtt5ReactorClient {
     public @NotNull Flux<Mqtt5Publish> publishes(
             final @NotNull MqttGlobalPublishFilter filter, final boolean manualAcknowledgement) {
 
-        return RxJava2Adapter.flowableToFlux(delegate.publishes(filter, manualAcknowledgement));
+        Checks.notNull(filter, "Global publish filter");
+
+        return new MqttGlobalIncomingPublishFlux(
+                new MqttGlobalIncomingPublishFlowable(filter, clientConfig, manualAcknowledgement))
+                .publishOn(applicationScheduler, true, Queues.SMALL_BUFFER_SIZE);
     }
 
     @Override
@@ -124,7 +157,13 @@ public class MqttReactorClient implements Mqtt5ReactorClient {
 
     @Override
     public @NotNull Flux<Mqtt5PublishResult> publish(final @NotNull Publisher<Mqtt5Publish> publisher) {
-        return RxJava2Adapter.flowableToFlux(delegate.publish(Flowable.fromPublisher(publisher)));
+        Checks.notNull(publisher, "Publisher");
+
+        // the ack flow subscribes to the flux directly, no RxJava operator is in between
+        final Flux<MqttPublish> publishFlux =
+                Flux.from(publisher).subscribeOn(applicationScheduler).map(PUBLISH_MAPPER);
+        return new MqttAckFlux(new MqttAckFlowable(clientConfig, publishFlux))
+                .publishOn(applicationScheduler, true, Queues.SMALL_BUFFER_SIZE);
     }
 
     @Override
@@ -149,7 +188,7 @@ public class MqttReactorClient implements Mqtt5ReactorClient {
 
     @Override
     public @NotNull Mqtt5ClientConfig getConfig() {
-        return delegate.getConfig();
+        return clientConfig;
     }
 
     @Override
@@ -172,7 +211,7 @@ public class MqttReactorClient implements Mqtt5ReactorClient {
 
         @Override
         public @NotNull FluxWithSingle<Mqtt5Publish, Mqtt5SubAck> applySubscribe() {
-            return subscribePublishes(build(), manualAcknowledgement);
+            return subscribePublishes(build(), manualAcknowledgement, conflate);
         }
     }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.reactor;
+
+import org.jetbrains.annotations.NotNull;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reactor {@link Scheduler} backed by an RxJava {@link io.reactivex.Scheduler}, so that the reactor API emits on the
+ * same application scheduler as the other APIs without bridging the flows to RxJava.
+ */
+class MqttReactorScheduler implements Scheduler {
+
+    private final @NotNull io.reactivex.Scheduler scheduler;
+
+    MqttReactorScheduler(final @NotNull io.reactivex.Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public @NotNull Disposable schedule(final @NotNull Runnable task) {
+        return new RxDisposable(scheduler.scheduleDirect(task));
+    }
+
+    @Override
+    public @NotNull Disposable schedule(final @NotNull Runnable task, final long delay, final @NotNull TimeUnit unit) {
+        return new RxDisposable(scheduler.scheduleDirect(task, delay, unit));
+    }
+
+    @Override
+    public long now(final @NotNull TimeUnit unit) {
+        return scheduler.now(unit);
+    }
+
+    @Override
+    public @NotNull Worker createWorker() {
+        return new RxWorker(scheduler.createWorker());
+    }
+
+    private static class RxWorker implements Worker {
+
+        private final @NotNull io.reactivex.Scheduler.Worker worker;
+
+        RxWorker(final @NotNull io.reactivex.Scheduler.Worker worker) {
+            this.worker = worker;
+        }
+
+        @Override
+        public @NotNull Disposable schedule(final @NotNull Runnable task) {
+            return new RxDisposable(worker.schedule(task));
+        }
+
+        @Override
+        public @NotNull Disposable schedule(
+                final @NotNull Runnable task, final long delay, final @NotNull TimeUnit unit) {
+
+            return new RxDisposable(worker.schedule(task, delay, unit));
+        }
+
+        @Override
+        public void dispose() {
+            worker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return worker.isDisposed();
+        }
+    }
+
+    private static class RxDisposable implements Disposable {
+
+        private final @NotNull io.reactivex.disposables.Disposable disposable;
+
+        RxDisposable(final @NotNull io.reactivex.disposables.Disposable disposable) {
+            this.disposable = disposable;
+        }
+
+        @Override
+        public void dispose() {
+            disposable.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposable.isDisposed();
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.hivemq.client.mqtt.mqtt5.reactor;
 
 import com.hivemq.client.annotations.CheckReturnValue;
 import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.MqttRxClient;
 import com.hivemq.client.internal.mqtt.reactor.MqttReactorClient;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5Client;
@@ -62,7 +63,7 @@ public interface Mqtt5ReactorClient extends Mqtt5Client {
         if (client instanceof Mqtt5ReactorClient) {
             return (Mqtt5ReactorClient) client;
         }
-        return new MqttReactorClient(client.toRx());
+        return new MqttReactorClient((MqttRxClient) client.toRx());
     }
 
     /**
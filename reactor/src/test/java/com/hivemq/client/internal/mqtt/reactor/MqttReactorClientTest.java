@@ -0,0 +1,218 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.reactor;
+
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5BlockingClient;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5Client;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAckReasonCode;
+import com.hivemq.client.mqtt.mqtt5.reactor.Mqtt5ReactorClient;
+import com.hivemq.client.testfixtures.MqttStandInBroker;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MqttReactorClientTest {
+
+    private static final @NotNull Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttStandInBroker broker;
+    @SuppressWarnings("NullabilityAnnotations")
+    private Mqtt5ReactorClient client;
+    @SuppressWarnings("NullabilityAnnotations")
+    private Mqtt5BlockingClient otherClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        broker = MqttStandInBroker.builder().start();
+        client = Mqtt5ReactorClient.from(Mqtt5Client.builder().serverPort(broker.getPort()).build());
+        client.connect().block(TIMEOUT);
+        otherClient = Mqtt5Client.builder().serverPort(broker.getPort()).buildBlocking();
+        otherClient.connect();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.disconnect().block(TIMEOUT);
+        otherClient.disconnect();
+        broker.close();
+    }
+
+    @Test
+    void subscribePublishes_emitsSubAckAndPublishes() throws Exception {
+        final CompletableFuture<Mqtt5SubAck> subAckFuture = new CompletableFuture<>();
+        final CompletableFuture<List<Mqtt5Publish>> publishesFuture = client.subscribePublishesWith()
+                .topicFilter("test/#")
+                .qos(MqttQos.AT_LEAST_ONCE)
+                .applySubscribe()
+                .doOnSingle(subAckFuture::complete)
+                .take(3)
+                .collectList()
+                .toFuture();
+
+        final Mqtt5SubAck subAck = subAckFuture.get(10, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList(Mqtt5SubAckReasonCode.GRANTED_QOS_1), subAck.getReasonCodes());
+
+        publish("test/a", "1");
+        publish("test/b", "2");
+        publish("test/a", "3");
+
+        final List<Mqtt5Publish> publishes = publishesFuture.get(10, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList("1", "2", "3"), payloads(publishes));
+        assertEquals(Arrays.asList("test/a", "test/b", "test/a"),
+                publishes.stream().map(publish -> publish.getTopic().toString()).collect(Collectors.toList()));
+    }
+
+    @Test
+    void subscribePublishes_cancel_publishesAreNoLongerEmittedToFlux() throws Exception {
+        final CompletableFuture<Mqtt5SubAck> subAckFuture = new CompletableFuture<>();
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        final CompletableFuture<List<Mqtt5Publish>> publishesFuture = client.subscribePublishesWith()
+                .topicFilter("test/#")
+                .applySubscribe()
+                .doOnSingle(subAckFuture::complete)
+                .doOnCancel(cancelled::countDown)
+                .take(1)
+                .collectList()
+                .toFuture();
+        final CompletableFuture<List<Mqtt5Publish>> remainingFuture =
+                client.publishes(MqttGlobalPublishFilter.REMAINING).take(2).collectList().toFuture();
+        subAckFuture.get(10, TimeUnit.SECONDS);
+
+        publish("test/a", "1");
+        assertEquals(Arrays.asList("1"), payloads(publishesFuture.get(10, TimeUnit.SECONDS)));
+        assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+
+        // the subscription is still present on the broker, but its flow was removed by the cancellation
+        publish("test/a", "2");
+        publish("test/b", "3");
+        assertEquals(Arrays.asList("2", "3"), payloads(remainingFuture.get(10, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    void publishes_emitsPublishesOfAllSubscriptions() throws Exception {
+        final CompletableFuture<List<Mqtt5Publish>> publishesFuture =
+                client.publishes(MqttGlobalPublishFilter.ALL).take(3).collectList().toFuture();
+        client.subscribeWith().topicFilter("test/a").applySubscribe().block(TIMEOUT);
+        client.subscribeWith().topicFilter("test/b").applySubscribe().block(TIMEOUT);
+
+        publish("test/a", "1");
+        publish("test/b", "2");
+        publish("test/a", "3");
+
+        assertEquals(Arrays.asList("1", "2", "3"), payloads(publishesFuture.get(10, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    void publishes_cancel_otherFluxStillReceivesPublishes() throws Exception {
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        final CompletableFuture<List<Mqtt5Publish>> cancelledFuture = client.publishes(MqttGlobalPublishFilter.ALL)
+                .doOnCancel(cancelled::countDown)
+                .take(1)
+                .collectList()
+                .toFuture();
+        final CompletableFuture<List<Mqtt5Publish>> publishesFuture =
+                client.publishes(MqttGlobalPublishFilter.ALL).take(3).collectList().toFuture();
+        client.subscribeWith().topicFilter("test/#").applySubscribe().block(TIMEOUT);
+
+        publish("test/a", "1");
+        assertEquals(Arrays.asList("1"), payloads(cancelledFuture.get(10, TimeUnit.SECONDS)));
+        assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+
+        publish("test/a", "2");
+        publish("test/a", "3");
+        assertEquals(Arrays.asList("1", "2", "3"), payloads(publishesFuture.get(10, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    void publish_emitsResultsInOrder() throws Exception {
+        try (final Mqtt5BlockingClient.Mqtt5Publishes received = otherClient.publishes(MqttGlobalPublishFilter.ALL)) {
+            otherClient.subscribeWith().topicFilter("test/#").qos(MqttQos.AT_LEAST_ONCE).send();
+
+            final List<Mqtt5PublishResult> results =
+                    client.publish(Flux.range(0, 3).map(i -> publish("test/" + i, Integer.toString(i))))
+                            .collectList()
+                            .block(TIMEOUT);
+
+            assertNotNull(results);
+            assertEquals(3, results.size());
+            for (int i = 0; i < 3; i++) {
+                final Mqtt5PublishResult result = results.get(i);
+                assertFalse(result.getError().isPresent());
+                assertEquals(Integer.toString(i), payload(result.getPublish()));
+            }
+            for (int i = 0; i < 3; i++) {
+                final Optional<Mqtt5Publish> publish = received.receive(10, TimeUnit.SECONDS);
+                assertTrue(publish.isPresent());
+                assertEquals("test/" + i, publish.get().getTopic().toString());
+            }
+        }
+    }
+
+    @Test
+    void publish_cancel_cancelsUpstreamPublisher() throws Exception {
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        final Flux<Mqtt5Publish> publishes = Flux.range(0, Integer.MAX_VALUE)
+                .map(i -> publish("test/a", Integer.toString(i)))
+                .doOnCancel(cancelled::countDown);
+
+        final List<Mqtt5PublishResult> results = client.publish(publishes).take(5).collectList().block(TIMEOUT);
+
+        assertNotNull(results);
+        assertEquals(5, results.size());
+        assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+    }
+
+    private void publish(final @NotNull String topic, final @NotNull String payload) {
+        otherClient.publish(publish(topic, payload));
+    }
+
+    private static @NotNull Mqtt5Publish publish(final @NotNull String topic, final @NotNull String payload) {
+        return Mqtt5Publish.builder()
+                .topic(topic)
+                .qos(MqttQos.AT_LEAST_ONCE)
+                .payload(payload.getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private static @NotNull String payload(final @NotNull Mqtt5Publish publish) {
+        return new String(publish.getPayloadAsBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static @NotNull List<String> payloads(final @NotNull List<Mqtt5Publish> publishes) {
+        return publishes.stream().map(MqttReactorClientTest::payload).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.compression;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+
+/**
+ * Measures the throughput and the compression ratio of the deflate payload compressor for JSON telemetry payloads.
+ * <p>
+ * The ratio is reported by the auxiliary counters <code>compressedBytes</code> and <code>uncompressedBytes</code> of
+ * the <code>compress</code> benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MqttDeflatePayloadCompressorBenchmark {
+
+    @Param({"4096", "16384"})
+    public int size;
+
+    @Param({"1", "6", "9"})
+    public int level;
+
+    private MqttDeflatePayloadCompressor compressor;
+    private ByteBuffer payload;
+    private ByteBuffer compressed;
+
+    @Setup
+    public void setup() {
+        compressor = new MqttDeflatePayloadCompressor(level);
+        final Random random = new Random(0);
+        final StringBuilder json = new StringBuilder("[");
+        while (json.length() < size) {
+            json.append("{\"vin\":\"WVW").append(100_000 + random.nextInt(900_000))
+                    .append("\",\"ts\":").append(1_700_000_000_000L + random.nextInt(1_000_000))
+                    .append(",\"speed\":").append(random.nextInt(200))
+                    .append(",\"rpm\":").append(random.nextInt(7_000))
+                    .append(",\"lat\":").append(48 + random.nextDouble())
+                    .append(",\"lon\":").append(11 + random.nextDouble()).append("},");
+        }
+        json.setLength(size - 1);
+        json.append(']');
+        payload = ByteBuffer.wrap(json.toString().getBytes(StandardCharsets.UTF_8));
+        compressed = compressor.compress(payload);
+    }
+
+    @Benchmark
+    public ByteBuffer compress(final Ratio ratio) {
+        final ByteBuffer compressed = compressor.compress(payload);
+        ratio.uncompressedBytes += payload.remaining();
+        ratio.compressedBytes += compressed.remaining();
+        return compressed;
+    }
+
+    @Benchmark
+    public ByteBuffer decompress() throws DataFormatException {
+        return compressor.decompress(compressed, size);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Ratio {
+
+        public long uncompressedBytes;
+        public long compressedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            uncompressedBytes = 0;
+            compressedBytes = 0;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder.mqtt5;
+
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderBenchmarkUtil;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderContext;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderException;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares eager and lazy decoding of the properties of an incoming Publish message with 10 user properties.
+ * <p>
+ * Run with the gc profiler (<code>-prof gc</code>) to get the allocated bytes per decoded message
+ * (<code>gc.alloc.rate.norm</code>), for example by adding <code>profilers = ["gc"]</code> to the <code>jmh</code>
+ * block of the build script and running <code>./gradlew jmh</code>.
+ * <p>
+ * No numbers have been recorded yet. Counting the allocations in the decoder code (an estimate by inspection, not a
+ * measurement) the eager variant creates per message about 5 objects per user property (the user property, 2 UTF-8
+ * strings and their 2 byte arrays) plus the list builder, its backing arrays and the immutable list, 2 objects for the
+ * content type and 1 or 2 for the correlation data, so roughly 55 to 60 objects for this message. The lazy variant
+ * creates 2 objects for the properties (one byte array with the encoded properties and the lazy properties holder).
+ * Both variants additionally allocate the topic and the publish objects. {@link #decodeAndGetUserProperties()} moves
+ * the user property allocations of the lazy variant to the first access.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Mqtt5PublishDecoderBenchmark {
+
+    private static final int USER_PROPERTY_COUNT = 10;
+    private static final int FLAGS_QOS_1 = 0b0010;
+
+    @Param({"false", "true"})
+    public boolean lazy;
+
+    private final Mqtt5PublishDecoder decoder = new Mqtt5PublishDecoder();
+    private MqttDecoderContext context;
+    private ByteBuf encoded;
+
+    @Setup
+    public void setup() {
+        context = MqttDecoderBenchmarkUtil.createContext(lazy);
+
+        final ByteBuf properties = Unpooled.buffer();
+        properties.writeByte(0x02).writeInt(3600); // message expiry interval
+        properties.writeByte(0x03); // content type
+        writeString("application/json", properties);
+        properties.writeByte(0x09).writeShort(16).writeZero(16); // correlation data
+        for (int i = 0; i < USER_PROPERTY_COUNT; i++) {
+            properties.writeByte(0x26); // user property
+            writeString("key-" + i, properties);
+            writeString("value-" + i, properties);
+        }
+
+        encoded = Unpooled.buffer();
+        writeString("sensors/kitchen/temperature", encoded);
+        encoded.writeShort(1); // packet identifier
+        MqttVariableByteInteger.encode(properties.readableBytes(), encoded);
+        encoded.writeBytes(properties);
+        encoded.writeBytes("{\"temperature\":21.5,\"unit\":\"C\"}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public MqttStatefulPublish decode() throws MqttDecoderException {
+        encoded.readerIndex(0);
+        return decoder.decode(FLAGS_QOS_1, encoded, context);
+    }
+
+    @Benchmark
+    public MqttPublish decodeAndGetUserProperties() throws MqttDecoderException {
+        encoded.readerIndex(0);
+        final MqttPublish publish = decoder.decode(FLAGS_QOS_1, encoded, context).stateless();
+        publish.getUserProperties();
+        return publish;
+    }
+
+    private static void writeString(final String string, final ByteBuf byteBuf) {
+        final byte[] binary = string.getBytes(StandardCharsets.UTF_8);
+        byteBuf.writeShort(binary.length).writeBytes(binary);
+    }
+}
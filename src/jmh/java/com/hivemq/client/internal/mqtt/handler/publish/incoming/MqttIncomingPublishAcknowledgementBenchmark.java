@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttClient;
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.channel.EventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares acknowledging each of a batch of incoming QoS 1 Publish messages individually with acknowledging every
+ * n-th message cumulatively.
+ * <p>
+ * The messages are received on the event loop and acknowledged from the benchmark thread like a consumer would do. An
+ * invocation ends when all PUBACK messages are written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MqttIncomingPublishAcknowledgementBenchmark {
+
+    private static final int PUBLISH_COUNT = 1_000;
+
+    @Param({"10", "100"})
+    public int checkpointInterval;
+
+    private MqttClientConfig clientConfig;
+    private EventLoop eventLoop;
+    private EmbeddedChannel channel;
+    private MqttGlobalIncomingPublishFlow flow;
+    private final MqttStatefulPublish[] publishes = new MqttStatefulPublish[PUBLISH_COUNT];
+    private final ArrayList<Mqtt5Publish> received = new ArrayList<>(PUBLISH_COUNT);
+
+    @Setup
+    public void setup() throws ExecutionException, InterruptedException {
+        clientConfig = (MqttClientConfig) MqttClient.builder().useMqttVersion5().build().getConfig();
+        eventLoop = clientConfig.acquireEventLoop();
+        final MqttIncomingQosHandler incomingQosHandler =
+                new MqttIncomingQosHandler(clientConfig, new MqttIncomingPublishFlows());
+        channel = new EmbeddedChannel(incomingQosHandler);
+        final MqttClientConnectionConfig connectionConfig =
+                new MqttClientConnectionConfig(MqttClientTransportConfigImpl.DEFAULT, 60, true, true, 0, false, false,
+                        null, 65_535, 268_435_460, 0, true, false, 65_535, 268_435_460, 0, ImmutableList.of(),
+                        MqttQos.EXACTLY_ONCE, true, true, true, true, channel);
+
+        flow = new MqttGlobalIncomingPublishFlow(new Subscriber<Mqtt5Publish>() {
+            @Override
+            public void onSubscribe(final @NotNull Subscription subscription) {}
+
+            @Override
+            public void onNext(final @NotNull Mqtt5Publish publish) {
+                received.add(publish);
+            }
+
+            @Override
+            public void onError(final @NotNull Throwable throwable) {}
+
+            @Override
+            public void onComplete() {}
+        }, clientConfig, incomingQosHandler, MqttGlobalPublishFilter.ALL, true);
+        flow.request(Long.MAX_VALUE);
+        eventLoop.submit(() -> {
+            incomingQosHandler.onSessionStartOrResume(connectionConfig, eventLoop);
+            if (flow.init()) {
+                incomingQosHandler.incomingPublishService.incomingPublishFlows.subscribeGlobal(flow);
+            }
+        }).get();
+
+        for (int i = 0; i < PUBLISH_COUNT; i++) {
+            publishes[i] = new MqttPublishBuilder.Default().topic("sensors/" + (i % 10))
+                    .qos(MqttQos.AT_LEAST_ONCE)
+                    .payload(new byte[64])
+                    .build()
+                    .createStateful(i + 1, false, null);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        flow.cancel();
+        clientConfig.releaseEventLoop();
+        channel.close();
+    }
+
+    @Benchmark
+    public int acknowledgeEach() throws ExecutionException, InterruptedException {
+        receive();
+        for (final Mqtt5Publish publish : received) {
+            publish.acknowledge();
+        }
+        return awaitAcknowledged();
+    }
+
+    @Benchmark
+    public int acknowledgeCumulatively() throws ExecutionException, InterruptedException {
+        receive();
+        for (int i = checkpointInterval - 1; i < PUBLISH_COUNT; i += checkpointInterval) {
+            received.get(i).acknowledgeCumulatively();
+        }
+        if (PUBLISH_COUNT % checkpointInterval != 0) {
+            received.get(PUBLISH_COUNT - 1).acknowledgeCumulatively();
+        }
+        return awaitAcknowledged();
+    }
+
+    private void receive() throws ExecutionException, InterruptedException {
+        received.clear();
+        eventLoop.submit(() -> {
+            for (final MqttStatefulPublish publish : publishes) {
+                channel.pipeline().fireChannelRead(publish);
+            }
+        }).get();
+    }
+
+    private int awaitAcknowledged() throws ExecutionException, InterruptedException {
+        // the event loop executes tasks in order, so all acknowledgements are processed when this task is executed
+        final int acknowledged = eventLoop.submit(() -> {
+            final int size = channel.outboundMessages().size();
+            channel.outboundMessages().clear();
+            return size;
+        }).get();
+        if (acknowledged != PUBLISH_COUNT) {
+            throw new IllegalStateException("expected " + PUBLISH_COUNT + " PUBACKs, but was " + acknowledged);
+        }
+        return acknowledged;
+    }
+}
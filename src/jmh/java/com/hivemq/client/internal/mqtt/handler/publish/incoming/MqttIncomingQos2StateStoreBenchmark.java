@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttClient;
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5IncomingQos2StateStore;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.channel.EventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the memory-mapped incoming QoS 2 state store compared to keeping the state only in memory.
+ * <p>
+ * Each invocation receives 1000 QoS 2 Publish messages and their PUBREL messages in reads of <code>batchSize</code>
+ * messages. With the store, the state is synced once per read, so larger reads amortize the sync.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MqttIncomingQos2StateStoreBenchmark {
+
+    private static final int PUBLISH_COUNT = 1_000;
+
+    @Param({"false", "true"})
+    public boolean durable;
+
+    @Param({"1", "100"})
+    public int batchSize;
+
+    private Path file;
+    private MqttClientConfig clientConfig;
+    private EventLoop eventLoop;
+    private EmbeddedChannel channel;
+    private MqttGlobalIncomingPublishFlow flow;
+    private final MqttStatefulPublish[] publishes = new MqttStatefulPublish[PUBLISH_COUNT];
+    private final MqttPubRel[] pubRels = new MqttPubRel[PUBLISH_COUNT];
+
+    @Setup
+    public void setup() throws IOException, ExecutionException, InterruptedException {
+        Mqtt5IncomingQos2StateStore store = null;
+        if (durable) {
+            file = Files.createTempFile("qos2-state", null);
+            store = Mqtt5IncomingQos2StateStore.memoryMapped(file);
+        }
+        clientConfig = (MqttClientConfig) MqttClient.builder()
+                .useMqttVersion5()
+                .advancedConfig()
+                .incomingQos2StateStore(store)
+                .applyAdvancedConfig()
+                .build()
+                .getConfig();
+        eventLoop = clientConfig.acquireEventLoop();
+        final MqttIncomingQosHandler incomingQosHandler =
+                new MqttIncomingQosHandler(clientConfig, new MqttIncomingPublishFlows());
+        channel = new EmbeddedChannel(incomingQosHandler);
+        final MqttClientConnectionConfig connectionConfig =
+                new MqttClientConnectionConfig(MqttClientTransportConfigImpl.DEFAULT, 60, false, false, 3600, false,
+                        false, null, 65_535, 268_435_460, 0, true, false, 65_535, 268_435_460, 0, ImmutableList.of(),
+                        MqttQos.EXACTLY_ONCE, true, true, true, true, channel);
+
+        flow = new MqttGlobalIncomingPublishFlow(new Subscriber<Mqtt5Publish>() {
+            @Override
+            public void onSubscribe(final @NotNull Subscription subscription) {}
+
+            @Override
+            public void onNext(final @NotNull Mqtt5Publish publish) {}
+
+            @Override
+            public void onError(final @NotNull Throwable throwable) {}
+
+            @Override
+            public void onComplete() {}
+        }, clientConfig, incomingQosHandler, MqttGlobalPublishFilter.ALL, false);
+        flow.request(Long.MAX_VALUE);
+        eventLoop.submit(() -> {
+            incomingQosHandler.loadQos2State(false);
+            incomingQosHandler.onSessionStartOrResume(connectionConfig, eventLoop);
+            if (flow.init()) {
+                incomingQosHandler.incomingPublishService.incomingPublishFlows.subscribeGlobal(flow);
+            }
+        }).get();
+
+        for (int i = 0; i < PUBLISH_COUNT; i++) {
+            publishes[i] = new MqttPublishBuilder.Default().topic("sensors/" + (i % 10))
+                    .qos(MqttQos.EXACTLY_ONCE)
+                    .payload(new byte[64])
+                    .build()
+                    .createStateful(i + 1, false, null);
+            pubRels[i] = new MqttPubRel(i + 1, MqttPubRel.DEFAULT_REASON_CODE, null,
+                    MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        flow.cancel();
+        clientConfig.releaseEventLoop();
+        channel.close();
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public int receive() throws ExecutionException, InterruptedException {
+        return eventLoop.submit(() -> {
+            read(publishes);
+            read(pubRels);
+            final int size = channel.outboundMessages().size();
+            channel.outboundMessages().clear();
+            if (size != 2 * PUBLISH_COUNT) {
+                throw new IllegalStateException("expected " + (2 * PUBLISH_COUNT) + " PUBREC and PUBCOMP, but was " +
+                        size);
+            }
+            return size;
+        }).get();
+    }
+
+    private void read(final @NotNull Object @NotNull [] messages) {
+        for (int i = 0; i < messages.length; i++) {
+            channel.pipeline().fireChannelRead(messages[i]);
+            if (((i + 1) % batchSize == 0) || (i == messages.length - 1)) {
+                channel.pipeline().fireChannelReadComplete();
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the word-at-a-time UTF-8 validation of {@link Utf8Util} with the previous byte-at-a-time validation which
+ * additionally required a copy of payloads into a byte array.
+ * <p>
+ * {@link #byteArray()} (byte-at-a-time on the array) and {@link #heapByteBuffer()} (word-at-a-time on the same array)
+ * should be compared on Java 8 and 11 before byte arrays are switched to the word-at-a-time validation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Utf8UtilBenchmark {
+
+    @Param({"ascii", "mixed", "cjk"})
+    public String content;
+
+    @Param({"32", "1024", "65536"})
+    public int size;
+
+    private byte[] bytes;
+    private ByteBuffer heapBuffer;
+    private ByteBuffer directBuffer;
+
+    @Setup
+    public void setup() {
+        final String unit;
+        switch (content) {
+            case "ascii":
+                unit = "{\"temperature\":21.5,\"unit\":\"C\"}";
+                break;
+            case "mixed":
+                unit = "{\"Temperatur\":21.5,\"Einheit\":\"°C\",\"Ort\":\"Küche\"}";
+                break;
+            case "cjk":
+                unit = "温度二十一点五摄氏度厨房传感器";
+                break;
+            default:
+                throw new IllegalArgumentException(content);
+        }
+        final StringBuilder builder = new StringBuilder();
+        while (builder.toString().getBytes(StandardCharsets.UTF_8).length < size) {
+            builder.append(unit);
+        }
+        bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+        heapBuffer = ByteBuffer.wrap(bytes);
+        directBuffer = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+        directBuffer.flip();
+    }
+
+    @Benchmark
+    public long byteArray() {
+        return Utf8Util.isWellFormed(bytes);
+    }
+
+    @Benchmark
+    public long heapByteBuffer() {
+        return Utf8Util.isWellFormed(heapBuffer);
+    }
+
+    @Benchmark
+    public long directByteBuffer() {
+        return Utf8Util.isWellFormed(directBuffer);
+    }
+
+    @Benchmark
+    public long byteArrayByteAtATime() {
+        return isWellFormedByteAtATime(bytes);
+    }
+
+    @Benchmark
+    public long directByteBufferCopyByteAtATime() {
+        return isWellFormedByteAtATime(ByteBufferUtil.getBytes(directBuffer));
+    }
+
+    /**
+     * The previous implementation of {@link Utf8Util#isWellFormed(byte[])}, only returning whether well-formed.
+     */
+    private static long isWellFormedByteAtATime(final byte[] bytes) {
+        int index = 0;
+        final int end = bytes.length;
+        while (true) {
+            byte byte1;
+            do {
+                if (index >= end) {
+                    return 0;
+                }
+            } while ((byte1 = bytes[index++]) >= 0);
+
+            if (byte1 < (byte) 0xE0) {
+                if ((index == end) || (byte1 < (byte) 0xC2) || (bytes[index++] > (byte) 0xBF)) {
+                    return index;
+                }
+            } else if (byte1 < (byte) 0xF0) {
+                if (index + 1 >= end) {
+                    return index;
+                }
+                final byte byte2 = bytes[index++];
+                if ((byte2 > (byte) 0xBF) || ((byte1 == (byte) 0xE0) && (byte2 < (byte) 0xA0)) ||
+                        ((byte1 == (byte) 0xED) && (byte2 >= (byte) 0xA0)) || (bytes[index++] > (byte) 0xBF)) {
+                    return index;
+                }
+            } else {
+                if (index + 2 >= end) {
+                    return index;
+                }
+                final byte byte2 = bytes[index++];
+                if ((byte2 > (byte) 0xBF) || ((byte1 == (byte) 0xF0) && (byte2 < (byte) 0x90)) ||
+                        ((byte1 == (byte) 0xF4) && (byte2 > (byte) 0x8F)) || (byte1 > (byte) 0xF4) ||
+                        (bytes[index++] > (byte) 0xBF) || (bytes[index++] > (byte) 0xBF)) {
+                    return index;
+                }
+            }
+        }
+    }
+}
@@ -24,4 +24,6 @@ public interface Confirmable {
     long getId();
 
     boolean confirm();
+
+    boolean confirmCumulative();
 }
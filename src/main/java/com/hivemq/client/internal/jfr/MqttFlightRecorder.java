@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.jfr;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.mqtt.lifecycle.MqttDisconnectSource;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Entry point for Java Flight Recorder events of the client.
+ * <p>
+ * This is the Java 8 variant which does not record anything. The multi-release jar contains a Java 11 variant in
+ * <code>META-INF/versions/11</code> with the same methods which records <code>jdk.jfr</code> events. Both variants
+ * must be kept in sync.
+ * <p>
+ * Events that have a duration are represented by an opaque object returned by the <code>begin...</code> methods which
+ * has to be passed to the following methods. It is <code>null</code> if the event is not enabled, so callers do not
+ * have to check anything and the methods cost nothing if no recording is running.
+ */
+public final class MqttFlightRecorder {
+
+    public static final int PHASE_DNS = 0;
+    public static final int PHASE_TCP = 1;
+    public static final int PHASE_PROXY = 2;
+    public static final int PHASE_TLS = 3;
+    public static final int PHASE_WEBSOCKET = 4;
+
+    public static final int STALL_CHANNEL_NOT_WRITABLE = 0;
+    public static final int STALL_SEND_MAXIMUM = 1;
+    public static final int STALL_RECEIVE_MAXIMUM = 2;
+
+    /**
+     * Begins a connect event which lasts until the CONNACK is received or the connect attempt failed.
+     *
+     * @param clientConfig    the config of the connecting client.
+     * @param transportConfig the transport config used for the connect attempt.
+     * @return the event or <code>null</code> if not enabled.
+     */
+    public static @Nullable Object beginConnect(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttClientTransportConfigImpl transportConfig) {
+
+        return null;
+    }
+
+    /**
+     * Records that a phase of the connect attempt ended. The duration of a phase is measured from the end of the
+     * previous phase.
+     *
+     * @param event the connect event returned by {@link #beginConnect}.
+     * @param phase one of the <code>PHASE_...</code> constants.
+     */
+    public static void connectPhase(final @Nullable Object event, final int phase) {}
+
+    /**
+     * Ends a connect event.
+     *
+     * @param event the connect event returned by {@link #beginConnect}.
+     * @param cause <code>null</code> if the client is connected, otherwise the cause of the failed attempt.
+     */
+    public static void endConnect(final @Nullable Object event, final @Nullable Throwable cause) {}
+
+    /**
+     * Records a scheduled reconnect attempt.
+     *
+     * @param clientConfig the config of the reconnecting client.
+     * @param source       the source of the disconnect.
+     * @param cause        the cause of the disconnect.
+     * @param attempts     the number of failed connect attempts before this reconnect.
+     * @param delayNanos   the delay of the reconnect in nanoseconds.
+     */
+    public static void reconnect(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttDisconnectSource source,
+            final @NotNull Throwable cause,
+            final int attempts,
+            final long delayNanos) {}
+
+    /**
+     * Begins an outgoing publish event which lasts from enqueuing until the publish is acknowledged.
+     *
+     * @param publish the outgoing publish.
+     * @return the event or <code>null</code> if not enabled.
+     */
+    public static @Nullable Object beginOutgoingPublish(final @NotNull MqttPublish publish) {
+        return null;
+    }
+
+    /**
+     * Records that an outgoing publish was written to the channel.
+     *
+     * @param event the outgoing publish event returned by {@link #beginOutgoingPublish}.
+     */
+    public static void outgoingPublishWritten(final @Nullable Object event) {}
+
+    /**
+     * Ends an outgoing publish event.
+     *
+     * @param event the outgoing publish event returned by {@link #beginOutgoingPublish}.
+     * @param error <code>null</code> if the publish was acknowledged successfully, otherwise the error.
+     */
+    public static void endOutgoingPublish(final @Nullable Object event, final @Nullable Throwable error) {}
+
+    /**
+     * Begins a decode event for a single incoming MQTT packet.
+     *
+     * @return the event or <code>null</code> if not enabled.
+     */
+    public static @Nullable Object beginDecode() {
+        return null;
+    }
+
+    /**
+     * Ends a decode event.
+     *
+     * @param event       the decode event returned by {@link #beginDecode()}.
+     * @param messageType the code of the MQTT message type.
+     * @param packetSize  the size of the packet in bytes.
+     */
+    public static void endDecode(final @Nullable Object event, final int messageType, final int packetSize) {}
+
+    /**
+     * Begins an incoming publish event which lasts from matching the subscriptions until the publish is emitted to
+     * all matching flows or buffered.
+     *
+     * @return the event or <code>null</code> if not enabled.
+     */
+    public static @Nullable Object beginIncomingPublish() {
+        return null;
+    }
+
+    /**
+     * Records that the subscriptions of an incoming publish were matched.
+     *
+     * @param event the incoming publish event returned by {@link #beginIncomingPublish()}.
+     */
+    public static void incomingPublishMatched(final @Nullable Object event) {}
+
+    /**
+     * Ends an incoming publish event.
+     *
+     * @param event    the incoming publish event returned by {@link #beginIncomingPublish()}.
+     * @param publish  the incoming publish.
+     * @param buffered whether the publish could not be emitted to all matching flows and was buffered.
+     */
+    public static void endIncomingPublish(
+            final @Nullable Object event, final @NotNull MqttPublish publish, final boolean buffered) {}
+
+    /**
+     * Begins a flow control stall event which lasts until messages can be sent or received again.
+     *
+     * @param reason one of the <code>STALL_...</code> constants.
+     * @return the event or <code>null</code> if not enabled.
+     */
+    public static @Nullable Object beginStall(final int reason) {
+        return null;
+    }
+
+    /**
+     * Ends a flow control stall event.
+     *
+     * @param event the stall event returned by {@link #beginStall(int)}.
+     */
+    public static void endStall(final @Nullable Object event) {}
+
+    private MqttFlightRecorder() {}
+}
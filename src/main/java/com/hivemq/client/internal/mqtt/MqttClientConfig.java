@@ -18,6 +18,7 @@ package com.hivemq.client.internal.mqtt;
 
 import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.handler.MqttFailoverStandby;
 import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
 import com.hivemq.client.internal.mqtt.ioc.SingletonComponent;
 import com.hivemq.client.internal.mqtt.message.auth.MqttSimpleAuth;
@@ -26,6 +27,7 @@ import com.hivemq.client.internal.netty.NettyEventLoopProvider;
 import com.hivemq.client.internal.util.ExecutorUtil;
 import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.MqttTransportType;
 import com.hivemq.client.mqtt.MqttVersion;
 import com.hivemq.client.mqtt.datatypes.MqttClientIdentifier;
 import com.hivemq.client.mqtt.lifecycle.MqttClientAutoReconnect;
@@ -42,6 +44,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -63,11 +66,13 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
     private volatile @Nullable EventLoop eventLoop;
     private int eventLoopAcquires;
     private long eventLoopAcquireCount;
+    private @NotNull MqttTransportType eventLoopTransportType = MqttTransportType.AUTO;
 
     private final @NotNull AtomicReference<@NotNull MqttClientState> state;
     private volatile @Nullable MqttClientConnectionConfig connectionConfig;
     private @NotNull MqttClientTransportConfigImpl currentTransportConfig;
     private @Nullable SslContext currentSslContext;
+    private @Nullable MqttFailoverStandby failoverStandby;
     private boolean resubscribeIfSessionExpired;
     private boolean republishIfSessionExpired;
 
@@ -179,9 +184,9 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
             eventLoopAcquireCount++;
             EventLoop eventLoop = this.eventLoop;
             if (eventLoop == null) {
-                this.eventLoop = eventLoop =
-                        NettyEventLoopProvider.INSTANCE.acquireEventLoop(executorConfig.getRawNettyExecutor(),
-                                executorConfig.getRawNettyThreads());
+                eventLoopTransportType = currentTransportConfig.getTransportType();
+                this.eventLoop = eventLoop = NettyEventLoopProvider.INSTANCE.acquireEventLoop(eventLoopTransportType,
+                        executorConfig.getRawNettyExecutor(), executorConfig.getRawNettyThreads());
             }
             return eventLoop;
         }
@@ -198,7 +203,8 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
                         if (eventLoopAcquireCount == this.eventLoopAcquireCount) { // eventLoop has not been reacquired
                             this.eventLoop = null;
                             // releaseEventLoop must be the last statement so everything is cleaned up even if it throws
-                            NettyEventLoopProvider.INSTANCE.releaseEventLoop(executorConfig.getRawNettyExecutor());
+                            NettyEventLoopProvider.INSTANCE.releaseEventLoop(
+                                    eventLoopTransportType, executorConfig.getRawNettyExecutor());
                         }
                     }
                 });
@@ -206,6 +212,37 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         }
     }
 
+    /**
+     * Switches the acquired event loop if the transport type of the current transport configuration requires an event
+     * loop of a different transport. Must be called on the event loop while it is only acquired by the connect flow.
+     *
+     * @return the event loop for the current transport configuration, or <code>null</code> if it requires a
+     *         different event loop which can not be switched because it is also acquired by other flows.
+     */
+    public @Nullable EventLoop switchEventLoop() {
+        synchronized (state) {
+            final EventLoop eventLoop = this.eventLoop;
+            assert eventLoop != null : "switchEventLoop must only be called while the eventLoop is acquired";
+            final MqttTransportType transportType = currentTransportConfig.getTransportType();
+            if (NettyEventLoopProvider.INSTANCE.isCompatible(eventLoopTransportType, transportType)) {
+                return eventLoop;
+            }
+            if (eventLoopAcquires != 1) {
+                return null;
+            }
+            final MqttTransportType oldTransportType = eventLoopTransportType;
+            final Executor executor = executorConfig.getRawNettyExecutor();
+            eventLoopAcquireCount++; // a pending release of the old event loop must not release the new one
+            eventLoopTransportType = transportType;
+            final EventLoop newEventLoop = NettyEventLoopProvider.INSTANCE.acquireEventLoop(
+                    transportType, executor, executorConfig.getRawNettyThreads());
+            this.eventLoop = newEventLoop;
+            // release the old eventLoop after all tasks are finished
+            eventLoop.execute(() -> NettyEventLoopProvider.INSTANCE.releaseEventLoop(oldTransportType, executor));
+            return newEventLoop;
+        }
+    }
+
     public boolean executeInEventLoop(final @NotNull Runnable runnable) {
         final EventLoop eventLoop = this.eventLoop;
         if (eventLoop == null) {
@@ -255,6 +292,14 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         this.currentSslContext = currentSslContext;
     }
 
+    public @Nullable MqttFailoverStandby getFailoverStandby() {
+        return failoverStandby;
+    }
+
+    public void setFailoverStandby(final @Nullable MqttFailoverStandby failoverStandby) {
+        this.failoverStandby = failoverStandby;
+    }
+
     public boolean isResubscribeIfSessionExpired() {
         return resubscribeIfSessionExpired;
     }
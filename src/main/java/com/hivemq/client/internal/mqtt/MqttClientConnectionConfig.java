@@ -16,9 +16,11 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasAutoMapping;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasMapping;
 import com.hivemq.client.internal.util.UnsignedDataTypes;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.mqtt3.Mqtt3ClientConnectionConfig;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5ClientConnectionConfig;
@@ -79,6 +81,7 @@ public class MqttClientConnectionConfig
             final int sendMaximum,
             final int sendMaximumPacketSize,
             final int sendTopicAliasMaximum,
+            final @NotNull ImmutableList<MqttTopicImpl> pinnedTopicAliases,
             final @NotNull MqttQos maximumQos,
             final boolean retainAvailable,
             final boolean wildcardSubscriptionAvailable,
@@ -95,8 +98,8 @@ public class MqttClientConnectionConfig
         this.topicAliasMaximum = (short) topicAliasMaximum;
         this.sendMaximum = (short) sendMaximum;
         this.sendMaximumPacketSize = sendMaximumPacketSize;
-        this.sendTopicAliasMapping =
-                (sendTopicAliasMaximum == 0) ? null : new MqttTopicAliasAutoMapping(sendTopicAliasMaximum);
+        this.sendTopicAliasMapping = (sendTopicAliasMaximum == 0) ? null :
+                new MqttTopicAliasAutoMapping(sendTopicAliasMaximum, pinnedTopicAliases);
         this.maximumQos = maximumQos;
         this.channel = channel;
 
@@ -230,6 +233,11 @@ public class MqttClientConnectionConfig
         return (sendTopicAliasMapping == null) ? 0 : sendTopicAliasMapping.getTopicAliasMaximum();
     }
 
+    @Override
+    public long getTopicAliasSavedBytes() {
+        return (sendTopicAliasMapping == null) ? 0 : sendTopicAliasMapping.getSavedBytes();
+    }
+
     public @Nullable MqttTopicAliasMapping getSendTopicAliasMapping() {
         return sendTopicAliasMapping;
     }
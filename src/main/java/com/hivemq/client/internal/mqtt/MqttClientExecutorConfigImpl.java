@@ -16,7 +16,11 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.netty.NettyBufferAllocators;
+import com.hivemq.client.mqtt.MqttBufferAllocatorMetric;
+import com.hivemq.client.mqtt.MqttBufferAllocatorType;
 import com.hivemq.client.mqtt.MqttClientExecutorConfig;
+import io.netty.buffer.ByteBufAllocator;
 import io.reactivex.Scheduler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -33,19 +37,26 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
 
     public static final int DEFAULT_NETTY_THREADS = 0;
     public static final @NotNull MqttClientExecutorConfigImpl DEFAULT =
-            new MqttClientExecutorConfigImpl(null, DEFAULT_NETTY_THREADS, DEFAULT_APPLICATION_SCHEDULER);
+            new MqttClientExecutorConfigImpl(null, DEFAULT_NETTY_THREADS, DEFAULT_BUFFER_ALLOCATOR_TYPE,
+                    NettyBufferAllocators.DEFAULT_ARENAS, DEFAULT_APPLICATION_SCHEDULER);
 
     private final @Nullable Executor nettyExecutor;
     private final int nettyThreads;
+    private final @NotNull MqttBufferAllocatorType bufferAllocatorType;
+    private final int bufferAllocatorArenas;
     private final @NotNull Scheduler applicationScheduler;
 
     MqttClientExecutorConfigImpl(
             final @Nullable Executor nettyExecutor,
             final int nettyThreads,
+            final @NotNull MqttBufferAllocatorType bufferAllocatorType,
+            final int bufferAllocatorArenas,
             final @NotNull Scheduler applicationScheduler) {
 
         this.nettyExecutor = nettyExecutor;
         this.nettyThreads = nettyThreads;
+        this.bufferAllocatorType = bufferAllocatorType;
+        this.bufferAllocatorArenas = bufferAllocatorArenas;
         this.applicationScheduler = applicationScheduler;
     }
 
@@ -67,6 +78,30 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
         return nettyThreads;
     }
 
+    @Override
+    public @NotNull MqttBufferAllocatorType getBufferAllocatorType() {
+        return bufferAllocatorType;
+    }
+
+    @Override
+    public @NotNull OptionalInt getBufferAllocatorArenas() {
+        return (bufferAllocatorArenas == NettyBufferAllocators.DEFAULT_ARENAS) ? OptionalInt.empty() :
+                OptionalInt.of(bufferAllocatorArenas);
+    }
+
+    public int getRawBufferAllocatorArenas() {
+        return bufferAllocatorArenas;
+    }
+
+    @Override
+    public @NotNull Optional<MqttBufferAllocatorMetric> getBufferAllocatorMetric() {
+        return Optional.ofNullable(NettyBufferAllocators.getMetric(bufferAllocatorType, bufferAllocatorArenas));
+    }
+
+    public @Nullable ByteBufAllocator getRawNettyAllocator() {
+        return NettyBufferAllocators.get(bufferAllocatorType, bufferAllocatorArenas);
+    }
+
     @Override
     public @NotNull Scheduler getApplicationScheduler() {
         return applicationScheduler;
@@ -88,6 +123,8 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
         final MqttClientExecutorConfigImpl that = (MqttClientExecutorConfigImpl) o;
 
         return Objects.equals(nettyExecutor, that.nettyExecutor) && (nettyThreads == that.nettyThreads) &&
+                (bufferAllocatorType == that.bufferAllocatorType) &&
+                (bufferAllocatorArenas == that.bufferAllocatorArenas) &&
                 applicationScheduler.equals(that.applicationScheduler);
     }
 
@@ -95,6 +132,8 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
     public int hashCode() {
         int result = Objects.hashCode(nettyExecutor);
         result = 31 * result + nettyThreads;
+        result = 31 * result + bufferAllocatorType.hashCode();
+        result = 31 * result + bufferAllocatorArenas;
         result = 31 * result + applicationScheduler.hashCode();
         return result;
     }
@@ -16,7 +16,9 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.netty.NettyBufferAllocators;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.MqttBufferAllocatorType;
 import com.hivemq.client.mqtt.MqttClientExecutorConfigBuilder;
 import io.reactivex.Scheduler;
 import org.jetbrains.annotations.NotNull;
@@ -32,6 +34,9 @@ public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientEx
 
     private @Nullable Executor nettyExecutor;
     private int nettyThreads = MqttClientExecutorConfigImpl.DEFAULT_NETTY_THREADS;
+    private @NotNull MqttBufferAllocatorType bufferAllocatorType =
+            MqttClientExecutorConfigImpl.DEFAULT_BUFFER_ALLOCATOR_TYPE;
+    private int bufferAllocatorArenas = NettyBufferAllocators.DEFAULT_ARENAS;
     private @NotNull Scheduler applicationScheduler = MqttClientExecutorConfigImpl.DEFAULT_APPLICATION_SCHEDULER;
 
     MqttClientExecutorConfigImplBuilder() {}
@@ -39,6 +44,8 @@ public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientEx
     MqttClientExecutorConfigImplBuilder(final @NotNull MqttClientExecutorConfigImpl executorConfig) {
         nettyExecutor = executorConfig.getRawNettyExecutor();
         nettyThreads = executorConfig.getRawNettyThreads();
+        bufferAllocatorType = executorConfig.getBufferAllocatorType();
+        bufferAllocatorArenas = executorConfig.getRawBufferAllocatorArenas();
         applicationScheduler = executorConfig.getApplicationScheduler();
     }
 
@@ -58,13 +65,28 @@ public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientEx
         return self();
     }
 
+    public @NotNull B bufferAllocatorType(final @Nullable MqttBufferAllocatorType bufferAllocatorType) {
+        this.bufferAllocatorType = Checks.notNull(bufferAllocatorType, "Buffer allocator type");
+        return self();
+    }
+
+    public @NotNull B bufferAllocatorArenas(final int bufferAllocatorArenas) {
+        if (bufferAllocatorArenas <= 0) {
+            throw new IllegalArgumentException(
+                    "Number of buffer allocator arenas must be greater than 0. Found: " + bufferAllocatorArenas);
+        }
+        this.bufferAllocatorArenas = bufferAllocatorArenas;
+        return self();
+    }
+
     public @NotNull B applicationScheduler(final @Nullable Scheduler applicationScheduler) {
         this.applicationScheduler = Checks.notNull(applicationScheduler, "Application scheduler");
         return self();
     }
 
     public @NotNull MqttClientExecutorConfigImpl build() {
-        return new MqttClientExecutorConfigImpl(nettyExecutor, nettyThreads, applicationScheduler);
+        return new MqttClientExecutorConfigImpl(nettyExecutor, nettyThreads, bufferAllocatorType,
+                bufferAllocatorArenas, applicationScheduler);
     }
 
     public static class Default extends MqttClientExecutorConfigImplBuilder<Default>
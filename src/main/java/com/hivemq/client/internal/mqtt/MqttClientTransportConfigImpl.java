@@ -16,12 +16,15 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.netty.NettyEventLoopProvider;
 import com.hivemq.client.internal.util.InetSocketAddressUtil;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -32,7 +35,8 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
 
     public static final @NotNull MqttClientTransportConfigImpl DEFAULT = new MqttClientTransportConfigImpl(
             InetSocketAddressUtil.create(MqttClient.DEFAULT_SERVER_HOST, MqttClient.DEFAULT_SERVER_PORT), null, null,
-            null, null, DEFAULT_SOCKET_CONNECT_TIMEOUT_MS, DEFAULT_MQTT_CONNECT_TIMEOUT_MS);
+            null, null, DEFAULT_SOCKET_CONNECT_TIMEOUT_MS, DEFAULT_MQTT_CONNECT_TIMEOUT_MS, DEFAULT_TRANSPORT_TYPE,
+            null, ImmutableList.of(), false, false);
 
     private final @NotNull InetSocketAddress serverAddress;
     private final @Nullable InetSocketAddress localAddress;
@@ -41,6 +45,11 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
     private final @Nullable MqttProxyConfigImpl proxyConfig;
     private final int socketConnectTimeoutMs;
     private final int mqttConnectTimeoutMs;
+    private final @NotNull MqttTransportType transportType;
+    private final @Nullable String serverPath;
+    private final @NotNull ImmutableList<InetSocketAddress> failoverServerAddresses;
+    private final boolean failoverWarmStandby;
+    private final boolean asyncDnsResolution;
 
     MqttClientTransportConfigImpl(
             final @NotNull InetSocketAddress serverAddress,
@@ -49,7 +58,12 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
             final @Nullable MqttWebSocketConfigImpl webSocketConfig,
             final @Nullable MqttProxyConfigImpl proxyConfig,
             final int socketConnectTimeoutMs,
-            final int mqttConnectTimeoutMs) {
+            final int mqttConnectTimeoutMs,
+            final @NotNull MqttTransportType transportType,
+            final @Nullable String serverPath,
+            final @NotNull ImmutableList<InetSocketAddress> failoverServerAddresses,
+            final boolean failoverWarmStandby,
+            final boolean asyncDnsResolution) {
 
         this.serverAddress = serverAddress;
         this.localAddress = localAddress;
@@ -58,6 +72,11 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
         this.proxyConfig = proxyConfig;
         this.socketConnectTimeoutMs = socketConnectTimeoutMs;
         this.mqttConnectTimeoutMs = mqttConnectTimeoutMs;
+        this.transportType = transportType;
+        this.serverPath = serverPath;
+        this.failoverServerAddresses = failoverServerAddresses;
+        this.failoverWarmStandby = failoverWarmStandby;
+        this.asyncDnsResolution = asyncDnsResolution;
     }
 
     @Override
@@ -65,7 +84,10 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
         return serverAddress;
     }
 
-    public @NotNull InetSocketAddress getRemoteAddress() {
+    public @NotNull SocketAddress getRemoteAddress() {
+        if (serverPath != null) {
+            return NettyEventLoopProvider.INSTANCE.getServerPathAddress(transportType, serverPath);
+        }
         return (proxyConfig == null) ? serverAddress : proxyConfig.getAddress();
     }
 
@@ -115,6 +137,56 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
         return mqttConnectTimeoutMs;
     }
 
+    @Override
+    public @NotNull MqttTransportType getTransportType() {
+        return transportType;
+    }
+
+    @Override
+    public @NotNull Optional<String> getServerPath() {
+        return Optional.ofNullable(serverPath);
+    }
+
+    public @Nullable String getRawServerPath() {
+        return serverPath;
+    }
+
+    @Override
+    public @NotNull ImmutableList<InetSocketAddress> getFailoverServerAddresses() {
+        return failoverServerAddresses;
+    }
+
+    @Override
+    public boolean isFailoverWarmStandby() {
+        return failoverWarmStandby;
+    }
+
+    @Override
+    public boolean isAsyncDnsResolution() {
+        return asyncDnsResolution;
+    }
+
+    /**
+     * Returns the transport configuration for the next failover server address. The current server address is moved to
+     * the end of the failover server addresses.
+     *
+     * @return the transport configuration for the next failover server address or this transport configuration if no
+     *         failover server addresses are configured.
+     */
+    public @NotNull MqttClientTransportConfigImpl failover() {
+        if (failoverServerAddresses.isEmpty()) {
+            return this;
+        }
+        final ImmutableList.Builder<InetSocketAddress> builder = ImmutableList.builder(failoverServerAddresses.size());
+        for (int i = 1; i < failoverServerAddresses.size(); i++) {
+            builder.add(failoverServerAddresses.get(i));
+        }
+        builder.add(serverAddress);
+        return new MqttClientTransportConfigImpl(failoverServerAddresses.get(0), localAddress, sslConfig,
+                webSocketConfig, proxyConfig, socketConnectTimeoutMs, mqttConnectTimeoutMs, transportType, serverPath,
+                builder.build(), failoverWarmStandby, asyncDnsResolution);
+    }
+
     @Override
     public MqttClientTransportConfigImplBuilder.@NotNull Default extend() {
         return new MqttClientTransportConfigImplBuilder.Default(this);
@@ -134,7 +206,11 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
                 Objects.equals(sslConfig, that.sslConfig) && Objects.equals(webSocketConfig, that.webSocketConfig) &&
                 Objects.equals(proxyConfig, that.proxyConfig) &&
                 (socketConnectTimeoutMs == that.socketConnectTimeoutMs) &&
-                (mqttConnectTimeoutMs == that.mqttConnectTimeoutMs);
+                (mqttConnectTimeoutMs == that.mqttConnectTimeoutMs) && (transportType == that.transportType) &&
+                Objects.equals(serverPath, that.serverPath) &&
+                failoverServerAddresses.equals(that.failoverServerAddresses) &&
+                (failoverWarmStandby == that.failoverWarmStandby) &&
+                (asyncDnsResolution == that.asyncDnsResolution);
     }
 
     @Override
@@ -146,6 +222,11 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
         result = 31 * result + Objects.hashCode(proxyConfig);
         result = 31 * result + Integer.hashCode(socketConnectTimeoutMs);
         result = 31 * result + Integer.hashCode(mqttConnectTimeoutMs);
+        result = 31 * result + transportType.hashCode();
+        result = 31 * result + Objects.hashCode(serverPath);
+        result = 31 * result + failoverServerAddresses.hashCode();
+        result = 31 * result + Boolean.hashCode(failoverWarmStandby);
+        result = 31 * result + Boolean.hashCode(asyncDnsResolution);
         return result;
     }
 }
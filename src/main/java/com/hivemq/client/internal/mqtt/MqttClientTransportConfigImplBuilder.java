@@ -16,11 +16,15 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.netty.MqttDnsResolver;
+import com.hivemq.client.internal.netty.NettyEventLoopProvider;
 import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.internal.util.InetSocketAddressUtil;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttClientSslConfig;
 import com.hivemq.client.mqtt.MqttClientTransportConfigBuilder;
 import com.hivemq.client.mqtt.MqttProxyConfig;
+import com.hivemq.client.mqtt.MqttTransportType;
 import com.hivemq.client.mqtt.MqttWebSocketConfig;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -46,6 +50,11 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
     private @Nullable MqttProxyConfigImpl proxyConfig;
     private int socketConnectTimeoutMs = MqttClientTransportConfigImpl.DEFAULT_SOCKET_CONNECT_TIMEOUT_MS;
     private int mqttConnectTimeoutMs = MqttClientTransportConfigImpl.DEFAULT_MQTT_CONNECT_TIMEOUT_MS;
+    private @NotNull MqttTransportType transportType = MqttClientTransportConfigImpl.DEFAULT_TRANSPORT_TYPE;
+    private @Nullable String serverPath;
+    private @NotNull ImmutableList<InetSocketAddress> failoverServerAddresses = ImmutableList.of();
+    private boolean failoverWarmStandby;
+    private boolean asyncDnsResolution;
 
     MqttClientTransportConfigImplBuilder() {}
 
@@ -63,6 +72,11 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
         proxyConfig = builder.proxyConfig;
         socketConnectTimeoutMs = builder.socketConnectTimeoutMs;
         mqttConnectTimeoutMs = builder.mqttConnectTimeoutMs;
+        transportType = builder.transportType;
+        serverPath = builder.serverPath;
+        failoverServerAddresses = builder.failoverServerAddresses;
+        failoverWarmStandby = builder.failoverWarmStandby;
+        asyncDnsResolution = builder.asyncDnsResolution;
     }
 
     void set(final @NotNull MqttClientTransportConfigImpl transportConfig) {
@@ -73,6 +87,11 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
         proxyConfig = transportConfig.getRawProxyConfig();
         socketConnectTimeoutMs = transportConfig.getSocketConnectTimeoutMs();
         mqttConnectTimeoutMs = transportConfig.getMqttConnectTimeoutMs();
+        transportType = transportConfig.getTransportType();
+        serverPath = transportConfig.getRawServerPath();
+        failoverServerAddresses = transportConfig.getFailoverServerAddresses();
+        failoverWarmStandby = transportConfig.isFailoverWarmStandby();
+        asyncDnsResolution = transportConfig.isAsyncDnsResolution();
     }
 
     abstract @NotNull B self();
@@ -229,6 +248,39 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
         return self();
     }
 
+    public @NotNull B transportType(final @Nullable MqttTransportType transportType) {
+        this.transportType = Checks.notNull(transportType, "Transport type");
+        return self();
+    }
+
+    public @NotNull B serverPath(final @Nullable String serverPath) {
+        if (serverPath == null) {
+            this.serverPath = null;
+        } else {
+            this.serverPath = Checks.notEmpty(serverPath, "Server path");
+        }
+        return self();
+    }
+
+    public @NotNull B addFailoverServerAddress(final @Nullable InetSocketAddress address) {
+        Checks.notNull(address, "Failover server address");
+        failoverServerAddresses = ImmutableList.builder(failoverServerAddresses.size() + 1)
+                .addAll(failoverServerAddresses)
+                .add(address)
+                .build();
+        return self();
+    }
+
+    public @NotNull B failoverWarmStandby(final boolean failoverWarmStandby) {
+        this.failoverWarmStandby = failoverWarmStandby;
+        return self();
+    }
+
+    public @NotNull B asyncDnsResolution(final boolean asyncDnsResolution) {
+        this.asyncDnsResolution = asyncDnsResolution;
+        return self();
+    }
+
     private @NotNull InetSocketAddress getServerAddress() {
         if (serverAddress != null) {
             return serverAddress;
@@ -256,8 +308,27 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
     }
 
     @NotNull MqttClientTransportConfigImpl buildTransportConfig() {
+        Checks.state(NettyEventLoopProvider.INSTANCE.isAvailable(transportType),
+                "Transport type " + transportType + " is not available.");
+        final String serverPath;
+        if ((transportType == MqttTransportType.EPOLL_DOMAIN_SOCKET) || (transportType == MqttTransportType.LOCAL)) {
+            serverPath = this.serverPath;
+            Checks.state(serverPath != null, "Transport type " + transportType + " requires a server path.");
+            Checks.state(proxyConfig == null, "Transport type " + transportType + " must not be used with a proxy.");
+            Checks.state(localAddress == null,
+                    "Transport type " + transportType + " must not be used with a local bind address.");
+            Checks.state(failoverServerAddresses.isEmpty(),
+                    "Transport type " + transportType + " must not be used with failover server addresses.");
+            Checks.state(!asyncDnsResolution,
+                    "Transport type " + transportType + " must not be used with async DNS resolution.");
+        } else {
+            serverPath = null;
+            Checks.state(!asyncDnsResolution || MqttDnsResolver.isAvailable(transportType),
+                    "Async DNS resolution requires the optional dependency io.netty:netty-resolver-dns.");
+        }
         return new MqttClientTransportConfigImpl(getServerAddress(), localAddress, sslConfig, webSocketConfig,
-                proxyConfig, socketConnectTimeoutMs, mqttConnectTimeoutMs);
+                proxyConfig, socketConnectTimeoutMs, mqttConnectTimeoutMs, transportType, serverPath,
+                failoverServerAddresses, failoverWarmStandby, asyncDnsResolution);
     }
 
     public static class Default extends MqttClientTransportConfigImplBuilder<Default>
@@ -30,6 +30,7 @@ import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnectBuilder;
 import com.hivemq.client.internal.mqtt.message.disconnect.MqttDisconnect;
 import com.hivemq.client.internal.mqtt.message.disconnect.MqttDisconnectBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttDecodedPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribeBuilder;
@@ -42,6 +43,8 @@ import com.hivemq.client.mqtt.mqtt5.Mqtt5RxClient;
 import com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5Connect;
 import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5Disconnect;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5DecodedPublish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadDecoder;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscribe;
@@ -138,17 +141,53 @@ public class MqttRxClient implements Mqtt5RxClient {
         return subscribePublishes(MqttChecks.subscribe(subscribe), manualAcknowledgement);
     }
 
+    @Override
+    public <T> @NotNull FlowableWithSingle<Mqtt5DecodedPublish<T>, Mqtt5SubAck> subscribePublishes(
+            final @Nullable Mqtt5Subscribe subscribe, final @Nullable Mqtt5PayloadDecoder<? extends T> payloadDecoder) {
+
+        return subscribePublishes(subscribe, payloadDecoder, false);
+    }
+
+    @Override
+    public <T> @NotNull FlowableWithSingle<Mqtt5DecodedPublish<T>, Mqtt5SubAck> subscribePublishes(
+            final @Nullable Mqtt5Subscribe subscribe,
+            final @Nullable Mqtt5PayloadDecoder<? extends T> payloadDecoder,
+            final boolean manualAcknowledgement) {
+
+        final MqttSubscribe mqttSubscribe = MqttChecks.subscribe(subscribe);
+        final Mqtt5PayloadDecoder<? extends T> decoder = Checks.notNull(payloadDecoder, "Payload decoder");
+
+        // the payload is decoded on the event loop while the publish is emitted, before switching to the application
+        // scheduler
+        return subscribePublishesUnsafe(mqttSubscribe, manualAcknowledgement)
+                .<Mqtt5DecodedPublish<T>, Mqtt5SubAck>mapBoth(
+                        publish -> MqttDecodedPublish.decode(publish, decoder), subAck -> subAck)
+                .observeOnBoth(clientConfig.getExecutorConfig().getApplicationScheduler(), true);
+    }
+
     @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribePublishes(
             final @NotNull MqttSubscribe subscribe, final boolean manualAcknowledgement) {
 
-        return subscribePublishesUnsafe(subscribe, manualAcknowledgement).observeOnBoth(
+        return subscribePublishes(subscribe, manualAcknowledgement, false);
+    }
+
+    @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribePublishes(
+            final @NotNull MqttSubscribe subscribe, final boolean manualAcknowledgement, final boolean conflate) {
+
+        return subscribePublishesUnsafe(subscribe, manualAcknowledgement, conflate).observeOnBoth(
                 clientConfig.getExecutorConfig().getApplicationScheduler(), true);
     }
 
     @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribePublishesUnsafe(
             final @NotNull MqttSubscribe subscribe, final boolean manualAcknowledgement) {
 
-        return new MqttSubscribedPublishFlowable(subscribe, clientConfig, manualAcknowledgement);
+        return subscribePublishesUnsafe(subscribe, manualAcknowledgement, false);
+    }
+
+    @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribePublishesUnsafe(
+            final @NotNull MqttSubscribe subscribe, final boolean manualAcknowledgement, final boolean conflate) {
+
+        return new MqttSubscribedPublishFlowable(subscribe, clientConfig, manualAcknowledgement, conflate);
     }
 
     @Override
@@ -285,7 +324,7 @@ public class MqttRxClient implements Mqtt5RxClient {
 
         @Override
         public @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> applySubscribe() {
-            return subscribePublishes(build(), manualAcknowledgement);
+            return subscribePublishes(build(), manualAcknowledgement, conflate);
         }
     }
 }
@@ -28,23 +28,35 @@ public class MqttWebSocketConfigImpl implements MqttWebSocketConfig {
 
     static final @NotNull MqttWebSocketConfigImpl DEFAULT =
             new MqttWebSocketConfigImpl(DEFAULT_SERVER_PATH, DEFAULT_QUERY_STRING, DEFAULT_MQTT_SUBPROTOCOL,
-                    DEFAULT_HANDSHAKE_TIMEOUT_MS);
+                    DEFAULT_HANDSHAKE_TIMEOUT_MS, DEFAULT_PER_MESSAGE_DEFLATE, false, false, DEFAULT_FRAME_COALESCING);
 
     private final @NotNull String serverPath;
     private final @NotNull String queryString;
     private final @NotNull String subprotocol;
     private final int handshakeTimeoutMs;
+    private final boolean perMessageDeflate;
+    private final boolean clientNoContextTakeover;
+    private final boolean serverNoContextTakeover;
+    private final boolean frameCoalescing;
 
     MqttWebSocketConfigImpl(
             final @NotNull String serverPath,
             final @NotNull String queryString,
             final @NotNull String subprotocol,
-            final int handshakeTimeoutMs) {
+            final int handshakeTimeoutMs,
+            final boolean perMessageDeflate,
+            final boolean clientNoContextTakeover,
+            final boolean serverNoContextTakeover,
+            final boolean frameCoalescing) {
 
         this.serverPath = serverPath;
         this.queryString = queryString;
         this.subprotocol = subprotocol;
         this.handshakeTimeoutMs = handshakeTimeoutMs;
+        this.perMessageDeflate = perMessageDeflate;
+        this.clientNoContextTakeover = clientNoContextTakeover;
+        this.serverNoContextTakeover = serverNoContextTakeover;
+        this.frameCoalescing = frameCoalescing;
     }
 
     @Override
@@ -67,6 +79,26 @@ public class MqttWebSocketConfigImpl implements MqttWebSocketConfig {
         return handshakeTimeoutMs;
     }
 
+    @Override
+    public boolean isPerMessageDeflate() {
+        return perMessageDeflate;
+    }
+
+    @Override
+    public boolean isClientNoContextTakeover() {
+        return clientNoContextTakeover;
+    }
+
+    @Override
+    public boolean isServerNoContextTakeover() {
+        return serverNoContextTakeover;
+    }
+
+    @Override
+    public boolean isFrameCoalescing() {
+        return frameCoalescing;
+    }
+
     @Override
     public MqttWebSocketConfigImplBuilder.@NotNull Default extend() {
         return new MqttWebSocketConfigImplBuilder.Default(this);
@@ -83,7 +115,10 @@ public class MqttWebSocketConfigImpl implements MqttWebSocketConfig {
         final MqttWebSocketConfigImpl that = (MqttWebSocketConfigImpl) o;
 
         return serverPath.equals(that.serverPath) && queryString.equals(that.queryString) &&
-                subprotocol.equals(that.subprotocol) && (handshakeTimeoutMs == that.handshakeTimeoutMs);
+                subprotocol.equals(that.subprotocol) && (handshakeTimeoutMs == that.handshakeTimeoutMs) &&
+                (perMessageDeflate == that.perMessageDeflate) &&
+                (clientNoContextTakeover == that.clientNoContextTakeover) &&
+                (serverNoContextTakeover == that.serverNoContextTakeover) && (frameCoalescing == that.frameCoalescing);
     }
 
     @Override
@@ -92,6 +127,10 @@ public class MqttWebSocketConfigImpl implements MqttWebSocketConfig {
         result = 31 * result + queryString.hashCode();
         result = 31 * result + subprotocol.hashCode();
         result = 31 * result + Integer.hashCode(handshakeTimeoutMs);
+        result = 31 * result + Boolean.hashCode(perMessageDeflate);
+        result = 31 * result + Boolean.hashCode(clientNoContextTakeover);
+        result = 31 * result + Boolean.hashCode(serverNoContextTakeover);
+        result = 31 * result + Boolean.hashCode(frameCoalescing);
         return result;
     }
 }
@@ -33,6 +33,10 @@ public abstract class MqttWebSocketConfigImplBuilder<B extends MqttWebSocketConf
     private @NotNull String queryString = MqttWebSocketConfigImpl.DEFAULT_QUERY_STRING;
     private @NotNull String subprotocol = MqttWebSocketConfigImpl.DEFAULT_MQTT_SUBPROTOCOL;
     private int handshakeTimeoutMs = MqttWebSocketConfigImpl.DEFAULT_HANDSHAKE_TIMEOUT_MS;
+    private boolean perMessageDeflate = MqttWebSocketConfigImpl.DEFAULT_PER_MESSAGE_DEFLATE;
+    private boolean clientNoContextTakeover;
+    private boolean serverNoContextTakeover;
+    private boolean frameCoalescing = MqttWebSocketConfigImpl.DEFAULT_FRAME_COALESCING;
 
     MqttWebSocketConfigImplBuilder() {}
 
@@ -42,6 +46,10 @@ public abstract class MqttWebSocketConfigImplBuilder<B extends MqttWebSocketConf
             queryString = webSocketConfig.getQueryString();
             subprotocol = webSocketConfig.getSubprotocol();
             handshakeTimeoutMs = webSocketConfig.getHandshakeTimeoutMs();
+            perMessageDeflate = webSocketConfig.isPerMessageDeflate();
+            clientNoContextTakeover = webSocketConfig.isClientNoContextTakeover();
+            serverNoContextTakeover = webSocketConfig.isServerNoContextTakeover();
+            frameCoalescing = webSocketConfig.isFrameCoalescing();
         }
     }
 
@@ -70,8 +78,29 @@ public abstract class MqttWebSocketConfigImplBuilder<B extends MqttWebSocketConf
         return self();
     }
 
+    public @NotNull B perMessageDeflate(final boolean perMessageDeflate) {
+        this.perMessageDeflate = perMessageDeflate;
+        return self();
+    }
+
+    public @NotNull B clientNoContextTakeover(final boolean clientNoContextTakeover) {
+        this.clientNoContextTakeover = clientNoContextTakeover;
+        return self();
+    }
+
+    public @NotNull B serverNoContextTakeover(final boolean serverNoContextTakeover) {
+        this.serverNoContextTakeover = serverNoContextTakeover;
+        return self();
+    }
+
+    public @NotNull B frameCoalescing(final boolean frameCoalescing) {
+        this.frameCoalescing = frameCoalescing;
+        return self();
+    }
+
     public @NotNull MqttWebSocketConfigImpl build() {
-        return new MqttWebSocketConfigImpl(serverPath, queryString, subprotocol, handshakeTimeoutMs);
+        return new MqttWebSocketConfigImpl(serverPath, queryString, subprotocol, handshakeTimeoutMs, perMessageDeflate,
+                clientNoContextTakeover, serverNoContextTakeover, frameCoalescing);
     }
 
     public static class Default extends MqttWebSocketConfigImplBuilder<Default> implements MqttWebSocketConfigBuilder {
@@ -16,11 +16,20 @@
 
 package com.hivemq.client.internal.mqtt.advanced;
 
+import com.hivemq.client.internal.mqtt.advanced.compression.MqttPayloadCompression;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingQos0OverflowStrategy;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5OutgoingOfflineBufferOverflowStrategy;
+import com.hivemq.client.mqtt.mqtt5.advanced.compression.Mqtt5PayloadCompressor;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5IncomingQos2StateStore;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.file.Path;
 import java.util.Objects;
 
 /**
@@ -28,20 +37,72 @@ import java.util.Objects;
  */
 public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
 
-    public static final @NotNull MqttClientAdvancedConfig DEFAULT = new MqttClientAdvancedConfig(false, false, null);
+    public static final @NotNull MqttClientAdvancedConfig DEFAULT =
+            new MqttClientAdvancedConfig(false, false, null, DEFAULT_INCOMING_QOS_0_BUFFER_SIZE,
+                    DEFAULT_INCOMING_QOS_0_OVERFLOW_STRATEGY, ImmutableList.of(), ImmutableList.of(),
+                    DEFAULT_OUTGOING_PRIORITY_SEND_MAXIMUM_RESERVE, false, false, null,
+                    DEFAULT_PAYLOAD_COMPRESSION_THRESHOLD, ImmutableList.of(), null,
+                    DEFAULT_OUTGOING_OFFLINE_BUFFER_MEMORY_LIMIT, null, DEFAULT_OUTGOING_OFFLINE_BUFFER_DISK_LIMIT,
+                    DEFAULT_OUTGOING_OFFLINE_BUFFER_OVERFLOW_STRATEGY);
 
     private final boolean allowServerReAuth;
     private final boolean validatePayloadFormat;
     private final @Nullable MqttClientInterceptors interceptors;
+    private final int incomingQos0BufferSize;
+    private final @NotNull Mqtt5IncomingQos0OverflowStrategy incomingQos0OverflowStrategy;
+    private final @NotNull ImmutableList<MqttTopicFilterImpl> outgoingQos0ConflationTopicFilters;
+    private final @NotNull ImmutableList<MqttTopicFilterImpl> outgoingPriorityTopicFilters;
+    private final int outgoingPrioritySendMaximumReserve;
+    private final boolean useSharedTimer;
+    private final boolean lazyPublishProperties;
+    private final @Nullable MqttPayloadCompression payloadCompression;
+    private final int payloadCompressionThreshold;
+    private final @NotNull ImmutableList<MqttTopicImpl> pinnedTopicAliases;
+    private final @Nullable Mqtt5IncomingQos2StateStore incomingQos2StateStore;
+    private final long outgoingOfflineBufferMemoryLimit;
+    private final @Nullable Path outgoingOfflineBufferSpillDirectory;
+    private final long outgoingOfflineBufferDiskLimit;
+    private final @NotNull Mqtt5OutgoingOfflineBufferOverflowStrategy outgoingOfflineBufferOverflowStrategy;
 
     MqttClientAdvancedConfig(
             final boolean allowServerReAuth,
             final boolean validatePayloadFormat,
-            final @Nullable MqttClientInterceptors interceptors) {
+            final @Nullable MqttClientInterceptors interceptors,
+            final int incomingQos0BufferSize,
+            final @NotNull Mqtt5IncomingQos0OverflowStrategy incomingQos0OverflowStrategy,
+            final @NotNull ImmutableList<MqttTopicFilterImpl> outgoingQos0ConflationTopicFilters,
+            final @NotNull ImmutableList<MqttTopicFilterImpl> outgoingPriorityTopicFilters,
+            final int outgoingPrioritySendMaximumReserve,
+            final boolean useSharedTimer,
+            final boolean lazyPublishProperties,
+            final @Nullable Mqtt5PayloadCompressor payloadCompressor,
+            final int payloadCompressionThreshold,
+            final @NotNull ImmutableList<MqttTopicImpl> pinnedTopicAliases,
+            final @Nullable Mqtt5IncomingQos2StateStore incomingQos2StateStore,
+            final long outgoingOfflineBufferMemoryLimit,
+            final @Nullable Path outgoingOfflineBufferSpillDirectory,
+            final long outgoingOfflineBufferDiskLimit,
+            final @NotNull Mqtt5OutgoingOfflineBufferOverflowStrategy outgoingOfflineBufferOverflowStrategy) {
 
         this.allowServerReAuth = allowServerReAuth;
         this.validatePayloadFormat = validatePayloadFormat;
         this.interceptors = interceptors;
+        this.incomingQos0BufferSize = incomingQos0BufferSize;
+        this.incomingQos0OverflowStrategy = incomingQos0OverflowStrategy;
+        this.outgoingQos0ConflationTopicFilters = outgoingQos0ConflationTopicFilters;
+        this.outgoingPriorityTopicFilters = outgoingPriorityTopicFilters;
+        this.outgoingPrioritySendMaximumReserve = outgoingPrioritySendMaximumReserve;
+        this.useSharedTimer = useSharedTimer;
+        this.lazyPublishProperties = lazyPublishProperties;
+        payloadCompression = (payloadCompressor == null) ? null :
+                new MqttPayloadCompression(payloadCompressor, payloadCompressionThreshold);
+        this.payloadCompressionThreshold = payloadCompressionThreshold;
+        this.pinnedTopicAliases = pinnedTopicAliases;
+        this.incomingQos2StateStore = incomingQos2StateStore;
+        this.outgoingOfflineBufferMemoryLimit = outgoingOfflineBufferMemoryLimit;
+        this.outgoingOfflineBufferSpillDirectory = outgoingOfflineBufferSpillDirectory;
+        this.outgoingOfflineBufferDiskLimit = outgoingOfflineBufferDiskLimit;
+        this.outgoingOfflineBufferOverflowStrategy = outgoingOfflineBufferOverflowStrategy;
     }
 
     @Override
@@ -59,6 +120,85 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         return interceptors;
     }
 
+    @Override
+    public int getIncomingQos0BufferSize() {
+        return incomingQos0BufferSize;
+    }
+
+    @Override
+    public @NotNull Mqtt5IncomingQos0OverflowStrategy getIncomingQos0OverflowStrategy() {
+        return incomingQos0OverflowStrategy;
+    }
+
+    @Override
+    public @NotNull ImmutableList<MqttTopicFilterImpl> getOutgoingQos0ConflationTopicFilters() {
+        return outgoingQos0ConflationTopicFilters;
+    }
+
+    @Override
+    public @NotNull ImmutableList<MqttTopicFilterImpl> getOutgoingPriorityTopicFilters() {
+        return outgoingPriorityTopicFilters;
+    }
+
+    @Override
+    public int getOutgoingPrioritySendMaximumReserve() {
+        return outgoingPrioritySendMaximumReserve;
+    }
+
+    @Override
+    public boolean isUseSharedTimer() {
+        return useSharedTimer;
+    }
+
+    @Override
+    public boolean isLazyPublishProperties() {
+        return lazyPublishProperties;
+    }
+
+    @Override
+    public @Nullable Mqtt5PayloadCompressor getPayloadCompressor() {
+        return (payloadCompression == null) ? null : payloadCompression.getCompressor();
+    }
+
+    public @Nullable MqttPayloadCompression getPayloadCompression() {
+        return payloadCompression;
+    }
+
+    @Override
+    public int getPayloadCompressionThreshold() {
+        return payloadCompressionThreshold;
+    }
+
+    @Override
+    public @NotNull ImmutableList<MqttTopicImpl> getPinnedTopicAliases() {
+        return pinnedTopicAliases;
+    }
+
+    @Override
+    public @Nullable Mqtt5IncomingQos2StateStore getIncomingQos2StateStore() {
+        return incomingQos2StateStore;
+    }
+
+    @Override
+    public long getOutgoingOfflineBufferMemoryLimit() {
+        return outgoingOfflineBufferMemoryLimit;
+    }
+
+    @Override
+    public @Nullable Path getOutgoingOfflineBufferSpillDirectory() {
+        return outgoingOfflineBufferSpillDirectory;
+    }
+
+    @Override
+    public long getOutgoingOfflineBufferDiskLimit() {
+        return outgoingOfflineBufferDiskLimit;
+    }
+
+    @Override
+    public @NotNull Mqtt5OutgoingOfflineBufferOverflowStrategy getOutgoingOfflineBufferOverflowStrategy() {
+        return outgoingOfflineBufferOverflowStrategy;
+    }
+
     @Override
     public MqttClientAdvancedConfigBuilder.@NotNull Default extend() {
         return new MqttClientAdvancedConfigBuilder.Default(this);
@@ -75,7 +215,21 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         final MqttClientAdvancedConfig that = (MqttClientAdvancedConfig) o;
 
         return (allowServerReAuth == that.allowServerReAuth) && (validatePayloadFormat == that.validatePayloadFormat) &&
-                Objects.equals(interceptors, that.interceptors);
+                Objects.equals(interceptors, that.interceptors) &&
+                (incomingQos0BufferSize == that.incomingQos0BufferSize) &&
+                (incomingQos0OverflowStrategy == that.incomingQos0OverflowStrategy) &&
+                outgoingQos0ConflationTopicFilters.equals(that.outgoingQos0ConflationTopicFilters) &&
+                outgoingPriorityTopicFilters.equals(that.outgoingPriorityTopicFilters) &&
+                (outgoingPrioritySendMaximumReserve == that.outgoingPrioritySendMaximumReserve) &&
+                (useSharedTimer == that.useSharedTimer) && (lazyPublishProperties == that.lazyPublishProperties) &&
+                Objects.equals(payloadCompression, that.payloadCompression) &&
+                (payloadCompressionThreshold == that.payloadCompressionThreshold) &&
+                pinnedTopicAliases.equals(that.pinnedTopicAliases) &&
+                Objects.equals(incomingQos2StateStore, that.incomingQos2StateStore) &&
+                (outgoingOfflineBufferMemoryLimit == that.outgoingOfflineBufferMemoryLimit) &&
+                Objects.equals(outgoingOfflineBufferSpillDirectory, that.outgoingOfflineBufferSpillDirectory) &&
+                (outgoingOfflineBufferDiskLimit == that.outgoingOfflineBufferDiskLimit) &&
+                (outgoingOfflineBufferOverflowStrategy == that.outgoingOfflineBufferOverflowStrategy);
     }
 
     @Override
@@ -83,6 +237,21 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         int result = Boolean.hashCode(allowServerReAuth);
         result = 31 * result + Boolean.hashCode(validatePayloadFormat);
         result = 31 * result + Objects.hashCode(interceptors);
+        result = 31 * result + Integer.hashCode(incomingQos0BufferSize);
+        result = 31 * result + incomingQos0OverflowStrategy.hashCode();
+        result = 31 * result + outgoingQos0ConflationTopicFilters.hashCode();
+        result = 31 * result + outgoingPriorityTopicFilters.hashCode();
+        result = 31 * result + Integer.hashCode(outgoingPrioritySendMaximumReserve);
+        result = 31 * result + Boolean.hashCode(useSharedTimer);
+        result = 31 * result + Boolean.hashCode(lazyPublishProperties);
+        result = 31 * result + Objects.hashCode(payloadCompression);
+        result = 31 * result + Integer.hashCode(payloadCompressionThreshold);
+        result = 31 * result + pinnedTopicAliases.hashCode();
+        result = 31 * result + Objects.hashCode(incomingQos2StateStore);
+        result = 31 * result + Long.hashCode(outgoingOfflineBufferMemoryLimit);
+        result = 31 * result + Objects.hashCode(outgoingOfflineBufferSpillDirectory);
+        result = 31 * result + Long.hashCode(outgoingOfflineBufferDiskLimit);
+        result = 31 * result + outgoingOfflineBufferOverflowStrategy.hashCode();
         return result;
     }
 }
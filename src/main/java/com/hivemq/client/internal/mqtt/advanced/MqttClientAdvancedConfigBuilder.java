@@ -18,12 +18,25 @@ package com.hivemq.client.internal.mqtt.advanced;
 
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptorsBuilder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
+import com.hivemq.client.internal.mqtt.util.MqttChecks;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.datatypes.MqttTopic;
+import com.hivemq.client.mqtt.datatypes.MqttTopicFilter;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfigBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingQos0OverflowStrategy;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5OutgoingOfflineBufferOverflowStrategy;
+import com.hivemq.client.mqtt.mqtt5.advanced.compression.Mqtt5PayloadCompressor;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5IncomingQos2StateStore;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.file.Path;
 import java.util.function.Function;
 
 /**
@@ -34,6 +47,25 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
     private boolean allowServerReAuth;
     private boolean validatePayloadFormat;
     private @Nullable MqttClientInterceptors interceptors;
+    private int incomingQos0BufferSize = Mqtt5ClientAdvancedConfig.DEFAULT_INCOMING_QOS_0_BUFFER_SIZE;
+    private @NotNull Mqtt5IncomingQos0OverflowStrategy incomingQos0OverflowStrategy =
+            Mqtt5ClientAdvancedConfig.DEFAULT_INCOMING_QOS_0_OVERFLOW_STRATEGY;
+    private ImmutableList.@Nullable Builder<MqttTopicFilterImpl> outgoingQos0ConflationTopicFiltersBuilder;
+    private ImmutableList.@Nullable Builder<MqttTopicFilterImpl> outgoingPriorityTopicFiltersBuilder;
+    private int outgoingPrioritySendMaximumReserve =
+            Mqtt5ClientAdvancedConfig.DEFAULT_OUTGOING_PRIORITY_SEND_MAXIMUM_RESERVE;
+    private boolean useSharedTimer;
+    private boolean lazyPublishProperties;
+    private @Nullable Mqtt5PayloadCompressor payloadCompressor;
+    private int payloadCompressionThreshold = Mqtt5ClientAdvancedConfig.DEFAULT_PAYLOAD_COMPRESSION_THRESHOLD;
+    private ImmutableList.@Nullable Builder<MqttTopicImpl> pinnedTopicAliasesBuilder;
+    private @Nullable Mqtt5IncomingQos2StateStore incomingQos2StateStore;
+    private long outgoingOfflineBufferMemoryLimit =
+            Mqtt5ClientAdvancedConfig.DEFAULT_OUTGOING_OFFLINE_BUFFER_MEMORY_LIMIT;
+    private @Nullable Path outgoingOfflineBufferSpillDirectory;
+    private long outgoingOfflineBufferDiskLimit = Mqtt5ClientAdvancedConfig.DEFAULT_OUTGOING_OFFLINE_BUFFER_DISK_LIMIT;
+    private @NotNull Mqtt5OutgoingOfflineBufferOverflowStrategy outgoingOfflineBufferOverflowStrategy =
+            Mqtt5ClientAdvancedConfig.DEFAULT_OUTGOING_OFFLINE_BUFFER_OVERFLOW_STRATEGY;
 
     MqttClientAdvancedConfigBuilder() {}
 
@@ -41,6 +73,36 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
         allowServerReAuth = advancedConfig.isAllowServerReAuth();
         validatePayloadFormat = advancedConfig.isValidatePayloadFormat();
         interceptors = advancedConfig.getInterceptors();
+        incomingQos0BufferSize = advancedConfig.getIncomingQos0BufferSize();
+        incomingQos0OverflowStrategy = advancedConfig.getIncomingQos0OverflowStrategy();
+        final ImmutableList<MqttTopicFilterImpl> outgoingQos0ConflationTopicFilters =
+                advancedConfig.getOutgoingQos0ConflationTopicFilters();
+        if (!outgoingQos0ConflationTopicFilters.isEmpty()) {
+            outgoingQos0ConflationTopicFiltersBuilder =
+                    ImmutableList.builder(outgoingQos0ConflationTopicFilters.size() + 1);
+            outgoingQos0ConflationTopicFiltersBuilder.addAll(outgoingQos0ConflationTopicFilters);
+        }
+        final ImmutableList<MqttTopicFilterImpl> outgoingPriorityTopicFilters =
+                advancedConfig.getOutgoingPriorityTopicFilters();
+        if (!outgoingPriorityTopicFilters.isEmpty()) {
+            outgoingPriorityTopicFiltersBuilder = ImmutableList.builder(outgoingPriorityTopicFilters.size() + 1);
+            outgoingPriorityTopicFiltersBuilder.addAll(outgoingPriorityTopicFilters);
+        }
+        outgoingPrioritySendMaximumReserve = advancedConfig.getOutgoingPrioritySendMaximumReserve();
+        useSharedTimer = advancedConfig.isUseSharedTimer();
+        lazyPublishProperties = advancedConfig.isLazyPublishProperties();
+        payloadCompressor = advancedConfig.getPayloadCompressor();
+        payloadCompressionThreshold = advancedConfig.getPayloadCompressionThreshold();
+        final ImmutableList<MqttTopicImpl> pinnedTopicAliases = advancedConfig.getPinnedTopicAliases();
+        if (!pinnedTopicAliases.isEmpty()) {
+            pinnedTopicAliasesBuilder = ImmutableList.builder(pinnedTopicAliases.size() + 1);
+            pinnedTopicAliasesBuilder.addAll(pinnedTopicAliases);
+        }
+        incomingQos2StateStore = advancedConfig.getIncomingQos2StateStore();
+        outgoingOfflineBufferMemoryLimit = advancedConfig.getOutgoingOfflineBufferMemoryLimit();
+        outgoingOfflineBufferSpillDirectory = advancedConfig.getOutgoingOfflineBufferSpillDirectory();
+        outgoingOfflineBufferDiskLimit = advancedConfig.getOutgoingOfflineBufferDiskLimit();
+        outgoingOfflineBufferOverflowStrategy = advancedConfig.getOutgoingOfflineBufferOverflowStrategy();
     }
 
     abstract @NotNull B self();
@@ -64,8 +126,130 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
         return new MqttClientInterceptorsBuilder.Nested<>(interceptors, this::interceptors);
     }
 
+    public @NotNull B incomingQos0BufferSize(final int incomingQos0BufferSize) {
+        this.incomingQos0BufferSize =
+                (int) Checks.range(incomingQos0BufferSize, 1, Integer.MAX_VALUE, "Incoming QoS 0 buffer size");
+        return self();
+    }
+
+    public @NotNull B incomingQos0OverflowStrategy(
+            final @Nullable Mqtt5IncomingQos0OverflowStrategy incomingQos0OverflowStrategy) {
+
+        this.incomingQos0OverflowStrategy =
+                Checks.notNull(incomingQos0OverflowStrategy, "Incoming QoS 0 overflow strategy");
+        return self();
+    }
+
+    public @NotNull B addOutgoingQos0ConflationTopicFilter(final @Nullable String topicFilter) {
+        return addOutgoingQos0ConflationTopicFilter(MqttTopicFilterImpl.of(topicFilter));
+    }
+
+    public @NotNull B addOutgoingQos0ConflationTopicFilter(final @Nullable MqttTopicFilter topicFilter) {
+        final MqttTopicFilterImpl topicFilterImpl = MqttChecks.topicFilter(topicFilter);
+        if (outgoingQos0ConflationTopicFiltersBuilder == null) {
+            outgoingQos0ConflationTopicFiltersBuilder = ImmutableList.builder();
+        }
+        outgoingQos0ConflationTopicFiltersBuilder.add(topicFilterImpl);
+        return self();
+    }
+
+    public @NotNull B addOutgoingPriorityTopicFilter(final @Nullable String topicFilter) {
+        return addOutgoingPriorityTopicFilter(MqttTopicFilterImpl.of(topicFilter));
+    }
+
+    public @NotNull B addOutgoingPriorityTopicFilter(final @Nullable MqttTopicFilter topicFilter) {
+        final MqttTopicFilterImpl topicFilterImpl = MqttChecks.topicFilter(topicFilter);
+        if (outgoingPriorityTopicFiltersBuilder == null) {
+            outgoingPriorityTopicFiltersBuilder = ImmutableList.builder();
+        }
+        outgoingPriorityTopicFiltersBuilder.add(topicFilterImpl);
+        return self();
+    }
+
+    public @NotNull B outgoingPrioritySendMaximumReserve(final int outgoingPrioritySendMaximumReserve) {
+        this.outgoingPrioritySendMaximumReserve =
+                Checks.unsignedShort(outgoingPrioritySendMaximumReserve, "Outgoing priority send maximum reserve");
+        return self();
+    }
+
+    public @NotNull B useSharedTimer(final boolean useSharedTimer) {
+        this.useSharedTimer = useSharedTimer;
+        return self();
+    }
+
+    public @NotNull B lazyPublishProperties(final boolean lazyPublishProperties) {
+        this.lazyPublishProperties = lazyPublishProperties;
+        return self();
+    }
+
+    public @NotNull B payloadCompressor(final @Nullable Mqtt5PayloadCompressor payloadCompressor) {
+        if (payloadCompressor != null) {
+            MqttUtf8StringImpl.of(payloadCompressor.getContentType(), "Payload compressor content type");
+        }
+        this.payloadCompressor = payloadCompressor;
+        return self();
+    }
+
+    public @NotNull B payloadCompressionThreshold(final int payloadCompressionThreshold) {
+        this.payloadCompressionThreshold =
+                (int) Checks.range(payloadCompressionThreshold, 0, Integer.MAX_VALUE, "Payload compression threshold");
+        return self();
+    }
+
+    public @NotNull B addPinnedTopicAlias(final @Nullable String topic) {
+        return addPinnedTopicAlias(MqttTopicImpl.of(topic));
+    }
+
+    public @NotNull B addPinnedTopicAlias(final @Nullable MqttTopic topic) {
+        final MqttTopicImpl topicImpl = MqttChecks.topic(topic);
+        if (pinnedTopicAliasesBuilder == null) {
+            pinnedTopicAliasesBuilder = ImmutableList.builder();
+        }
+        pinnedTopicAliasesBuilder.add(topicImpl);
+        return self();
+    }
+
+    public @NotNull B incomingQos2StateStore(final @Nullable Mqtt5IncomingQos2StateStore incomingQos2StateStore) {
+        this.incomingQos2StateStore = incomingQos2StateStore;
+        return self();
+    }
+
+    public @NotNull B outgoingOfflineBufferMemoryLimit(final long outgoingOfflineBufferMemoryLimit) {
+        this.outgoingOfflineBufferMemoryLimit = Checks.range(
+                outgoingOfflineBufferMemoryLimit, 0, Long.MAX_VALUE, "Outgoing offline buffer memory limit");
+        return self();
+    }
+
+    public @NotNull B outgoingOfflineBufferSpillDirectory(final @Nullable Path outgoingOfflineBufferSpillDirectory) {
+        this.outgoingOfflineBufferSpillDirectory = outgoingOfflineBufferSpillDirectory;
+        return self();
+    }
+
+    public @NotNull B outgoingOfflineBufferDiskLimit(final long outgoingOfflineBufferDiskLimit) {
+        this.outgoingOfflineBufferDiskLimit =
+                Checks.range(outgoingOfflineBufferDiskLimit, 0, Long.MAX_VALUE, "Outgoing offline buffer disk limit");
+        return self();
+    }
+
+    public @NotNull B outgoingOfflineBufferOverflowStrategy(
+            final @Nullable Mqtt5OutgoingOfflineBufferOverflowStrategy outgoingOfflineBufferOverflowStrategy) {
+
+        this.outgoingOfflineBufferOverflowStrategy =
+                Checks.notNull(outgoingOfflineBufferOverflowStrategy, "Outgoing offline buffer overflow strategy");
+        return self();
+    }
+
     public @NotNull MqttClientAdvancedConfig build() {
-        return new MqttClientAdvancedConfig(allowServerReAuth, validatePayloadFormat, interceptors);
+        return new MqttClientAdvancedConfig(allowServerReAuth, validatePayloadFormat, interceptors,
+                incomingQos0BufferSize, incomingQos0OverflowStrategy,
+                (outgoingQos0ConflationTopicFiltersBuilder == null) ? ImmutableList.of() :
+                        outgoingQos0ConflationTopicFiltersBuilder.build(),
+                (outgoingPriorityTopicFiltersBuilder == null) ? ImmutableList.of() :
+                        outgoingPriorityTopicFiltersBuilder.build(), outgoingPrioritySendMaximumReserve,
+                useSharedTimer, lazyPublishProperties, payloadCompressor, payloadCompressionThreshold,
+                (pinnedTopicAliasesBuilder == null) ? ImmutableList.of() : pinnedTopicAliasesBuilder.build(),
+                incomingQos2StateStore, outgoingOfflineBufferMemoryLimit, outgoingOfflineBufferSpillDirectory,
+                outgoingOfflineBufferDiskLimit, outgoingOfflineBufferOverflowStrategy);
     }
 
     public static class Default extends MqttClientAdvancedConfigBuilder<Default>
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.compression;
+
+import com.hivemq.client.mqtt.mqtt5.advanced.compression.Mqtt5PayloadCompressor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Payload compressor using the zlib format of the JDK.
+ * <p>
+ * Deflaters, inflaters and the scratch arrays are pooled per thread, so compressing or decompressing a payload only
+ * allocates the resulting array. Scratch arrays that grow beyond {@link #MAX_POOLED_ARRAY_SIZE} are not kept.
+ */
+public class MqttDeflatePayloadCompressor implements Mqtt5PayloadCompressor {
+
+    public static final @NotNull String CONTENT_TYPE = "application/x-deflate";
+    public static final @NotNull MqttDeflatePayloadCompressor DEFAULT =
+            new MqttDeflatePayloadCompressor(Deflater.DEFAULT_COMPRESSION);
+
+    static final int MAX_POOLED_ARRAY_SIZE = 1 << 16;
+    private static final int MIN_ARRAY_SIZE = 64;
+    private static final byte @NotNull [] EMPTY = new byte[0];
+
+    private static final @NotNull ThreadLocal<Pool> POOL = ThreadLocal.withInitial(Pool::new);
+
+    private final int level;
+
+    public MqttDeflatePayloadCompressor(final int level) {
+        this.level = level;
+    }
+
+    @Override
+    public @NotNull String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public @NotNull ByteBuffer compress(final @NotNull ByteBuffer payload) {
+        final Pool pool = POOL.get();
+        final Deflater deflater = pool.deflater();
+        deflater.setLevel(level);
+        final ByteBuffer input = heapBuffer(payload, pool);
+        deflater.setInput(input.array(), input.arrayOffset() + input.position(), input.remaining());
+        deflater.finish();
+
+        final int length = payload.remaining();
+        // zlib's compressBound, so a single pass suffices unless the payload is incompressible
+        byte[] output = pool.output(length + (length >>> 12) + (length >>> 14) + (length >>> 25) + 13);
+        int outputLength = 0;
+        while (!deflater.finished()) {
+            if (outputLength == output.length) {
+                output = pool.grow(output, output.length << 1);
+            }
+            outputLength += deflater.deflate(output, outputLength, output.length - outputLength);
+        }
+        deflater.reset();
+        return ByteBuffer.wrap(Arrays.copyOf(output, outputLength));
+    }
+
+    @Override
+    public @NotNull ByteBuffer decompress(final @NotNull ByteBuffer payload, final int maximumLength)
+            throws DataFormatException {
+
+        final Pool pool = POOL.get();
+        final Inflater inflater = pool.inflater();
+        final ByteBuffer input = heapBuffer(payload, pool);
+        inflater.setInput(input.array(), input.arrayOffset() + input.position(), input.remaining());
+
+        // one byte more than the maximum length is inflated to detect whether the maximum length is exceeded
+        final int bound = (int) Math.min((long) maximumLength + 1, Integer.MAX_VALUE);
+        byte[] output = pool.output((int) Math.min((long) payload.remaining() << 2, bound));
+        int limit = Math.min(output.length, bound);
+        int outputLength = 0;
+        try {
+            while (!inflater.finished()) {
+                if (outputLength == limit) {
+                    if (limit == bound) {
+                        throw new DataFormatException(
+                                "Decompressed payload exceeds the maximum length of " + maximumLength + " bytes.");
+                    }
+                    output = pool.grow(output, (int) Math.min((long) output.length << 1, bound));
+                    limit = output.length;
+                }
+                final int inflated = inflater.inflate(output, outputLength, limit - outputLength);
+                if ((inflated == 0) && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Compressed payload is truncated.");
+                }
+                outputLength += inflated;
+            }
+        } finally {
+            inflater.reset();
+        }
+        if (outputLength > maximumLength) {
+            throw new DataFormatException(
+                    "Decompressed payload exceeds the maximum length of " + maximumLength + " bytes.");
+        }
+        return ByteBuffer.wrap(Arrays.copyOf(output, outputLength));
+    }
+
+    private static @NotNull ByteBuffer heapBuffer(final @NotNull ByteBuffer payload, final @NotNull Pool pool) {
+        if (payload.hasArray()) {
+            return payload;
+        }
+        final int length = payload.remaining();
+        final byte[] input = pool.input(length);
+        payload.duplicate().get(input, 0, length);
+        return ByteBuffer.wrap(input, 0, length);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttDeflatePayloadCompressor)) {
+            return false;
+        }
+        final MqttDeflatePayloadCompressor that = (MqttDeflatePayloadCompressor) o;
+
+        return level == that.level;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(level);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "MqttDeflatePayloadCompressor{level=" + level + '}';
+    }
+
+    private static class Pool {
+
+        private @Nullable Deflater deflater;
+        private @Nullable Inflater inflater;
+        private byte @NotNull [] input = EMPTY;
+        private byte @NotNull [] output = EMPTY;
+
+        @NotNull Deflater deflater() {
+            if (deflater == null) {
+                deflater = new Deflater();
+            }
+            return deflater;
+        }
+
+        @NotNull Inflater inflater() {
+            if (inflater == null) {
+                inflater = new Inflater();
+            }
+            return inflater;
+        }
+
+        byte @NotNull [] input(final int length) {
+            if (input.length >= length) {
+                return input;
+            }
+            final byte[] array = new byte[Math.max(length, MIN_ARRAY_SIZE)];
+            if (array.length <= MAX_POOLED_ARRAY_SIZE) {
+                input = array;
+            }
+            return array;
+        }
+
+        byte @NotNull [] output(final int length) {
+            if (output.length >= length) {
+                return output;
+            }
+            final byte[] array = new byte[Math.max(length, MIN_ARRAY_SIZE)];
+            if (array.length <= MAX_POOLED_ARRAY_SIZE) {
+                output = array;
+            }
+            return array;
+        }
+
+        byte @NotNull [] grow(final byte @NotNull [] array, final int length) {
+            final byte[] grown = Arrays.copyOf(array, length);
+            if (grown.length <= MAX_POOLED_ARRAY_SIZE) {
+                output = grown;
+            }
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.compression;
+
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.mqtt.mqtt5.advanced.compression.Mqtt5PayloadCompressor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Applies a {@link Mqtt5PayloadCompressor} to outgoing and incoming Publish messages.
+ * <p>
+ * The compressed payload is tagged with the content type of the compressor. Publish messages that already have a
+ * content type or a payload format indicator are therefore sent uncompressed.
+ */
+public class MqttPayloadCompression {
+
+    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttPayloadCompression.class);
+
+    private final @NotNull Mqtt5PayloadCompressor compressor;
+    private final @NotNull MqttUtf8StringImpl contentType;
+    private final int threshold;
+
+    public MqttPayloadCompression(final @NotNull Mqtt5PayloadCompressor compressor, final int threshold) {
+        this.compressor = compressor;
+        contentType = MqttUtf8StringImpl.of(compressor.getContentType(), "Payload compressor content type");
+        this.threshold = threshold;
+    }
+
+    public @NotNull Mqtt5PayloadCompressor getCompressor() {
+        return compressor;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Compresses the payload of an outgoing Publish message if it is at least as long as the threshold and the
+     * compressed payload is shorter than the original payload.
+     *
+     * @param publish the outgoing Publish message.
+     * @return the Publish message with the compressed payload or the given Publish message if it is not compressed.
+     */
+    public @NotNull MqttPublish compress(final @NotNull MqttPublish publish) {
+        if ((publish.getRawPayloadLength() < threshold) || (publish.getRawContentType() != null) ||
+                (publish.getRawPayloadFormatIndicator() != null)) {
+            return publish;
+        }
+        final ByteBuffer payload = publish.getRawPayload();
+        if (payload == null) {
+            return publish;
+        }
+        final ByteBuffer compressed;
+        try {
+            compressed = compressor.compress(payload.duplicate());
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Could not compress the payload of {}, sending it uncompressed: {}", publish, e);
+            return publish;
+        }
+        if (compressed.remaining() >= payload.remaining()) {
+            return publish;
+        }
+        return publish.withPayload(compressed, contentType);
+    }
+
+    /**
+     * Decompresses the payload of an incoming Publish message if it is tagged with the content type of the
+     * compressor.
+     * <p>
+     * If the payload can not be decompressed, the Publish message is emitted unchanged, so subscribers can still
+     * recognize it by its content type.
+     *
+     * @param publish       the incoming Publish message.
+     * @param maximumLength the maximum length of the decompressed payload.
+     * @return the Publish message with the decompressed payload or the given Publish message if it is not compressed.
+     */
+    public @NotNull MqttStatefulPublish decompress(
+            final @NotNull MqttStatefulPublish publish, final int maximumLength) {
+
+        final MqttPublish stateless = publish.stateless();
+        if (!contentType.equals(stateless.getRawContentType())) {
+            return publish;
+        }
+        final ByteBuffer payload = stateless.getRawPayload();
+        final ByteBuffer decompressed;
+        try {
+            decompressed = compressor.decompress(
+                    (payload == null) ? ByteBuffer.allocate(0) : payload.asReadOnlyBuffer(), maximumLength);
+        } catch (final Exception e) {
+            LOGGER.warn("Could not decompress the payload of {}, emitting it compressed: {}", stateless, e);
+            return publish;
+        }
+        return publish.withStateless(stateless.withPayload(decompressed, null));
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttPayloadCompression)) {
+            return false;
+        }
+        final MqttPayloadCompression that = (MqttPayloadCompression) o;
+
+        return compressor.equals(that.compressor) && (threshold == that.threshold);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * compressor.hashCode() + Integer.hashCode(threshold);
+    }
+}
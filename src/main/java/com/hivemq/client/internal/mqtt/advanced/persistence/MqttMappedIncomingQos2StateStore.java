@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.persistence;
+
+import com.hivemq.client.internal.util.UnsignedDataTypes;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5IncomingQos2StateStore;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntConsumer;
+
+/**
+ * Incoming QoS 2 state store backed by a memory-mapped bit set with one bit per packet identifier.
+ * <p>
+ * The size of the file is fixed, so adding and removing a packet identifier only sets or clears a bit and never
+ * allocates or resizes anything. Packet identifier 0 is never used, so its bit stays unset.
+ */
+public class MqttMappedIncomingQos2StateStore implements Mqtt5IncomingQos2StateStore {
+
+    static final int SIZE = (UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE + 1) / Byte.SIZE;
+
+    private final @NotNull MappedByteBuffer buffer;
+    private boolean dirty;
+
+    public MqttMappedIncomingQos2StateStore(final @NotNull Path file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // the mapping stays valid after the channel is closed, a shorter file is extended with zeros
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, SIZE);
+        }
+    }
+
+    @Override
+    public void load(final @NotNull IntConsumer consumer) {
+        for (int i = 0; i < SIZE; i += Long.BYTES) {
+            long word = buffer.getLong(i);
+            while (word != 0) {
+                consumer.accept((i * Byte.SIZE) + Long.numberOfTrailingZeros(word));
+                word &= word - 1; // clear lowest set bit
+            }
+        }
+    }
+
+    @Override
+    public void add(final int packetIdentifier) {
+        final int index = wordIndex(packetIdentifier);
+        buffer.putLong(index, buffer.getLong(index) | (1L << packetIdentifier));
+        dirty = true;
+    }
+
+    @Override
+    public void remove(final int packetIdentifier) {
+        final int index = wordIndex(packetIdentifier);
+        buffer.putLong(index, buffer.getLong(index) & ~(1L << packetIdentifier));
+        dirty = true;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < SIZE; i += Long.BYTES) {
+            buffer.putLong(i, 0);
+        }
+        dirty = true;
+    }
+
+    @Override
+    public void sync() {
+        if (dirty) {
+            dirty = false;
+            buffer.force();
+        }
+    }
+
+    private static int wordIndex(final int packetIdentifier) {
+        return (packetIdentifier >>> 6) * Long.BYTES; // 64 bits per word, the shift of 1L uses the lowest 6 bits
+    }
+}
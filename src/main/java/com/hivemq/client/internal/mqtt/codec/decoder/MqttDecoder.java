@@ -16,6 +16,7 @@
 
 package com.hivemq.client.internal.mqtt.codec.decoder;
 
+import com.hivemq.client.internal.jfr.MqttFlightRecorder;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
@@ -58,7 +59,8 @@ public class MqttDecoder extends ByteToMessageDecoder {
         final MqttConnectRestrictions restrictions = connect.getRestrictions();
         context = new MqttDecoderContext(restrictions.getMaximumPacketSize(), restrictions.getTopicAliasMaximum(),
                 restrictions.isRequestProblemInformation(), restrictions.isRequestResponseInformation(),
-                clientConfig.getAdvancedConfig().isValidatePayloadFormat(), false, false, false);
+                clientConfig.getAdvancedConfig().isValidatePayloadFormat(), false, false, false,
+                clientConfig.getAdvancedConfig().isLazyPublishProperties());
     }
 
     @Override
@@ -106,7 +108,9 @@ public class MqttDecoder extends ByteToMessageDecoder {
             }
 
             in.writerIndex(readerIndexAfterFixedHeader + remainingLength);
+            final Object flightRecorderEvent = MqttFlightRecorder.beginDecode();
             out.add(decoder.decode(flags, in, context));
+            MqttFlightRecorder.endDecode(flightRecorderEvent, messageType, packetSize);
             in.writerIndex(writerIndex);
 
         } catch (final MqttDecoderException e) {
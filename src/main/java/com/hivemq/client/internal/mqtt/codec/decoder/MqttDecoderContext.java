@@ -32,6 +32,7 @@ public class MqttDecoderContext {
     private final boolean directBufferPayload;
     private final boolean directBufferAuth;
     private final boolean directBufferCorrelationData;
+    private final boolean lazyPublishProperties;
 
     MqttDecoderContext(
             final int maximumPacketSize,
@@ -41,7 +42,8 @@ public class MqttDecoderContext {
             final boolean validatePayloadFormat,
             final boolean directBufferPayload,
             final boolean directBufferAuth,
-            final boolean directBufferCorrelationData) {
+            final boolean directBufferCorrelationData,
+            final boolean lazyPublishProperties) {
 
         this.maximumPacketSize = maximumPacketSize;
         this.topicAliasMapping = (topicAliasMaximum == 0) ? null : new MqttTopicImpl[topicAliasMaximum];
@@ -51,6 +53,7 @@ public class MqttDecoderContext {
         this.directBufferPayload = directBufferPayload;
         this.directBufferAuth = directBufferAuth;
         this.directBufferCorrelationData = directBufferCorrelationData;
+        this.lazyPublishProperties = lazyPublishProperties;
     }
 
     public int getMaximumPacketSize() {
@@ -84,4 +87,8 @@ public class MqttDecoderContext {
     public boolean useDirectBufferCorrelationData() {
         return directBufferCorrelationData;
     }
+
+    public boolean isLazyPublishProperties() {
+        return lazyPublishProperties;
+    }
 }
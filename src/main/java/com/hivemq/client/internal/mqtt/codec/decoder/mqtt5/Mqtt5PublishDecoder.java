@@ -20,6 +20,7 @@ import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderContext;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderException;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttMessageDecoder;
 import com.hivemq.client.internal.mqtt.datatypes.*;
+import com.hivemq.client.internal.mqtt.message.publish.MqttLazyPublishProperties;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
 import com.hivemq.client.internal.util.ByteBufferUtil;
@@ -50,6 +51,11 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
 
     private static final int MIN_REMAINING_LENGTH = 3; // topic name (min 2) + property length (min 1)
 
+    private static final int LAZY_CONTENT_TYPE = 1;
+    private static final int LAZY_RESPONSE_TOPIC = 1 << 1;
+    private static final int LAZY_CORRELATION_DATA = 1 << 2;
+    private static final int LAZY_USER_PROPERTIES = 1 << 3;
+
     @Inject
     Mqtt5PublishDecoder() {}
 
@@ -90,6 +96,8 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
         ImmutableList.Builder<MqttUserPropertyImpl> userPropertiesBuilder = null;
         int topicAlias = DEFAULT_NO_TOPIC_ALIAS;
         ImmutableIntList.Builder subscriptionIdentifiersBuilder = null;
+        final boolean lazy = context.isLazyPublishProperties();
+        int lazyProperties = 0;
 
         final int propertiesStartIndex = in.readerIndex();
         int readPropertyLength;
@@ -114,27 +122,54 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
                     break;
 
                 case CONTENT_TYPE:
-                    contentType = decodeUTF8StringOnlyOnce(contentType, "content type", in);
+                    if (lazy) {
+                        lazyProperties = checkLazyOnlyOnce(lazyProperties, LAZY_CONTENT_TYPE, "content type");
+                        if (!MqttUtf8StringImpl.skip(in)) {
+                            throw malformedUTF8String("content type");
+                        }
+                    } else {
+                        contentType = decodeUTF8StringOnlyOnce(contentType, "content type", in);
+                    }
                     break;
 
                 case RESPONSE_TOPIC:
-                    if (responseTopic != null) {
-                        throw moreThanOnce("response topic");
-                    }
-                    responseTopic = MqttTopicImpl.decode(in);
-                    if (responseTopic == null) {
-                        throw new MqttDecoderException(
-                                Mqtt5DisconnectReasonCode.TOPIC_NAME_INVALID, "malformed response topic");
+                    if (lazy) {
+                        lazyProperties = checkLazyOnlyOnce(lazyProperties, LAZY_RESPONSE_TOPIC, "response topic");
+                        if (!MqttTopicImpl.skip(in)) {
+                            throw malformedResponseTopic();
+                        }
+                    } else {
+                        if (responseTopic != null) {
+                            throw moreThanOnce("response topic");
+                        }
+                        responseTopic = MqttTopicImpl.decode(in);
+                        if (responseTopic == null) {
+                            throw malformedResponseTopic();
+                        }
                     }
                     break;
 
                 case CORRELATION_DATA:
-                    correlationData = decodeBinaryDataOnlyOnce(correlationData, "correlation data", in,
-                            context.useDirectBufferCorrelationData());
+                    if (lazy) {
+                        lazyProperties = checkLazyOnlyOnce(lazyProperties, LAZY_CORRELATION_DATA, "correlation data");
+                        if (MqttBinaryData.skip(in) == -1) {
+                            throw new MqttDecoderException("malformed binary data for correlation data");
+                        }
+                    } else {
+                        correlationData = decodeBinaryDataOnlyOnce(correlationData, "correlation data", in,
+                                context.useDirectBufferCorrelationData());
+                    }
                     break;
 
                 case USER_PROPERTY:
-                    userPropertiesBuilder = decodeUserProperty(userPropertiesBuilder, in);
+                    if (lazy) {
+                        lazyProperties |= LAZY_USER_PROPERTIES;
+                        if (!MqttUserPropertyImpl.skip(in)) {
+                            throw new MqttDecoderException("malformed user property");
+                        }
+                    } else {
+                        userPropertiesBuilder = decodeUserProperty(userPropertiesBuilder, in);
+                    }
                     break;
 
                 case TOPIC_ALIAS:
@@ -169,6 +204,14 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
             throw malformedPropertyLength();
         }
 
+        MqttLazyPublishProperties lazyPublishProperties = null;
+        if (lazyProperties != 0) {
+            final byte[] encodedProperties = new byte[propertyLength];
+            in.getBytes(propertiesStartIndex, encodedProperties);
+            lazyPublishProperties =
+                    new MqttLazyPublishProperties(encodedProperties, context.useDirectBufferCorrelationData());
+        }
+
         if (topicAlias != DEFAULT_NO_TOPIC_ALIAS) {
             final MqttTopicImpl[] topicAliasMapping = context.getTopicAliasMapping();
             if ((topicAliasMapping == null) || (topicAlias > topicAliasMapping.length)) {
@@ -193,22 +236,22 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
         final int payloadLength = in.readableBytes();
         ByteBuffer payload = null;
         if (payloadLength > 0) {
-            payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
-            in.readBytes(payload);
-            payload.position(0);
-
             if ((payloadFormatIndicator == Mqtt5PayloadFormatIndicator.UTF_8) && context.validatePayloadFormat() &&
-                    (Utf8Util.isWellFormed(ByteBufferUtil.getBytes(payload)) != 0)) {
+                    (Utf8Util.isWellFormed(in) != 0)) {
                 throw new MqttDecoderException(Mqtt5DisconnectReasonCode.PAYLOAD_FORMAT_INVALID,
                         "payload is not valid UTF-8");
             }
+
+            payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
+            in.readBytes(payload);
+            payload.position(0);
         }
 
         final MqttUserPropertiesImpl userProperties = MqttUserPropertiesImpl.build(userPropertiesBuilder);
 
         final MqttPublish publish =
-                new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
-                        responseTopic, correlationData, userProperties, null);
+                new MqttPublish(topic, payload, null, qos, retain, messageExpiryInterval, payloadFormatIndicator,
+                        contentType, responseTopic, correlationData, userProperties, lazyPublishProperties, null);
 
         final ImmutableIntList subscriptionIdentifiers =
                 (subscriptionIdentifiersBuilder == null) ? DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS :
@@ -216,4 +259,17 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
 
         return publish.createStateful(packetIdentifier, dup, topicAlias, subscriptionIdentifiers);
     }
+
+    private static int checkLazyOnlyOnce(final int lazyProperties, final int property, final @NotNull String name)
+            throws MqttDecoderException {
+
+        if ((lazyProperties & property) != 0) {
+            throw moreThanOnce(name);
+        }
+        return lazyProperties | property;
+    }
+
+    private static @NotNull MqttDecoderException malformedResponseTopic() {
+        return new MqttDecoderException(Mqtt5DisconnectReasonCode.TOPIC_NAME_INVALID, "malformed response topic");
+    }
 }
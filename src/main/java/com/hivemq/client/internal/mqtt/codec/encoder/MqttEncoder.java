@@ -50,6 +50,11 @@ public class MqttEncoder extends ChannelDuplexHandler {
         context = new MqttEncoderContext(ByteBufAllocator.DEFAULT);
     }
 
+    @Override
+    public void handlerAdded(final @NotNull ChannelHandlerContext ctx) {
+        context.setAllocator(ctx.alloc());
+    }
+
     public void onConnected(final @NotNull MqttClientConnectionConfig connectionConfig) {
         context.setMaximumPacketSize(connectionConfig.getSendMaximumPacketSize());
     }
@@ -64,10 +64,7 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
             remainingLength += 2;
         }
 
-        final ByteBuffer payload = stateless.getRawPayload();
-        if (payload != null) {
-            remainingLength += payload.remaining();
-        }
+        remainingLength += stateless.getRawPayloadLength();
 
         return remainingLength;
     }
@@ -110,16 +107,24 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
             final int propertyLength,
             final int omittedProperties) {
 
-        final ByteBuffer payload = message.stateless().getRawPayload();
-        if ((payload != null) && payload.isDirect()) {
-            final int encodedLengthWithoutPayload = encodedLength - payload.remaining();
-            final ByteBuf out =
-                    context.getAllocator().ioBuffer(encodedLengthWithoutPayload, encodedLengthWithoutPayload);
-            encode(message, out, remainingLength, propertyLength, omittedProperties);
-            return Unpooled.wrappedUnmodifiableBuffer(out, Unpooled.wrappedBuffer(payload));
+        final MqttPublish stateless = message.stateless();
+        if (stateless.getRawPayloadWriter() == null) {
+            final ByteBuffer payload = stateless.getRawPayload();
+            if ((payload != null) && payload.isDirect()) {
+                final int encodedLengthWithoutPayload = encodedLength - payload.remaining();
+                final ByteBuf out =
+                        context.getAllocator().ioBuffer(encodedLengthWithoutPayload, encodedLengthWithoutPayload);
+                encode(message, out, remainingLength, propertyLength, omittedProperties);
+                return Unpooled.wrappedUnmodifiableBuffer(out, Unpooled.wrappedBuffer(payload));
+            }
         }
         final ByteBuf out = context.getAllocator().ioBuffer(encodedLength, encodedLength);
-        encode(message, out, remainingLength, propertyLength, omittedProperties);
+        try {
+            encode(message, out, remainingLength, propertyLength, omittedProperties);
+        } catch (final RuntimeException e) { // a payload writer failed
+            out.release();
+            throw e;
+        }
         return out;
     }
 
@@ -206,9 +211,18 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
     }
 
     private void encodePayload(final @NotNull MqttStatefulPublish message, final @NotNull ByteBuf out) {
-        final ByteBuffer payload = message.stateless().getRawPayload();
-        if ((payload != null) && !payload.isDirect()) {
-            out.writeBytes(payload.duplicate());
+        final MqttPublish stateless = message.stateless();
+        if (stateless.getRawPayloadWriter() != null) {
+            // the buffer is allocated with the exact encoded length, so the payload fills the remaining bytes
+            final int writerIndex = out.writerIndex();
+            final int payloadLength = out.writableBytes();
+            stateless.writePayload(out.nioBuffer(writerIndex, payloadLength));
+            out.writerIndex(writerIndex + payloadLength);
+        } else {
+            final ByteBuffer payload = stateless.getRawPayload();
+            if ((payload != null) && !payload.isDirect()) {
+                out.writeBytes(payload.duplicate());
+            }
         }
     }
 }
@@ -73,6 +73,24 @@ public final class MqttBinaryData {
         return byteBuffer;
     }
 
+    /**
+     * Skips binary data in the given byte buffer at the current reader index without copying it.
+     *
+     * @param byteBuf the byte buffer to skip in.
+     * @return the length of the skipped binary data or -1 if there are not enough bytes in the byte buffer.
+     */
+    public static int skip(final @NotNull ByteBuf byteBuf) {
+        if (byteBuf.readableBytes() < 2) {
+            return -1;
+        }
+        final int length = byteBuf.readUnsignedShort();
+        if (byteBuf.readableBytes() < length) {
+            return -1;
+        }
+        byteBuf.skipBytes(length);
+        return length;
+    }
+
     /**
      * Encodes the given byte array as binary data to the given byte buffer at the current writer index.
      * <p>
@@ -21,10 +21,13 @@ import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.datatypes.MqttTopic;
 import io.netty.buffer.ByteBuf;
+import io.netty.util.ByteProcessor;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+
 /**
  * @author Silvio Giebl
  * @see MqttTopic
@@ -33,6 +36,9 @@ import org.jetbrains.annotations.Nullable;
 @Immutable
 public class MqttTopicImpl extends MqttUtf8StringImpl implements MqttTopic {
 
+    private static final @NotNull ByteProcessor NO_WILDCARD_CHARACTER =
+            b -> (b != MqttTopicFilterImpl.MULTI_LEVEL_WILDCARD) && (b != MqttTopicFilterImpl.SINGLE_LEVEL_WILDCARD);
+
     /**
      * Validates and creates a Topic Name of the given UTF-16 encoded Java string.
      *
@@ -86,6 +92,25 @@ public class MqttTopicImpl extends MqttUtf8StringImpl implements MqttTopic {
         return (binary == null) ? null : of(binary);
     }
 
+    /**
+     * Validates a Topic Name in the given byte buffer at the current reader index and skips it without copying it.
+     * <p>
+     * In case of a wrong encoding the reader index of the byte buffer will be in an undefined state after the method
+     * returns.
+     *
+     * @param byteBuf the byte buffer with the UTF-8 encoded data to skip.
+     * @return whether the byte buffer contained a valid Topic Name.
+     */
+    public static boolean skip(final @NotNull ByteBuf byteBuf) {
+        final int length = MqttBinaryData.skip(byteBuf);
+        if (length <= 0) {
+            return false;
+        }
+        final int index = byteBuf.readerIndex() - length;
+        return !MqttUtf8StringImpl.isWellFormed(byteBuf, index, length) &&
+                (byteBuf.forEachByte(index, length, NO_WILDCARD_CHARACTER) == -1);
+    }
+
     /**
      * Checks if the given byte array with UTF-8 encoded data represents a well-formed Topic Name according to the MQTT
      * specification.
@@ -168,6 +193,8 @@ public class MqttTopicImpl extends MqttUtf8StringImpl implements MqttTopic {
         }
     }
 
+    private int binaryHash;
+
     private MqttTopicImpl(final byte @NotNull [] binary) {
         super(binary);
     }
@@ -176,6 +203,22 @@ public class MqttTopicImpl extends MqttUtf8StringImpl implements MqttTopic {
         super(string);
     }
 
+    /**
+     * Returns a hash code of the UTF-8 encoded representation. In contrast to {@link #hashCode()} it does not require
+     * the UTF-16 encoded representation and is cached, so repeated lookups of the same topic instance only compare
+     * bytes.
+     *
+     * @return the hash code of the UTF-8 encoded representation.
+     */
+    public int binaryHashCode() {
+        int binaryHash = this.binaryHash;
+        if (binaryHash == 0) {
+            binaryHash = Arrays.hashCode(toBinary());
+            this.binaryHash = binaryHash;
+        }
+        return binaryHash;
+    }
+
     @Override
     public @NotNull ImmutableList<String> getLevels() {
         return splitLevels(toString());
@@ -75,6 +75,16 @@ public class MqttUserPropertyImpl implements Mqtt5UserProperty {
         return new MqttUserPropertyImpl(name, value);
     }
 
+    /**
+     * Validates a User Property in the given byte buffer at the current reader index and skips it without copying it.
+     *
+     * @param in the byte buffer to skip in.
+     * @return whether the name and value are valid UTF-8 encoded Strings.
+     */
+    public static boolean skip(final @NotNull ByteBuf in) {
+        return MqttUtf8StringImpl.skip(in) && MqttUtf8StringImpl.skip(in);
+    }
+
     private final @NotNull MqttUtf8StringImpl name;
     private final @NotNull MqttUtf8StringImpl value;
 
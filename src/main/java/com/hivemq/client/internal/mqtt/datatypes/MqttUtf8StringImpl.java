@@ -121,6 +121,21 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
         return (binary == null) ? null : of(binary);
     }
 
+    /**
+     * Validates a UTF-8 encoded string in the given byte buffer at the current reader index and skips it without
+     * copying it.
+     * <p>
+     * In case of a wrong encoding the reader index of the byte buffer will be in an undefined state after the method
+     * returns.
+     *
+     * @param byteBuf the byte buffer with the UTF-8 encoded data to skip.
+     * @return whether the byte buffer contained a valid UTF-8 encoded string.
+     */
+    public static boolean skip(final @NotNull ByteBuf byteBuf) {
+        final int length = MqttBinaryData.skip(byteBuf);
+        return (length != -1) && !isWellFormed(byteBuf, byteBuf.readerIndex() - length, length);
+    }
+
     /**
      * Checks if the given byte array with UTF-8 encoded data represents a well-formed UTF-8 encoded string according to
      * the MQTT specification, so
@@ -149,6 +164,21 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
         return false;
     }
 
+    /**
+     * Checks if the given region of the byte buffer with UTF-8 encoded data represents a well-formed UTF-8 encoded
+     * string according to the MQTT specification without copying it.
+     *
+     * @param byteBuf the byte buffer with UTF-8 encoded data.
+     * @param index   the index of the first byte of the region.
+     * @param length  the length of the region.
+     * @return whether the region does NOT represent a well-formed UTF-8 encoded string.
+     * @see #isWellFormed(byte[])
+     */
+    static boolean isWellFormed(final @NotNull ByteBuf byteBuf, final int index, final int length) {
+        return (Utf8Util.isWellFormed(byteBuf, index, length) != 0) ||
+                (byteBuf.indexOf(index, index + length, (byte) 0) != -1);
+    }
+
     /**
      * Checks if the given UTF-16 encoded Java string is a well-formed UTF-8 encoded string according to the MQTT
      * specification, so
@@ -282,7 +312,7 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
      *
      * @return the UTF-8 encoded byte array.
      */
-    byte @NotNull [] toBinary() {
+    public byte @NotNull [] toBinary() {
         byte[] binary = this.binary;
         if (binary == null) {
             final String string = this.string;
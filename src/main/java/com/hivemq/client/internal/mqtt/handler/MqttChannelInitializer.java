@@ -16,8 +16,10 @@
 
 package com.hivemq.client.internal.mqtt.handler;
 
+import com.hivemq.client.internal.jfr.MqttFlightRecorder;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientSslConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
 import com.hivemq.client.internal.mqtt.MqttProxyConfigImpl;
 import com.hivemq.client.internal.mqtt.MqttWebSocketConfigImpl;
 import com.hivemq.client.internal.mqtt.codec.encoder.MqttEncoder;
@@ -39,8 +41,11 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.socket.SocketChannel;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Initializes:
@@ -93,32 +98,71 @@ public class MqttChannelInitializer extends ChannelInboundHandlerAdapter {
     public void handlerAdded(final @NotNull ChannelHandlerContext ctx) {
         ctx.pipeline().remove(this);
 
-        ((SocketChannel) ctx.channel()).config()
+        final Channel channel = ctx.channel();
+        final MqttClientTransportConfigImpl transportConfig = clientConfig.getCurrentTransportConfig();
+        initChannelConfig(channel, transportConfig);
+        initProxy(channel, clientConfig, transportConfig, connAckFlow.getConnectEvent(), this::initWebsocket,
+                this::onError);
+    }
+
+    /**
+     * Initializes the remaining handlers on a channel whose proxy and SSL/TLS handshakes were already completed by a
+     * {@link MqttFailoverStandby}.
+     *
+     * @param channel the promoted standby channel.
+     */
+    public void initStandby(final @NotNull Channel channel) {
+        initWebsocket(channel);
+    }
+
+    static void initChannelConfig(
+            final @NotNull Channel channel, final @NotNull MqttClientTransportConfigImpl transportConfig) {
+
+        channel.config()
                 // close not on write error (concurrent write while remote closes the connection), only on read
                 // this ensures that always all bytes are read, e.g. of the DISCONNECT sent before the close
                 .setAutoClose(false)
-                .setKeepAlive(true)
-                .setTcpNoDelay(true)
-                .setConnectTimeoutMillis(clientConfig.getCurrentTransportConfig().getSocketConnectTimeoutMs());
-
-        initProxy(ctx.channel());
+                .setConnectTimeoutMillis(transportConfig.getSocketConnectTimeoutMs());
+        if (channel instanceof SocketChannel) { // not for Unix domain sockets and local channels
+            ((SocketChannel) channel).config().setKeepAlive(true).setTcpNoDelay(true);
+        }
     }
 
-    private void initProxy(final @NotNull Channel channel) {
-        final MqttProxyConfigImpl proxyConfig = clientConfig.getCurrentTransportConfig().getRawProxyConfig();
+    static void initProxy(
+            final @NotNull Channel channel,
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttClientTransportConfigImpl transportConfig,
+            final @Nullable Object connectEvent,
+            final @NotNull Consumer<Channel> onSuccess,
+            final @NotNull BiConsumer<Channel, Throwable> onError) {
+
+        final MqttProxyConfigImpl proxyConfig = transportConfig.getRawProxyConfig();
         if (proxyConfig == null) {
-            initSsl(channel);
+            initSsl(channel, clientConfig, transportConfig, connectEvent, onSuccess, onError);
         } else {
-            MqttProxyInitializer.initChannel(channel, clientConfig, proxyConfig, this::initSsl, this::onError);
+            MqttProxyInitializer.initChannel(channel, proxyConfig, transportConfig.getServerAddress(), c -> {
+                MqttFlightRecorder.connectPhase(connectEvent, MqttFlightRecorder.PHASE_PROXY);
+                initSsl(c, clientConfig, transportConfig, connectEvent, onSuccess, onError);
+            }, onError);
         }
     }
 
-    private void initSsl(final @NotNull Channel channel) {
-        final MqttClientSslConfigImpl sslConfig = clientConfig.getCurrentTransportConfig().getRawSslConfig();
+    private static void initSsl(
+            final @NotNull Channel channel,
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttClientTransportConfigImpl transportConfig,
+            final @Nullable Object connectEvent,
+            final @NotNull Consumer<Channel> onSuccess,
+            final @NotNull BiConsumer<Channel, Throwable> onError) {
+
+        final MqttClientSslConfigImpl sslConfig = transportConfig.getRawSslConfig();
         if (sslConfig == null) {
-            initWebsocket(channel);
+            onSuccess.accept(channel);
         } else {
-            MqttSslInitializer.initChannel(channel, clientConfig, sslConfig, this::initWebsocket, this::onError);
+            MqttSslInitializer.initChannel(channel, clientConfig, sslConfig, transportConfig.getServerAddress(), c -> {
+                MqttFlightRecorder.connectPhase(connectEvent, MqttFlightRecorder.PHASE_TLS);
+                onSuccess.accept(c);
+            }, onError);
         }
     }
 
@@ -128,8 +172,10 @@ public class MqttChannelInitializer extends ChannelInboundHandlerAdapter {
         if (webSocketConfig == null) {
             initMqtt(channel);
         } else {
-            webSocketInitializer.get()
-                    .initChannel(channel, clientConfig, webSocketConfig, this::initMqtt, this::onError);
+            webSocketInitializer.get().initChannel(channel, clientConfig, webSocketConfig, c -> {
+                MqttFlightRecorder.connectPhase(connAckFlow.getConnectEvent(), MqttFlightRecorder.PHASE_WEBSOCKET);
+                initMqtt(c);
+            }, this::onError);
         }
     }
 
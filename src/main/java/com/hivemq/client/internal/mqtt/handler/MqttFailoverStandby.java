@@ -0,0 +1,210 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler;
+
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.netty.NettyEventLoopProvider;
+import com.hivemq.client.mqtt.MqttClientState;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoop;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm standby connection to the next failover server address.
+ * <p>
+ * The standby connection completes the TCP, proxy and SSL/TLS handshakes, but does not send a CONNECT message. It is
+ * promoted by {@link #take(MqttClientConfig, MqttClientTransportConfigImpl)} when the client reconnects to the same
+ * transport configuration. All methods must be called on the event loop of the client.
+ */
+public class MqttFailoverStandby extends ChannelInboundHandlerAdapter {
+
+    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttFailoverStandby.class);
+    static final long REOPEN_DELAY_S = 10;
+
+    /**
+     * Opens a standby connection to the next failover server address if configured and not already open.
+     *
+     * @param clientConfig the config of the client.
+     * @param eventLoop    the event loop of the client.
+     */
+    public static void open(final @NotNull MqttClientConfig clientConfig, final @NotNull EventLoop eventLoop) {
+        final MqttClientTransportConfigImpl currentTransportConfig = clientConfig.getCurrentTransportConfig();
+        if (!currentTransportConfig.isFailoverWarmStandby() ||
+                currentTransportConfig.getFailoverServerAddresses().isEmpty() ||
+                (clientConfig.getFailoverStandby() != null)) {
+            return;
+        }
+        final MqttClientTransportConfigImpl transportConfig = currentTransportConfig.failover();
+        final MqttFailoverStandby standby = new MqttFailoverStandby(clientConfig, transportConfig);
+        clientConfig.setFailoverStandby(standby);
+        clientConfig.acquireEventLoop();
+
+        final Bootstrap bootstrap = new Bootstrap().group(eventLoop)
+                .channelFactory(NettyEventLoopProvider.INSTANCE.getChannelFactory(transportConfig.getTransportType()))
+                .handler(standby);
+        final ByteBufAllocator allocator = clientConfig.getExecutorConfig().getRawNettyAllocator();
+        if (allocator != null) {
+            bootstrap.option(ChannelOption.ALLOCATOR, allocator);
+        }
+        final ChannelFuture connectFuture =
+                bootstrap.connect(transportConfig.getRemoteAddress(), transportConfig.getRawLocalAddress());
+        final Channel channel = connectFuture.channel();
+        standby.channel = channel;
+        channel.closeFuture().addListener(future -> standby.closed(eventLoop));
+        connectFuture.addListener(future -> {
+            if (!future.isSuccess()) {
+                standby.onError(channel, future.cause());
+            }
+        });
+    }
+
+    /**
+     * Takes the standby connection if it is ready and connected to the given transport configuration. Otherwise an
+     * open standby connection is closed.
+     *
+     * @param clientConfig    the config of the client.
+     * @param transportConfig the transport configuration the client reconnects to.
+     * @return the channel of the standby connection or <code>null</code> if no matching standby connection is ready.
+     */
+    public static @Nullable Channel take(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttClientTransportConfigImpl transportConfig) {
+
+        final MqttFailoverStandby standby = clientConfig.getFailoverStandby();
+        if (standby == null) {
+            return null;
+        }
+        clientConfig.setFailoverStandby(null);
+        final Channel channel = standby.channel;
+        if (!standby.isReady(transportConfig)) {
+            standby.release();
+            if (channel != null) {
+                channel.close();
+            }
+            return null;
+        }
+        assert channel != null;
+        standby.release(); // the event loop is further used by the promoted connection
+        return channel;
+    }
+
+    /**
+     * @param clientConfig    the config of the client.
+     * @param transportConfig the transport configuration the client reconnects to.
+     * @return whether a standby connection to the given transport configuration is ready to be taken.
+     */
+    public static boolean isReady(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttClientTransportConfigImpl transportConfig) {
+
+        final MqttFailoverStandby standby = clientConfig.getFailoverStandby();
+        return (standby != null) && standby.isReady(transportConfig);
+    }
+
+    /**
+     * Closes the standby connection if one is open. Its reference to the event loop is released immediately and not
+     * only when the channel is closed.
+     *
+     * @param clientConfig the config of the client.
+     */
+    public static void close(final @NotNull MqttClientConfig clientConfig) {
+        final MqttFailoverStandby standby = clientConfig.getFailoverStandby();
+        if (standby != null) {
+            clientConfig.setFailoverStandby(null);
+            standby.release();
+            if (standby.channel != null) {
+                standby.channel.close();
+            }
+        }
+    }
+
+    private final @NotNull MqttClientConfig clientConfig;
+    private final @NotNull MqttClientTransportConfigImpl transportConfig;
+    private @Nullable Channel channel;
+    private boolean ready;
+    private boolean released;
+
+    private MqttFailoverStandby(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttClientTransportConfigImpl transportConfig) {
+
+        this.clientConfig = clientConfig;
+        this.transportConfig = transportConfig;
+    }
+
+    @Override
+    public void handlerAdded(final @NotNull ChannelHandlerContext ctx) {
+        ctx.pipeline().remove(this);
+
+        final Channel channel = ctx.channel();
+        MqttChannelInitializer.initChannelConfig(channel, transportConfig);
+        MqttChannelInitializer.initProxy(channel, clientConfig, transportConfig, null, this::onReady, this::onError);
+    }
+
+    private void onReady(final @NotNull Channel channel) {
+        ready = true;
+    }
+
+    private void onError(final @NotNull Channel channel, final @NotNull Throwable cause) {
+        LOGGER.warn("Failover standby connection to {} failed: {}", transportConfig.getServerAddress(), cause);
+        channel.close();
+    }
+
+    private boolean isReady(final @NotNull MqttClientTransportConfigImpl transportConfig) {
+        return ready && (channel != null) && channel.isActive() && this.transportConfig.equals(transportConfig);
+    }
+
+    private void release() {
+        if (!released) {
+            released = true;
+            clientConfig.releaseEventLoop();
+        }
+    }
+
+    private void closed(final @NotNull EventLoop eventLoop) {
+        if (released) {
+            return;
+        }
+        release();
+        if (clientConfig.getFailoverStandby() == this) {
+            clientConfig.setFailoverStandby(null);
+            // the server may close connections that do not send a CONNECT in time, so the standby is opened again
+            eventLoop.schedule(() -> {
+                if (clientConfig.getState() == MqttClientState.CONNECTED) {
+                    open(clientConfig, eventLoop);
+                }
+            }, REOPEN_DELAY_S, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public boolean isSharable() {
+        return false;
+    }
+}
@@ -71,6 +71,7 @@ public class MqttSession {
             end(new MqttSessionExpiredException(message, new Mqtt5ConnAckException(connAck, message)));
         }
         hasSession = true;
+        incomingQosHandler.loadQos2State(connAck.isSessionPresent());
 
         if (expireFuture != null) {
             expireFuture.cancel(false);
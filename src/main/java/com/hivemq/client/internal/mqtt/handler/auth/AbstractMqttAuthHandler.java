@@ -24,6 +24,7 @@ import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
 import com.hivemq.client.internal.mqtt.handler.util.MqttTimeoutInboundHandler;
 import com.hivemq.client.internal.mqtt.message.auth.MqttAuth;
 import com.hivemq.client.internal.mqtt.message.auth.MqttAuthBuilder;
+import com.hivemq.client.internal.netty.MqttTimer;
 import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5ClientConfig;
 import com.hivemq.client.mqtt.mqtt5.auth.Mqtt5EnhancedAuthMechanism;
@@ -67,6 +68,7 @@ abstract class AbstractMqttAuthHandler extends MqttTimeoutInboundHandler impleme
     AbstractMqttAuthHandler(
             final @NotNull MqttClientConfig clientConfig, final @NotNull Mqtt5EnhancedAuthMechanism authMechanism) {
 
+        super(MqttTimer.of(clientConfig.getAdvancedConfig().isUseSharedTimer()));
         this.clientConfig = clientConfig;
         this.authMechanism = authMechanism;
     }
@@ -31,6 +31,7 @@ public class MqttConnAckFlow {
     private final @NotNull Disposable disposable;
     private final int attempts;
     private boolean done;
+    private @Nullable Object connectEvent;
 
     MqttConnAckFlow(final @NotNull SingleObserver<? super Mqtt5ConnAck> observer) {
         this.observer = observer;
@@ -79,6 +80,18 @@ public class MqttConnAckFlow {
         return attempts;
     }
 
+    void setConnectEvent(final @Nullable Object connectEvent) {
+        this.connectEvent = connectEvent;
+    }
+
+    /**
+     * @return the flight recorder event of this connect attempt, see
+     *         {@link com.hivemq.client.internal.jfr.MqttFlightRecorder#beginConnect}.
+     */
+    public @Nullable Object getConnectEvent() {
+        return connectEvent;
+    }
+
     private static class MqttConnAckDisposable implements Disposable {
 
         private volatile boolean disposed;
@@ -16,27 +16,40 @@
 
 package com.hivemq.client.internal.mqtt.handler.connect;
 
+import com.hivemq.client.internal.jfr.MqttFlightRecorder;
 import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
 import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.handler.MqttFailoverStandby;
+import com.hivemq.client.internal.mqtt.ioc.ConnectionComponent;
 import com.hivemq.client.internal.mqtt.lifecycle.MqttClientDisconnectedContextImpl;
 import com.hivemq.client.internal.mqtt.lifecycle.MqttClientReconnector;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
+import com.hivemq.client.internal.netty.HappyEyeballsConnector;
+import com.hivemq.client.internal.netty.MqttDnsResolver;
+import com.hivemq.client.internal.netty.NettyEventLoopProvider;
 import com.hivemq.client.mqtt.exceptions.ConnectionFailedException;
 import com.hivemq.client.mqtt.lifecycle.MqttClientDisconnectedContext;
 import com.hivemq.client.mqtt.lifecycle.MqttClientDisconnectedListener;
 import com.hivemq.client.mqtt.lifecycle.MqttDisconnectSource;
 import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
 import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.Future;
 import io.reactivex.Single;
 import io.reactivex.SingleObserver;
 import io.reactivex.internal.disposables.EmptyDisposable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static com.hivemq.client.mqtt.MqttClientState.*;
@@ -78,30 +91,104 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
             clientConfig.releaseEventLoop();
             clientConfig.getRawState().set(DISCONNECTED);
         } else {
-            final Bootstrap bootstrap = clientConfig.getClientComponent()
+            final ConnectionComponent connectionComponent = clientConfig.getClientComponent()
                     .connectionComponentBuilder()
                     .connect(connect)
                     .connAckFlow(flow)
-                    .build()
-                    .bootstrap();
+                    .build();
 
             final MqttClientTransportConfigImpl transportConfig = clientConfig.getCurrentTransportConfig();
+            flow.setConnectEvent(MqttFlightRecorder.beginConnect(clientConfig, transportConfig));
 
-            bootstrap.group(eventLoop)
-                    .connect(transportConfig.getRemoteAddress(), transportConfig.getRawLocalAddress())
-                    .addListener(future -> {
-                        final Throwable cause = future.cause();
-                        if (cause != null) {
-                            final ConnectionFailedException e = new ConnectionFailedException(cause);
-                            if (eventLoop.inEventLoop()) {
-                                reconnect(clientConfig, MqttDisconnectSource.CLIENT, e, connect, flow, eventLoop);
-                            } else {
-                                eventLoop.execute(
-                                        () -> reconnect(clientConfig, MqttDisconnectSource.CLIENT, e, connect, flow,
-                                                eventLoop));
-                            }
-                        }
-                    });
+            if (eventLoop.inEventLoop()) {
+                final Channel standbyChannel = MqttFailoverStandby.take(clientConfig, transportConfig);
+                if (standbyChannel != null) {
+                    connectionComponent.channelInitializer().initStandby(standbyChannel);
+                    return;
+                }
+            } else {
+                // the standby is only accessed on the event loop, this task runs before the channel is registered
+                eventLoop.execute(() -> MqttFailoverStandby.close(clientConfig));
+            }
+
+            final Bootstrap bootstrap = connectionComponent.bootstrap().group(eventLoop);
+            final InetSocketAddress serverAddress = transportConfig.getServerAddress();
+            if (transportConfig.isAsyncDnsResolution() && (transportConfig.getRawProxyConfig() == null) &&
+                    serverAddress.isUnresolved()) {
+
+                resolveAndConnect(clientConfig, connect, flow, eventLoop, bootstrap, transportConfig, serverAddress);
+            } else {
+                bootstrap.connect(transportConfig.getRemoteAddress(), transportConfig.getRawLocalAddress())
+                        .addListener(future -> onConnectComplete(clientConfig, connect, flow, eventLoop, future));
+            }
+        }
+    }
+
+    private static void resolveAndConnect(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttConnect connect,
+            final @NotNull MqttConnAckFlow flow,
+            final @NotNull EventLoop eventLoop,
+            final @NotNull Bootstrap bootstrap,
+            final @NotNull MqttClientTransportConfigImpl transportConfig,
+            final @NotNull InetSocketAddress serverAddress) {
+
+        MqttDnsResolver.resolveAll(eventLoop, transportConfig.getTransportType(), serverAddress.getHostString())
+                .addListener((Future<List<InetAddress>> future) -> {
+                    if (future.isSuccess()) {
+                        MqttFlightRecorder.connectPhase(flow.getConnectEvent(), MqttFlightRecorder.PHASE_DNS);
+                        connect(clientConfig, connect, flow, eventLoop, bootstrap, transportConfig,
+                                serverAddress.getPort(), future.getNow());
+                    } else {
+                        onConnectComplete(clientConfig, connect, flow, eventLoop, future);
+                    }
+                });
+    }
+
+    private static void connect(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttConnect connect,
+            final @NotNull MqttConnAckFlow flow,
+            final @NotNull EventLoop eventLoop,
+            final @NotNull Bootstrap bootstrap,
+            final @NotNull MqttClientTransportConfigImpl transportConfig,
+            final int port,
+            final @NotNull List<InetAddress> resolvedAddresses) {
+
+        final List<InetSocketAddress> addresses = new ArrayList<>(resolvedAddresses.size());
+        for (final InetAddress address : resolvedAddresses) {
+            addresses.add(new InetSocketAddress(address, port));
+        }
+        final InetSocketAddress localAddress = transportConfig.getRawLocalAddress();
+        final Future<?> connectFuture;
+        if (addresses.size() == 1) {
+            connectFuture = bootstrap.connect(addresses.get(0), localAddress);
+        } else {
+            // the channel initializer sets the connect timeout, but it is only added to the winning channel
+            bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, transportConfig.getSocketConnectTimeoutMs());
+            connectFuture = HappyEyeballsConnector.connect(bootstrap, addresses, localAddress);
+        }
+        connectFuture.addListener(future -> onConnectComplete(clientConfig, connect, flow, eventLoop, future));
+    }
+
+    private static void onConnectComplete(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttConnect connect,
+            final @NotNull MqttConnAckFlow flow,
+            final @NotNull EventLoop eventLoop,
+            final @NotNull Future<?> future) {
+
+        final Throwable cause = future.cause();
+        if (cause == null) {
+            MqttFlightRecorder.connectPhase(flow.getConnectEvent(), MqttFlightRecorder.PHASE_TCP);
+        } else {
+            final ConnectionFailedException e = new ConnectionFailedException(cause);
+            if (eventLoop.inEventLoop()) {
+                reconnect(clientConfig, MqttDisconnectSource.CLIENT, e, connect, flow, eventLoop);
+            } else {
+                eventLoop.execute(
+                        () -> reconnect(clientConfig, MqttDisconnectSource.CLIENT, e, connect, flow, eventLoop));
+            }
         }
     }
 
@@ -114,6 +201,7 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
             final @NotNull EventLoop eventLoop) {
 
         if (flow.setDone()) {
+            MqttFlightRecorder.endConnect(flow.getConnectEvent(), cause);
             reconnect(clientConfig, source, cause, connect, flow.getAttempts() + 1, flow, eventLoop);
         }
     }
@@ -137,8 +225,9 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
             final @Nullable MqttConnAckFlow flow,
             final @NotNull EventLoop eventLoop) {
 
-        final MqttClientReconnector reconnector =
-                new MqttClientReconnector(eventLoop, attempts, connect, clientConfig.getCurrentTransportConfig());
+        final MqttClientTransportConfigImpl currentTransportConfig = clientConfig.getCurrentTransportConfig();
+        final MqttClientReconnector reconnector = new MqttClientReconnector(eventLoop, attempts, connect,
+                (source == MqttDisconnectSource.USER) ? currentTransportConfig : currentTransportConfig.failover());
         final MqttClientDisconnectedContext context =
                 MqttClientDisconnectedContextImpl.of(clientConfig, source, cause, reconnector);
 
@@ -152,31 +241,27 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
 
         if (reconnector.isReconnect()) {
             clientConfig.getRawState().set(DISCONNECTED_RECONNECT);
+            // failover to a warm standby connection is not delayed, following attempts use the configured delay
+            final long delayNanos =
+                    ((attempts == 0) && MqttFailoverStandby.isReady(clientConfig, reconnector.getTransportConfig())) ?
+                            0 : reconnector.getDelay(TimeUnit.NANOSECONDS);
+            MqttFlightRecorder.reconnect(clientConfig, source, cause, attempts, delayNanos);
             eventLoop.schedule(() -> {
                 reconnector.getFuture().whenComplete((ignored, throwable) -> {
-                    if (reconnector.isReconnect()) {
-                        if (clientConfig.getRawState().compareAndSet(DISCONNECTED_RECONNECT, CONNECTING_RECONNECT)) {
-
-                            clientConfig.setCurrentTransportConfig(reconnector.getTransportConfig());
-                            connect(clientConfig, reconnector.getConnect(), new MqttConnAckFlow(flow), eventLoop);
-                        }
-
-                    } else if (clientConfig.getRawState().compareAndSet(DISCONNECTED_RECONNECT, DISCONNECTED)) {
-                        clientConfig.releaseEventLoop();
-                        if (flow != null) {
-                            if (throwable == null) {
-                                flow.onError(new ConnectionFailedException("Reconnect was cancelled."));
-                            } else {
-                                flow.onError(new ConnectionFailedException(throwable));
-                            }
-                        }
+                    // the future may be completed by a user thread, the reconnect continues on the event loop
+                    if (eventLoop.inEventLoop()) {
+                        reconnectCompleted(clientConfig, flow, eventLoop, reconnector, throwable);
+                    } else {
+                        eventLoop.execute(
+                                () -> reconnectCompleted(clientConfig, flow, eventLoop, reconnector, throwable));
                     }
                 });
-            }, reconnector.getDelay(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+            }, delayNanos, TimeUnit.NANOSECONDS);
             clientConfig.setResubscribeIfSessionExpired(reconnector.isResubscribeIfSessionExpired());
             clientConfig.setRepublishIfSessionExpired(reconnector.isRepublishIfSessionExpired());
             reconnector.afterOnDisconnected();
         } else {
+            MqttFailoverStandby.close(clientConfig);
             clientConfig.getRawState().set(DISCONNECTED);
             clientConfig.releaseEventLoop();
             if (flow != null) {
@@ -184,4 +269,43 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
             }
         }
     }
+
+    private static void reconnectCompleted(
+            final @NotNull MqttClientConfig clientConfig,
+            final @Nullable MqttConnAckFlow flow,
+            final @NotNull EventLoop eventLoop,
+            final @NotNull MqttClientReconnector reconnector,
+            final @Nullable Throwable throwable) {
+
+        if (reconnector.isReconnect()) {
+            if (clientConfig.getRawState().compareAndSet(DISCONNECTED_RECONNECT, CONNECTING_RECONNECT)) {
+                final MqttClientTransportConfigImpl transportConfig = reconnector.getTransportConfig();
+                if (!NettyEventLoopProvider.INSTANCE.isCompatible(transportConfig.getTransportType(),
+                        clientConfig.getCurrentTransportConfig().getTransportType())) {
+                    // the standby keeps the event loop acquired which would prevent switching the event loop
+                    MqttFailoverStandby.close(clientConfig);
+                }
+                clientConfig.setCurrentTransportConfig(transportConfig);
+                final EventLoop transportEventLoop = clientConfig.switchEventLoop();
+                if (transportEventLoop == null) {
+                    reconnect(clientConfig, MqttDisconnectSource.CLIENT, new ConnectionFailedException(
+                                    "Transport type can not be changed while other flows use the event loop."),
+                            reconnector.getConnect(), new MqttConnAckFlow(flow), eventLoop);
+                } else {
+                    connect(clientConfig, reconnector.getConnect(), new MqttConnAckFlow(flow), transportEventLoop);
+                }
+            }
+
+        } else if (clientConfig.getRawState().compareAndSet(DISCONNECTED_RECONNECT, DISCONNECTED)) {
+            MqttFailoverStandby.close(clientConfig);
+            clientConfig.releaseEventLoop();
+            if (flow != null) {
+                if (throwable == null) {
+                    flow.onError(new ConnectionFailedException("Reconnect was cancelled."));
+                } else {
+                    flow.onError(new ConnectionFailedException(throwable));
+                }
+            }
+        }
+    }
 }
@@ -16,6 +16,7 @@
 
 package com.hivemq.client.internal.mqtt.handler.connect;
 
+import com.hivemq.client.internal.jfr.MqttFlightRecorder;
 import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
@@ -23,6 +24,7 @@ import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoder;
 import com.hivemq.client.internal.mqtt.codec.encoder.MqttEncoder;
 import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.handler.MqttFailoverStandby;
 import com.hivemq.client.internal.mqtt.handler.MqttSession;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectEvent;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
@@ -35,6 +37,7 @@ import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnectRestrictions;
 import com.hivemq.client.internal.mqtt.message.connect.connack.MqttConnAck;
 import com.hivemq.client.internal.mqtt.message.connect.connack.MqttConnAckRestrictions;
+import com.hivemq.client.internal.netty.MqttTimer;
 import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttClientState;
 import com.hivemq.client.mqtt.MqttVersion;
@@ -83,6 +86,7 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
             final @NotNull MqttSession session,
             final @NotNull MqttDecoder decoder) {
 
+        super(MqttTimer.of(clientConfig.getAdvancedConfig().isUseSharedTimer()));
         this.connect = connect;
         this.connAckFlow = connAckFlow;
         this.clientConfig = clientConfig;
@@ -170,11 +174,14 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
 
             final int keepAlive = connectionConfig.getKeepAlive();
             if (keepAlive > 0) {
-                final MqttPingHandler pingHandler = new MqttPingHandler(keepAlive, connectFlushTime, System.nanoTime());
+                final MqttPingHandler pingHandler =
+                        new MqttPingHandler(keepAlive, getTimer(), connectFlushTime, System.nanoTime());
                 channel.pipeline().addAfter(MqttDecoder.NAME, MqttPingHandler.NAME, pingHandler);
             }
 
             clientConfig.getRawState().set(MqttClientState.CONNECTED);
+            MqttFlightRecorder.endConnect(connAckFlow.getConnectEvent(), null);
+            MqttFailoverStandby.open(clientConfig, channel.eventLoop());
 
             final ImmutableList<MqttClientConnectedListener> connectedListeners = clientConfig.getConnectedListeners();
             if (!connectedListeners.isEmpty()) {
@@ -278,6 +285,7 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
                 Math.min(restrictions.getSendMaximum(), connAckRestrictions.getReceiveMaximum()),
                 Math.min(restrictions.getSendMaximumPacketSize(), connAckRestrictions.getMaximumPacketSize()),
                 Math.min(restrictions.getSendTopicAliasMaximum(), connAckRestrictions.getTopicAliasMaximum()),
+                clientConfig.getAdvancedConfig().getPinnedTopicAliases(),
                 connAckRestrictions.getMaximumQos(),
                 connAckRestrictions.isRetainAvailable(),
                 connAckRestrictions.isWildcardSubscriptionAvailable(),
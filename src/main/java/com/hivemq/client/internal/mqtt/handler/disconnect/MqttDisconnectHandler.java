@@ -30,6 +30,7 @@ import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnectRestrictions;
 import com.hivemq.client.internal.mqtt.message.connect.connack.MqttConnAck;
 import com.hivemq.client.internal.mqtt.message.disconnect.MqttDisconnect;
+import com.hivemq.client.internal.netty.MqttTimer;
 import com.hivemq.client.internal.rx.CompletableFlow;
 import com.hivemq.client.mqtt.MqttVersion;
 import com.hivemq.client.mqtt.exceptions.ConnectionClosedException;
@@ -42,7 +43,6 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.EventLoop;
 import io.netty.channel.socket.DuplexChannel;
-import io.netty.util.concurrent.ScheduledFuture;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -117,7 +117,7 @@ public class MqttDisconnectHandler extends MqttConnectionAwareHandler {
         } else if (state instanceof DisconnectingState) {
             final DisconnectingState disconnectingState = (DisconnectingState) state;
             state = STATE_CLOSED;
-            disconnectingState.timeoutFuture.cancel(false);
+            disconnectingState.timeoutFuture.cancel();
             disconnected(disconnectingState.channel, disconnectingState.disconnectEvent);
             disconnectingState.disconnectEvent.getFlow().onComplete();
         }
@@ -183,10 +183,16 @@ public class MqttDisconnectHandler extends MqttConnectionAwareHandler {
             if (disconnectEvent instanceof MqttDisconnectEvent.ByUser) {
                 final MqttDisconnectEvent.ByUser disconnectEventByUser = (MqttDisconnectEvent.ByUser) disconnectEvent;
                 ctx.writeAndFlush(disconnect).addListener(f -> {
-                    if (f.isSuccess()) {
+                    if (f.isSuccess() && !(channel instanceof DuplexChannel)) {
+                        // no half-close (e.g. local transport), the channel is closed right after the DISCONNECT
+                        state = new DisconnectingState(channel, disconnectEventByUser,
+                                MqttTimer.of(clientConfig.getAdvancedConfig().isUseSharedTimer()));
+                        channel.close();
+                    } else if (f.isSuccess()) {
                         ((DuplexChannel) channel).shutdownOutput().addListener(cf -> {
                             if (cf.isSuccess()) {
-                                state = new DisconnectingState(channel, disconnectEventByUser);
+                                state = new DisconnectingState(channel, disconnectEventByUser,
+                                        MqttTimer.of(clientConfig.getAdvancedConfig().isUseSharedTimer()));
                             } else {
                                 disconnected(channel, disconnectEvent);
                                 disconnectEventByUser.getFlow().onError(new ConnectionClosedException(cf.cause()));
@@ -261,12 +267,16 @@ public class MqttDisconnectHandler extends MqttConnectionAwareHandler {
 
         private final @NotNull Channel channel;
         private final MqttDisconnectEvent.@NotNull ByUser disconnectEvent;
-        private final @NotNull ScheduledFuture<?> timeoutFuture;
+        private final MqttTimer.@NotNull Cancellable timeoutFuture;
+
+        DisconnectingState(
+                final @NotNull Channel channel,
+                final MqttDisconnectEvent.@NotNull ByUser disconnectEvent,
+                final @NotNull MqttTimer timer) {
 
-        DisconnectingState(final @NotNull Channel channel, final MqttDisconnectEvent.@NotNull ByUser disconnectEvent) {
             this.channel = channel;
             this.disconnectEvent = disconnectEvent;
-            timeoutFuture = channel.eventLoop().schedule(this, DISCONNECT_TIMEOUT, TimeUnit.SECONDS);
+            timeoutFuture = timer.schedule(channel.eventLoop(), this, DISCONNECT_TIMEOUT, TimeUnit.SECONDS);
         }
 
         @Override
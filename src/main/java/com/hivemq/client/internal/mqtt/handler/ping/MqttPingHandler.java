@@ -23,10 +23,10 @@ import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
 import com.hivemq.client.internal.mqtt.message.ping.MqttPingReq;
 import com.hivemq.client.internal.mqtt.message.ping.MqttPingResp;
 import com.hivemq.client.internal.netty.DefaultChannelOutboundHandler;
+import com.hivemq.client.internal.netty.MqttTimer;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.util.concurrent.ScheduledFuture;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -49,15 +49,22 @@ public class MqttPingHandler extends MqttConnectionAwareHandler
     private static final boolean PINGRESP_REQUIRED = false; // TODO configurable
 
     private final long keepAliveNanos;
+    private final @NotNull MqttTimer timer;
     private long lastFlushTimeNanos;
     private long lastReadTimeNanos;
     private boolean pingReqWritten;
     private boolean pingReqFlushed;
     private boolean messageRead;
-    private @Nullable ScheduledFuture<?> timeoutFuture;
+    private MqttTimer.@Nullable Cancellable timeoutFuture;
+
+    public MqttPingHandler(
+            final int keepAlive,
+            final @NotNull MqttTimer timer,
+            final long lastFlushTimeNanos,
+            final long lastReadTimeNanos) {
 
-    public MqttPingHandler(final int keepAlive, final long lastFlushTimeNanos, final long lastReadTimeNanos) {
         keepAliveNanos = TimeUnit.SECONDS.toNanos(keepAlive) - TimeUnit.MILLISECONDS.toNanos(100);
+        this.timer = timer;
         this.lastFlushTimeNanos = lastFlushTimeNanos;
         this.lastReadTimeNanos = lastReadTimeNanos;
     }
@@ -70,13 +77,13 @@ public class MqttPingHandler extends MqttConnectionAwareHandler
 
     @Override
     public void flush(final @NotNull ChannelHandlerContext ctx) {
-        lastFlushTimeNanos = System.nanoTime();
+        lastFlushTimeNanos = timer.nanoTime();
         ctx.flush();
     }
 
     @Override
     public void channelRead(final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg) {
-        lastReadTimeNanos = System.nanoTime();
+        lastReadTimeNanos = timer.nanoTime();
         if (msg instanceof MqttPingResp) {
             messageRead = true;
         } else {
@@ -86,7 +93,7 @@ public class MqttPingHandler extends MqttConnectionAwareHandler
     }
 
     private void schedule(final @NotNull ChannelHandlerContext ctx, final long delayNanos) {
-        timeoutFuture = ctx.executor().schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+        timeoutFuture = timer.schedule(ctx.executor(), this, delayNanos, TimeUnit.NANOSECONDS);
     }
 
     private long nextDelay(final long timeNanos) {
@@ -135,7 +142,7 @@ public class MqttPingHandler extends MqttConnectionAwareHandler
             final @NotNull ChannelHandlerContext ctx, final @NotNull MqttDisconnectEvent disconnectEvent) {
 
         if (timeoutFuture != null) {
-            timeoutFuture.cancel(false);
+            timeoutFuture.cancel();
             timeoutFuture = null;
         }
     }
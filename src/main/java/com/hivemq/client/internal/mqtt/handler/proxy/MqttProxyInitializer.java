@@ -16,11 +16,11 @@
 
 package com.hivemq.client.internal.mqtt.handler.proxy;
 
-import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttProxyConfigImpl;
 import io.netty.channel.Channel;
 import org.jetbrains.annotations.NotNull;
 
+import java.net.InetSocketAddress;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -31,14 +31,13 @@ public final class MqttProxyInitializer {
 
     public static void initChannel(
             final @NotNull Channel channel,
-            final @NotNull MqttClientConfig clientConfig,
             final @NotNull MqttProxyConfigImpl proxyConfig,
+            final @NotNull InetSocketAddress serverAddress,
             final @NotNull Consumer<Channel> onSuccess,
             final @NotNull BiConsumer<Channel, Throwable> onError) {
 
         final MqttProxyAdapterHandler proxyAdapterHandler =
-                new MqttProxyAdapterHandler(proxyConfig, clientConfig.getCurrentTransportConfig().getServerAddress(),
-                        onSuccess, onError);
+                new MqttProxyAdapterHandler(proxyConfig, serverAddress, onSuccess, onError);
 
         channel.pipeline().addLast(MqttProxyAdapterHandler.NAME, proxyAdapterHandler);
     }
@@ -20,21 +20,30 @@ import com.hivemq.client.internal.checkpoint.Confirmable;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Silvio Giebl
  */
 class MqttIncomingPublishConfirmable implements Confirmable, Runnable {
 
+    private static final int STATE_UNCONFIRMED = 0;
+    private static final int STATE_CONFIRMED = 1;
+    private static final int STATE_CONFIRMED_CUMULATIVE = 2;
+
     private final @NotNull MqttIncomingPublishFlow flow;
-    private final @NotNull MqttStatefulPublishWithFlows publishWithFlows;
-    private final @NotNull AtomicBoolean confirmed = new AtomicBoolean(false);
+    final @NotNull MqttStatefulPublishWithFlows publishWithFlows;
+    final long index; // position in the sequence of publishes emitted to the flow
+    private final @NotNull AtomicInteger state = new AtomicInteger(STATE_UNCONFIRMED);
 
     MqttIncomingPublishConfirmable(
-            final @NotNull MqttIncomingPublishFlow flow, final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+            final @NotNull MqttIncomingPublishFlow flow,
+            final @NotNull MqttStatefulPublishWithFlows publishWithFlows,
+            final long index) {
 
         this.flow = flow;
         this.publishWithFlows = publishWithFlows;
+        this.index = index;
     }
 
     @Override
@@ -44,22 +53,56 @@ class MqttIncomingPublishConfirmable implements Confirmable, Runnable {
 
     @Override
     public boolean confirm() {
-        if (confirmed.compareAndSet(false, true)) {
+        if (state.compareAndSet(STATE_UNCONFIRMED, STATE_CONFIRMED)) {
             flow.getEventLoop().execute(this);
             return true;
         }
         return false;
     }
 
+    @Override
+    public boolean confirmCumulative() {
+        if (state.compareAndSet(STATE_UNCONFIRMED, STATE_CONFIRMED_CUMULATIVE)) {
+            flow.getEventLoop().execute(() -> flow.acknowledgeCumulative(index));
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public void run() {
         publishWithFlows.acknowledge(flow);
     }
 
+    /**
+     * @return whether this publish was confirmed by {@link #confirm()}, so it is acknowledged by its own task.
+     */
+    boolean isConfirmedIndividually() {
+        return state.get() == STATE_CONFIRMED;
+    }
+
+    /**
+     * Confirms this publish as part of a cumulative acknowledgement.
+     *
+     * @return whether this publish has to be acknowledged by the cumulative acknowledgement, false if it is
+     *         acknowledged by its own task.
+     */
+    boolean confirmCumulated() {
+        return state.compareAndSet(STATE_UNCONFIRMED, STATE_CONFIRMED_CUMULATIVE) ||
+                (state.get() == STATE_CONFIRMED_CUMULATIVE);
+    }
+
     static class Qos0 implements Confirmable {
 
+        private final @NotNull MqttIncomingPublishFlow flow;
+        private final long index;
         private final @NotNull AtomicBoolean confirmed = new AtomicBoolean(false);
 
+        Qos0(final @NotNull MqttIncomingPublishFlow flow, final long index) {
+            this.flow = flow;
+            this.index = index;
+        }
+
         @Override
         public long getId() {
             return 0;
@@ -69,5 +112,15 @@ class MqttIncomingPublishConfirmable implements Confirmable, Runnable {
         public boolean confirm() {
             return confirmed.compareAndSet(false, true);
         }
+
+        @Override
+        public boolean confirmCumulative() {
+            if (confirmed.compareAndSet(false, true)) {
+                // the QoS 0 publish itself does not need an acknowledgement, but the preceding QoS 1 or 2 publishes
+                flow.getEventLoop().execute(() -> flow.acknowledgeCumulative(index));
+                return true;
+            }
+            return false;
+        }
     }
 }
@@ -18,7 +18,9 @@ package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 
 import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.internal.mqtt.handler.util.FlowWithEventLoop;
+import com.hivemq.client.internal.util.collections.ChunkedArrayQueue;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
 import io.reactivex.Emitter;
 import io.reactivex.internal.util.BackpressureHelper;
@@ -28,6 +30,7 @@ import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
+import java.util.HashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -40,10 +43,12 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
     private static final int STATE_NO_NEW_REQUESTS = 0;
     private static final int STATE_NEW_REQUESTS = 1;
     private static final int STATE_BLOCKED = 2;
+    private static final int UNCONFIRMED_MIN_COMPACT_SIZE = 32;
 
     final @NotNull Subscriber<? super Mqtt5Publish> subscriber;
     final @NotNull MqttIncomingPublishService incomingPublishService;
     final boolean manualAcknowledgement;
+    final @Nullable HashMap<MqttTopicImpl, MqttStatefulPublishWithFlows> conflatedPublishes;
 
     private long requested;
     private final @NotNull AtomicLong newRequested = new AtomicLong();
@@ -54,6 +59,9 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
 
     private int referenced;
     private int missingAcknowledgements;
+    private long confirmableIndex;
+    private final @Nullable ChunkedArrayQueue<MqttIncomingPublishConfirmable> unconfirmed;
+    private int unconfirmedCompactSize = UNCONFIRMED_MIN_COMPACT_SIZE;
     private long blockedIndex;
     private boolean blocking;
 
@@ -61,12 +69,15 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
             final @NotNull Subscriber<? super Mqtt5Publish> subscriber,
             final @NotNull MqttClientConfig clientConfig,
             final @NotNull MqttIncomingQosHandler incomingQosHandler,
-            final boolean manualAcknowledgement) {
+            final boolean manualAcknowledgement,
+            final boolean conflate) {
 
         super(clientConfig);
         this.subscriber = subscriber;
         incomingPublishService = incomingQosHandler.incomingPublishService;
         this.manualAcknowledgement = manualAcknowledgement;
+        conflatedPublishes = conflate ? new HashMap<>() : null;
+        unconfirmed = manualAcknowledgement ? new ChunkedArrayQueue<>(32) : null;
     }
 
     @CallByThread("Netty EventLoop")
@@ -197,14 +208,77 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
 
     @CallByThread("Netty EventLoop")
     void acknowledge(final boolean drain) {
+        acknowledge(drain, 1);
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void acknowledge(final boolean drain, final int count) {
         if (drain) {
             incomingPublishService.drain();
         }
-        if (--missingAcknowledgements == 0) {
+        missingAcknowledgements -= count;
+        if (missingAcknowledgements == 0) {
             checkDone();
         }
     }
 
+    @CallByThread("Netty EventLoop")
+    long nextConfirmableIndex() {
+        return ++confirmableIndex;
+    }
+
+    @CallByThread("Netty EventLoop")
+    void addUnconfirmed(final @NotNull MqttIncomingPublishConfirmable confirmable) {
+        assert unconfirmed != null : "only called if manualAcknowledgement";
+        // individually confirmed publishes are removed from the head, publishes that were confirmed individually
+        // behind a still unconfirmed publish are removed when the queue doubled its size since the last compaction
+        MqttIncomingPublishConfirmable head;
+        while (((head = unconfirmed.peek()) != null) && head.isConfirmedIndividually()) {
+            unconfirmed.poll();
+        }
+        if (unconfirmed.size() >= unconfirmedCompactSize) {
+            compactUnconfirmed(unconfirmed);
+        }
+        unconfirmed.offer(confirmable);
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void compactUnconfirmed(final @NotNull ChunkedArrayQueue<MqttIncomingPublishConfirmable> unconfirmed) {
+        // the order is kept, so cumulative acknowledgements still poll up to their index
+        for (int i = unconfirmed.size(); i > 0; i--) {
+            final MqttIncomingPublishConfirmable confirmable = unconfirmed.poll();
+            assert confirmable != null : "queue contains size elements";
+            if (!confirmable.isConfirmedIndividually()) {
+                unconfirmed.offer(confirmable);
+            }
+        }
+        unconfirmedCompactSize = Math.max(UNCONFIRMED_MIN_COMPACT_SIZE, unconfirmed.size() * 2);
+    }
+
+    @CallByThread("Netty EventLoop")
+    int getUnconfirmedSize() {
+        assert unconfirmed != null : "only called if manualAcknowledgement";
+        return unconfirmed.size();
+    }
+
+    @CallByThread("Netty EventLoop")
+    void acknowledgeCumulative(final long index) {
+        assert unconfirmed != null : "only called if manualAcknowledgement";
+        int count = 0;
+        boolean drain = false;
+        MqttIncomingPublishConfirmable head;
+        while (((head = unconfirmed.peek()) != null) && (head.index <= index)) {
+            unconfirmed.poll();
+            if (head.confirmCumulated()) {
+                count++;
+                drain |= head.publishWithFlows.acknowledge();
+            }
+        }
+        if (count > 0) {
+            acknowledge(drain, count);
+        }
+    }
+
     @CallByThread("Netty EventLoop")
     int reference() {
         return ++referenced;
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import org.jetbrains.annotations.NotNull;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Subscribes subscribers of other reactive libraries directly to the incoming publish flowables, without the
+ * subscriber wrapping of {@link io.reactivex.Flowable#subscribe(Subscriber)}. Only used by the reactor API, the
+ * flowables keep their <code>subscribeActual</code> methods protected.
+ */
+public final class MqttIncomingPublishFlowableBridge {
+
+    public static void subscribe(
+            final @NotNull MqttGlobalIncomingPublishFlowable flowable,
+            final @NotNull Subscriber<? super Mqtt5Publish> subscriber) {
+
+        flowable.subscribeActual(subscriber);
+    }
+
+    public static void subscribe(
+            final @NotNull MqttSubscribedPublishFlowable flowable,
+            final @NotNull Subscriber<? super Mqtt5Publish> subscriber) {
+
+        flowable.subscribeActual(subscriber);
+    }
+
+    private MqttIncomingPublishFlowableBridge() {}
+}
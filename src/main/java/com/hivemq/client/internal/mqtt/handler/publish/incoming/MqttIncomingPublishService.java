@@ -18,14 +18,22 @@ package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 
 import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.checkpoint.Confirmable;
+import com.hivemq.client.internal.jfr.MqttFlightRecorder;
 import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.util.collections.ChunkedArrayQueue;
 import com.hivemq.client.internal.util.collections.HandleList.Handle;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingQos0OverflowStrategy;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Silvio Giebl
@@ -35,13 +43,17 @@ class MqttIncomingPublishService {
 
     private static final @NotNull InternalLogger LOGGER =
             InternalLoggerFactory.getLogger(MqttIncomingPublishService.class);
-    private static final boolean QOS_0_DROP_OLDEST = true; // TODO configurable
+    private static final long QOS_0_DROPPED_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
 
     private final @NotNull MqttIncomingQosHandler incomingQosHandler;
     final @NotNull MqttIncomingPublishFlows incomingPublishFlows;
+    private final int qos0BufferSize;
+    private final @NotNull Mqtt5IncomingQos0OverflowStrategy qos0OverflowStrategy;
 
     private final @NotNull ChunkedArrayQueue<MqttStatefulPublishWithFlows> qos0Queue = new ChunkedArrayQueue<>(32);
     private final ChunkedArrayQueue<MqttStatefulPublishWithFlows>.@NotNull Iterator qos0It = qos0Queue.iterator();
+    // most recent queued QoS 0 publish per topic, only maintained for the conflate overflow strategy
+    private final @Nullable HashMap<MqttTopicImpl, MqttStatefulPublishWithFlows> qos0Latest;
     private final @NotNull ChunkedArrayQueue<MqttStatefulPublishWithFlows> qos1Or2Queue = new ChunkedArrayQueue<>(32);
     private final ChunkedArrayQueue<MqttStatefulPublishWithFlows>.@NotNull Iterator qos1Or2It = qos1Or2Queue.iterator();
 
@@ -51,34 +63,134 @@ class MqttIncomingPublishService {
     private int runIndex;
     private int blockingFlowCount;
 
+    private long qos0DroppedCount;
+    private long qos0DroppedLogCount;
+    private long qos0DroppedLogNanoTime;
+
+    private @Nullable Object receiveMaximumStallEvent;
+
     MqttIncomingPublishService(
             final @NotNull MqttIncomingQosHandler incomingQosHandler,
-            final @NotNull MqttIncomingPublishFlows incomingPublishFlows) {
+            final @NotNull MqttIncomingPublishFlows incomingPublishFlows,
+            final @NotNull MqttClientAdvancedConfig advancedConfig) {
 
         this.incomingQosHandler = incomingQosHandler;
         this.incomingPublishFlows = incomingPublishFlows;
+        qos0BufferSize = advancedConfig.getIncomingQos0BufferSize();
+        qos0OverflowStrategy = advancedConfig.getIncomingQos0OverflowStrategy();
+        qos0Latest = (qos0OverflowStrategy == Mqtt5IncomingQos0OverflowStrategy.CONFLATE) ? new HashMap<>() : null;
     }
 
     @CallByThread("Netty EventLoop")
-    void onPublishQos0(final @NotNull MqttStatefulPublishWithFlows publishWithFlows, final int receiveMaximum) {
-        if (qos0Queue.size() >= receiveMaximum) { // TODO receiveMaximum
-            LOGGER.warn("QoS 0 publish message dropped.");
-            if (QOS_0_DROP_OLDEST) {
-                qos0It.reset();
-                final MqttStatefulPublishWithFlows flows = qos0It.next();
-                qos0It.remove();
-                for (Handle<MqttIncomingPublishFlow> h = flows.getFirst(); h != null; h = h.getNext()) {
-                    if (h.getElement().dereference() == 0) {
-                        referencedFlowCount--;
+    void onPublishQos0(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+        onPublish(publishWithFlows, false);
+        if (publishWithFlows.isEmpty()) {
+            return;
+        }
+        final boolean full = qos0Queue.size() >= qos0BufferSize;
+        if (full && (qos0OverflowStrategy == Mqtt5IncomingQos0OverflowStrategy.DROP_NEWEST)) {
+            dereference(publishWithFlows);
+            onQos0Dropped();
+            return;
+        }
+        // only after the overflow check, otherwise a dropped publish would also drop the publishes it supersedes
+        conflate(publishWithFlows);
+        if (full) {
+            switch (qos0OverflowStrategy) {
+                case DROP_OLDEST:
+                    dropOldestQos0();
+                    break;
+                case CONFLATE:
+                    if (conflateQos0(publishWithFlows)) {
+                        onQos0Dropped();
+                        return;
                     }
-                }
+                    dropOldestQos0();
+                    break;
+            }
+            onQos0Dropped();
+        }
+        qos0Queue.offer(publishWithFlows);
+        if (qos0Latest != null) {
+            qos0Latest.put(publishWithFlows.publish.stateless().getTopic(), publishWithFlows);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void dropOldestQos0() {
+        qos0It.reset();
+        final MqttStatefulPublishWithFlows oldest = qos0It.next();
+        qos0It.remove();
+        removeQos0Latest(oldest);
+        dereference(oldest);
+    }
+
+    @CallByThread("Netty EventLoop")
+    private boolean conflateQos0(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+        assert qos0Latest != null : "qos0Latest is maintained for the conflate overflow strategy";
+        final MqttTopicImpl topic = publishWithFlows.publish.stateless().getTopic();
+        final MqttStatefulPublishWithFlows latest = qos0Latest.get(topic);
+        if (latest == null) {
+            return false;
+        }
+        // replacing the most recent publish with the same topic preserves the order of publishes with the same topic
+        latest.publish = publishWithFlows.publish;
+        for (Handle<MqttIncomingPublishFlow> h = publishWithFlows.getFirst(); h != null; h = h.getNext()) {
+            final MqttIncomingPublishFlow flow = h.getElement();
+            if (contains(latest, flow)) {
+                flow.dereference(); // still referenced by the most recent publish
             } else {
-                return;
+                latest.add(flow);
+            }
+            final HashMap<MqttTopicImpl, MqttStatefulPublishWithFlows> conflatedPublishes = flow.conflatedPublishes;
+            if (conflatedPublishes != null) {
+                conflatedPublishes.replace(topic, publishWithFlows, latest);
             }
         }
-        onPublish(publishWithFlows);
-        if (!publishWithFlows.isEmpty()) {
-            qos0Queue.offer(publishWithFlows);
+        publishWithFlows.clear();
+        return true;
+    }
+
+    private static boolean contains(
+            final @NotNull MqttStatefulPublishWithFlows publishWithFlows, final @NotNull MqttIncomingPublishFlow flow) {
+
+        for (Handle<MqttIncomingPublishFlow> h = publishWithFlows.getFirst(); h != null; h = h.getNext()) {
+            if (h.getElement() == flow) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void removeQos0Latest(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+        if (qos0Latest != null) {
+            qos0Latest.remove(publishWithFlows.publish.stateless().getTopic(), publishWithFlows);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void dereference(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+        for (Handle<MqttIncomingPublishFlow> h = publishWithFlows.getFirst(); h != null; h = h.getNext()) {
+            final MqttIncomingPublishFlow flow = h.getElement();
+            removeConflated(flow, publishWithFlows);
+            if (flow.dereference() == 0) {
+                referencedFlowCount--;
+                flow.checkDone();
+            }
+        }
+        publishWithFlows.clear();
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void onQos0Dropped() {
+        qos0DroppedCount++;
+        final long nanoTime = System.nanoTime();
+        if ((qos0DroppedLogNanoTime == 0) || (nanoTime - qos0DroppedLogNanoTime >= QOS_0_DROPPED_LOG_INTERVAL_NANOS)) {
+            LOGGER.warn("{} QoS 0 publish message(s) dropped because the buffer is full, {} dropped in total.",
+                    qos0DroppedCount - qos0DroppedLogCount, qos0DroppedCount);
+            qos0DroppedLogCount = qos0DroppedCount;
+            qos0DroppedLogNanoTime = (nanoTime == 0) ? 1 : nanoTime;
         }
     }
 
@@ -88,21 +200,30 @@ class MqttIncomingPublishService {
             return false; // flow control error
         }
         publishWithFlows.id = nextQoS1Or2PublishId++;
-        onPublish(publishWithFlows);
+        onPublish(publishWithFlows, true);
         if (qos1Or2Queue.isEmpty() && publishWithFlows.isEmpty() && publishWithFlows.areAcknowledged()) {
             incomingQosHandler.ack(publishWithFlows);
+            incomingQosHandler.flushAcks();
         } else {
             qos1Or2Queue.offer(publishWithFlows);
+            if ((receiveMaximumStallEvent == null) && (qos1Or2Queue.size() >= receiveMaximum)) {
+                receiveMaximumStallEvent = MqttFlightRecorder.beginStall(MqttFlightRecorder.STALL_RECEIVE_MAXIMUM);
+            }
         }
         return true;
     }
 
     @CallByThread("Netty EventLoop")
-    private void onPublish(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+    private void onPublish(final @NotNull MqttStatefulPublishWithFlows publishWithFlows, final boolean conflate) {
+        final Object flightRecorderEvent = MqttFlightRecorder.beginIncomingPublish();
         incomingPublishFlows.findMatching(publishWithFlows);
+        MqttFlightRecorder.incomingPublishMatched(flightRecorderEvent);
         if (publishWithFlows.isEmpty()) {
             LOGGER.warn("No publish flow registered for {}.", publishWithFlows.publish);
         }
+        if (conflate) { // before drain, so superseded QoS 1 or 2 publishes can be acknowledged right away
+            conflate(publishWithFlows);
+        }
         drain();
         for (Handle<MqttIncomingPublishFlow> h = publishWithFlows.getFirst(); h != null; h = h.getNext()) {
             if (h.getElement().reference() == 1) {
@@ -110,10 +231,63 @@ class MqttIncomingPublishService {
             }
         }
         emit(publishWithFlows);
+        MqttFlightRecorder.endIncomingPublish(
+                flightRecorderEvent, publishWithFlows.publish.stateless(), !publishWithFlows.isEmpty());
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void conflate(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+        MqttTopicImpl topic = null;
+        for (Handle<MqttIncomingPublishFlow> h = publishWithFlows.getFirst(); h != null; h = h.getNext()) {
+            final MqttIncomingPublishFlow flow = h.getElement();
+            final HashMap<MqttTopicImpl, MqttStatefulPublishWithFlows> conflatedPublishes = flow.conflatedPublishes;
+            if (conflatedPublishes != null) {
+                if (topic == null) {
+                    topic = publishWithFlows.publish.stateless().getTopic();
+                }
+                final MqttStatefulPublishWithFlows supersededPublish = conflatedPublishes.put(topic, publishWithFlows);
+                if (supersededPublish != null) {
+                    supersede(supersededPublish, flow);
+                }
+            }
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void supersede(
+            final @NotNull MqttStatefulPublishWithFlows publishWithFlows, final @NotNull MqttIncomingPublishFlow flow) {
+
+        for (Handle<MqttIncomingPublishFlow> h = publishWithFlows.getFirst(); h != null; h = h.getNext()) {
+            if (h.getElement() == flow) {
+                publishWithFlows.removeSuperseded(h);
+                if (flow.dereference() == 0) {
+                    referencedFlowCount--;
+                    flow.checkDone();
+                }
+                return;
+            }
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private static void removeConflated(
+            final @NotNull MqttIncomingPublishFlow flow, final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+
+        final HashMap<MqttTopicImpl, MqttStatefulPublishWithFlows> conflatedPublishes = flow.conflatedPublishes;
+        if (conflatedPublishes != null) {
+            conflatedPublishes.remove(publishWithFlows.publish.stateless().getTopic(), publishWithFlows);
+        }
     }
 
     @CallByThread("Netty EventLoop")
     void drain() {
+        drainQueues();
+        // all acknowledgements of publishes that were completed during this drain are flushed at once
+        incomingQosHandler.flushAcks();
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void drainQueues() {
         runIndex++;
         blockingFlowCount = 0;
 
@@ -123,6 +297,8 @@ class MqttIncomingPublishService {
             emit(publishWithFlows);
             if ((qos1Or2It.getIterated() == 1) && publishWithFlows.isEmpty() && publishWithFlows.areAcknowledged()) {
                 qos1Or2It.remove();
+                MqttFlightRecorder.endStall(receiveMaximumStallEvent);
+                receiveMaximumStallEvent = null;
                 incomingQosHandler.ack(publishWithFlows);
             } else if (blockingFlowCount == referencedFlowCount) {
                 return;
@@ -134,6 +310,7 @@ class MqttIncomingPublishService {
             emit(publishWithFlows);
             if ((qos0It.getIterated() == 1) && publishWithFlows.isEmpty()) {
                 qos0It.remove();
+                removeQos0Latest(publishWithFlows);
             } else if (blockingFlowCount == referencedFlowCount) {
                 return;
             }
@@ -156,15 +333,20 @@ class MqttIncomingPublishService {
                     MqttPublish publish = publishWithFlows.publish.stateless();
                     if (flow.manualAcknowledgement) {
                         final Confirmable confirmable;
+                        final long index = flow.nextConfirmableIndex();
                         if (publish.getQos() == MqttQos.AT_MOST_ONCE) {
-                            confirmable = new MqttIncomingPublishConfirmable.Qos0();
+                            confirmable = new MqttIncomingPublishConfirmable.Qos0(flow, index);
                         } else {
-                            confirmable = new MqttIncomingPublishConfirmable(flow, publishWithFlows);
+                            final MqttIncomingPublishConfirmable qos1Or2Confirmable =
+                                    new MqttIncomingPublishConfirmable(flow, publishWithFlows, index);
+                            flow.addUnconfirmed(qos1Or2Confirmable);
+                            confirmable = qos1Or2Confirmable;
                         }
                         publish = publish.withConfirmable(confirmable);
                     }
                     flow.onNext(publish);
                     publishWithFlows.remove(h);
+                    removeConflated(flow, publishWithFlows);
                     if (flow.dereference() == 0) {
                         referencedFlowCount--;
                         flow.checkDone();
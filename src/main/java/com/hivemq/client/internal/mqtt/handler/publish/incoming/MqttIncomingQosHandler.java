@@ -21,7 +21,9 @@ import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.advanced.compression.MqttPayloadCompression;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
 import com.hivemq.client.internal.mqtt.handler.MqttSessionAwareHandler;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
@@ -33,11 +35,13 @@ import com.hivemq.client.internal.mqtt.message.publish.pubcomp.MqttPubCompBuilde
 import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
 import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRecBuilder;
 import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
+import com.hivemq.client.internal.util.UnsignedDataTypes;
 import com.hivemq.client.internal.util.collections.IntIndex;
 import com.hivemq.client.mqtt.MqttVersion;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5IncomingQos1Interceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos2.Mqtt5IncomingQos2Interceptor;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5IncomingQos2StateStore;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
 import com.hivemq.client.mqtt.mqtt5.message.publish.pubcomp.Mqtt5PubCompReasonCode;
 import io.netty.channel.ChannelHandlerContext;
@@ -65,6 +69,9 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
 
     private final @NotNull MqttClientConfig clientConfig;
     final @NotNull MqttIncomingPublishService incomingPublishService;
+    private final @Nullable Mqtt5IncomingQos2StateStore qos2StateStore; // mirrors the MqttPubRec entries of messages
+    private boolean qos2StateLoaded;
+    private boolean qos2StateChanged;
 
     // valid for session
     private final @NotNull IntIndex<Object> messages = new IntIndex<>(INDEX_SPEC);
@@ -72,7 +79,10 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
 
     // valid for connection
     private int receiveMaximum;
+    private int maximumPacketSize;
     private long connectionIndex;
+    private boolean unflushedAcks;
+    private boolean reading;
 
     @Inject
     MqttIncomingQosHandler(
@@ -80,7 +90,34 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
             final @NotNull MqttIncomingPublishFlows incomingPublishFlows) {
 
         this.clientConfig = clientConfig;
-        incomingPublishService = new MqttIncomingPublishService(this, incomingPublishFlows);
+        incomingPublishService =
+                new MqttIncomingPublishService(this, incomingPublishFlows, clientConfig.getAdvancedConfig());
+        qos2StateStore = clientConfig.getAdvancedConfig().getIncomingQos2StateStore();
+    }
+
+    /**
+     * Restores the state of incoming QoS 2 publishes from the store when the client connects for the first time.
+     *
+     * @param sessionPresent whether the server has a session for the client.
+     */
+    @CallByThread("Netty EventLoop")
+    public void loadQos2State(final boolean sessionPresent) {
+        final Mqtt5IncomingQos2StateStore qos2StateStore = this.qos2StateStore;
+        if ((qos2StateStore == null) || qos2StateLoaded) {
+            return;
+        }
+        qos2StateLoaded = true;
+        if (sessionPresent) {
+            qos2StateStore.load(packetIdentifier -> {
+                if ((packetIdentifier > 0) && (packetIdentifier <= UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE)) {
+                    messages.put(new MqttPubRec(packetIdentifier, MqttPubRec.DEFAULT_REASON_CODE, null,
+                            MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+                }
+            });
+        } else {
+            qos2StateStore.clear();
+            qos2StateStore.sync();
+        }
     }
 
     @Override
@@ -88,12 +125,15 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
             final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
 
         receiveMaximum = connectionConfig.getReceiveMaximum();
+        maximumPacketSize = connectionConfig.getMaximumPacketSize();
         connectionIndex++;
+        reading = false;
         super.onSessionStartOrResume(connectionConfig, eventLoop);
     }
 
     @Override
     public void channelRead(final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg) {
+        reading = true;
         if (msg instanceof MqttStatefulPublish) {
             readPublish(ctx, (MqttStatefulPublish) msg);
         } else if (msg instanceof MqttPubRel) {
@@ -103,7 +143,19 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
         }
     }
 
-    private void readPublish(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublish publish) {
+    @Override
+    public void channelReadComplete(final @NotNull ChannelHandlerContext ctx) {
+        reading = false;
+        // the encoder flushes the acknowledgements written during the read after this event passed the pipeline
+        syncQos2State();
+        ctx.fireChannelReadComplete();
+    }
+
+    private void readPublish(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublish msg) {
+        final MqttPayloadCompression payloadCompression = clientConfig.getAdvancedConfig().getPayloadCompression();
+        // a decompressed payload may not be longer than what the client accepts uncompressed
+        final MqttStatefulPublish publish =
+                (payloadCompression == null) ? msg : payloadCompression.decompress(msg, maximumPacketSize);
         switch (publish.stateless().getQos()) {
             case AT_MOST_ONCE:
                 readPublishQos0(publish);
@@ -118,7 +170,7 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
     }
 
     private void readPublishQos0(final @NotNull MqttStatefulPublish publish) {
-        incomingPublishService.onPublishQos0(new MqttStatefulPublishWithFlows(publish), receiveMaximum);
+        incomingPublishService.onPublishQos0(new MqttStatefulPublishWithFlows(publish));
     }
 
     private void readPublishQos1(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublish publish) {
@@ -238,7 +290,7 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
                 final MqttPubAck pubAck = buildPubAck(new MqttPubAckBuilder(publishWithFlows.publish));
                 final Object prevMessage = messages.remove(pubAck.getPacketIdentifier());
                 if (ack(prevMessage, publishWithFlows) && (ctx != null)) {
-                    writePubAck(ctx, pubAck);
+                    writeAck(ctx, pubAck);
                 }
                 break;
             }
@@ -246,8 +298,13 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
                 final MqttPubRec pubRec = buildPubRec(new MqttPubRecBuilder(publishWithFlows.publish));
                 final Object prevMessage = !pubRec.getReasonCode().isError() ? messages.put(pubRec) :
                         messages.remove(pubRec.getPacketIdentifier());
-                if (ack(prevMessage, publishWithFlows) && (ctx != null)) {
-                    writePubRec(ctx, pubRec);
+                final boolean write = ack(prevMessage, publishWithFlows);
+                if ((qos2StateStore != null) && (messages.get(pubRec.getPacketIdentifier()) == pubRec)) {
+                    qos2StateStore.add(pubRec.getPacketIdentifier());
+                    qos2StateChanged = true;
+                }
+                if (write && (ctx != null)) {
+                    writeAck(ctx, pubRec);
                 }
                 break;
             }
@@ -270,8 +327,30 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
         return publishWithFlows.connectionIndex == connectionIndex;
     }
 
-    private void writePubAck(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubAck pubAck) {
-        ctx.writeAndFlush(pubAck, ctx.voidPromise());
+    private void writeAck(final @NotNull ChannelHandlerContext ctx, final @NotNull Object ack) {
+        ctx.write(ack, ctx.voidPromise());
+        unflushedAcks = true;
+    }
+
+    @CallByThread("Netty EventLoop")
+    void flushAcks() {
+        if (unflushedAcks) {
+            unflushedAcks = false;
+            if (!reading) { // otherwise synced once for all messages of the read in channelReadComplete
+                syncQos2State();
+            }
+            if (ctx != null) {
+                ctx.flush();
+            }
+        }
+    }
+
+    private void syncQos2State() {
+        if (qos2StateChanged) {
+            qos2StateChanged = false;
+            assert qos2StateStore != null : "qos2StateChanged is only set if qos2StateStore != null";
+            qos2StateStore.sync();
+        }
     }
 
     private void writePubRec(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubRec pubRec) {
@@ -281,6 +360,10 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
     private void readPubRel(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubRel pubRel) {
         final Object prevMessage = messages.remove(pubRel.getPacketIdentifier());
         if (prevMessage instanceof MqttPubRec) { // normal case
+            if (qos2StateStore != null) {
+                qos2StateStore.remove(pubRel.getPacketIdentifier());
+                qos2StateChanged = true;
+            }
             writePubComp(ctx, buildPubComp(new MqttPubCompBuilder(pubRel)));
         } else if (prevMessage == null) { // may be resent
             writePubComp(
@@ -312,6 +395,11 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
     public void onSessionEnd(final @NotNull Throwable cause) {
         super.onSessionEnd(cause);
         messages.clear();
+        if (qos2StateStore != null) {
+            qos2StateStore.clear();
+            qos2StateStore.sync();
+            qos2StateChanged = false;
+        }
     }
 
     private @NotNull MqttPubAck buildPubAck(final @NotNull MqttPubAckBuilder pubAckBuilder) {
@@ -28,7 +28,7 @@ import org.jetbrains.annotations.NotNull;
 @NotThreadSafe
 class MqttStatefulPublishWithFlows extends HandleList<MqttIncomingPublishFlow> {
 
-    final @NotNull MqttStatefulPublish publish;
+    @NotNull MqttStatefulPublish publish; // only replaced when a newer QoS 0 publish is conflated into this one
     long id;
     long connectionIndex;
     boolean subscriptionFound;
@@ -52,6 +52,24 @@ class MqttStatefulPublishWithFlows extends HandleList<MqttIncomingPublishFlow> {
     }
 
     void acknowledge(final @NotNull MqttIncomingPublishFlow flow) {
-        flow.acknowledge(--missingAcknowledgements == 0);
+        flow.acknowledge(acknowledge());
+    }
+
+    /**
+     * Counts an acknowledgement of one flow without notifying the flow.
+     *
+     * @return whether all flows have acknowledged this publish.
+     */
+    boolean acknowledge() {
+        return --missingAcknowledgements == 0;
+    }
+
+    void removeSuperseded(final @NotNull Handle<MqttIncomingPublishFlow> handle) {
+        remove(handle);
+        final MqttIncomingPublishFlow flow = handle.getElement();
+        if ((publish.stateless().getQos() != MqttQos.AT_MOST_ONCE) && flow.manualAcknowledgement) {
+            missingAcknowledgements--;
+            flow.acknowledge(false);
+        }
     }
 }
@@ -23,7 +23,7 @@ import com.hivemq.client.internal.mqtt.message.subscribe.suback.MqttSubAck;
 import com.hivemq.client.internal.util.collections.HandleList;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
-import com.hivemq.client.rx.FlowableWithSingleSubscriber;
+import com.hivemq.client.rx.reactivestreams.WithSingleSubscriber;
 import org.jetbrains.annotations.NotNull;
 import org.reactivestreams.Subscriber;
 
@@ -38,17 +38,18 @@ public class MqttSubscribedPublishFlow extends MqttIncomingPublishFlow implement
             final @NotNull Subscriber<? super Mqtt5Publish> subscriber,
             final @NotNull MqttClientConfig clientConfig,
             final @NotNull MqttIncomingQosHandler incomingQosHandler,
-            final boolean manualAcknowledgement) {
+            final boolean manualAcknowledgement,
+            final boolean conflate) {
 
-        super(subscriber, clientConfig, incomingQosHandler, manualAcknowledgement);
+        super(subscriber, clientConfig, incomingQosHandler, manualAcknowledgement, conflate);
         topicFilters = new HandleList<>();
     }
 
     @Override
     public void onSuccess(final @NotNull MqttSubAck subAck) {
-        if (subscriber instanceof FlowableWithSingleSubscriber) {
+        if (subscriber instanceof WithSingleSubscriber) {
             //noinspection unchecked
-            ((FlowableWithSingleSubscriber<? super Mqtt5Publish, ? super Mqtt5SubAck>) subscriber).onSingle(subAck);
+            ((WithSingleSubscriber<? super Mqtt5Publish, ? super Mqtt5SubAck>) subscriber).onSingle(subAck);
         }
     }
 
@@ -24,6 +24,7 @@ import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
 import io.reactivex.Flowable;
 import io.reactivex.internal.subscriptions.EmptySubscription;
 import org.jetbrains.annotations.NotNull;
+import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 
 /**
@@ -32,13 +33,13 @@ import org.reactivestreams.Subscriber;
 public class MqttAckFlowable extends Flowable<Mqtt5PublishResult> {
 
     private final @NotNull MqttClientConfig clientConfig;
-    private final @NotNull Flowable<MqttPublish> publishFlowable;
+    private final @NotNull Publisher<MqttPublish> publishSource;
 
     public MqttAckFlowable(
-            final @NotNull MqttClientConfig clientConfig, final @NotNull Flowable<MqttPublish> publishFlowable) {
+            final @NotNull MqttClientConfig clientConfig, final @NotNull Publisher<MqttPublish> publishSource) {
 
         this.clientConfig = clientConfig;
-        this.publishFlowable = publishFlowable;
+        this.publishSource = publishSource;
     }
 
     @Override
@@ -50,7 +51,8 @@ public class MqttAckFlowable extends Flowable<Mqtt5PublishResult> {
 
             final MqttAckFlowableFlow flow = new MqttAckFlowableFlow(subscriber, clientConfig, outgoingQosHandler);
             subscriber.onSubscribe(flow);
-            publishFlowables.add(new MqttPublishFlowableAckLink(publishFlowable, flow));
+            publishFlowables.add(new MqttPublishFlowableAckLink(publishSource, flow,
+                    clientConfig.getAdvancedConfig().getPayloadCompression()));
         } else {
             EmptySubscription.error(MqttClientStateExceptions.notConnected(), subscriber);
         }
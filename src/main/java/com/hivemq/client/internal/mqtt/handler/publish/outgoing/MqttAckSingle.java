@@ -18,6 +18,7 @@ package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
 import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.advanced.compression.MqttPayloadCompression;
 import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
 import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
@@ -51,9 +52,16 @@ public class MqttAckSingle extends Single<Mqtt5PublishResult> {
             final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
             final MqttPublishFlowables publishFlowables = outgoingQosHandler.getPublishFlowables();
 
-            final Flow flow = new Flow(observer, clientConfig, outgoingQosHandler);
+            final boolean priority = outgoingQosHandler.isPriority(publish);
+            final Flow flow = new Flow(observer, clientConfig, outgoingQosHandler, priority);
+            final MqttPayloadCompression payloadCompression =
+                    clientConfig.getAdvancedConfig().getPayloadCompression();
             observer.onSubscribe(flow);
-            publishFlowables.add(Flowable.just(new MqttPublishWithFlow(publish, flow)));
+            if (priority) {
+                outgoingQosHandler.publishPriority(new MqttPublishWithFlow(publish, flow, payloadCompression));
+            } else {
+                publishFlowables.add(Flowable.just(new MqttPublishWithFlow(publish, flow, payloadCompression)));
+            }
         } else {
             EmptyDisposable.error(MqttClientStateExceptions.notConnected(), observer);
         }
@@ -63,17 +71,20 @@ public class MqttAckSingle extends Single<Mqtt5PublishResult> {
 
         private final @NotNull SingleObserver<? super Mqtt5PublishResult> observer;
         private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
+        private final boolean priority;
 
         private @Nullable MqttPublishResult result;
 
         Flow(
                 final @NotNull SingleObserver<? super Mqtt5PublishResult> observer,
                 final @NotNull MqttClientConfig clientConfig,
-                final @NotNull MqttOutgoingQosHandler outgoingQosHandler) {
+                final @NotNull MqttOutgoingQosHandler outgoingQosHandler,
+                final boolean priority) {
 
             super(clientConfig);
             this.observer = observer;
             this.outgoingQosHandler = outgoingQosHandler;
+            this.priority = priority;
             init();
         }
 
@@ -106,7 +117,9 @@ public class MqttAckSingle extends Single<Mqtt5PublishResult> {
                     observer.onError(error);
                 }
             }
-            outgoingQosHandler.request(1);
+            if (!priority) {
+                outgoingQosHandler.request(1);
+            }
         }
     }
 }
@@ -18,6 +18,7 @@ package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
 import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.advanced.compression.MqttPayloadCompression;
 import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
 import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
@@ -52,9 +53,16 @@ public class MqttAckSingleFlowable extends Flowable<Mqtt5PublishResult> {
             final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
             final MqttPublishFlowables publishFlowables = outgoingQosHandler.getPublishFlowables();
 
-            final Flow flow = new Flow(subscriber, clientConfig, outgoingQosHandler);
+            final boolean priority = outgoingQosHandler.isPriority(publish);
+            final Flow flow = new Flow(subscriber, clientConfig, outgoingQosHandler, priority);
+            final MqttPayloadCompression payloadCompression =
+                    clientConfig.getAdvancedConfig().getPayloadCompression();
             subscriber.onSubscribe(flow);
-            publishFlowables.add(Flowable.just(new MqttPublishWithFlow(publish, flow)));
+            if (priority) {
+                outgoingQosHandler.publishPriority(new MqttPublishWithFlow(publish, flow, payloadCompression));
+            } else {
+                publishFlowables.add(Flowable.just(new MqttPublishWithFlow(publish, flow, payloadCompression)));
+            }
         } else {
             EmptySubscription.error(MqttClientStateExceptions.notConnected(), subscriber);
         }
@@ -69,6 +77,7 @@ public class MqttAckSingleFlowable extends Flowable<Mqtt5PublishResult> {
 
         private final @NotNull Subscriber<? super Mqtt5PublishResult> subscriber;
         private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
+        private final boolean priority;
 
         private final @NotNull AtomicInteger state = new AtomicInteger(STATE_NONE);
         private @Nullable MqttPublishResult result;
@@ -76,11 +85,13 @@ public class MqttAckSingleFlowable extends Flowable<Mqtt5PublishResult> {
         Flow(
                 final @NotNull Subscriber<? super Mqtt5PublishResult> subscriber,
                 final @NotNull MqttClientConfig clientConfig,
-                final @NotNull MqttOutgoingQosHandler outgoingQosHandler) {
+                final @NotNull MqttOutgoingQosHandler outgoingQosHandler,
+                final boolean priority) {
 
             super(clientConfig);
             this.subscriber = subscriber;
             this.outgoingQosHandler = outgoingQosHandler;
+            this.priority = priority;
             init();
         }
 
@@ -119,7 +130,9 @@ public class MqttAckSingleFlowable extends Flowable<Mqtt5PublishResult> {
             if (setDone()) {
                 subscriber.onComplete();
             }
-            outgoingQosHandler.request(1);
+            if (!priority) {
+                outgoingQosHandler.request(1);
+            }
         }
 
         @Override
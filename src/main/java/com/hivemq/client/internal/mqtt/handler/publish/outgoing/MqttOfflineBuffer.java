@@ -0,0 +1,381 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import com.hivemq.client.internal.jfr.MqttFlightRecorder;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.mqtt.exceptions.MqttPublishDroppedException;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5OutgoingOfflineBufferOverflowStrategy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/**
+ * Buffers outgoing publishes in order while the client is disconnected.
+ * <p>
+ * The amount of buffered publishes is already limited by the requests of the {@link MqttOutgoingQosHandler}, so only
+ * the payloads are accounted. Payloads are kept in memory up to the memory limit. The payloads of further publishes
+ * are appended to segment files in the spill directory up to the disk limit, only a copy of the publish without
+ * payload is kept in memory. Disk bytes are accounted per publish, a segment file is deleted as soon as all of its
+ * publishes were removed from the buffer. Segments are limited to a fraction of the disk limit, so the space of removed
+ * publishes in a partially removed segment exceeds the disk limit by at most one segment.
+ * <p>
+ * Spilled payloads are written in batches, so only every {@link #WRITE_BATCH_SIZE} bytes a write is done on the event
+ * loop. Publishes that are dropped because of the {@link Mqtt5OutgoingOfflineBufferOverflowStrategy#DROP_OLDEST
+ * DROP_OLDEST} strategy are not read back from disk, so their result contains the publish without payload.
+ */
+@NotThreadSafe
+class MqttOfflineBuffer {
+
+    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttOfflineBuffer.class);
+    static final long SEGMENT_SIZE = 16 * 1024 * 1024;
+    static final int SEGMENTS_PER_DISK_LIMIT = 8;
+    static final int WRITE_BATCH_SIZE = 64 * 1024;
+    private static final @NotNull ByteBuffer EMPTY_PAYLOAD = ByteBuffer.allocate(0).asReadOnlyBuffer();
+
+    private final long memoryLimit;
+    private final @Nullable Path spillDirectory;
+    private final long diskLimit;
+    private final long segmentSize;
+    private final @NotNull Mqtt5OutgoingOfflineBufferOverflowStrategy overflowStrategy;
+
+    private final @NotNull ArrayDeque<MqttPublishWithFlow> queue = new ArrayDeque<>();
+    private final @NotNull ArrayDeque<Spilled> spilled = new ArrayDeque<>();
+    private final @NotNull ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private long memoryBytes;
+    private long diskBytes;
+
+    MqttOfflineBuffer(
+            final long memoryLimit,
+            final @Nullable Path spillDirectory,
+            final long diskLimit,
+            final @NotNull Mqtt5OutgoingOfflineBufferOverflowStrategy overflowStrategy) {
+
+        this.memoryLimit = memoryLimit;
+        this.spillDirectory = spillDirectory;
+        this.diskLimit = diskLimit;
+        segmentSize = Math.min(SEGMENT_SIZE, Math.max(diskLimit / SEGMENTS_PER_DISK_LIMIT, 1));
+        this.overflowStrategy = overflowStrategy;
+    }
+
+    void add(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        final long size = getPayloadSize(publishWithFlow);
+        if ((size > memoryLimit) && ((spillDirectory == null) || (size > diskLimit))) {
+            drop(publishWithFlow, "Publish was rejected because its payload exceeds the limits of the offline buffer");
+            return;
+        }
+        while (!fitsInMemory(size) && !fitsOnDisk(size)) {
+            if ((overflowStrategy == Mqtt5OutgoingOfflineBufferOverflowStrategy.REJECT) || queue.isEmpty()) {
+                drop(publishWithFlow, "Publish was rejected because the offline buffer is full");
+                return;
+            }
+            final MqttPublishWithFlow oldest = queue.poll();
+            final Spilled spilledOldest = pollSpilled(oldest);
+            if (spilledOldest != null) {
+                releaseSegment(spilledOldest.segment);
+            }
+            drop(oldest, "Publish was dropped from the full offline buffer in favour of a more recent publish");
+        }
+        if (fitsInMemory(size)) {
+            memoryBytes += size;
+        } else if (!spill(publishWithFlow)) {
+            drop(publishWithFlow, "Publish was rejected because its payload could not be spilled to disk");
+            return;
+        }
+        queue.add(publishWithFlow);
+    }
+
+    @Nullable MqttPublishWithFlow poll() {
+        while (true) {
+            final MqttPublishWithFlow publishWithFlow = queue.poll();
+            if ((publishWithFlow == null) || remove(publishWithFlow)) {
+                return publishWithFlow;
+            }
+        }
+    }
+
+    void clear(final @NotNull Throwable cause) {
+        MqttPublishWithFlow publishWithFlow;
+        while ((publishWithFlow = poll()) != null) {
+            publishWithFlow.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), cause));
+        }
+    }
+
+    boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    long getDiskBytes() {
+        return diskBytes;
+    }
+
+    private boolean fitsInMemory(final long size) {
+        return memoryBytes + size <= memoryLimit;
+    }
+
+    private boolean fitsOnDisk(final long size) {
+        return (spillDirectory != null) && (diskBytes + size <= diskLimit);
+    }
+
+    private boolean spill(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        assert spillDirectory != null;
+        final MqttPublish publish = publishWithFlow.getPublish();
+        final MqttPublish sendPublish = publishWithFlow.getSendPublish();
+        try {
+            Segment segment = segments.peekLast();
+            if ((segment == null) || (segment.size >= segmentSize)) {
+                if (segment != null) {
+                    segment.flush();
+                }
+                segment = new Segment(spillDirectory);
+                segments.add(segment);
+            }
+            final long position = segment.size;
+            segment.append(sendPublish);
+            if (publish != sendPublish) {
+                segment.append(publish);
+            }
+            try {
+                segment.flushIfBatchFull();
+            } catch (final IOException e) {
+                segment.discardFrom(position);
+                throw e;
+            }
+            segment.entries++;
+            diskBytes += segment.size - position;
+            spilled.add(new Spilled(publishWithFlow, segment, position, sendPublish.getRawPayloadLength(),
+                    (publish == sendPublish) ? -1 : publish.getRawPayloadLength()));
+        } catch (final IOException e) {
+            LOGGER.error("Could not spill payload of outgoing publish to disk.", e);
+            final Segment segment = segments.peekLast();
+            if ((segment != null) && (segment.entries == 0)) {
+                segments.pollLast();
+                segment.close();
+            }
+            return false;
+        }
+        final MqttPublish sendShell = sendPublish.withPayload(EMPTY_PAYLOAD, sendPublish.getRawContentType());
+        publishWithFlow.replacePublishes(
+                (publish == sendPublish) ? sendShell : publish.withPayload(EMPTY_PAYLOAD, publish.getRawContentType()),
+                sendShell);
+        return true;
+    }
+
+    /**
+     * Releases the memory or disk space of a publish that was polled from the queue. The payloads of a spilled publish
+     * are restored.
+     *
+     * @param publishWithFlow the publish that was polled from the queue.
+     * @return whether the publish can be used, <code>false</code> if its payloads could not be restored.
+     */
+    private boolean remove(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        final Spilled spilled = pollSpilled(publishWithFlow);
+        if (spilled == null) {
+            return true;
+        }
+        final Segment segment = spilled.segment;
+        try {
+            final MqttPublish sendShell = publishWithFlow.getSendPublish();
+            final MqttPublish sendPublish = sendShell.withPayload(
+                    segment.read(spilled.position, spilled.sendLength), sendShell.getRawContentType());
+            if (spilled.length < 0) {
+                publishWithFlow.replacePublishes(sendPublish, sendPublish);
+            } else {
+                final MqttPublish shell = publishWithFlow.getPublish();
+                publishWithFlow.replacePublishes(shell.withPayload(
+                        segment.read(spilled.position + spilled.sendLength, spilled.length),
+                        shell.getRawContentType()), sendPublish);
+            }
+            return true;
+        } catch (final IOException e) {
+            LOGGER.error("Could not read spilled payload of outgoing publish from disk.", e);
+            drop(publishWithFlow, "Publish was dropped because its payload could not be read from disk");
+            return false;
+        } finally {
+            releaseSegment(segment);
+        }
+    }
+
+    /**
+     * Releases the memory or disk bytes of a publish that was polled from the queue without restoring its payloads.
+     *
+     * @param publishWithFlow the publish that was polled from the queue.
+     * @return the spilled entry of the publish, <code>null</code> if the publish was kept in memory. The caller has to
+     *         release the segment of the spilled entry.
+     */
+    private @Nullable Spilled pollSpilled(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        final Spilled spilled = this.spilled.peek();
+        if ((spilled == null) || (spilled.publishWithFlow != publishWithFlow)) {
+            memoryBytes -= getPayloadSize(publishWithFlow);
+            return null;
+        }
+        this.spilled.poll();
+        diskBytes -= spilled.getDiskSize();
+        return spilled;
+    }
+
+    private void releaseSegment(final @NotNull Segment segment) {
+        if (--segment.entries == 0) {
+            segments.remove(segment);
+            segment.close();
+        }
+    }
+
+    private static long getPayloadSize(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        final MqttPublish publish = publishWithFlow.getPublish();
+        final MqttPublish sendPublish = publishWithFlow.getSendPublish();
+        final long sendLength = sendPublish.getRawPayloadLength();
+        return (publish == sendPublish) ? sendLength : sendLength + publish.getRawPayloadLength();
+    }
+
+    private static void drop(final @NotNull MqttPublishWithFlow publishWithFlow, final @NotNull String message) {
+        final MqttPublishDroppedException e = new MqttPublishDroppedException(message);
+        MqttFlightRecorder.endOutgoingPublish(publishWithFlow.flightRecorderEvent, e);
+        publishWithFlow.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), e));
+    }
+
+    private static class Spilled {
+
+        final @NotNull MqttPublishWithFlow publishWithFlow;
+        final @NotNull Segment segment;
+        final long position;
+        final int sendLength;
+        final int length; // -1 if the payload is not compressed and therefore only spilled once
+
+        Spilled(
+                final @NotNull MqttPublishWithFlow publishWithFlow,
+                final @NotNull Segment segment,
+                final long position,
+                final int sendLength,
+                final int length) {
+
+            this.publishWithFlow = publishWithFlow;
+            this.segment = segment;
+            this.position = position;
+            this.sendLength = sendLength;
+            this.length = length;
+        }
+
+        long getDiskSize() {
+            return (length < 0) ? sendLength : (long) sendLength + length;
+        }
+    }
+
+    /**
+     * Segment file of spilled payloads. Appended payloads are only referenced until {@link #flush} writes them with one
+     * gathering write. {@link #flush} and {@link #read} do blocking I/O on the file channel and are called on the event
+     * loop.
+     */
+    private static class Segment {
+
+        private final @NotNull FileChannel channel;
+        private final @NotNull ArrayList<ByteBuffer> pending = new ArrayList<>();
+        private long written;
+        long size;
+        int entries;
+
+        Segment(final @NotNull Path directory) throws IOException {
+            Files.createDirectories(directory);
+            final Path file = Files.createTempFile(directory, "offline-", ".segment");
+            try {
+                channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE);
+            } catch (final IOException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+        }
+
+        void append(final @NotNull MqttPublish publish) {
+            final ByteBuffer payload = publish.getRawPayload();
+            if ((payload != null) && payload.hasRemaining()) {
+                pending.add(payload.duplicate());
+                size += payload.remaining();
+            }
+        }
+
+        void flushIfBatchFull() throws IOException {
+            if (size - written >= WRITE_BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            if (pending.isEmpty()) {
+                return;
+            }
+            // the channel position is only moved by these appending writes, reads are positional
+            final ByteBuffer[] buffers = pending.toArray(new ByteBuffer[0]);
+            while (written < size) {
+                written += channel.write(buffers);
+            }
+            pending.clear();
+        }
+
+        /**
+         * Removes the payloads appended from the given position if they were not written yet. Otherwise they stay in
+         * the file unreferenced, the previously appended payloads are kept pending in both cases.
+         */
+        void discardFrom(final long position) {
+            if (written > position) {
+                return;
+            }
+            while (size > position) {
+                size -= pending.remove(pending.size() - 1).remaining();
+            }
+        }
+
+        @NotNull ByteBuffer read(final long position, final int length) throws IOException {
+            if (position + length > written) {
+                flush();
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new EOFException("Segment file ended before the spilled payload");
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (final IOException e) {
+                LOGGER.error("Could not close and delete segment file of offline buffer.", e);
+            }
+        }
+    }
+}
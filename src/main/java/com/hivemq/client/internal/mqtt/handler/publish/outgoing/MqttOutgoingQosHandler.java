@@ -17,11 +17,15 @@
 package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
 import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.jfr.MqttFlightRecorder;
 import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
 import com.hivemq.client.internal.mqtt.handler.MqttSessionAwareHandler;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
@@ -45,11 +49,14 @@ import com.hivemq.client.internal.netty.ContextFuture;
 import com.hivemq.client.internal.netty.DefaultContextPromise;
 import com.hivemq.client.internal.util.Ranges;
 import com.hivemq.client.internal.util.UnsignedDataTypes;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.internal.util.collections.IntIndex;
 import com.hivemq.client.internal.util.collections.NodeList;
 import com.hivemq.client.mqtt.MqttClientState;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.exceptions.ConnectionClosedException;
+import com.hivemq.client.mqtt.exceptions.MqttPublishExpiredException;
+import com.hivemq.client.mqtt.exceptions.MqttPublishSupersededException;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5OutgoingQos1Interceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos2.Mqtt5OutgoingQos2Interceptor;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5PubAckException;
@@ -60,6 +67,7 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.EventLoop;
 import io.reactivex.Flowable;
 import io.reactivex.FlowableSubscriber;
+import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jctools.queues.SpscUnboundedArrayQueue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -67,6 +75,8 @@ import org.reactivestreams.Subscription;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0;
@@ -87,10 +97,19 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
     private final @NotNull MqttClientConfig clientConfig;
     private final @NotNull MqttPublishFlowables publishFlowables;
+    private final @NotNull ImmutableList<MqttTopicFilterImpl> conflationTopicFilters;
+    private final @NotNull ImmutableList<MqttTopicFilterImpl> priorityTopicFilters;
+    private final int prioritySendMaximumReserve;
 
     // valid for session
     private final @NotNull SpscUnboundedArrayQueue<MqttPublishWithFlow> queue = new SpscUnboundedArrayQueue<>(32);
     private final @NotNull AtomicInteger queuedCounter = new AtomicInteger();
+    private final @Nullable SpscUnboundedArrayQueue<MqttPublishWithFlow> conflationQueue;
+    private final @NotNull AtomicInteger conflationQueuedCounter = new AtomicInteger();
+    private final @Nullable LinkedHashMap<MqttTopicImpl, MqttPublishWithFlow> conflated;
+    private final @Nullable MpscUnboundedArrayQueue<MqttPublishWithFlow> priorityQueue;
+    private final @NotNull AtomicInteger priorityQueuedCounter = new AtomicInteger();
+    private final @Nullable MqttOfflineBuffer offlineBuffer;
     private final @NotNull NodeList<MqttPubOrRelWithFlow> pending = new NodeList<>();
     private final @NotNull Ranges packetIdentifiers = new Ranges(1, 0);
 
@@ -100,6 +119,8 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     private @Nullable MqttPublishWithFlow currentPending;
     private int sendMaximum;
     private @Nullable MqttTopicAliasMapping topicAliasMapping;
+    private @Nullable Object writabilityStallEvent;
+    private @Nullable Object sendMaximumStallEvent;
 
     private @Nullable Subscription subscription;
     private int shrinkRequests;
@@ -108,6 +129,19 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     MqttOutgoingQosHandler(final @NotNull MqttClientConfig clientConfig) {
         this.clientConfig = clientConfig;
         publishFlowables = new MqttPublishFlowables();
+        final MqttClientAdvancedConfig advancedConfig = clientConfig.getAdvancedConfig();
+        conflationTopicFilters = advancedConfig.getOutgoingQos0ConflationTopicFilters();
+        priorityTopicFilters = advancedConfig.getOutgoingPriorityTopicFilters();
+        prioritySendMaximumReserve = priorityTopicFilters.isEmpty() ? 0 :
+                advancedConfig.getOutgoingPrioritySendMaximumReserve();
+        conflationQueue = conflationTopicFilters.isEmpty() ? null : new SpscUnboundedArrayQueue<>(32);
+        conflated = conflationTopicFilters.isEmpty() ? null : new LinkedHashMap<>();
+        priorityQueue = priorityTopicFilters.isEmpty() ? null : new MpscUnboundedArrayQueue<>(8);
+        final long offlineBufferMemoryLimit = advancedConfig.getOutgoingOfflineBufferMemoryLimit();
+        offlineBuffer = (offlineBufferMemoryLimit == Long.MAX_VALUE) ? null :
+                new MqttOfflineBuffer(offlineBufferMemoryLimit, advancedConfig.getOutgoingOfflineBufferSpillDirectory(),
+                        advancedConfig.getOutgoingOfflineBufferDiskLimit(),
+                        advancedConfig.getOutgoingOfflineBufferOverflowStrategy());
     }
 
     @Override
@@ -119,15 +153,16 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
                 UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE - MqttSubscriptionHandler.MAX_SUB_PENDING);
         sendMaximum = newSendMaximum;
         packetIdentifiers.resize(newSendMaximum);
+        final int newRequestMaximum = getRequestMaximum(newSendMaximum);
         if (oldSendMaximum == 0) {
             publishFlowables.flatMap(
-                    f -> f, true, MAX_CONCURRENT_PUBLISH_FLOWABLES, Math.min(newSendMaximum, Flowable.bufferSize()))
+                    f -> f, true, MAX_CONCURRENT_PUBLISH_FLOWABLES, Math.min(newRequestMaximum, Flowable.bufferSize()))
                     .subscribe(this);
             assert subscription != null;
-            subscription.request(newSendMaximum);
+            subscription.request(newRequestMaximum);
         } else {
             assert subscription != null;
-            final int newRequests = newSendMaximum - oldSendMaximum - shrinkRequests;
+            final int newRequests = newRequestMaximum - getRequestMaximum(oldSendMaximum) - shrinkRequests;
             if (newRequests > 0) {
                 shrinkRequests = 0;
                 subscription.request(newRequests);
@@ -139,13 +174,35 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
         pendingIndex.clear();
         resendPending = pending.getFirst();
-        if ((resendPending != null) || (queuedCounter.get() > 0)) {
+        if ((resendPending != null) || (queuedCounter.get() > 0) || hasConflated() ||
+                (priorityQueuedCounter.get() > 0) || hasOfflineBuffered()) {
             eventLoop.execute(this);
         }
 
         super.onSessionStartOrResume(connectionConfig, eventLoop);
     }
 
+    private int getRequestMaximum(final int sendMaximum) {
+        return Math.max(1, sendMaximum - prioritySendMaximumReserve);
+    }
+
+    boolean isPriority(final @NotNull MqttPublish publish) {
+        for (int i = 0; i < priorityTopicFilters.size(); i++) {
+            if (priorityTopicFilters.get(i).matches(publish.getTopic())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void publishPriority(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        assert priorityQueue != null;
+        priorityQueue.offer(publishWithFlow);
+        if (priorityQueuedCounter.getAndIncrement() == 0) {
+            publishWithFlow.getAckFlow().getEventLoop().execute(this);
+        }
+    }
+
     @Override
     public void onSubscribe(final @NotNull Subscription subscription) {
         this.subscription = subscription;
@@ -153,6 +210,16 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
     @Override
     public void onNext(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        if (conflationQueue != null) {
+            final MqttPublish publish = publishWithFlow.getPublish();
+            if ((publish.getQos() == MqttQos.AT_MOST_ONCE) && isConflated(publish)) {
+                conflationQueue.offer(publishWithFlow);
+                if (conflationQueuedCounter.getAndIncrement() == 0) {
+                    publishWithFlow.getAckFlow().getEventLoop().execute(this);
+                }
+                return;
+            }
+        }
         queue.offer(publishWithFlow);
         if (queuedCounter.getAndIncrement() == 0) {
             publishWithFlow.getAckFlow().getEventLoop().execute(this);
@@ -190,11 +257,14 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         if (!hasSession) {
             if (!isRepublishIfSessionExpired()) {
                 clearQueued(MqttClientStateExceptions.notConnected());
+            } else {
+                bufferOffline();
             }
             return;
         }
         final ChannelHandlerContext ctx = this.ctx;
         if (ctx == null) {
+            bufferOffline();
             return;
         }
         final Channel channel = ctx.channel();
@@ -206,6 +276,48 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             resend(ctx, pubOrRelWithFlow);
             written++;
         }
+        int priorityDequeued = 0;
+        if (priorityQueue != null) {
+            while ((written < maxWrites) && channel.isWritable()) {
+                final MqttPublishWithFlow publishWithFlow = priorityQueue.poll();
+                if (publishWithFlow == null) {
+                    break;
+                }
+                writePublish(ctx, publishWithFlow);
+                written++;
+                priorityDequeued++;
+            }
+        }
+        if (offlineBuffer != null) {
+            while ((written < maxWrites) && channel.isWritable()) {
+                final MqttPublishWithFlow publishWithFlow = offlineBuffer.poll();
+                if (publishWithFlow == null) {
+                    break;
+                }
+                writePublish(ctx, publishWithFlow);
+                written++;
+            }
+        }
+        int conflationDequeued = 0;
+        if (conflated != null) {
+            assert conflationQueue != null;
+            final Iterator<MqttPublishWithFlow> iterator = conflated.values().iterator();
+            while ((written < maxWrites) && channel.isWritable() && iterator.hasNext()) {
+                final MqttPublishWithFlow publishWithFlow = iterator.next();
+                iterator.remove();
+                writePublish(ctx, publishWithFlow);
+                written++;
+            }
+            while ((written < maxWrites) && channel.isWritable()) {
+                final MqttPublishWithFlow publishWithFlow = conflationQueue.poll();
+                if (publishWithFlow == null) {
+                    break;
+                }
+                writePublish(ctx, publishWithFlow);
+                written++;
+                conflationDequeued++;
+            }
+        }
         int dequeued = 0;
         while ((written < maxWrites) && channel.isWritable()) {
             final MqttPublishWithFlow publishWithFlow = queue.poll();
@@ -216,19 +328,138 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             written++;
             dequeued++;
         }
+        recordStalls(channel, written >= maxWrites);
         if (written > 0) {
             final boolean wasWritable = channel.isWritable();
             ctx.flush();
-            if ((dequeued > 0) && (queuedCounter.addAndGet(-dequeued) > 0) && wasWritable) {
-                channel.eventLoop().execute(this);
+            final boolean priorityQueued =
+                    (priorityDequeued > 0) && (priorityQueuedCounter.addAndGet(-priorityDequeued) > 0);
+            final boolean conflationQueued =
+                    (conflationDequeued > 0) && (conflationQueuedCounter.addAndGet(-conflationDequeued) > 0);
+            if (wasWritable) {
+                if (((dequeued > 0) && (queuedCounter.addAndGet(-dequeued) > 0)) || conflationQueued ||
+                        hasConflated() || priorityQueued || hasOfflineBuffered()) {
+                    channel.eventLoop().execute(this);
+                }
+                return;
+            }
+        }
+        if (dequeued > 0) {
+            queuedCounter.addAndGet(-dequeued);
+        }
+        if ((conflated != null) && !channel.isWritable()) {
+            conflateQueued();
+        }
+    }
+
+    private void recordStalls(final @NotNull Channel channel, final boolean sendMaximumReached) {
+        if ((writabilityStallEvent == null) && !channel.isWritable()) {
+            writabilityStallEvent = MqttFlightRecorder.beginStall(MqttFlightRecorder.STALL_CHANNEL_NOT_WRITABLE);
+        }
+        if ((sendMaximumStallEvent == null) && sendMaximumReached) {
+            sendMaximumStallEvent = MqttFlightRecorder.beginStall(MqttFlightRecorder.STALL_SEND_MAXIMUM);
+        }
+    }
+
+    /**
+     * Indexes the publishes of the conflation queue by their topic while the channel is not writable, so that a
+     * publish supersedes an earlier one with the same topic in its position. The regular queue is not touched.
+     */
+    private void conflateQueued() {
+        final SpscUnboundedArrayQueue<MqttPublishWithFlow> conflationQueue = this.conflationQueue;
+        final LinkedHashMap<MqttTopicImpl, MqttPublishWithFlow> conflated = this.conflated;
+        assert (conflationQueue != null) && (conflated != null);
+        int dequeued = 0;
+        while (true) {
+            final MqttPublishWithFlow publishWithFlow = conflationQueue.poll();
+            if (publishWithFlow == null) {
+                if (conflationQueuedCounter.addAndGet(-dequeued) == 0) {
+                    break;
+                } else {
+                    dequeued = 0;
+                    continue;
+                }
+            }
+            dequeued++;
+            final MqttPublishWithFlow superseded =
+                    conflated.put(publishWithFlow.getPublish().getTopic(), publishWithFlow);
+            if (superseded != null) {
+                superseded.getAckFlow()
+                        .onNext(new MqttPublishResult(superseded.getPublish(), new MqttPublishSupersededException(
+                                "Publish was superseded by a more recent publish with the same topic")));
+            }
+        }
+    }
+
+    /**
+     * Moves the queued publishes to the offline buffer while the client is disconnected, so that their payloads are
+     * bounded by its memory and disk limits.
+     */
+    private void bufferOffline() {
+        final MqttOfflineBuffer offlineBuffer = this.offlineBuffer;
+        if (offlineBuffer == null) {
+            return;
+        }
+        if (conflated != null) {
+            assert conflationQueue != null;
+            for (final MqttPublishWithFlow publishWithFlow : conflated.values()) {
+                offlineBuffer.add(publishWithFlow);
+            }
+            conflated.clear();
+            int dequeued = 0;
+            while (true) {
+                final MqttPublishWithFlow publishWithFlow = conflationQueue.poll();
+                if (publishWithFlow == null) {
+                    if (conflationQueuedCounter.addAndGet(-dequeued) == 0) {
+                        break;
+                    } else {
+                        dequeued = 0;
+                        continue;
+                    }
+                }
+                dequeued++;
+                offlineBuffer.add(publishWithFlow);
+            }
+        }
+        int dequeued = 0;
+        while (true) {
+            final MqttPublishWithFlow publishWithFlow = queue.poll();
+            if (publishWithFlow == null) {
+                if (queuedCounter.addAndGet(-dequeued) == 0) {
+                    break;
+                } else {
+                    dequeued = 0;
+                    continue;
+                }
+            }
+            dequeued++;
+            offlineBuffer.add(publishWithFlow);
+        }
+    }
+
+    private boolean hasOfflineBuffered() {
+        return (offlineBuffer != null) && !offlineBuffer.isEmpty();
+    }
+
+    private boolean hasConflated() {
+        return (conflated != null) && (!conflated.isEmpty() || (conflationQueuedCounter.get() > 0));
+    }
+
+    private boolean isConflated(final @NotNull MqttPublish publish) {
+        for (int i = 0; i < conflationTopicFilters.size(); i++) {
+            if (conflationTopicFilters.get(i).matches(publish.getTopic())) {
+                return true;
             }
         }
+        return false;
     }
 
     @Override
     public void channelWritabilityChanged(final @NotNull ChannelHandlerContext ctx) {
         final Channel channel = ctx.channel();
         if (channel.isWritable()) {
+            MqttFlightRecorder.endStall(writabilityStallEvent);
+            writabilityStallEvent = null;
             channel.eventLoop().execute(this);
         }
         ctx.fireChannelWritabilityChanged();
@@ -237,13 +468,25 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     private void resend(
             final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubOrRelWithFlow pubOrRelWithFlow) {
 
-        pendingIndex.put(pubOrRelWithFlow);
         if (pubOrRelWithFlow instanceof MqttPublishWithFlow) {
             final MqttPublishWithFlow publishWithFlow = (MqttPublishWithFlow) pubOrRelWithFlow;
-            final MqttStatefulPublish publish = publishWithFlow.getPublish()
-                    .createStateful(publishWithFlow.packetIdentifier, true, topicAliasMapping);
-            writeQos1Or2Publish(ctx, publish, publishWithFlow);
+            MqttPublish publish = publishWithFlow.getSendPublish();
+            final MqttPublish publishToSend = publishWithFlow.getPublishToSend();
+            if (publishToSend != null) {
+                publish = publishToSend;
+            } else if (publish.getQos() == MqttQos.AT_LEAST_ONCE) {
+                pending.remove(publishWithFlow);
+                returnPacketIdentifier(publishWithFlow.packetIdentifier);
+                onExpired(publishWithFlow);
+                return;
+            } else { // EXACTLY_ONCE: the server may already hold the packet identifier, so it must be resent
+                publish = publish.withMessageExpiryInterval(1);
+            }
+            pendingIndex.put(publishWithFlow);
+            writeQos1Or2Publish(ctx, publish.createStateful(publishWithFlow.packetIdentifier, true, topicAliasMapping),
+                    publishWithFlow);
         } else {
+            pendingIndex.put(pubOrRelWithFlow);
             final MqttPubRelWithFlow pubRelWithFlow = (MqttPubRelWithFlow) pubOrRelWithFlow;
             writePubRel(ctx, pubRelWithFlow.getPubRel());
         }
@@ -252,18 +495,31 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     private void writePublish(
             final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPublishWithFlow publishWithFlow) {
 
-        if (publishWithFlow.getPublish().getQos() == MqttQos.AT_MOST_ONCE) {
-            writeQos0Publish(ctx, publishWithFlow);
+        final MqttPublish publish = publishWithFlow.getPublishToSend();
+        if (publish == null) {
+            onExpired(publishWithFlow);
+        } else if (publish.getQos() == MqttQos.AT_MOST_ONCE) {
+            writeQos0Publish(ctx, publish, publishWithFlow);
         } else {
-            writeQos1Or2Publish(ctx, publishWithFlow);
+            writeQos1Or2Publish(ctx, publish, publishWithFlow);
         }
     }
 
+    private static void onExpired(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        final MqttPublishExpiredException e =
+                new MqttPublishExpiredException("Publish expired before it could be sent");
+        MqttFlightRecorder.endOutgoingPublish(publishWithFlow.flightRecorderEvent, e);
+        publishWithFlow.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), e));
+    }
+
     private void writeQos0Publish(
-            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPublishWithFlow publishWithFlow) {
+            final @NotNull ChannelHandlerContext ctx,
+            final @NotNull MqttPublish publish,
+            final @NotNull MqttPublishWithFlow publishWithFlow) {
 
-        ctx.write(publishWithFlow.getPublish().createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, topicAliasMapping),
+        ctx.write(publish.createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, topicAliasMapping),
                 new DefaultContextPromise<>(ctx.channel(), publishWithFlow)).addListener(this);
+        MqttFlightRecorder.outgoingPublishWritten(publishWithFlow.flightRecorderEvent);
     }
 
     @Override
@@ -272,6 +528,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         final MqttPublish publish = publishWithFlow.getPublish();
         final MqttAckFlow ackFlow = publishWithFlow.getAckFlow();
         final Throwable cause = future.cause();
+        MqttFlightRecorder.endOutgoingPublish(publishWithFlow.flightRecorderEvent, cause);
         if (!(cause instanceof IOException)) {
             ackFlow.onNext(new MqttPublishResult(publish, cause));
         } else {
@@ -281,7 +538,9 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     }
 
     private void writeQos1Or2Publish(
-            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPublishWithFlow publishWithFlow) {
+            final @NotNull ChannelHandlerContext ctx,
+            final @NotNull MqttPublish publish,
+            final @NotNull MqttPublishWithFlow publishWithFlow) {
 
         final int packetIdentifier = packetIdentifiers.getId();
         if (packetIdentifier < 0) {
@@ -292,9 +551,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         pendingIndex.put(publishWithFlow);
         pending.add(publishWithFlow);
 
-        writeQos1Or2Publish(ctx,
-                publishWithFlow.getPublish().createStateful(packetIdentifier, false, topicAliasMapping),
-                publishWithFlow);
+        writeQos1Or2Publish(ctx, publish.createStateful(packetIdentifier, false, topicAliasMapping), publishWithFlow);
     }
 
     private void writeQos1Or2Publish(
@@ -305,6 +562,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         currentPending = publishWithFlow;
         ctx.write(publish, ctx.voidPromise());
         currentPending = null;
+        MqttFlightRecorder.outgoingPublishWritten(publishWithFlow.flightRecorderEvent);
     }
 
     @Override
@@ -347,6 +605,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
         final Throwable t = (pubAck.getReasonCode().isError()) ?
                 new Mqtt5PubAckException(pubAck, "PUBACK contained an Error Code") : null;
+        MqttFlightRecorder.endOutgoingPublish(publishWithFlow.flightRecorderEvent, t);
         publishWithFlow.getAckFlow().onNext(new MqttQos1Result(publish, t, pubAck));
     }
 
@@ -377,6 +636,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             onPubRecError(publish, pubRec);
 
             final Throwable t = new Mqtt5PubRecException(pubRec, "PUBREC contained an Error Code");
+            MqttFlightRecorder.endOutgoingPublish(publishWithFlow.flightRecorderEvent, t);
             ackFlow.onNext(new MqttQos2Result(publish, t, pubRec));
 
         } else {
@@ -404,6 +664,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             final @NotNull MqttPublishWithFlow publishWithFlow, final @NotNull MqttPubRelWithFlow pubRelWithFlow) {
 
         pubRelWithFlow.packetIdentifier = publishWithFlow.packetIdentifier;
+        pubRelWithFlow.flightRecorderEvent = publishWithFlow.flightRecorderEvent;
         pendingIndex.put(pubRelWithFlow);
         pending.replace(publishWithFlow, pubRelWithFlow);
     }
@@ -431,6 +692,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         final MqttAckFlow ackFlow = pubRelWithFlow.getAckFlow();
 
         completePending(ctx, pubRelWithFlow);
+        MqttFlightRecorder.endOutgoingPublish(pubRelWithFlow.flightRecorderEvent, null);
 
         onPubComp(pubRel, pubComp);
 
@@ -449,22 +711,30 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubOrRelWithFlow oldPending) {
 
         pending.remove(oldPending);
+        returnPacketIdentifier(oldPending.packetIdentifier);
+        MqttFlightRecorder.endStall(sendMaximumStallEvent);
+        sendMaximumStallEvent = null;
+
+        // without priority publishes, the requests of the queues are bounded by the send maximum, so publishes can
+        // only be left over in the queues if the send maximum was used up by priority publishes
+        if ((resendPending != null) || hasOfflineBuffered() || ((priorityQueue != null) &&
+                ((queuedCounter.get() > 0) || hasConflated() || (priorityQueuedCounter.get() > 0)))) {
+            ctx.channel().eventLoop().execute(this);
+        }
+    }
 
-        final int packetIdentifier = oldPending.packetIdentifier;
+    private void returnPacketIdentifier(final int packetIdentifier) {
         packetIdentifiers.returnId(packetIdentifier);
         if (packetIdentifier > sendMaximum) {
             packetIdentifiers.resize(sendMaximum);
         }
-
-        if (resendPending != null) {
-            ctx.channel().eventLoop().execute(this);
-        }
     }
 
     @Override
     public void exceptionCaught(final @NotNull ChannelHandlerContext ctx, final @NotNull Throwable cause) {
         if (!(cause instanceof IOException) && (currentPending != null)) {
             pendingIndex.remove(currentPending.packetIdentifier);
+            MqttFlightRecorder.endOutgoingPublish(currentPending.flightRecorderEvent, cause);
             currentPending.getAckFlow().onNext(new MqttPublishResult(currentPending.getPublish(), cause));
             completePending(ctx, currentPending);
             currentPending = null;
@@ -479,6 +749,10 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
         pendingIndex.clear();
         resendPending = null;
+        MqttFlightRecorder.endStall(writabilityStallEvent);
+        writabilityStallEvent = null;
+        MqttFlightRecorder.endStall(sendMaximumStallEvent);
+        sendMaximumStallEvent = null;
 
         if (isRepublishIfSessionExpired()) {
             return;
@@ -509,6 +783,46 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     }
 
     private void clearQueued(final @NotNull Throwable cause) {
+        if (offlineBuffer != null) {
+            offlineBuffer.clear(cause);
+        }
+        if (priorityQueue != null) {
+            int polled = 0;
+            while (true) {
+                final MqttPublishWithFlow publishWithFlow = priorityQueue.poll();
+                if (publishWithFlow == null) {
+                    if (priorityQueuedCounter.addAndGet(-polled) == 0) {
+                        break;
+                    } else {
+                        polled = 0;
+                        continue;
+                    }
+                }
+                publishWithFlow.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), cause));
+                polled++;
+            }
+        }
+        if (conflated != null) {
+            assert conflationQueue != null;
+            for (final MqttPublishWithFlow publishWithFlow : conflated.values()) {
+                publishWithFlow.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), cause));
+            }
+            conflated.clear();
+            int polled = 0;
+            while (true) {
+                final MqttPublishWithFlow publishWithFlow = conflationQueue.poll();
+                if (publishWithFlow == null) {
+                    if (conflationQueuedCounter.addAndGet(-polled) == 0) {
+                        break;
+                    } else {
+                        polled = 0;
+                        continue;
+                    }
+                }
+                publishWithFlow.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), cause));
+                polled++;
+            }
+        }
         int polled = 0;
         while (true) {
             final MqttPublishWithFlow publishWithFlow = queue.poll();
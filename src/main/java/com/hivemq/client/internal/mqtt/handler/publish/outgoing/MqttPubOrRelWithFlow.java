@@ -18,6 +18,7 @@ package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
 import com.hivemq.client.internal.util.collections.NodeList;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * @author Silvio Giebl
@@ -26,6 +27,7 @@ abstract class MqttPubOrRelWithFlow extends NodeList.Node<MqttPubOrRelWithFlow>
 
     private final @NotNull MqttAckFlow ackFlow;
     int packetIdentifier;
+    @Nullable Object flightRecorderEvent;
 
     MqttPubOrRelWithFlow(final @NotNull MqttAckFlow ackFlow) {
         this.ackFlow = ackFlow;
@@ -18,12 +18,14 @@ package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
 import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.advanced.compression.MqttPayloadCompression;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import io.reactivex.Flowable;
 import io.reactivex.FlowableSubscriber;
 import io.reactivex.plugins.RxJavaPlugins;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
@@ -34,19 +36,23 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class MqttPublishFlowableAckLink extends Flowable<MqttPublishWithFlow> {
 
-    private final @NotNull Flowable<MqttPublish> source;
+    private final @NotNull Publisher<MqttPublish> source;
     private final @NotNull MqttAckFlowableFlow ackFlow;
+    private final @Nullable MqttPayloadCompression payloadCompression;
 
     MqttPublishFlowableAckLink(
-            final @NotNull Flowable<MqttPublish> source, final @NotNull MqttAckFlowableFlow ackFlow) {
+            final @NotNull Publisher<MqttPublish> source,
+            final @NotNull MqttAckFlowableFlow ackFlow,
+            final @Nullable MqttPayloadCompression payloadCompression) {
 
         this.source = source;
         this.ackFlow = ackFlow;
+        this.payloadCompression = payloadCompression;
     }
 
     @Override
     protected void subscribeActual(final @NotNull Subscriber<? super MqttPublishWithFlow> s) {
-        source.subscribe(new AckLinkSubscriber(s, ackFlow));
+        source.subscribe(new AckLinkSubscriber(s, ackFlow, payloadCompression));
     }
 
     interface LinkedFlow {
@@ -67,6 +73,7 @@ public class MqttPublishFlowableAckLink extends Flowable<MqttPublishWithFlow> {
 
         private final @NotNull Subscriber<? super MqttPublishWithFlow> subscriber;
         private final @NotNull MqttAckFlowableFlow ackFlow;
+        private final @Nullable MqttPayloadCompression payloadCompression;
         private @Nullable Subscription subscription;
         private final @NotNull AtomicInteger state = new AtomicInteger(STATE_NONE);
         private final @NotNull AtomicInteger requestState = new AtomicInteger(STATE_NONE);
@@ -74,10 +81,12 @@ public class MqttPublishFlowableAckLink extends Flowable<MqttPublishWithFlow> {
 
         AckLinkSubscriber(
                 final @NotNull Subscriber<? super MqttPublishWithFlow> subscriber,
-                final @NotNull MqttAckFlowableFlow ackFlow) {
+                final @NotNull MqttAckFlowableFlow ackFlow,
+                final @Nullable MqttPayloadCompression payloadCompression) {
 
             this.subscriber = subscriber;
             this.ackFlow = ackFlow;
+            this.payloadCompression = payloadCompression;
         }
 
         @Override
@@ -90,7 +99,7 @@ public class MqttPublishFlowableAckLink extends Flowable<MqttPublishWithFlow> {
         @Override
         public void onNext(final @NotNull MqttPublish publish) {
             if (state.compareAndSet(STATE_NONE, STATE_IN_PROGRESS)) {
-                subscriber.onNext(new MqttPublishWithFlow(publish, ackFlow));
+                subscriber.onNext(new MqttPublishWithFlow(publish, ackFlow, payloadCompression));
                 published++;
                 if (!state.compareAndSet(STATE_IN_PROGRESS, STATE_NONE)) {
                     cancelActual();
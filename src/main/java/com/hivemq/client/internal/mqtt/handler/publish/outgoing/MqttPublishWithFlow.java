@@ -16,22 +16,75 @@
 
 package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
+import com.hivemq.client.internal.jfr.MqttFlightRecorder;
+import com.hivemq.client.internal.mqtt.advanced.compression.MqttPayloadCompression;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Silvio Giebl
  */
 class MqttPublishWithFlow extends MqttPubOrRelWithFlow {
 
-    private final @NotNull MqttPublish publish;
+    private @NotNull MqttPublish publish;
+    private @NotNull MqttPublish sendPublish;
+    private final long enqueueTimeNanos;
+
+    MqttPublishWithFlow(
+            final @NotNull MqttPublish publish,
+            final @NotNull MqttAckFlow ackFlow,
+            final @Nullable MqttPayloadCompression payloadCompression) {
 
-    MqttPublishWithFlow(final @NotNull MqttPublish publish, final @NotNull MqttAckFlow ackFlow) {
         super(ackFlow);
         this.publish = publish;
+        // compressed on the publishing thread, the original publish is still used for the results
+        sendPublish = (payloadCompression == null) ? publish : payloadCompression.compress(publish);
+        enqueueTimeNanos =
+                (publish.getRawMessageExpiryInterval() == MqttPublish.NO_MESSAGE_EXPIRY) ? 0 : System.nanoTime();
+        flightRecorderEvent = MqttFlightRecorder.beginOutgoingPublish(publish);
     }
 
     @NotNull MqttPublish getPublish() {
         return publish;
     }
+
+    /**
+     * @return the publish as it is sent, which differs from {@link #getPublish()} if its payload is compressed.
+     */
+    @NotNull MqttPublish getSendPublish() {
+        return sendPublish;
+    }
+
+    /**
+     * Replaces the publishes by copies with different payloads. {@link MqttOfflineBuffer} uses this to release the
+     * payloads while they are spilled to disk and to restore them afterwards.
+     *
+     * @param publish     the replacement for {@link #getPublish()}.
+     * @param sendPublish the replacement for {@link #getSendPublish()}.
+     */
+    void replacePublishes(final @NotNull MqttPublish publish, final @NotNull MqttPublish sendPublish) {
+        this.publish = publish;
+        this.sendPublish = sendPublish;
+    }
+
+    /**
+     * @return the publish with the message expiry interval reduced by the time elapsed since it was enqueued, or
+     *         <code>null</code> if the message expiry interval has elapsed.
+     */
+    @Nullable MqttPublish getPublishToSend() {
+        final long messageExpiryInterval = sendPublish.getRawMessageExpiryInterval();
+        if (messageExpiryInterval == MqttPublish.NO_MESSAGE_EXPIRY) {
+            return sendPublish;
+        }
+        final long elapsedNanos = System.nanoTime() - enqueueTimeNanos;
+        if (elapsedNanos >= TimeUnit.SECONDS.toNanos(messageExpiryInterval)) {
+            return null;
+        }
+        final long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(elapsedNanos);
+        return (elapsedSeconds == 0) ? sendPublish :
+                sendPublish.withMessageExpiryInterval(messageExpiryInterval - elapsedSeconds);
+    }
 }
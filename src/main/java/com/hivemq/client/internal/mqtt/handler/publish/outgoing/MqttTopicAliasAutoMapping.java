@@ -17,13 +17,23 @@
 package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.internal.util.collections.Index;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.*;
 
 /**
+ * Assigns topic aliases to the topics that are published most frequently.
+ * <p>
+ * Topics are looked up by their UTF-8 encoded representation, so publishing does not require the UTF-16 encoded
+ * representation of the topic. Pinned topics get the lowest topic aliases when the mapping is created and are never
+ * replaced.
+ *
  * @author Silvio Giebl
  */
 public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
@@ -33,19 +43,35 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
     private static final byte OVERWRITE_COST_MIN = 2;
     private static final byte OVERWRITE_COST_MAX = 126;
     private static final byte OVERWRITE_COST_INC = 2;
-    private static final Index.@NotNull Spec<Entry, String> INDEX_SPEC = new Index.Spec<>(entry -> entry.topic);
+    private static final int TOPIC_ALIAS_PROPERTY_LENGTH = 3; // identifier + unsigned short
+    private static final Index.@NotNull Spec<Entry, Key> INDEX_SPEC = new Index.Spec<>(entry -> entry.key);
 
     private final int topicAliasMaximum;
-    private final @NotNull Index<Entry, String> map = new Index<>(INDEX_SPEC);
+    private final @NotNull Index<Entry, Key> map = new Index<>(INDEX_SPEC);
+    private final @NotNull Key lookupKey = new Key();
     private @Nullable Entry lowest; // entry with lowest priority
     private long accessCounter; // strictly incremented
     private byte overwriteTries;
     private byte overwriteCost = OVERWRITE_COST_MIN;
     private byte fullOverwriteTries;
     private byte fullOverwriteCost = OVERWRITE_COST_MIN;
+    private volatile long savedBytes;
 
     public MqttTopicAliasAutoMapping(final int topicAliasMaximum) {
+        this(topicAliasMaximum, ImmutableList.of());
+    }
+
+    public MqttTopicAliasAutoMapping(
+            final int topicAliasMaximum, final @NotNull ImmutableList<MqttTopicImpl> pinnedTopics) {
+
         this.topicAliasMaximum = topicAliasMaximum;
+        for (int i = 0; (i < pinnedTopics.size()) && (map.size() < topicAliasMaximum); i++) {
+            final MqttTopicImpl topic = pinnedTopics.get(i);
+            final Entry entry = new Entry(new Key(topic.toBinary(), topic.binaryHashCode()), 0);
+            entry.setNewTopicAlias(map.size() + 1);
+            entry.pinned = true;
+            map.putIfAbsent(entry);
+        }
     }
 
     @Override
@@ -55,10 +81,31 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
 
     @Override
     public int onPublish(final @NotNull MqttTopicImpl topic) {
+        final int topicAlias = lookup(topic);
+        if (topicAlias != DEFAULT_NO_TOPIC_ALIAS) { // single writer, so the volatile field is not updated atomically
+            savedBytes += ((topicAlias & TOPIC_ALIAS_FLAG_NEW) == 0) ?
+                    topic.toBinary().length - TOPIC_ALIAS_PROPERTY_LENGTH : -TOPIC_ALIAS_PROPERTY_LENGTH;
+        }
+        return topicAlias;
+    }
+
+    @Override
+    public long getSavedBytes() {
+        return savedBytes;
+    }
+
+    private int lookup(final @NotNull MqttTopicImpl topic) {
         final long accessCounter = ++this.accessCounter;
-        final String topicString = topic.toString();
-        final Entry entry = map.get(topicString);
+        final byte[] binary = topic.toBinary();
+        final int hash = topic.binaryHashCode();
+        final Entry entry = map.get(lookupKey.set(binary, hash));
+        lookupKey.set(null, 0);
         if (entry != null) { // entry already present
+            if (entry.pinned) {
+                final int topicAlias = entry.topicAlias;
+                entry.topicAlias &= TOPIC_ALIAS_FLAG; // clear NEW_TOPIC_ALIAS bit
+                return topicAlias;
+            }
             entry.access(accessCounter);
             if (entry.topicAlias != DEFAULT_NO_TOPIC_ALIAS) {
                 if (overwriteCost > OVERWRITE_COST_MIN) {
@@ -78,8 +125,9 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
             swapNewer(entry, accessCounter);
             return entry.topicAlias; // topic alias is 0 if entry is part of oversize
         }
-        final Entry newEntry = new Entry(topicString, accessCounter);
+        final Entry newEntry;
         if (map.size() < topicAliasMaximum + OVERSIZE) {
+            newEntry = new Entry(new Key(binary, hash), accessCounter);
             if (map.size() < topicAliasMaximum) { // still unused topic aliases available
                 newEntry.setNewTopicAlias(map.size() + 1);
             }
@@ -91,7 +139,8 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
         } else {
             final Entry lowest = this.lowest;
             assert lowest != null;
-            if (newEntry.priority(accessCounter) <= lowest.priority(accessCounter)) {
+            // checked before allocating the new entry, a new entry has the priority of a single access
+            if (Entry.NEW_PRIORITY <= lowest.priority(accessCounter)) {
                 return DEFAULT_NO_TOPIC_ALIAS;
             }
             if (++fullOverwriteTries < fullOverwriteCost) {
@@ -101,10 +150,11 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
             if (fullOverwriteCost < OVERWRITE_COST_MAX) {
                 fullOverwriteCost += (byte) Math.min(OVERWRITE_COST_INC, OVERWRITE_COST_MAX - fullOverwriteCost);
             }
+            newEntry = new Entry(new Key(binary, hash), accessCounter);
             if (lowest.topicAlias != DEFAULT_NO_TOPIC_ALIAS) {
                 newEntry.setNewTopicAlias(lowest.topicAlias);
             }
-            map.remove(lowest.topic);
+            map.remove(lowest.key);
             map.put(newEntry);
             final Entry higher = lowest.higher;
             newEntry.higher = higher;
@@ -165,6 +215,11 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
     @Override
     public @NotNull String toString() {
         final StringBuilder builder = new StringBuilder("{");
+        map.forEach(entry -> {
+            if (entry.pinned) {
+                builder.append("\n  ").append(entry);
+            }
+        });
         Entry entry = lowest;
         while (entry != null) {
             builder.append("\n  ").append(entry);
@@ -173,19 +228,64 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
         return builder.append("\n}").toString();
     }
 
+    static class Key {
+
+        byte @Nullable [] binary;
+        int hash;
+
+        Key() {}
+
+        Key(final byte @NotNull [] binary, final int hash) {
+            this.binary = binary;
+            this.hash = hash;
+        }
+
+        @NotNull Key set(final byte @Nullable [] binary, final int hash) {
+            this.binary = binary;
+            this.hash = hash;
+            return this;
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+
+            return (hash == that.hash) && Arrays.equals(binary, that.binary);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return (binary == null) ? "" : new String(binary, StandardCharsets.UTF_8);
+        }
+    }
+
     static class Entry {
 
-        final @NotNull String topic;
+        static final long NEW_PRIORITY = 1;
+
+        final @NotNull Key key;
         int topicAlias;
+        boolean pinned;
         private long used; // number of accesses, decays over time
         private long access; // stamp when the entry was last accessed
         @Nullable Entry higher; // entry with the next higher priority
         @Nullable Entry lower; // entry with the next lower priority
 
-        Entry(final @NotNull String topic, final long accessCounter) {
-            this.topic = topic;
+        Entry(final @NotNull Key key, final long accessCounter) {
+            this.key = key;
             topicAlias = DEFAULT_NO_TOPIC_ALIAS;
-            used = 1;
+            used = NEW_PRIORITY;
             access = accessCounter;
         }
 
@@ -206,7 +306,7 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
 
         @Override
         public @NotNull String toString() {
-            return '{' + "topic='" + topic + '\'' +
+            return '{' + "topic='" + key + '\'' + (pinned ? ", pinned" : "") +
                     ((topicAlias == DEFAULT_NO_TOPIC_ALIAS) ? "" : (", alias=" + (topicAlias & TOPIC_ALIAS_FLAG))) +
                     (((topicAlias & TOPIC_ALIAS_FLAG_NEW) == 0) ? "" : ", new ") + ", used = " + used + ", access = " +
                     access + '}';
@@ -27,4 +27,10 @@ public interface MqttTopicAliasMapping {
     int getTopicAliasMaximum();
 
     int onPublish(@NotNull MqttTopicImpl topic);
+
+    /**
+     * @return the amount of bytes that were not sent because topics were replaced by topic aliases, minus the bytes of
+     *         the topic alias properties.
+     */
+    long getSavedBytes();
 }
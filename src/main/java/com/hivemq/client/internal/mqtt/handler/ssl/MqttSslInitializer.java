@@ -45,11 +45,10 @@ public final class MqttSslInitializer {
             final @NotNull Channel channel,
             final @NotNull MqttClientConfig clientConfig,
             final @NotNull MqttClientSslConfigImpl sslConfig,
+            final @NotNull InetSocketAddress serverAddress,
             final @NotNull Consumer<Channel> onSuccess,
             final @NotNull BiConsumer<Channel, Throwable> onError) {
 
-        final InetSocketAddress serverAddress = clientConfig.getCurrentTransportConfig().getServerAddress();
-
         final SslHandler sslHandler;
         try {
             SslContext sslContext = clientConfig.getCurrentSslContext();
@@ -20,12 +20,12 @@ import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.mqtt.handler.MqttConnectionAwareHandler;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectEvent;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
+import com.hivemq.client.internal.netty.MqttTimer;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.util.concurrent.ScheduledFuture;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -40,7 +40,12 @@ import java.util.concurrent.TimeUnit;
 public abstract class MqttTimeoutInboundHandler extends MqttConnectionAwareHandler
         implements Runnable, ChannelFutureListener {
 
-    private @Nullable ScheduledFuture<?> timeoutFuture;
+    private final @NotNull MqttTimer timer;
+    private MqttTimer.@Nullable Cancellable timeoutFuture;
+
+    protected MqttTimeoutInboundHandler(final @NotNull MqttTimer timer) {
+        this.timer = timer;
+    }
 
     /**
      * Schedules a timeout if the given future succeeded. Otherwise the channel is closed.
@@ -91,7 +96,7 @@ public abstract class MqttTimeoutInboundHandler extends MqttConnectionAwareHandl
     protected void scheduleTimeout(final @NotNull Channel channel) {
         final long timeoutMs = getTimeoutMs();
         if (timeoutMs > 0) {
-            timeoutFuture = channel.eventLoop().schedule(this, timeoutMs, TimeUnit.MILLISECONDS);
+            timeoutFuture = timer.schedule(channel.eventLoop(), this, timeoutMs, TimeUnit.MILLISECONDS);
         }
     }
 
@@ -101,11 +106,18 @@ public abstract class MqttTimeoutInboundHandler extends MqttConnectionAwareHandl
     @CallByThread("Netty EventLoop")
     protected void cancelTimeout() {
         if (timeoutFuture != null) {
-            timeoutFuture.cancel(false);
+            timeoutFuture.cancel();
             timeoutFuture = null;
         }
     }
 
+    /**
+     * @return the timer used for scheduling timeouts.
+     */
+    protected @NotNull MqttTimer getTimer() {
+        return timer;
+    }
+
     @Override
     protected void onDisconnectEvent(
             final @NotNull ChannelHandlerContext ctx, final @NotNull MqttDisconnectEvent disconnectEvent) {
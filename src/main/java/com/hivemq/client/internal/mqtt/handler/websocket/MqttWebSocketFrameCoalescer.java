@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.websocket;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+
+/**
+ * Coalesces all encoded MQTT packets written before a flush into one buffer, so that the {@link MqttWebSocketCodec}
+ * wraps them into a single WebSocket frame instead of one frame per packet.
+ * <p>
+ * Packets are appended as components of a composite buffer without copying, as the WebSocket frame encoder copies the
+ * payload anyway for masking. The size of a coalesced frame is limited to {@link #MAX_FRAME_SIZE} bytes unless a single
+ * packet is larger.
+ */
+public class MqttWebSocketFrameCoalescer extends ChannelOutboundHandlerAdapter {
+
+    public static final @NotNull String NAME = "ws.coalescer";
+    static final int MAX_FRAME_SIZE = 65_536;
+
+    private @Nullable ByteBuf pending;
+    private final @NotNull ArrayList<ChannelPromise> pendingPromises = new ArrayList<>();
+
+    @Override
+    public void write(
+            final @NotNull ChannelHandlerContext ctx,
+            final @NotNull Object msg,
+            final @NotNull ChannelPromise promise) {
+
+        if (msg instanceof ByteBuf) {
+            final ByteBuf buf = (ByteBuf) msg;
+            ByteBuf pending = this.pending;
+            if ((pending != null) && (pending.readableBytes() + buf.readableBytes() > MAX_FRAME_SIZE)) {
+                writePending(ctx);
+                pending = null;
+            }
+            if (pending == null) {
+                this.pending = buf;
+            } else {
+                final CompositeByteBuf composite;
+                if (pending instanceof CompositeByteBuf) {
+                    composite = (CompositeByteBuf) pending;
+                } else {
+                    composite = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
+                    composite.addComponent(true, pending);
+                    this.pending = composite;
+                }
+                composite.addComponent(true, buf);
+            }
+            pendingPromises.add(promise);
+        } else {
+            writePending(ctx);
+            ctx.write(msg, promise);
+        }
+    }
+
+    @Override
+    public void flush(final @NotNull ChannelHandlerContext ctx) {
+        writePending(ctx);
+        ctx.flush();
+    }
+
+    @Override
+    public void close(final @NotNull ChannelHandlerContext ctx, final @NotNull ChannelPromise promise) {
+        writePending(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public void handlerRemoved(final @NotNull ChannelHandlerContext ctx) {
+        writePending(ctx);
+    }
+
+    private void writePending(final @NotNull ChannelHandlerContext ctx) {
+        final ByteBuf pending = this.pending;
+        if (pending == null) {
+            return;
+        }
+        this.pending = null;
+        if (pendingPromises.size() == 1) {
+            ctx.write(pending, pendingPromises.get(0));
+        } else {
+            final ChannelPromise[] promises = pendingPromises.toArray(new ChannelPromise[0]);
+            ctx.write(pending).addListener((ChannelFutureListener) future -> complete(ctx, future, promises));
+        }
+        pendingPromises.clear();
+    }
+
+    private static void complete(
+            final @NotNull ChannelHandlerContext ctx,
+            final @NotNull ChannelFuture future,
+            final @NotNull ChannelPromise @NotNull [] promises) {
+
+        final Throwable cause = future.cause();
+        if (cause == null) {
+            for (final ChannelPromise promise : promises) {
+                promise.trySuccess();
+            }
+        } else {
+            boolean voidPromise = false;
+            for (final ChannelPromise promise : promises) {
+                if (promise.isVoid()) {
+                    voidPromise = true;
+                } else {
+                    promise.tryFailure(cause);
+                }
+            }
+            if (voidPromise) { // a failed void promise fires the exception, but only once for the coalesced frame
+                ctx.fireExceptionCaught(cause);
+            }
+        }
+    }
+
+    @Override
+    public boolean isSharable() {
+        return false;
+    }
+}
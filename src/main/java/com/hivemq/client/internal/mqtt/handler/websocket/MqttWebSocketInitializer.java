@@ -22,11 +22,15 @@ import com.hivemq.client.internal.mqtt.MqttWebSocketConfigImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshakerFactory;
 import io.netty.handler.codec.http.websocketx.WebSocketVersion;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketClientExtensionHandler;
+import io.netty.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateClientExtensionHandshaker;
+import io.netty.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker;
 import org.jetbrains.annotations.NotNull;
 
 import javax.inject.Inject;
@@ -44,6 +48,8 @@ public class MqttWebSocketInitializer {
 
     private static final @NotNull String HTTP_CODEC_NAME = "http.codec";
     private static final @NotNull String HTTP_AGGREGATOR_NAME = "http.aggregator";
+    private static final @NotNull String EXTENSION_HANDLER_NAME = "ws.extensions";
+    private static final int DEFLATE_COMPRESSION_LEVEL = 6;
 
     private final @NotNull MqttWebSocketCodec mqttWebSocketCodec;
 
@@ -76,12 +82,22 @@ public class MqttWebSocketInitializer {
                         webSocketConfig.getSubprotocol(), true, null, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT,
                         true, false);
 
-        channel.pipeline()
-                .addLast(HTTP_CODEC_NAME, new HttpClientCodec())
-                .addLast(HTTP_AGGREGATOR_NAME, new HttpObjectAggregator(65_535))
-                .addLast(MqttWebsocketHandshakeHandler.NAME,
-                        new MqttWebsocketHandshakeHandler(handshaker, webSocketConfig.getHandshakeTimeoutMs(),
-                                onSuccess, onError))
-                .addLast(MqttWebSocketCodec.NAME, mqttWebSocketCodec);
+        final ChannelPipeline pipeline = channel.pipeline();
+        pipeline.addLast(HTTP_CODEC_NAME, new HttpClientCodec())
+                .addLast(HTTP_AGGREGATOR_NAME, new HttpObjectAggregator(65_535));
+        if (webSocketConfig.isPerMessageDeflate()) {
+            // window sizes are not negotiated, as only the default window size is supported by the JDK zlib
+            pipeline.addLast(EXTENSION_HANDLER_NAME, new WebSocketClientExtensionHandler(
+                    new PerMessageDeflateClientExtensionHandshaker(DEFLATE_COMPRESSION_LEVEL, false,
+                            PerMessageDeflateServerExtensionHandshaker.MAX_WINDOW_SIZE,
+                            webSocketConfig.isClientNoContextTakeover(),
+                            webSocketConfig.isServerNoContextTakeover())));
+        }
+        pipeline.addLast(MqttWebsocketHandshakeHandler.NAME,
+                new MqttWebsocketHandshakeHandler(handshaker, webSocketConfig.getHandshakeTimeoutMs(), onSuccess,
+                        onError)).addLast(MqttWebSocketCodec.NAME, mqttWebSocketCodec);
+        if (webSocketConfig.isFrameCoalescing()) {
+            pipeline.addLast(MqttWebSocketFrameCoalescer.NAME, new MqttWebSocketFrameCoalescer());
+        }
     }
 }
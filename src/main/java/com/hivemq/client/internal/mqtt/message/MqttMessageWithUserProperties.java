@@ -45,15 +45,16 @@ public abstract class MqttMessageWithUserProperties implements MqttMessage.WithU
     }
 
     protected @NotNull String toAttributeString() {
+        final MqttUserPropertiesImpl userProperties = getUserProperties();
         return userProperties.asList().isEmpty() ? "" : "userProperties=" + userProperties;
     }
 
     protected boolean partialEquals(final @NotNull MqttMessageWithUserProperties that) {
-        return userProperties.equals(that.userProperties);
+        return getUserProperties().equals(that.getUserProperties());
     }
 
     protected int partialHashCode() {
-        return userProperties.hashCode();
+        return getUserProperties().hashCode();
     }
 
     /**
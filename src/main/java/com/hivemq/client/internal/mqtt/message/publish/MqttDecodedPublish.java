@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5DecodedPublish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadDecoder;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+public class MqttDecodedPublish<T> implements Mqtt5DecodedPublish<T> {
+
+    private static final @NotNull ByteBuffer EMPTY_PAYLOAD = ByteBuffer.allocate(0).asReadOnlyBuffer();
+
+    public static <T> @NotNull MqttDecodedPublish<T> decode(
+            final @NotNull Mqtt5Publish publish, final @NotNull Mqtt5PayloadDecoder<? extends T> payloadDecoder)
+            throws Exception {
+
+        final ByteBuffer payload = publish.getPayload().orElse(EMPTY_PAYLOAD);
+        return new MqttDecodedPublish<>(publish, Checks.notNull(payloadDecoder.decode(payload), "Decoded payload"));
+    }
+
+    private final @NotNull Mqtt5Publish publish;
+    private final @NotNull T decodedPayload;
+
+    private MqttDecodedPublish(final @NotNull Mqtt5Publish publish, final @NotNull T decodedPayload) {
+        this.publish = publish;
+        this.decodedPayload = decodedPayload;
+    }
+
+    @Override
+    public @NotNull Mqtt5Publish getPublish() {
+        return publish;
+    }
+
+    @Override
+    public @NotNull T getDecodedPayload() {
+        return decodedPayload;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "MqttDecodedPublish{publish=" + publish + ", decodedPayload=" + decodedPayload + '}';
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttDecodedPublish)) {
+            return false;
+        }
+        final MqttDecodedPublish<?> that = (MqttDecodedPublish<?>) o;
+
+        return publish.equals(that.publish) && decodedPayload.equals(that.decodedPayload);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * publish.hashCode() + decodedPayload.hashCode();
+    }
+}
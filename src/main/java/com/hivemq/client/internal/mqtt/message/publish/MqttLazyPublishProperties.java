@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import com.hivemq.client.internal.mqtt.datatypes.*;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttPublishProperty.*;
+
+/**
+ * Content type, response topic, correlation data and user properties of an incoming Publish message which are kept in
+ * their encoded form and only decoded when one of them is accessed for the first time.
+ * <p>
+ * The encoded properties are the whole property section of the Publish packet, properties that are always decoded are
+ * skipped. The properties must have been validated when the Publish packet was decoded, so decoding them here can not
+ * fail.
+ */
+public class MqttLazyPublishProperties {
+
+    private final byte @NotNull [] encoded;
+    private final boolean directCorrelationData;
+    private volatile @Nullable Decoded decoded;
+
+    public MqttLazyPublishProperties(final byte @NotNull [] encoded, final boolean directCorrelationData) {
+        this.encoded = encoded;
+        this.directCorrelationData = directCorrelationData;
+    }
+
+    @Nullable MqttUtf8StringImpl getContentType() {
+        return decoded().contentType;
+    }
+
+    @Nullable MqttTopicImpl getResponseTopic() {
+        return decoded().responseTopic;
+    }
+
+    @Nullable ByteBuffer getCorrelationData() {
+        return decoded().correlationData;
+    }
+
+    @NotNull MqttUserPropertiesImpl getUserProperties() {
+        return decoded().userProperties;
+    }
+
+    private @NotNull Decoded decoded() {
+        Decoded decoded = this.decoded;
+        if (decoded == null) {
+            // concurrent first accesses may decode more than once, but the results are equal
+            decoded = decode();
+            this.decoded = decoded;
+        }
+        return decoded;
+    }
+
+    private @NotNull Decoded decode() {
+        final ByteBuf in = Unpooled.wrappedBuffer(encoded);
+        MqttUtf8StringImpl contentType = null;
+        MqttTopicImpl responseTopic = null;
+        ByteBuffer correlationData = null;
+        ImmutableList.Builder<MqttUserPropertyImpl> userPropertiesBuilder = null;
+        while (in.isReadable()) {
+            switch (MqttVariableByteInteger.decode(in)) {
+                case MESSAGE_EXPIRY_INTERVAL:
+                    in.skipBytes(4);
+                    break;
+                case PAYLOAD_FORMAT_INDICATOR:
+                    in.skipBytes(1);
+                    break;
+                case CONTENT_TYPE:
+                    contentType = MqttUtf8StringImpl.decode(in);
+                    break;
+                case RESPONSE_TOPIC:
+                    responseTopic = MqttTopicImpl.decode(in);
+                    break;
+                case CORRELATION_DATA:
+                    correlationData = MqttBinaryData.decode(in, directCorrelationData);
+                    break;
+                case USER_PROPERTY:
+                    if (userPropertiesBuilder == null) {
+                        userPropertiesBuilder = ImmutableList.builder();
+                    }
+                    userPropertiesBuilder.add(MqttUserPropertyImpl.decode(in));
+                    break;
+                case TOPIC_ALIAS:
+                    in.skipBytes(2);
+                    break;
+                case SUBSCRIPTION_IDENTIFIER:
+                    MqttVariableByteInteger.decode(in);
+                    break;
+                default:
+                    throw new IllegalStateException("properties must have been validated");
+            }
+        }
+        return new Decoded(contentType, responseTopic, correlationData,
+                MqttUserPropertiesImpl.build(userPropertiesBuilder));
+    }
+
+    private static class Decoded {
+
+        final @Nullable MqttUtf8StringImpl contentType;
+        final @Nullable MqttTopicImpl responseTopic;
+        final @Nullable ByteBuffer correlationData;
+        final @NotNull MqttUserPropertiesImpl userProperties;
+
+        Decoded(
+                final @Nullable MqttUtf8StringImpl contentType,
+                final @Nullable MqttTopicImpl responseTopic,
+                final @Nullable ByteBuffer correlationData,
+                final @NotNull MqttUserPropertiesImpl userProperties) {
+
+            this.contentType = contentType;
+            this.responseTopic = responseTopic;
+            this.correlationData = correlationData;
+            this.userProperties = userProperties;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.datatypes.MqttTopic;
 import com.hivemq.client.mqtt.datatypes.MqttUtf8String;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadWriter;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -52,6 +53,7 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
 
     private final @NotNull MqttTopicImpl topic;
     private final @Nullable ByteBuffer payload;
+    private final @Nullable Mqtt5PayloadWriter payloadWriter;
     private final @NotNull MqttQos qos;
     private final boolean retain;
     private final long messageExpiryInterval;
@@ -59,6 +61,7 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
     private final @Nullable MqttUtf8StringImpl contentType;
     private final @Nullable MqttTopicImpl responseTopic;
     private final @Nullable ByteBuffer correlationData;
+    private final @Nullable MqttLazyPublishProperties lazyProperties;
 
     private final @Nullable Confirmable confirmable;
 
@@ -75,9 +78,29 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
             final @NotNull MqttUserPropertiesImpl userProperties,
             final @Nullable Confirmable confirmable) {
 
+        this(topic, payload, null, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
+                responseTopic, correlationData, userProperties, null, confirmable);
+    }
+
+    public MqttPublish(
+            final @NotNull MqttTopicImpl topic,
+            final @Nullable ByteBuffer payload,
+            final @Nullable Mqtt5PayloadWriter payloadWriter,
+            final @NotNull MqttQos qos,
+            final boolean retain,
+            final long messageExpiryInterval,
+            final @Nullable Mqtt5PayloadFormatIndicator payloadFormatIndicator,
+            final @Nullable MqttUtf8StringImpl contentType,
+            final @Nullable MqttTopicImpl responseTopic,
+            final @Nullable ByteBuffer correlationData,
+            final @NotNull MqttUserPropertiesImpl userProperties,
+            final @Nullable MqttLazyPublishProperties lazyProperties,
+            final @Nullable Confirmable confirmable) {
+
         super(userProperties);
         this.topic = topic;
         this.payload = payload;
+        this.payloadWriter = payloadWriter;
         this.qos = qos;
         this.retain = retain;
         this.messageExpiryInterval = messageExpiryInterval;
@@ -85,6 +108,7 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         this.contentType = contentType;
         this.responseTopic = responseTopic;
         this.correlationData = correlationData;
+        this.lazyProperties = lazyProperties;
         this.confirmable = confirmable;
     }
 
@@ -95,16 +119,46 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
 
     @Override
     public @NotNull Optional<ByteBuffer> getPayload() {
-        return ByteBufferUtil.optionalReadOnly(payload);
+        return ByteBufferUtil.optionalReadOnly(getRawPayload());
     }
 
+    /**
+     * Returns the payload. If the payload is written by a {@link #getRawPayloadWriter() payload writer}, it is written
+     * to a newly allocated buffer on every call.
+     *
+     * @return the payload or <code>null</code> if the Publish message has no payload.
+     */
     public @Nullable ByteBuffer getRawPayload() {
-        return payload;
+        return (payloadWriter == null) ? payload : writePayload(payloadWriter);
+    }
+
+    public @Nullable Mqtt5PayloadWriter getRawPayloadWriter() {
+        return payloadWriter;
+    }
+
+    public int getRawPayloadLength() {
+        if (payloadWriter != null) {
+            return payloadWriter.getLength();
+        }
+        return (payload == null) ? 0 : payload.remaining();
+    }
+
+    /**
+     * Writes the payload to the given buffer which must have exactly {@link #getRawPayloadLength()} bytes remaining.
+     *
+     * @param buffer the buffer to write the payload to.
+     */
+    public void writePayload(final @NotNull ByteBuffer buffer) {
+        if (payloadWriter != null) {
+            writePayload(payloadWriter, buffer);
+        } else if (payload != null) {
+            buffer.put(payload.duplicate());
+        }
     }
 
     @Override
     public byte @NotNull [] getPayloadAsBytes() {
-        return ByteBufferUtil.copyBytes(payload);
+        return ByteBufferUtil.copyBytes(getRawPayload());
     }
 
     @Override
@@ -138,41 +192,57 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
 
     @Override
     public @NotNull Optional<MqttUtf8String> getContentType() {
-        return Optional.ofNullable(contentType);
+        return Optional.ofNullable(getRawContentType());
     }
 
     public @Nullable MqttUtf8StringImpl getRawContentType() {
-        return contentType;
+        return (lazyProperties == null) ? contentType : lazyProperties.getContentType();
     }
 
     @Override
     public @NotNull Optional<MqttTopic> getResponseTopic() {
-        return Optional.ofNullable(responseTopic);
+        return Optional.ofNullable(getRawResponseTopic());
     }
 
     public @Nullable MqttTopicImpl getRawResponseTopic() {
-        return responseTopic;
+        return (lazyProperties == null) ? responseTopic : lazyProperties.getResponseTopic();
     }
 
     @Override
     public @NotNull Optional<ByteBuffer> getCorrelationData() {
-        return ByteBufferUtil.optionalReadOnly(correlationData);
+        return ByteBufferUtil.optionalReadOnly(getRawCorrelationData());
     }
 
     public @Nullable ByteBuffer getRawCorrelationData() {
-        return correlationData;
+        return (lazyProperties == null) ? correlationData : lazyProperties.getCorrelationData();
+    }
+
+    @Override
+    public @NotNull MqttUserPropertiesImpl getUserProperties() {
+        return (lazyProperties == null) ? super.getUserProperties() : lazyProperties.getUserProperties();
     }
 
     @Override
     public void acknowledge() {
+        if (!getConfirmable().confirm()) {
+            throw new IllegalStateException("A publish must not be acknowledged more than once");
+        }
+    }
+
+    @Override
+    public void acknowledgeCumulatively() {
+        if (!getConfirmable().confirmCumulative()) {
+            throw new IllegalStateException("A publish must not be acknowledged more than once");
+        }
+    }
+
+    private @NotNull Confirmable getConfirmable() {
         final Confirmable confirmable = this.confirmable;
         if (confirmable == null) {
             throw new UnsupportedOperationException(
                     "A publish must not be acknowledged if manual acknowledgement is not enabled");
         }
-        if (!confirmable.confirm()) {
-            throw new IllegalStateException("A publish must not be acknowledged more than once");
-        }
+        return confirmable;
     }
 
     @Override
@@ -203,14 +273,40 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
     }
 
     public @NotNull MqttPublish withConfirmable(final @NotNull Confirmable confirmable) {
-        return new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
-                responseTopic, correlationData, getUserProperties(), confirmable);
+        return new MqttPublish(topic, payload, payloadWriter, qos, retain, messageExpiryInterval,
+                payloadFormatIndicator, contentType, responseTopic, correlationData, super.getUserProperties(),
+                lazyProperties, confirmable);
+    }
+
+    public @NotNull MqttPublish withMessageExpiryInterval(final long messageExpiryInterval) {
+        return new MqttPublish(topic, payload, payloadWriter, qos, retain, messageExpiryInterval,
+                payloadFormatIndicator, contentType, responseTopic, correlationData, super.getUserProperties(),
+                lazyProperties, confirmable);
+    }
+
+    /**
+     * Creates a copy of this Publish message with a different payload and content type. Lazily decoded properties are
+     * decoded by this method.
+     *
+     * @param payload     the payload of the copy.
+     * @param contentType the content type of the copy.
+     * @return the copy.
+     */
+    public @NotNull MqttPublish withPayload(
+            final @NotNull ByteBuffer payload, final @Nullable MqttUtf8StringImpl contentType) {
+
+        return new MqttPublish(topic, payload, null, qos, retain, messageExpiryInterval, payloadFormatIndicator,
+                contentType, getRawResponseTopic(), getRawCorrelationData(), getUserProperties(), null, confirmable);
     }
 
     @Override
     protected @NotNull String toAttributeString() {
-        return "topic=" + topic + ((payload == null) ? "" : ", payload=" + payload.remaining() + "byte") + ", qos=" +
-                qos + ", retain=" + retain + ((messageExpiryInterval == NO_MESSAGE_EXPIRY) ? "" :
+        final MqttUtf8StringImpl contentType = getRawContentType();
+        final MqttTopicImpl responseTopic = getRawResponseTopic();
+        final ByteBuffer correlationData = getRawCorrelationData();
+        return "topic=" + topic +
+                (((payload == null) && (payloadWriter == null)) ? "" : ", payload=" + getRawPayloadLength() + "byte") +
+                ", qos=" + qos + ", retain=" + retain + ((messageExpiryInterval == NO_MESSAGE_EXPIRY) ? "" :
                 ", messageExpiryInterval=" + messageExpiryInterval) +
                 ((payloadFormatIndicator == null) ? "" : ", payloadFormatIndicator=" + payloadFormatIndicator) +
                 ((contentType == null) ? "" : ", contentType=" + contentType) +
@@ -235,11 +331,13 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         final MqttPublish that = (MqttPublish) o;
 
         return that.canEqual(this) && partialEquals(that) && topic.equals(that.topic) &&
-                Objects.equals(payload, that.payload) && (qos == that.qos) && (retain == that.retain) &&
+                Objects.equals(payload, that.payload) && Objects.equals(payloadWriter, that.payloadWriter) &&
+                (qos == that.qos) && (retain == that.retain) &&
                 (messageExpiryInterval == that.messageExpiryInterval) &&
                 (payloadFormatIndicator == that.payloadFormatIndicator) &&
-                Objects.equals(contentType, that.contentType) && Objects.equals(responseTopic, that.responseTopic) &&
-                Objects.equals(correlationData, that.correlationData);
+                Objects.equals(getRawContentType(), that.getRawContentType()) &&
+                Objects.equals(getRawResponseTopic(), that.getRawResponseTopic()) &&
+                Objects.equals(getRawCorrelationData(), that.getRawCorrelationData());
     }
 
     protected boolean canEqual(final @Nullable Object o) {
@@ -251,13 +349,33 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         int result = partialHashCode();
         result = 31 * result + topic.hashCode();
         result = 31 * result + Objects.hashCode(payload);
+        result = 31 * result + Objects.hashCode(payloadWriter);
         result = 31 * result + qos.hashCode();
         result = 31 * result + Boolean.hashCode(retain);
         result = 31 * result + Long.hashCode(messageExpiryInterval);
         result = 31 * result + Objects.hashCode(payloadFormatIndicator);
-        result = 31 * result + Objects.hashCode(contentType);
-        result = 31 * result + Objects.hashCode(responseTopic);
-        result = 31 * result + Objects.hashCode(correlationData);
+        result = 31 * result + Objects.hashCode(getRawContentType());
+        result = 31 * result + Objects.hashCode(getRawResponseTopic());
+        result = 31 * result + Objects.hashCode(getRawCorrelationData());
         return result;
     }
+
+    static @NotNull ByteBuffer writePayload(final @NotNull Mqtt5PayloadWriter payloadWriter) {
+        final ByteBuffer buffer = ByteBuffer.allocate(payloadWriter.getLength());
+        writePayload(payloadWriter, buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void writePayload(
+            final @NotNull Mqtt5PayloadWriter payloadWriter, final @NotNull ByteBuffer buffer) {
+
+        final int position = buffer.position();
+        final int limit = buffer.limit();
+        payloadWriter.write(buffer);
+        if ((buffer.position() != limit) || (buffer.limit() != limit)) {
+            throw new IllegalStateException("Payload writer must write exactly " + (limit - position) +
+                    " bytes, but wrote " + (buffer.position() - position) + " bytes.");
+        }
+    }
 }
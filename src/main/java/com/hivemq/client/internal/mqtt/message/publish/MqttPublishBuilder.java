@@ -25,6 +25,7 @@ import com.hivemq.client.mqtt.datatypes.MqttTopic;
 import com.hivemq.client.mqtt.datatypes.MqttUtf8String;
 import com.hivemq.client.mqtt.mqtt5.datatypes.Mqtt5UserProperties;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadWriter;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5WillPublishBuilder;
 import org.jetbrains.annotations.NotNull;
@@ -40,6 +41,7 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
 
     @Nullable MqttTopicImpl topic;
     @Nullable ByteBuffer payload;
+    @Nullable Mqtt5PayloadWriter payloadWriter;
     @NotNull MqttQos qos = MqttPublish.DEFAULT_QOS;
     boolean retain;
     long messageExpiryInterval = MqttPublish.NO_MESSAGE_EXPIRY;
@@ -53,7 +55,10 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
 
     MqttPublishBuilder(final @NotNull MqttPublish publish) {
         topic = publish.getTopic();
-        payload = publish.getRawPayload();
+        payloadWriter = publish.getRawPayloadWriter();
+        if (payloadWriter == null) {
+            payload = publish.getRawPayload();
+        }
         qos = publish.getQos();
         retain = publish.isRetain();
         messageExpiryInterval = publish.getRawMessageExpiryInterval();
@@ -67,6 +72,7 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
     MqttPublishBuilder(final @NotNull MqttPublishBuilder<?> publishBuilder) {
         topic = publishBuilder.topic;
         payload = publishBuilder.payload;
+        payloadWriter = publishBuilder.payloadWriter;
         qos = publishBuilder.qos;
         retain = publishBuilder.retain;
         messageExpiryInterval = publishBuilder.messageExpiryInterval;
@@ -171,11 +177,19 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
 
         public @NotNull B payload(final byte @Nullable [] payload) {
             this.payload = ByteBufferUtil.wrap(payload);
+            payloadWriter = null;
             return self();
         }
 
         public @NotNull B payload(final @Nullable ByteBuffer payload) {
             this.payload = ByteBufferUtil.slice(payload);
+            payloadWriter = null;
+            return self();
+        }
+
+        public @NotNull B payload(final @Nullable Mqtt5PayloadWriter payloadWriter) {
+            this.payloadWriter = Checks.notNull(payloadWriter, "Payload writer");
+            payload = null;
             return self();
         }
 
@@ -185,8 +199,8 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
 
         public @NotNull MqttPublish build() {
             Checks.notNull(topic, "Topic");
-            return new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator,
-                    contentType, responseTopic, correlationData, userProperties, null);
+            return new MqttPublish(topic, payload, payloadWriter, qos, retain, messageExpiryInterval,
+                    payloadFormatIndicator, contentType, responseTopic, correlationData, userProperties, null, null);
         }
     }
 
@@ -253,6 +267,7 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
             if (publish instanceof MqttWillPublish) {
                 delayInterval = ((MqttWillPublish) publish).getDelayInterval();
             } else {
+                writePayload();
                 payload(payload); // check payload size restriction
             }
         }
@@ -262,10 +277,19 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
             if (publishBuilder instanceof WillBase) {
                 delayInterval = ((WillBase<?>) publishBuilder).delayInterval;
             } else {
+                writePayload();
                 payload(payload); // check payload size restriction
             }
         }
 
+        private void writePayload() {
+            // the Will Publish is encoded in the CONNECT packet, so a payload writer is not kept
+            if (payloadWriter != null) {
+                payload = MqttPublish.writePayload(payloadWriter);
+                payloadWriter = null;
+            }
+        }
+
         public @NotNull B payload(final byte @Nullable [] payload) {
             this.payload = MqttChecks.binaryDataOrNull(payload, "Payload");
             return self();
@@ -221,6 +221,7 @@ public abstract class MqttSubscribeBuilder<B extends MqttSubscribeBuilder<B>> {
             implements Mqtt5SubscribeBuilder.Publishes.Start.Complete<P>, Mqtt5SubscribeBuilder.Publishes.Args<P> {
 
         protected boolean manualAcknowledgement;
+        protected boolean conflate;
 
         @Override
         protected @NotNull Publishes<P> self() {
@@ -232,5 +233,11 @@ public abstract class MqttSubscribeBuilder<B extends MqttSubscribeBuilder<B>> {
             this.manualAcknowledgement = manualAcknowledgement;
             return this;
         }
+
+        @Override
+        public @NotNull Publishes<P> conflate(final boolean conflate) {
+            this.conflate = conflate;
+            return this;
+        }
     }
 }
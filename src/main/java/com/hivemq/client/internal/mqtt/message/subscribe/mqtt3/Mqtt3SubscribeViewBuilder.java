@@ -194,6 +194,7 @@ public abstract class Mqtt3SubscribeViewBuilder<B extends Mqtt3SubscribeViewBuil
             implements Mqtt3SubscribeBuilder.Publishes.Start.Complete<P>, Mqtt3SubscribeBuilder.Publishes.Args<P> {
 
         protected boolean manualAcknowledgement;
+        protected boolean conflate;
 
         @Override
         protected @NotNull Publishes<P> self() {
@@ -205,5 +206,11 @@ public abstract class Mqtt3SubscribeViewBuilder<B extends Mqtt3SubscribeViewBuil
             this.manualAcknowledgement = manualAcknowledgement;
             return this;
         }
+
+        @Override
+        public @NotNull Publishes<P> conflate(final boolean conflate) {
+            this.conflate = conflate;
+            return this;
+        }
     }
 }
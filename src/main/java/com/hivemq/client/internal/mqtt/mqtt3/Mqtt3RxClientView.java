@@ -141,9 +141,15 @@ public class Mqtt3RxClientView implements Mqtt3RxClient {
     public @NotNull FlowableWithSingle<Mqtt3Publish, Mqtt3SubAck> subscribePublishes(
             final @Nullable Mqtt3Subscribe subscribe, final boolean manualAcknowledgement) {
 
+        return subscribePublishes(subscribe, manualAcknowledgement, false);
+    }
+
+    private @NotNull FlowableWithSingle<Mqtt3Publish, Mqtt3SubAck> subscribePublishes(
+            final @Nullable Mqtt3Subscribe subscribe, final boolean manualAcknowledgement, final boolean conflate) {
+
         final MqttSubscribe mqttSubscribe = MqttChecks.subscribe(subscribe);
 
-        return delegate.subscribePublishes(mqttSubscribe, manualAcknowledgement)
+        return delegate.subscribePublishes(mqttSubscribe, manualAcknowledgement, conflate)
                 .mapError(Mqtt3ExceptionFactory.MAPPER)
                 .mapBoth(Mqtt3PublishView.MAPPER, Mqtt3SubAckView.MAPPER);
     }
@@ -215,7 +221,7 @@ public class Mqtt3RxClientView implements Mqtt3RxClient {
 
         @Override
         public @NotNull FlowableWithSingle<Mqtt3Publish, Mqtt3SubAck> applySubscribe() {
-            return subscribePublishes(build(), manualAcknowledgement);
+            return subscribePublishes(build(), manualAcknowledgement, conflate);
         }
     }
 }
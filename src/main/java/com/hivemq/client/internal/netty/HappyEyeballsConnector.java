@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.*;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Races connection attempts to all resolved addresses of a server as described in
+ * <a href="https://tools.ietf.org/html/rfc8305">RFC 8305 (Happy Eyeballs Version 2)</a>.
+ * <p>
+ * The addresses are interleaved by address family, starting with the family of the first resolved address. The next
+ * attempt is started after the connection attempt delay or as soon as the previous attempt failed. The first
+ * established channel wins and all other attempts are closed. The handler of the bootstrap is only added to the
+ * winning channel.
+ */
+@NotThreadSafe
+public final class HappyEyeballsConnector implements ChannelFutureListener {
+
+    static final long CONNECTION_ATTEMPT_DELAY_MS = 250;
+
+    /**
+     * Connects to the first reachable of the given addresses.
+     *
+     * @param bootstrap    the bootstrap with a single event loop as group.
+     * @param addresses    the resolved addresses of the server, must not be empty.
+     * @param localAddress the optional local address to bind to.
+     * @return the future which is completed with the winning channel or the cause of the last failed attempt.
+     */
+    public static @NotNull Future<Channel> connect(
+            final @NotNull Bootstrap bootstrap,
+            final @NotNull List<InetSocketAddress> addresses,
+            final @Nullable SocketAddress localAddress) {
+
+        final HappyEyeballsConnector connector = new HappyEyeballsConnector(bootstrap, addresses, localAddress);
+        if (connector.eventLoop.inEventLoop()) {
+            connector.startNextAttempt();
+        } else {
+            connector.eventLoop.execute(connector::startNextAttempt);
+        }
+        return connector.promise;
+    }
+
+    static @NotNull List<InetSocketAddress> interleave(final @NotNull List<InetSocketAddress> addresses) {
+        final List<InetSocketAddress> first = new ArrayList<>(addresses.size());
+        final List<InetSocketAddress> second = new ArrayList<>(addresses.size());
+        final boolean firstIsIpv6 = isIpv6(addresses.get(0));
+        for (final InetSocketAddress address : addresses) {
+            (isIpv6(address) == firstIsIpv6 ? first : second).add(address);
+        }
+        final List<InetSocketAddress> interleaved = new ArrayList<>(addresses.size());
+        for (int i = 0; i < Math.max(first.size(), second.size()); i++) {
+            if (i < first.size()) {
+                interleaved.add(first.get(i));
+            }
+            if (i < second.size()) {
+                interleaved.add(second.get(i));
+            }
+        }
+        return interleaved;
+    }
+
+    private static boolean isIpv6(final @NotNull InetSocketAddress address) {
+        final InetAddress inetAddress = address.getAddress();
+        return inetAddress instanceof Inet6Address;
+    }
+
+    private final @NotNull Bootstrap attemptBootstrap;
+    private final @NotNull ChannelHandler handler;
+    private final @NotNull List<InetSocketAddress> addresses;
+    private final @Nullable SocketAddress localAddress;
+    private final @NotNull EventLoop eventLoop;
+    private final @NotNull Promise<Channel> promise;
+
+    private final @Nullable ChannelFuture @NotNull [] attempts;
+    private int started;
+    private int failed;
+    private @Nullable ScheduledFuture<?> nextAttempt;
+
+    private HappyEyeballsConnector(
+            final @NotNull Bootstrap bootstrap,
+            final @NotNull List<InetSocketAddress> addresses,
+            final @Nullable SocketAddress localAddress) {
+
+        final ChannelHandler handler = bootstrap.config().handler();
+        final EventLoopGroup group = bootstrap.config().group();
+        if ((handler == null) || !(group instanceof EventLoop)) {
+            throw new IllegalArgumentException("Bootstrap must have a handler and a single event loop as group.");
+        }
+        if (addresses.isEmpty()) {
+            throw new IllegalArgumentException("Addresses must not be empty.");
+        }
+        attemptBootstrap = bootstrap.clone().handler(AttemptHandler.INSTANCE);
+        this.handler = handler;
+        this.addresses = interleave(addresses);
+        this.localAddress = localAddress;
+        eventLoop = (EventLoop) group;
+        promise = eventLoop.newPromise();
+        attempts = new ChannelFuture[addresses.size()];
+    }
+
+    private void startNextAttempt() {
+        nextAttempt = null;
+        final InetSocketAddress address = addresses.get(started);
+        final ChannelFuture attempt = (localAddress == null) ? attemptBootstrap.connect(address) :
+                attemptBootstrap.connect(address, localAddress);
+        attempts[started++] = attempt;
+        if (started < addresses.size()) {
+            nextAttempt =
+                    eventLoop.schedule(this::startNextAttempt, CONNECTION_ATTEMPT_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+        attempt.addListener(this);
+    }
+
+    @Override
+    public void operationComplete(final @NotNull ChannelFuture future) {
+        if (promise.isDone()) { // lost the race
+            future.channel().close();
+            return;
+        }
+        if (future.isSuccess()) {
+            cancelNextAttempt();
+            for (int i = 0; i < started; i++) {
+                if (attempts[i] != future) {
+                    attempts[i].channel().close();
+                }
+            }
+            final Channel channel = future.channel();
+            channel.pipeline().remove(AttemptHandler.INSTANCE).addLast(handler);
+            promise.setSuccess(channel);
+        } else {
+            failed++;
+            if (started < addresses.size()) {
+                cancelNextAttempt();
+                startNextAttempt();
+            } else if (failed == addresses.size()) {
+                promise.setFailure(future.cause());
+            }
+        }
+    }
+
+    private void cancelNextAttempt() {
+        if (nextAttempt != null) {
+            nextAttempt.cancel(false);
+            nextAttempt = null;
+        }
+    }
+
+    @ChannelHandler.Sharable
+    private static final class AttemptHandler extends ChannelInboundHandlerAdapter {
+
+        static final @NotNull AttemptHandler INSTANCE = new AttemptHandler();
+    }
+}
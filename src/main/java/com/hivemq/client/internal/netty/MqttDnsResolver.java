@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.internal.annotations.ThreadSafe;
+import com.hivemq.client.internal.util.ClassUtil;
+import com.hivemq.client.mqtt.MqttTransportType;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.EventLoop;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.resolver.dns.*;
+import io.netty.util.concurrent.Future;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves server hosts asynchronously on the event loop of the connection instead of blocking it.
+ * <p>
+ * Uses one Netty {@link DnsNameResolver} per event loop. All resolvers share one cache which respects the TTLs of the
+ * DNS records, so clients connecting to the same host only trigger one query until the records expire.
+ * <p>
+ * Requires the optional dependency {@code io.netty:netty-resolver-dns}. All references to its classes are confined to
+ * the nested {@link Resolvers} class, so this class can be loaded without it.
+ */
+@ThreadSafe
+public final class MqttDnsResolver {
+
+    private static final boolean AVAILABLE = ClassUtil.isAvailable("io.netty.resolver.dns.DnsNameResolver");
+
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    public static boolean isAvailable(final @NotNull MqttTransportType transportType) {
+        return AVAILABLE && (NettyEventLoopProvider.INSTANCE.getDatagramChannelFactory(transportType) != null);
+    }
+
+    /**
+     * Resolves all addresses of the given host.
+     *
+     * @param eventLoop     the event loop of the connection, the returned future is completed on it.
+     * @param transportType the transport type of the event loop.
+     * @param host          the host to resolve.
+     * @return the future which is completed with the resolved addresses.
+     * @throws IllegalStateException if the resolver is not available for the transport type.
+     */
+    public static @NotNull Future<List<InetAddress>> resolveAll(
+            final @NotNull EventLoop eventLoop,
+            final @NotNull MqttTransportType transportType,
+            final @NotNull String host) {
+
+        final ChannelFactory<? extends DatagramChannel> datagramChannelFactory =
+                NettyEventLoopProvider.INSTANCE.getDatagramChannelFactory(transportType);
+        if (!AVAILABLE || (datagramChannelFactory == null)) {
+            throw new IllegalStateException("DNS resolver is not available for transport " + transportType + ".");
+        }
+        return Resolvers.INSTANCE.resolveAll(eventLoop, datagramChannelFactory, host);
+    }
+
+    static final class Resolvers {
+
+        static final @NotNull Resolvers INSTANCE = new Resolvers(null);
+
+        private final @Nullable DnsServerAddressStreamProvider nameServerProvider;
+        private final @NotNull DnsCache cache = new DefaultDnsCache();
+        private final @NotNull DnsCnameCache cnameCache = new DefaultDnsCnameCache();
+        private final @NotNull ConcurrentHashMap<EventLoop, DnsNameResolver> resolvers = new ConcurrentHashMap<>();
+
+        Resolvers(final @Nullable DnsServerAddressStreamProvider nameServerProvider) {
+            this.nameServerProvider = nameServerProvider;
+        }
+
+        @NotNull Future<List<InetAddress>> resolveAll(
+                final @NotNull EventLoop eventLoop,
+                final @NotNull ChannelFactory<? extends DatagramChannel> datagramChannelFactory,
+                final @NotNull String host) {
+
+            DnsNameResolver resolver = resolvers.get(eventLoop);
+            if (resolver == null) {
+                final DnsNameResolverBuilder builder = new DnsNameResolverBuilder(eventLoop).channelFactory(
+                        datagramChannelFactory).resolveCache(cache).cnameCache(cnameCache);
+                if (nameServerProvider != null) {
+                    builder.nameServerProvider(nameServerProvider);
+                }
+                final DnsNameResolver newResolver = builder.build();
+                resolver = resolvers.putIfAbsent(eventLoop, newResolver);
+                if (resolver == null) {
+                    resolver = newResolver;
+                    eventLoop.terminationFuture().addListener(future -> resolvers.remove(eventLoop));
+                } else {
+                    newResolver.close();
+                }
+            }
+            return resolver.resolveAll(host);
+        }
+
+        void close() {
+            resolvers.values().forEach(DnsNameResolver::close);
+            resolvers.clear();
+            cache.clear();
+            cnameCache.clear();
+        }
+    }
+
+    private MqttDnsResolver() {}
+}
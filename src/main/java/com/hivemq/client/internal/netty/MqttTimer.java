@@ -0,0 +1,231 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Schedules connection timeouts and provides the time used for keep alive tracking.
+ * <p>
+ * The {@link #of(boolean) per event loop timer} schedules the timeouts on the event loop of the connection and reads
+ * the system clock. The shared timer schedules the timeouts of all clients on one hashed wheel timer and provides a
+ * coarse time that is updated every tick, so reading the time is just a volatile read. Timeouts of the shared timer
+ * are still executed on the event loop of the connection. The shared timer stops ticking and its thread is stopped
+ * after one second without scheduled timeouts. The time is then read from the system clock until the next timeout is
+ * scheduled.
+ */
+public abstract class MqttTimer {
+
+    public static @NotNull MqttTimer of(final boolean shared) {
+        return shared ? Shared.INSTANCE : PerEventLoop.INSTANCE;
+    }
+
+    /**
+     * Schedules a task to run on the given executor after the given delay.
+     *
+     * @param executor the executor to run the task on.
+     * @param task     the task to run.
+     * @param delay    the delay.
+     * @param unit     the time unit of the delay.
+     * @return the handle to cancel the scheduled task, must only be cancelled on the given executor.
+     */
+    public abstract @NotNull Cancellable schedule(
+            @NotNull EventExecutor executor, @NotNull Runnable task, long delay, @NotNull TimeUnit unit);
+
+    /**
+     * @return the current time in nanoseconds with the resolution of this timer, only comparable to values of {@link
+     *         System#nanoTime()}.
+     */
+    public abstract long nanoTime();
+
+    public interface Cancellable {
+
+        void cancel();
+    }
+
+    private static final class PerEventLoop extends MqttTimer {
+
+        static final @NotNull PerEventLoop INSTANCE = new PerEventLoop();
+
+        @Override
+        public @NotNull Cancellable schedule(
+                final @NotNull EventExecutor executor,
+                final @NotNull Runnable task,
+                final long delay,
+                final @NotNull TimeUnit unit) {
+
+            final ScheduledFuture<?> future = executor.schedule(task, delay, unit);
+            return () -> future.cancel(false);
+        }
+
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+    }
+
+    static final class Shared extends MqttTimer implements TimerTask {
+
+        private static final long TICK_MS = 10;
+        private static final int TICKS_PER_WHEEL = 1024;
+        static final int IDLE_TICKS = 100; // one second
+
+        private static final int STATE_STOPPED = -1;
+        private static final int STATE_STARTING = -2;
+
+        static final @NotNull Shared INSTANCE = new Shared();
+
+        // count of scheduled timeouts while the timer is running, otherwise STATE_STOPPED or STATE_STARTING
+        private final @NotNull AtomicInteger state = new AtomicInteger(STATE_STOPPED);
+        private volatile @Nullable HashedWheelTimer timer; // written before the state is set to running
+        private int idleTicks; // only accessed on the timer thread
+        private volatile long nanoTime; // 0 if the timer is not running
+
+        private Shared() {}
+
+        @Override
+        public @NotNull Cancellable schedule(
+                final @NotNull EventExecutor executor,
+                final @NotNull Runnable task,
+                final long delay,
+                final @NotNull TimeUnit unit) {
+
+            final SharedTimeout sharedTimeout = new SharedTimeout(this, executor, task);
+            HashedWheelTimer timer;
+            while (true) {
+                final int state = this.state.get();
+                if (state >= 0) {
+                    if (this.state.compareAndSet(state, state + 1)) {
+                        timer = this.timer;
+                        break;
+                    }
+                } else if (state == STATE_STOPPED) {
+                    if (this.state.compareAndSet(STATE_STOPPED, STATE_STARTING)) {
+                        timer = new HashedWheelTimer(new DefaultThreadFactory("com.hivemq.client.mqtt.timer", true),
+                                TICK_MS, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+                        this.timer = timer;
+                        updateNanoTime();
+                        timer.newTimeout(this, TICK_MS, TimeUnit.MILLISECONDS);
+                        this.state.set(1);
+                        break;
+                    }
+                } else { // another thread is starting the timer, which only takes a moment
+                    Thread.yield();
+                }
+            }
+            assert timer != null : "the timer is set before the state is set to running";
+            sharedTimeout.timeout = timer.newTimeout(sharedTimeout, delay, unit);
+            return sharedTimeout;
+        }
+
+        void timeoutDone() {
+            state.decrementAndGet();
+        }
+
+        @Override
+        public long nanoTime() {
+            final long nanoTime = this.nanoTime;
+            return (nanoTime == 0) ? System.nanoTime() : nanoTime;
+        }
+
+        boolean isRunning() {
+            return state.get() >= 0;
+        }
+
+        @Override
+        public void run(final @NotNull Timeout timeout) {
+            if (state.get() != 0) {
+                idleTicks = 0;
+            } else if (++idleTicks >= IDLE_TICKS) {
+                idleTicks = 0;
+                // reset before the timer can be started again, as the new timer sets its own time
+                nanoTime = 0;
+                if (state.compareAndSet(0, STATE_STOPPED)) {
+                    // the timer thread can not stop itself
+                    GlobalEventExecutor.INSTANCE.execute(timeout.timer()::stop);
+                    return;
+                }
+            }
+            updateNanoTime();
+            timeout.timer().newTimeout(this, TICK_MS, TimeUnit.MILLISECONDS);
+        }
+
+        private void updateNanoTime() {
+            final long nanoTime = System.nanoTime();
+            this.nanoTime = (nanoTime == 0) ? 1 : nanoTime;
+        }
+    }
+
+    private static final class SharedTimeout implements TimerTask, Runnable, Cancellable {
+
+        private final @NotNull Shared shared;
+        private final @NotNull EventExecutor executor;
+        private final @NotNull Runnable task;
+        private @Nullable Timeout timeout;
+        private boolean done; // only accessed on the executor
+
+        SharedTimeout(
+                final @NotNull Shared shared, final @NotNull EventExecutor executor, final @NotNull Runnable task) {
+
+            this.shared = shared;
+            this.executor = executor;
+            this.task = task;
+        }
+
+        @Override
+        public void run(final @NotNull Timeout timeout) {
+            try {
+                executor.execute(this);
+            } catch (final RejectedExecutionException e) {
+                shared.timeoutDone();
+            }
+        }
+
+        @Override
+        public void run() {
+            // the timeout may have already been handed over to the executor when it was cancelled
+            if (!done) {
+                done = true;
+                shared.timeoutDone();
+                task.run();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!done) {
+                done = true;
+                shared.timeoutDone();
+                if (timeout != null) {
+                    timeout.cancel();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.mqtt.MqttBufferAllocatorMetric;
+import com.hivemq.client.mqtt.MqttBufferAllocatorType;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufAllocatorMetric;
+import io.netty.buffer.ByteBufAllocatorMetricProvider;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps {@link MqttBufferAllocatorType}s to Netty allocators. The pooled allocators are only created when they are used
+ * for the first time and are then shared by all clients using the same type and amount of arenas.
+ */
+public final class NettyBufferAllocators {
+
+    public static final int DEFAULT_ARENAS = 0;
+
+    private static class PooledDirect {
+
+        static final @NotNull ByteBufAllocator INSTANCE = new PooledByteBufAllocator(true);
+    }
+
+    private static class PooledHeap {
+
+        static final @NotNull ByteBufAllocator INSTANCE = new PooledByteBufAllocator(false);
+    }
+
+    private static final @NotNull ByteBufAllocator UNPOOLED_DIRECT = new UnpooledByteBufAllocator(true);
+    private static final @NotNull ByteBufAllocator UNPOOLED_HEAP = new UnpooledByteBufAllocator(false);
+
+    // keys are the amount of arenas, negative for heap allocators
+    private static final @NotNull ConcurrentHashMap<Integer, ByteBufAllocator> POOLED_WITH_ARENAS =
+            new ConcurrentHashMap<>();
+
+    /**
+     * @param type   the type of the allocator.
+     * @param arenas the amount of arenas of a pooled allocator or {@link #DEFAULT_ARENAS} for the default amount.
+     * @return the allocator for the type or <code>null</code> if the default allocator of the channel is used.
+     */
+    public static @Nullable ByteBufAllocator get(final @NotNull MqttBufferAllocatorType type, final int arenas) {
+        switch (type) {
+            case POOLED_DIRECT:
+                return (arenas == DEFAULT_ARENAS) ? PooledDirect.INSTANCE : getPooled(true, arenas);
+            case POOLED_HEAP:
+                return (arenas == DEFAULT_ARENAS) ? PooledHeap.INSTANCE : getPooled(false, arenas);
+            case UNPOOLED_DIRECT:
+                return UNPOOLED_DIRECT;
+            case UNPOOLED_HEAP:
+                return UNPOOLED_HEAP;
+            default:
+                return null;
+        }
+    }
+
+    private static @NotNull ByteBufAllocator getPooled(final boolean direct, final int arenas) {
+        return POOLED_WITH_ARENAS.computeIfAbsent(direct ? arenas : -arenas,
+                key -> new PooledByteBufAllocator(direct, arenas, arenas, PooledByteBufAllocator.defaultPageSize(),
+                        PooledByteBufAllocator.defaultMaxOrder()));
+    }
+
+    /**
+     * @param type   the type of the allocator.
+     * @param arenas the amount of arenas of a pooled allocator or {@link #DEFAULT_ARENAS} for the default amount.
+     * @return the metric of the allocator for the type or <code>null</code> if the allocator does not provide a
+     *         metric.
+     */
+    public static @Nullable MqttBufferAllocatorMetric getMetric(
+            final @NotNull MqttBufferAllocatorType type, final int arenas) {
+
+        ByteBufAllocator allocator = get(type, arenas);
+        if (allocator == null) {
+            allocator = ByteBufAllocator.DEFAULT;
+        }
+        if (!(allocator instanceof ByteBufAllocatorMetricProvider)) {
+            return null;
+        }
+        return new Metric(((ByteBufAllocatorMetricProvider) allocator).metric());
+    }
+
+    private static class Metric implements MqttBufferAllocatorMetric {
+
+        private final @NotNull ByteBufAllocatorMetric metric;
+
+        Metric(final @NotNull ByteBufAllocatorMetric metric) {
+            this.metric = metric;
+        }
+
+        @Override
+        public long getUsedHeapMemory() {
+            return metric.usedHeapMemory();
+        }
+
+        @Override
+        public long getUsedDirectMemory() {
+            return metric.usedDirectMemory();
+        }
+    }
+
+    private NettyBufferAllocators() {}
+}
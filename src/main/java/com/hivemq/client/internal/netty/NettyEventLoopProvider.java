@@ -21,19 +21,30 @@ import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
 import com.hivemq.client.internal.util.ClassUtil;
+import com.hivemq.client.mqtt.MqttTransportType;
 import io.netty.channel.ChannelFactory;
+import io.netty.channel.DefaultEventLoopGroup;
 import io.netty.channel.EventLoop;
 import io.netty.channel.MultithreadEventLoopGroup;
 import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import io.netty.util.concurrent.ThreadPerTaskExecutor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.net.SocketAddress;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Executor;
@@ -48,49 +59,66 @@ public class NettyEventLoopProvider {
 
     private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(NettyEventLoopProvider.class);
 
-    public static final @NotNull NettyEventLoopProvider INSTANCE;
+    private static final boolean EPOLL_AVAILABLE =
+            ClassUtil.isAvailable("io.netty.channel.epoll.Epoll") && EpollHolder.isAvailable();
 
-    static {
-        if (ClassUtil.isAvailable("io.netty.channel.epoll.Epoll")) {
-            INSTANCE = EpollHolder.eventLoopProvider();
-        } else {
-            INSTANCE = nioEventLoopProvider();
+    public static final @NotNull NettyEventLoopProvider INSTANCE = new NettyEventLoopProvider();
+
+    private static class EpollHolder {
+
+        private static boolean isAvailable() {
+            return Epoll.isAvailable();
+        }
+
+        private static @NotNull Transport transport() {
+            return new Transport(EpollEventLoopGroup::new, EpollSocketChannel::new, EpollDatagramChannel::new);
+        }
+
+        private static @NotNull Transport domainSocketTransport() {
+            return new Transport(EpollEventLoopGroup::new, EpollDomainSocketChannel::new, null);
         }
-    }
 
-    private static NettyEventLoopProvider nioEventLoopProvider() {
-        return new NettyEventLoopProvider(NioEventLoopGroup::new, NioSocketChannel::new);
+        private static @NotNull SocketAddress domainSocketAddress(final @NotNull String path) {
+            return new DomainSocketAddress(path);
+        }
     }
 
-    private static class EpollHolder {
+    private final @NotNull Map<MqttTransportType, Transport> transports = new EnumMap<>(MqttTransportType.class);
 
-        private static NettyEventLoopProvider eventLoopProvider() {
-            if (Epoll.isAvailable()) {
-                return new NettyEventLoopProvider(EpollEventLoopGroup::new, EpollSocketChannel::new);
-            } else {
-                return nioEventLoopProvider();
-            }
+    private NettyEventLoopProvider() {
+        transports.put(MqttTransportType.NIO,
+                new Transport(NioEventLoopGroup::new, NioSocketChannel::new, NioDatagramChannel::new));
+        if (EPOLL_AVAILABLE) {
+            transports.put(MqttTransportType.EPOLL, EpollHolder.transport());
+            transports.put(MqttTransportType.EPOLL_DOMAIN_SOCKET, EpollHolder.domainSocketTransport());
         }
+        transports.put(MqttTransportType.LOCAL, new Transport(DefaultEventLoopGroup::new, LocalChannel::new, null));
     }
 
-    private final @NotNull Map<@Nullable Executor, @NotNull Entry> entries = new HashMap<>();
-    private final @NotNull BiFunction<Integer, Executor, MultithreadEventLoopGroup> eventLoopGroupFactory;
-    private final @NotNull ChannelFactory<?> channelFactory;
+    public boolean isAvailable(final @NotNull MqttTransportType transportType) {
+        return (transportType == MqttTransportType.AUTO) || transports.containsKey(transportType);
+    }
 
-    private NettyEventLoopProvider(
-            final @NotNull BiFunction<Integer, Executor, MultithreadEventLoopGroup> eventLoopGroupFactory,
-            final @NotNull ChannelFactory<?> channelFactory) {
+    /**
+     * @param transportType1 the first transport type.
+     * @param transportType2 the second transport type.
+     * @return whether channels of both transport types can be registered on event loops acquired for either of them.
+     */
+    public boolean isCompatible(
+            final @NotNull MqttTransportType transportType1, final @NotNull MqttTransportType transportType2) {
 
-        this.eventLoopGroupFactory = eventLoopGroupFactory;
-        this.channelFactory = channelFactory;
+        return getTransport(transportType1) == getTransport(transportType2);
     }
 
-    public synchronized @NotNull EventLoop acquireEventLoop(final @Nullable Executor executor, final int threadCount) {
-        Entry entry = entries.get(executor);
+    public synchronized @NotNull EventLoop acquireEventLoop(
+            final @NotNull MqttTransportType transportType, final @Nullable Executor executor, final int threadCount) {
+
+        final Transport transport = getTransport(transportType);
+        Entry entry = transport.entries.get(executor);
         if (entry == null) {
             final MultithreadEventLoopGroup eventLoopGroup;
             if (executor == null) {
-                eventLoopGroup = eventLoopGroupFactory.apply(
+                eventLoopGroup = transport.eventLoopGroupFactory.apply(
                         threadCount, new ThreadPerTaskExecutor(
                                 new DefaultThreadFactory("com.hivemq.client.mqtt", Thread.MAX_PRIORITY)));
 
@@ -102,10 +130,10 @@ public class NettyEventLoopProvider {
                             "Using {} threads instead of {}", eventLoopGroup.executorCount(), threadCount);
                 }
             } else {
-                eventLoopGroup = eventLoopGroupFactory.apply(threadCount, executor);
+                eventLoopGroup = transport.eventLoopGroupFactory.apply(threadCount, executor);
             }
             entry = new Entry(eventLoopGroup);
-            entries.put(executor, entry);
+            transport.entries.put(executor, entry);
         } else {
             if ((threadCount != MqttClientExecutorConfigImpl.DEFAULT_NETTY_THREADS) &&
                     (entry.eventLoopGroup.executorCount() != threadCount)) {
@@ -117,10 +145,13 @@ public class NettyEventLoopProvider {
         return entry.eventLoopGroup.next();
     }
 
-    public synchronized void releaseEventLoop(final @Nullable Executor executor) {
-        final Entry entry = entries.get(executor);
+    public synchronized void releaseEventLoop(
+            final @NotNull MqttTransportType transportType, final @Nullable Executor executor) {
+
+        final Transport transport = getTransport(transportType);
+        final Entry entry = transport.entries.get(executor);
         if (--entry.referenceCount == 0) {
-            entries.remove(executor);
+            transport.entries.remove(executor);
             if (!(executor instanceof MultithreadEventLoopGroup)) {
                 // shutdownGracefully must be the last statement so everything is cleaned up even if it throws
                 entry.eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
@@ -128,8 +159,52 @@ public class NettyEventLoopProvider {
         }
     }
 
-    public @NotNull ChannelFactory<?> getChannelFactory() {
-        return channelFactory;
+    public @NotNull ChannelFactory<?> getChannelFactory(final @NotNull MqttTransportType transportType) {
+        return getTransport(transportType).channelFactory;
+    }
+
+    public @Nullable ChannelFactory<? extends DatagramChannel> getDatagramChannelFactory(
+            final @NotNull MqttTransportType transportType) {
+
+        return getTransport(transportType).datagramChannelFactory;
+    }
+
+    public @NotNull SocketAddress getServerPathAddress(
+            final @NotNull MqttTransportType transportType, final @NotNull String serverPath) {
+
+        if (transportType == MqttTransportType.EPOLL_DOMAIN_SOCKET) {
+            return EpollHolder.domainSocketAddress(serverPath);
+        }
+        return new LocalAddress(serverPath);
+    }
+
+    private @NotNull Transport getTransport(final @NotNull MqttTransportType transportType) {
+        if (transportType == MqttTransportType.AUTO) {
+            return transports.get(EPOLL_AVAILABLE ? MqttTransportType.EPOLL : MqttTransportType.NIO);
+        }
+        final Transport transport = transports.get(transportType);
+        if (transport == null) {
+            throw new IllegalStateException("Transport " + transportType + " is not available.");
+        }
+        return transport;
+    }
+
+    private static class Transport {
+
+        final @NotNull BiFunction<Integer, Executor, MultithreadEventLoopGroup> eventLoopGroupFactory;
+        final @NotNull ChannelFactory<?> channelFactory;
+        final @Nullable ChannelFactory<? extends DatagramChannel> datagramChannelFactory;
+        final @NotNull Map<@Nullable Executor, @NotNull Entry> entries = new HashMap<>();
+
+        Transport(
+                final @NotNull BiFunction<Integer, Executor, MultithreadEventLoopGroup> eventLoopGroupFactory,
+                final @NotNull ChannelFactory<?> channelFactory,
+                final @Nullable ChannelFactory<? extends DatagramChannel> datagramChannelFactory) {
+
+            this.eventLoopGroupFactory = eventLoopGroupFactory;
+            this.channelFactory = channelFactory;
+            this.datagramChannelFactory = datagramChannelFactory;
+        }
     }
 
     private static class Entry {
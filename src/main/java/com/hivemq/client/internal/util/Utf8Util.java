@@ -16,8 +16,12 @@
 
 package com.hivemq.client.internal.util;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.ByteBuffer;
+
 /**
  * @author Silvio Giebl
  */
@@ -28,6 +32,18 @@ public final class Utf8Util {
     private static final long UTF_16_SURROGATES = 0b1110_0000L << 56;
     private static final long INVALID_CODE_POINTS = 0b1111_0000L << 56;
 
+    private static final long NON_ASCII_MASK = 0x8080_8080_8080_8080L;
+
+    /**
+     * Checks whether the given bytes are well-formed UTF-8.
+     * <p>
+     * Arrays are checked byte by byte with direct array accesses. Unlike {@link #isWellFormed(ByteBuffer)}, this does
+     * not rely on the JIT optimizing <code>long</code> reads of a heap buffer, which is not guaranteed on Java 8.
+     *
+     * @param bytes the bytes to check.
+     * @return <code>0</code> if well-formed, otherwise the index after the malformed byte plus a flag for the kind of
+     *         the malformation.
+     */
     public static long isWellFormed(final byte @NotNull [] bytes) {
         int index = 0;
         final int end = bytes.length;
@@ -95,6 +111,133 @@ public final class Utf8Util {
         }
     }
 
+    /**
+     * Checks whether the readable bytes of the given buffer are well-formed UTF-8 without copying them.
+     *
+     * @param byteBuf the buffer to check, the reader index is not changed.
+     * @return <code>0</code> if well-formed, otherwise the index (relative to the reader index) after the malformed
+     *         byte plus a flag for the kind of the malformation.
+     * @see #isWellFormed(ByteBuffer)
+     */
+    public static long isWellFormed(final @NotNull ByteBuf byteBuf) {
+        return isWellFormed(byteBuf, byteBuf.readerIndex(), byteBuf.readableBytes());
+    }
+
+    /**
+     * Checks whether the given region of the buffer is well-formed UTF-8 without copying it.
+     * <p>
+     * ASCII is checked directly on the buffer without allocating, only from the first non-ASCII byte on an NIO view of
+     * the buffer is checked.
+     *
+     * @param byteBuf the buffer to check, the reader index is not changed.
+     * @param index   the index of the first byte of the region.
+     * @param length  the length of the region.
+     * @return <code>0</code> if well-formed, otherwise the index (relative to the given index) after the malformed byte
+     *         plus a flag for the kind of the malformation.
+     * @see #isWellFormed(ByteBuffer)
+     */
+    public static long isWellFormed(final @NotNull ByteBuf byteBuf, final int index, final int length) {
+        final int end = index + length;
+        final int wordEnd = end - Long.BYTES;
+        int nonAsciiIndex = index;
+        while ((nonAsciiIndex <= wordEnd) && ((byteBuf.getLong(nonAsciiIndex) & NON_ASCII_MASK) == 0)) {
+            nonAsciiIndex += Long.BYTES;
+        }
+        while ((nonAsciiIndex < end) && (byteBuf.getByte(nonAsciiIndex) >= 0)) {
+            nonAsciiIndex++;
+        }
+        if (nonAsciiIndex == end) {
+            return 0;
+        }
+        final int remaining = end - nonAsciiIndex;
+        final long result = (byteBuf.nioBufferCount() == 1) ?
+                isWellFormed(byteBuf.nioBuffer(nonAsciiIndex, remaining)) :
+                isWellFormed(ByteBufUtil.getBytes(byteBuf, nonAsciiIndex, remaining, false));
+        return (result == 0) ? 0 : result + (nonAsciiIndex - index);
+    }
+
+    /**
+     * Checks whether the remaining bytes of the given buffer are well-formed UTF-8 without copying them.
+     * <p>
+     * ASCII is checked 8 bytes at a time through <code>long</code> reads. Only if a word contains a non-ASCII byte the
+     * bytes are checked one by one with the UTF-8 state machine until the next ASCII byte.
+     *
+     * @param byteBuffer the buffer to check, the position is not changed.
+     * @return <code>0</code> if well-formed, otherwise the index (relative to the position) after the malformed byte
+     *         plus a flag for the kind of the malformation.
+     */
+    public static long isWellFormed(final @NotNull ByteBuffer byteBuffer) {
+        final int start = byteBuffer.position();
+        final int end = byteBuffer.limit();
+        final int wordEnd = end - Long.BYTES;
+        int index = start;
+        while (true) {
+
+            while ((index <= wordEnd) && ((byteBuffer.getLong(index) & NON_ASCII_MASK) == 0)) {
+                index += Long.BYTES;
+            }
+            byte byte1;
+            do {
+                if (index >= end) {
+                    return 0;
+                }
+            } while ((byte1 = byteBuffer.get(index++)) >= 0);
+
+            if (byte1 < (byte) 0xE0) { // 2 bytes
+                if (index == end) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+                if (byte1 < (byte) 0xC2) {
+                    return index - start + NON_SHORTEST_FORM;
+                }
+                final byte byte2 = byteBuffer.get(index++);
+                if (byte2 > (byte) 0xBF) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+            } else if (byte1 < (byte) 0xF0) { // 3 bytes
+                if (index + 1 >= end) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+                final byte byte2 = byteBuffer.get(index++);
+                if (byte2 > (byte) 0xBF) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+                if ((byte1 == (byte) 0xE0) && (byte2 < (byte) 0xA0)) {
+                    return index - start + NON_SHORTEST_FORM;
+                }
+                if ((byte1 == (byte) 0xED) && (byte2 >= (byte) 0xA0)) {
+                    return index - start + UTF_16_SURROGATES;
+                }
+                final byte byte3 = byteBuffer.get(index++);
+                if (byte3 > (byte) 0xBF) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+            } else { // 4 bytes
+                if (index + 2 >= end) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+                final byte byte2 = byteBuffer.get(index++);
+                if (byte2 > (byte) 0xBF) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+                if ((byte1 == (byte) 0xF0) && (byte2 < (byte) 0x90)) {
+                    return index - start + NON_SHORTEST_FORM;
+                }
+                if ((byte1 == (byte) 0xF4) && (byte2 > (byte) 0x8F) || (byte1 > (byte) 0xF4)) {
+                    return index - start + INVALID_CODE_POINTS;
+                }
+                final byte byte3 = byteBuffer.get(index++);
+                if (byte3 > (byte) 0xBF) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+                final byte byte4 = byteBuffer.get(index++);
+                if (byte4 > (byte) 0xBF) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+            }
+        }
+    }
+
     public static int encodedLength(final @NotNull String string) {
         final int utf16Length = string.length();
         int utf8Length = utf16Length;
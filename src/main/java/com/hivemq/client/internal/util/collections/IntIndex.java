@@ -21,7 +21,6 @@ import com.hivemq.client.internal.util.Pow2Util;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
 import java.util.function.Consumer;
 import java.util.function.ToIntFunction;
 
@@ -32,6 +31,7 @@ import java.util.function.ToIntFunction;
 public class IntIndex<E> {
 
     private static final int MAX_CAPACITY = 1 << 30;
+    private static final @Nullable Object @NotNull [] EMPTY_TABLE = new Object[1];
 
     public static class Spec<E> {
 
@@ -66,6 +66,7 @@ public class IntIndex<E> {
     }
 
     private final @NotNull Spec<E> spec;
+    private final int minCapacity;
     private @Nullable Object @NotNull [] table;
     private int size;
     private int nodeCount;
@@ -73,9 +74,9 @@ public class IntIndex<E> {
 
     public IntIndex(final @NotNull Spec<E> spec) {
         this.spec = spec;
-        final int minCapacityPow2 = 1 << Pow2Util.roundToPowerOf2Bits(spec.minCapacity);
-        table = new Object[minCapacityPow2];
-        calcThresholds(minCapacityPow2);
+        minCapacity = 1 << Pow2Util.roundToPowerOf2Bits(spec.minCapacity);
+        table = EMPTY_TABLE; // allocated lazily on the first put, most indices stay empty for most of their lifetime
+        calcThresholds(minCapacity);
     }
 
     public int size() {
@@ -91,7 +92,10 @@ public class IntIndex<E> {
     }
 
     private @Nullable E put(final @NotNull E entry, final boolean overwrite) {
-        final Object[] table = this.table;
+        Object[] table = this.table;
+        if (table == EMPTY_TABLE) {
+            table = this.table = new Object[minCapacity];
+        }
         final int key = spec.keyFunction.applyAsInt(entry);
         final int index = key & (table.length - 1);
         final Object o = table[index];
@@ -234,15 +238,11 @@ public class IntIndex<E> {
     }
 
     public void clear() {
-        if (size > 0) {
-            if (table.length == spec.minCapacity) {
-                Arrays.fill(table, null);
-            } else {
-                table = new Object[spec.minCapacity];
-            }
+        if (table != EMPTY_TABLE) {
+            table = EMPTY_TABLE;
             size = 0;
             nodeCount = 0;
-            calcThresholds(spec.minCapacity);
+            calcThresholds(minCapacity);
         }
     }
 
@@ -366,7 +366,7 @@ public class IntIndex<E> {
     }
 
     private void removed() {
-        if ((--size < nodeThreshold) && (table.length > spec.minCapacity)) {
+        if ((--size < nodeThreshold) && (table.length > minCapacity)) {
             final Object[] oldTable = table;
             final int oldCapacity = oldTable.length;
             final int newCapacity = oldCapacity >> 1;
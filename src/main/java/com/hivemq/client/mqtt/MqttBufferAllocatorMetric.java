@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt;
+
+import com.hivemq.client.annotations.DoNotImplement;
+
+/**
+ * Metric of the allocator that is used by {@link MqttClient MQTT clients} with a specific {@link
+ * MqttBufferAllocatorType buffer allocator type}.
+ * <p>
+ * The values are read from the allocator when the methods are called. Pooled allocators are shared by all clients using
+ * the same type and amount of arenas, so the values include the buffers of all these clients.
+ *
+ * @since 1.3
+ */
+@DoNotImplement
+public interface MqttBufferAllocatorMetric {
+
+    /**
+     * @return the amount of heap memory in bytes that is currently used by the allocator.
+     */
+    long getUsedHeapMemory();
+
+    /**
+     * @return the amount of direct memory in bytes that is currently used by the allocator.
+     */
+    long getUsedDirectMemory();
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt;
+
+/**
+ * Allocator that is used by {@link MqttClient MQTT clients} for the buffers of encoded outgoing messages and
+ * accumulated incoming bytes.
+ *
+ * @since 1.3
+ */
+public enum MqttBufferAllocatorType {
+
+    /**
+     * The default allocator of Netty (network communication framework) which is shared with all other users of Netty
+     * in the same JVM.
+     */
+    DEFAULT,
+    /**
+     * Pooled direct buffers. The pool is dedicated to the clients using this type and not shared with other users of
+     * Netty.
+     */
+    POOLED_DIRECT,
+    /**
+     * Pooled heap buffers. The pool is dedicated to the clients using this type and not shared with other users of
+     * Netty.
+     */
+    POOLED_HEAP,
+    /**
+     * Unpooled direct buffers, each buffer is allocated when it is needed and freed when it is released.
+     */
+    UNPOOLED_DIRECT,
+    /**
+     * Unpooled heap buffers, each buffer is allocated when it is needed and garbage collected after it is released.
+     */
+    UNPOOLED_HEAP
+}
@@ -36,6 +36,12 @@ import java.util.concurrent.Executor;
 public interface MqttClientExecutorConfig {
 
     @NotNull Scheduler DEFAULT_APPLICATION_SCHEDULER = Schedulers.computation();
+    /**
+     * The default {@link #getBufferAllocatorType() buffer allocator type}.
+     *
+     * @since 1.3
+     */
+    @NotNull MqttBufferAllocatorType DEFAULT_BUFFER_ALLOCATOR_TYPE = MqttBufferAllocatorType.DEFAULT;
 
     /**
      * Creates a builder for an executor configuration.
@@ -56,6 +62,37 @@ public interface MqttClientExecutorConfig {
      */
     @NotNull OptionalInt getNettyThreads();
 
+    /**
+     * Returns the type of the allocator for the buffers of Netty (network communication framework).
+     * <p>
+     * The allocator is used for encoding outgoing messages and for accumulating incoming bytes.
+     *
+     * @return the type of the allocator for Netty.
+     * @since 1.3
+     */
+    @NotNull MqttBufferAllocatorType getBufferAllocatorType();
+
+    /**
+     * Returns the optional user defined amount of arenas of the {@link #getBufferAllocatorType() allocator}.
+     * <p>
+     * The amount of arenas is only used by the {@link MqttBufferAllocatorType#POOLED_DIRECT pooled} {@link
+     * MqttBufferAllocatorType#POOLED_HEAP allocators}. If it is not set, the default amount of Netty (network
+     * communication framework) is used.
+     *
+     * @return the optional user defined amount of arenas of the allocator.
+     * @since 1.3
+     */
+    @NotNull OptionalInt getBufferAllocatorArenas();
+
+    /**
+     * Returns the metric of the {@link #getBufferAllocatorType() allocator}, for example to monitor the memory used for
+     * buffers.
+     *
+     * @return the metric of the allocator or {@link Optional#empty()} if the allocator does not provide a metric.
+     * @since 1.3
+     */
+    @NotNull Optional<MqttBufferAllocatorMetric> getBufferAllocatorMetric();
+
     /**
      * @return the {@link Scheduler} used for executing application specific code, such as callbacks.
      */
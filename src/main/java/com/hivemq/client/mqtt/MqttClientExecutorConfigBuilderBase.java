@@ -54,6 +54,30 @@ public interface MqttClientExecutorConfigBuilderBase<B extends MqttClientExecuto
     @CheckReturnValue
     @NotNull B nettyThreads(int nettyThreads);
 
+    /**
+     * Sets the {@link MqttClientExecutorConfig#getBufferAllocatorType() type of the allocator for the buffers of Netty}
+     * (network communication framework).
+     * <p>
+     * It is {@link MqttClientExecutorConfig#DEFAULT_BUFFER_ALLOCATOR_TYPE} by default.
+     *
+     * @param bufferAllocatorType the type of the allocator for Netty.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B bufferAllocatorType(@NotNull MqttBufferAllocatorType bufferAllocatorType);
+
+    /**
+     * Sets the optional user defined {@link MqttClientExecutorConfig#getBufferAllocatorArenas() amount of arenas of the
+     * allocator}.
+     *
+     * @param bufferAllocatorArenas the user defined amount of arenas of the allocator.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B bufferAllocatorArenas(int bufferAllocatorArenas);
+
     /**
      * Sets the {@link MqttClientExecutorConfig#getApplicationScheduler() scheduler used for executing application
      * specific code}.
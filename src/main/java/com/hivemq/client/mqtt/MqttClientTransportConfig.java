@@ -17,10 +17,12 @@
 package com.hivemq.client.mqtt;
 
 import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.annotations.Immutable;
 import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImplBuilder;
 import org.jetbrains.annotations.NotNull;
 
 import java.net.InetSocketAddress;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -44,6 +46,12 @@ public interface MqttClientTransportConfig {
      * @since 1.2
      */
     int DEFAULT_MQTT_CONNECT_TIMEOUT_MS = 60_000;
+    /**
+     * The default transport type.
+     *
+     * @since 1.3
+     */
+    @NotNull MqttTransportType DEFAULT_TRANSPORT_TYPE = MqttTransportType.AUTO;
 
     /**
      * Creates a builder for a transport configuration.
@@ -93,6 +101,65 @@ public interface MqttClientTransportConfig {
      */
     int getMqttConnectTimeoutMs();
 
+    /**
+     * @return the transport type.
+     * @since 1.3
+     */
+    @NotNull MqttTransportType getTransportType();
+
+    /**
+     * Returns the optional server path that is used instead of the {@link #getServerAddress() server address} by the
+     * {@link MqttTransportType#EPOLL_DOMAIN_SOCKET Unix domain socket} (path of the socket) and {@link
+     * MqttTransportType#LOCAL local} (name of the local channel) transport types.
+     *
+     * @return the optional server path.
+     * @since 1.3
+     */
+    @NotNull Optional<String> getServerPath();
+
+    /**
+     * Returns the server addresses that are connected to, in order, if the connection to the {@link
+     * #getServerAddress() server address} fails or is lost.
+     * <p>
+     * Each failover rotates the addresses: the next reconnect uses the first failover server address, the previous
+     * server address is appended to the end of the failover server addresses.
+     *
+     * @return the failover server addresses.
+     * @since 1.3
+     */
+    @Immutable @NotNull List<@NotNull InetSocketAddress> getFailoverServerAddresses();
+
+    /**
+     * Returns whether a warm standby connection to the next {@link #getFailoverServerAddresses() failover server
+     * address} is kept while the client is connected.
+     * <p>
+     * The warm standby connection is established up to the completion of the TCP, proxy and TLS handshakes, but no
+     * Connect message is sent. If the connection is lost, the standby connection is promoted without a delay, so the
+     * failover only takes the round trip of the Connect and ConnAck messages. Servers that close connections which do
+     * not send a Connect message in time cause the standby connection to be established again periodically.
+     *
+     * @return whether a warm standby connection is kept.
+     * @since 1.3
+     */
+    boolean isFailoverWarmStandby();
+
+    /**
+     * Returns whether the server host is resolved asynchronously on the Netty event loop.
+     * <p>
+     * By default the server host is resolved with the blocking JDK resolver when the client connects. Async DNS
+     * resolution does not block the event loop, shares a cache which respects the TTLs of the DNS records between all
+     * clients and races connection attempts to all resolved addresses of the server (Happy Eyeballs, RFC 8305), so
+     * an unreachable address or address family does not delay the connection. It is not used if a proxy is
+     * configured, as then the proxy resolves the server host.
+     * <p>
+     * Requires the optional dependency {@code io.netty:netty-resolver-dns} (the {@code hivemq-mqtt-client-dns}
+     * module).
+     *
+     * @return whether the server host is resolved asynchronously.
+     * @since 1.3
+     */
+    boolean isAsyncDnsResolution();
+
     /**
      * Creates a builder for extending this transport configuration.
      *
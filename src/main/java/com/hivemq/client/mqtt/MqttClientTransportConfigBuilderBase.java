@@ -71,6 +71,68 @@ public interface MqttClientTransportConfigBuilderBase<B extends MqttClientTransp
     @CheckReturnValue
     @NotNull B serverPort(int port);
 
+    /**
+     * Sets the {@link MqttClientTransportConfig#getTransportType() transport type}.
+     * <p>
+     * The {@link MqttTransportType#EPOLL_DOMAIN_SOCKET} and {@link MqttTransportType#LOCAL} transport types require a
+     * {@link #serverPath(String) server path} and can not be used with a proxy or a local bind address.
+     *
+     * @param transportType the transport type.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B transportType(@NotNull MqttTransportType transportType);
+
+    /**
+     * Sets the optional {@link MqttClientTransportConfig#getServerPath() server path}.
+     *
+     * @param serverPath the path of the Unix domain socket or the name of the local channel or <code>null</code> to
+     *                   remove any previously set server path.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B serverPath(@Nullable String serverPath);
+
+    /**
+     * Adds a {@link MqttClientTransportConfig#getFailoverServerAddresses() failover server address}.
+     * <p>
+     * Failover server addresses can not be used with the {@link MqttTransportType#EPOLL_DOMAIN_SOCKET} and {@link
+     * MqttTransportType#LOCAL} transport types.
+     *
+     * @param address the failover server address.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B addFailoverServerAddress(@NotNull InetSocketAddress address);
+
+    /**
+     * Sets whether a {@link MqttClientTransportConfig#isFailoverWarmStandby() warm standby connection} to the next
+     * failover server address is kept while the client is connected.
+     *
+     * @param failoverWarmStandby whether a warm standby connection is kept.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B failoverWarmStandby(boolean failoverWarmStandby);
+
+    /**
+     * Sets whether the server host is {@link MqttClientTransportConfig#isAsyncDnsResolution() resolved
+     * asynchronously}.
+     * <p>
+     * Async DNS resolution can not be used with the {@link MqttTransportType#EPOLL_DOMAIN_SOCKET} and {@link
+     * MqttTransportType#LOCAL} transport types.
+     *
+     * @param asyncDnsResolution whether the server host is resolved asynchronously.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B asyncDnsResolution(boolean asyncDnsResolution);
+
     /**
      * Sets the optional {@link MqttClientTransportConfig#getLocalAddress() local bind address}.
      * <p>
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt;
+
+/**
+ * Transport that is used by an {@link MqttClient} to connect to a server.
+ *
+ * @since 1.3
+ */
+public enum MqttTransportType {
+
+    /**
+     * TCP using the native epoll transport if it is available, otherwise using NIO.
+     */
+    AUTO,
+    /**
+     * TCP using Java NIO.
+     */
+    NIO,
+    /**
+     * TCP using the native epoll transport. Requires the epoll module.
+     */
+    EPOLL,
+    /**
+     * Unix domain socket using the native epoll transport. Requires the epoll module.
+     * <p>
+     * The path of the socket is set with {@link MqttClientTransportConfig#getServerPath()}.
+     */
+    EPOLL_DOMAIN_SOCKET,
+    /**
+     * In-JVM local channel, e.g. to connect to a server running in the same JVM.
+     * <p>
+     * The name of the local channel is set with {@link MqttClientTransportConfig#getServerPath()}.
+     */
+    LOCAL
+}
@@ -51,6 +51,18 @@ public interface MqttWebSocketConfig {
      * @since 1.2
      */
     int DEFAULT_HANDSHAKE_TIMEOUT_MS = 10_000;
+    /**
+     * The default whether the permessage-deflate extension is negotiated.
+     *
+     * @since 1.3
+     */
+    boolean DEFAULT_PER_MESSAGE_DEFLATE = false;
+    /**
+     * The default whether MQTT packets written before a flush are coalesced into one WebSocket frame.
+     *
+     * @since 1.3
+     */
+    boolean DEFAULT_FRAME_COALESCING = false;
 
     /**
      * Creates a builder for a WebSocket configuration.
@@ -82,6 +94,52 @@ public interface MqttWebSocketConfig {
      */
     int getHandshakeTimeoutMs();
 
+    /**
+     * Returns whether the permessage-deflate extension (<a href="https://tools.ietf.org/html/rfc7692">RFC 7692</a>) is
+     * offered during the WebSocket handshake. If the server accepts it, the payload of each WebSocket message is
+     * compressed.
+     *
+     * @return whether the permessage-deflate extension is offered.
+     * @since 1.3
+     */
+    boolean isPerMessageDeflate();
+
+    /**
+     * Returns whether the client offers to reset its compression context for each message
+     * (<code>client_no_context_takeover</code>). Resetting the context saves memory on both sides but decreases the
+     * compression ratio of similar consecutive messages.
+     * <p>
+     * Only applies if {@link #isPerMessageDeflate() permessage-deflate} is enabled.
+     *
+     * @return whether the client offers to not take over its compression context.
+     * @since 1.3
+     */
+    boolean isClientNoContextTakeover();
+
+    /**
+     * Returns whether the client requests the server to reset its compression context for each message
+     * (<code>server_no_context_takeover</code>).
+     * <p>
+     * Only applies if {@link #isPerMessageDeflate() permessage-deflate} is enabled.
+     *
+     * @return whether the client requests the server to not take over its compression context.
+     * @since 1.3
+     */
+    boolean isServerNoContextTakeover();
+
+    /**
+     * Returns whether all MQTT packets written before a flush are coalesced into one WebSocket frame instead of
+     * sending every MQTT packet in its own frame. Coalescing saves the framing and masking overhead per packet and, in
+     * combination with {@link #isPerMessageDeflate() permessage-deflate}, lets the compression work on larger messages.
+     * <p>
+     * The server must support MQTT packets spanning WebSocket frame boundaries, which is required by the MQTT
+     * specification.
+     *
+     * @return whether MQTT packets are coalesced into WebSocket frames.
+     * @since 1.3
+     */
+    boolean isFrameCoalescing();
+
     /**
      * Creates a builder for extending this WebSocket configuration.
      *
@@ -71,4 +71,46 @@ public interface MqttWebSocketConfigBuilderBase<B extends MqttWebSocketConfigBui
      */
     @CheckReturnValue
     @NotNull B handshakeTimeout(long timeout, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Sets whether the {@link MqttWebSocketConfig#isPerMessageDeflate() permessage-deflate extension} is offered.
+     *
+     * @param perMessageDeflate whether the permessage-deflate extension is offered.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B perMessageDeflate(boolean perMessageDeflate);
+
+    /**
+     * Sets whether the client offers to {@link MqttWebSocketConfig#isClientNoContextTakeover() not take over its
+     * compression context}.
+     *
+     * @param clientNoContextTakeover whether the client offers to not take over its compression context.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B clientNoContextTakeover(boolean clientNoContextTakeover);
+
+    /**
+     * Sets whether the client requests the server to {@link MqttWebSocketConfig#isServerNoContextTakeover() not take
+     * over its compression context}.
+     *
+     * @param serverNoContextTakeover whether the client requests the server to not take over its compression context.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B serverNoContextTakeover(boolean serverNoContextTakeover);
+
+    /**
+     * Sets whether {@link MqttWebSocketConfig#isFrameCoalescing() MQTT packets are coalesced into WebSocket frames}.
+     *
+     * @param frameCoalescing whether MQTT packets are coalesced into WebSocket frames.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B frameCoalescing(boolean frameCoalescing);
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.exceptions;
+
+import com.hivemq.client.internal.util.AsyncRuntimeException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Exception that is used if an outgoing publish was not sent because it was replaced by a more recent publish with the
+ * same topic before it could be written to the connection.
+ *
+ * @see com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#getOutgoingQos0ConflationTopicFilters()
+ * @since 1.3
+ */
+public class MqttPublishSupersededException extends AsyncRuntimeException {
+
+    public MqttPublishSupersededException(final @NotNull String message) {
+        super(message);
+    }
+
+    private MqttPublishSupersededException(final @NotNull MqttPublishSupersededException e) {
+        super(e);
+    }
+
+    @Override
+    protected @NotNull MqttPublishSupersededException copy() {
+        return new MqttPublishSupersededException(this);
+    }
+}
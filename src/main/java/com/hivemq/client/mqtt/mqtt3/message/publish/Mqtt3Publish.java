@@ -86,6 +86,16 @@ public interface Mqtt3Publish extends Mqtt3Message {
      */
     void acknowledge();
 
+    /**
+     * Acknowledges this Publish message and all not yet acknowledged Publish messages that were emitted before it to
+     * the same consumer, in one step.
+     *
+     * @throws UnsupportedOperationException if manual acknowledgement is not enabled.
+     * @throws IllegalStateException         if the message is acknowledged more than once.
+     * @since 1.3
+     */
+    void acknowledgeCumulatively();
+
     @Override
     default @NotNull Mqtt3MessageType getType() {
         return Mqtt3MessageType.PUBLISH;
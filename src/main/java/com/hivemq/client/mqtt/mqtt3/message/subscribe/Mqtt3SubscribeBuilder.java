@@ -206,6 +206,21 @@ public interface Mqtt3SubscribeBuilder extends Mqtt3SubscribeBuilderBase<Mqtt3Su
             @CheckReturnValue
             @NotNull Args<P> manualAcknowledgement(boolean manualAcknowledgement);
 
+            /**
+             * Sets whether the matching Publish messages consumed via the subscriptions are conflated per topic.
+             * <p>
+             * If the consumer can not keep up, a Publish message that has not been emitted yet is dropped when a newer
+             * Publish message with the same topic arrives. The newer Publish message is emitted in the order of
+             * arrival, so after Publish messages with other topics that arrived before it. A dropped QoS 1 or 2
+             * Publish message is acknowledged without being emitted.
+             *
+             * @param conflate whether the matching Publish messages are conflated per topic.
+             * @return the builder.
+             * @since 1.3
+             */
+            @CheckReturnValue
+            @NotNull Args<P> conflate(boolean conflate);
+
             /**
              * Builds the {@link Mqtt3Subscribe} and applies it and additional arguments to the parent.
              *
@@ -53,6 +53,18 @@ public interface Mqtt5ClientConnectionConfig extends MqttClientConnectionConfig
      */
     @NotNull RestrictionsForClient getRestrictionsForClient();
 
+    /**
+     * Returns the amount of bytes the client did not have to send during this connection because topics of outgoing
+     * Publish messages were replaced by topic aliases.
+     * <p>
+     * The bytes of the topic alias properties are subtracted, so the value can be negative while new topic aliases are
+     * established. It is updated by the event loop of the connection and may lag behind when read from other threads.
+     *
+     * @return the amount of bytes saved through topic aliases.
+     * @since 1.3
+     */
+    long getTopicAliasSavedBytes();
+
     /**
      * Restrictions for messages a {@link Mqtt5Client} receives.
      */
@@ -24,6 +24,8 @@ import com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5ConnectBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5Disconnect;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectBuilder;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5DecodedPublish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadDecoder;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscribe;
@@ -205,6 +207,51 @@ public interface Mqtt5RxClient extends Mqtt5Client {
     @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribePublishes(
             @NotNull Mqtt5Subscribe subscribe, boolean manualAcknowledgement);
 
+    /**
+     * Creates a {@link FlowableWithSingle} for subscribing this client with the given Subscribe message and decoding
+     * the payloads of the incoming Publish messages with the given payload decoder.
+     * <p>
+     * Behaves like {@link #subscribePublishes(Mqtt5Subscribe)}, but the payload decoder is called on the event loop of
+     * the client when a Publish message is emitted to the returned {@link FlowableWithSingle}, so the application does
+     * not have to parse the payload itself. If the payload decoder throws an exception, the returned {@link
+     * FlowableWithSingle} errors with the exception.
+     *
+     * @param subscribe      the Subscribe message sent to the broker during subscribe.
+     * @param payloadDecoder the decoder for the payloads of the incoming Publish messages.
+     * @param <T>            the type of the decoded payloads.
+     * @return the {@link FlowableWithSingle} which emits the SubAck message as the single and first element and then
+     *         the Publish messages together with their decoded payloads.
+     * @see #subscribePublishes(Mqtt5Subscribe, Mqtt5PayloadDecoder, boolean)
+     * @since 1.3
+     */
+    @CheckReturnValue
+    <T> @NotNull FlowableWithSingle<Mqtt5DecodedPublish<T>, Mqtt5SubAck> subscribePublishes(
+            @NotNull Mqtt5Subscribe subscribe, @NotNull Mqtt5PayloadDecoder<? extends T> payloadDecoder);
+
+    /**
+     * Creates a {@link FlowableWithSingle} for subscribing this client with the given Subscribe message and decoding
+     * the payloads of the incoming Publish messages with the given payload decoder.
+     * <p>
+     * Behaves like {@link #subscribePublishes(Mqtt5Subscribe, boolean)}, but the payload decoder is called on the
+     * event loop of the client when a Publish message is emitted to the returned {@link FlowableWithSingle}. If
+     * acknowledged manually, the Publish message returned by {@link Mqtt5DecodedPublish#getPublish()} has to be
+     * acknowledged.
+     *
+     * @param subscribe             the Subscribe message sent to the broker during subscribe.
+     * @param payloadDecoder        the decoder for the payloads of the incoming Publish messages.
+     * @param manualAcknowledgement whether the Publish messages are acknowledged manually.
+     * @param <T>                   the type of the decoded payloads.
+     * @return the {@link FlowableWithSingle} which emits the SubAck message as the single and first element and then
+     *         the Publish messages together with their decoded payloads.
+     * @see #subscribePublishes(Mqtt5Subscribe, Mqtt5PayloadDecoder)
+     * @since 1.3
+     */
+    @CheckReturnValue
+    <T> @NotNull FlowableWithSingle<Mqtt5DecodedPublish<T>, Mqtt5SubAck> subscribePublishes(
+            @NotNull Mqtt5Subscribe subscribe,
+            @NotNull Mqtt5PayloadDecoder<? extends T> payloadDecoder,
+            boolean manualAcknowledgement);
+
     /**
      * Fluent counterpart of {@link #subscribePublishes(Mqtt5Subscribe, boolean)}.
      * <p>
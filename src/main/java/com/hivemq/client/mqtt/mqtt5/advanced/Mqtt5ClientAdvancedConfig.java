@@ -17,11 +17,19 @@
 package com.hivemq.client.mqtt.mqtt5.advanced;
 
 import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.annotations.Immutable;
 import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.mqtt.datatypes.MqttTopic;
+import com.hivemq.client.mqtt.datatypes.MqttTopicFilter;
+import com.hivemq.client.mqtt.mqtt5.advanced.compression.Mqtt5PayloadCompressor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5IncomingQos2StateStore;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.file.Path;
+import java.util.List;
+
 /**
  * Advanced configuration of an {@link com.hivemq.client.mqtt.mqtt5.Mqtt5Client Mqtt5Client}.
  *
@@ -31,6 +39,51 @@ import org.jetbrains.annotations.Nullable;
 @DoNotImplement
 public interface Mqtt5ClientAdvancedConfig {
 
+    /**
+     * The default maximum amount of incoming QoS 0 publishes that are buffered if the subscribers can not keep up.
+     *
+     * @since 1.3
+     */
+    int DEFAULT_INCOMING_QOS_0_BUFFER_SIZE = 65_535;
+    /**
+     * The default strategy for handling incoming QoS 0 publishes if the buffer is full.
+     *
+     * @since 1.3
+     */
+    @NotNull Mqtt5IncomingQos0OverflowStrategy DEFAULT_INCOMING_QOS_0_OVERFLOW_STRATEGY =
+            Mqtt5IncomingQos0OverflowStrategy.DROP_OLDEST;
+    /**
+     * The default amount of send maximum slots that are reserved for outgoing priority publishes.
+     *
+     * @since 1.3
+     */
+    int DEFAULT_OUTGOING_PRIORITY_SEND_MAXIMUM_RESERVE = 0;
+    /**
+     * The default minimum length of a payload in bytes that is compressed if a payload compressor is configured.
+     *
+     * @since 1.3
+     */
+    int DEFAULT_PAYLOAD_COMPRESSION_THRESHOLD = 1_024;
+    /**
+     * The default memory limit of the offline buffer for outgoing publishes in bytes, which means that it is unlimited.
+     *
+     * @since 1.3
+     */
+    long DEFAULT_OUTGOING_OFFLINE_BUFFER_MEMORY_LIMIT = Long.MAX_VALUE;
+    /**
+     * The default disk limit of the offline buffer for outgoing publishes in bytes, which means that it is unlimited.
+     *
+     * @since 1.3
+     */
+    long DEFAULT_OUTGOING_OFFLINE_BUFFER_DISK_LIMIT = Long.MAX_VALUE;
+    /**
+     * The default strategy for handling outgoing publishes if the offline buffer is full.
+     *
+     * @since 1.3
+     */
+    @NotNull Mqtt5OutgoingOfflineBufferOverflowStrategy DEFAULT_OUTGOING_OFFLINE_BUFFER_OVERFLOW_STRATEGY =
+            Mqtt5OutgoingOfflineBufferOverflowStrategy.DROP_OLDEST;
+
     /**
      * Creates a builder for an advanced configuration.
      *
@@ -58,6 +111,185 @@ public interface Mqtt5ClientAdvancedConfig {
      */
     @Nullable Mqtt5ClientInterceptors getInterceptors();
 
+    /**
+     * Returns the maximum amount of incoming QoS 0 publishes that are buffered if the subscribers can not keep up.
+     * <p>
+     * In contrast to QoS 1 and 2 publishes, the amount of QoS 0 publishes is not limited by the receive maximum. If the
+     * buffer is full, the {@link #getIncomingQos0OverflowStrategy() overflow strategy} is applied.
+     *
+     * @return the maximum amount of buffered incoming QoS 0 publishes.
+     * @since 1.3
+     */
+    int getIncomingQos0BufferSize();
+
+    /**
+     * @return the strategy for handling incoming QoS 0 publishes if the {@link #getIncomingQos0BufferSize() buffer} is
+     *         full.
+     * @since 1.3
+     */
+    @NotNull Mqtt5IncomingQos0OverflowStrategy getIncomingQos0OverflowStrategy();
+
+    /**
+     * Returns the topic filters for which outgoing QoS 0 publishes are conflated while the connection is not writable.
+     * <p>
+     * If an outgoing QoS 0 publish whose topic matches one of these topic filters is queued while an earlier publish
+     * with the same topic has not been written yet, the earlier publish is replaced in its position among the
+     * conflated publishes. The replaced publish completes with a
+     * {@link com.hivemq.client.mqtt.exceptions.MqttPublishSupersededException MqttPublishSupersededException}.
+     * <p>
+     * Conflated publishes are queued separately from all other publishes, so they keep their order among each other,
+     * but may be written before other publishes that were queued earlier.
+     *
+     * @return the topic filters for which outgoing QoS 0 publishes are conflated.
+     * @since 1.3
+     */
+    @Immutable @NotNull List<@NotNull ? extends MqttTopicFilter> getOutgoingQos0ConflationTopicFilters();
+
+    /**
+     * Returns the topic filters for which outgoing publishes are sent with priority.
+     * <p>
+     * A publish that is sent on its own (not as part of a stream of publishes) and whose topic matches one of these
+     * topic filters bypasses the queue of the other outgoing publishes. Priority publishes are written before any other
+     * queued publishes and may use the {@link #getOutgoingPrioritySendMaximumReserve() reserved send maximum slots}.
+     * <p>
+     * Publishes that are part of a stream of publishes, for example the publishes passed to
+     * {@link com.hivemq.client.mqtt.mqtt5.Mqtt5RxClient#publish(io.reactivex.Flowable)
+     * Mqtt5RxClient.publish(Flowable)}, are never sent with priority, even if their topic matches one of these topic
+     * filters.
+     *
+     * @return the topic filters for which outgoing publishes are sent with priority.
+     * @since 1.3
+     */
+    @Immutable @NotNull List<@NotNull ? extends MqttTopicFilter> getOutgoingPriorityTopicFilters();
+
+    /**
+     * Returns the amount of send maximum slots that are reserved for {@link #getOutgoingPriorityTopicFilters() outgoing
+     * priority publishes}.
+     * <p>
+     * Other publishes use at most the send maximum minus this amount, but at least one slot.
+     *
+     * @return the amount of send maximum slots reserved for outgoing priority publishes.
+     * @since 1.3
+     */
+    int getOutgoingPrioritySendMaximumReserve();
+
+    /**
+     * Returns whether the keep alive, connect, authentication and disconnect timeouts use a timer that is shared by all
+     * clients instead of scheduling a task on the event loop of each connection.
+     * <p>
+     * The shared timer has a coarse resolution of a few milliseconds, but scheduling and cancelling timeouts is cheaper
+     * and tracking the read and write times for the keep alive does not query the system clock. This is intended for
+     * applications with many connections.
+     *
+     * @return whether the shared timer is used.
+     * @since 1.3
+     */
+    boolean isUseSharedTimer();
+
+    /**
+     * Returns whether the content type, response topic, correlation data and user properties of incoming Publish
+     * messages are decoded lazily.
+     * <p>
+     * If enabled, these properties are validated when a Publish message is received, but kept in their encoded form
+     * and only decoded into objects when one of them is accessed for the first time. The encoded properties are copied
+     * once per message, so this can only save allocations for consumers that do not access these properties. If they
+     * are accessed, lazy decoding allocates more than eager decoding.
+     *
+     * @return whether the properties of incoming Publish messages are decoded lazily.
+     * @since 1.3
+     */
+    boolean isLazyPublishProperties();
+
+    /**
+     * Returns the optional compressor of the payload of Publish messages.
+     * <p>
+     * Outgoing payloads that are at least {@link #getPayloadCompressionThreshold() threshold} bytes long are
+     * compressed and tagged with the {@link Mqtt5PayloadCompressor#getContentType() content type} of the compressor,
+     * unless the Publish message already has a content type or a payload format indicator. Incoming Publish messages
+     * with this content type are decompressed before they are emitted, so subscribers receive the original payload.
+     *
+     * @return the optional compressor of the payload of Publish messages.
+     * @since 1.3
+     */
+    @Nullable Mqtt5PayloadCompressor getPayloadCompressor();
+
+    /**
+     * @return the minimum length of an outgoing payload in bytes that is {@link #getPayloadCompressor() compressed}.
+     * @since 1.3
+     */
+    int getPayloadCompressionThreshold();
+
+    /**
+     * Returns the topics that get fixed topic aliases when the client connects.
+     * <p>
+     * The topics are assigned the topic aliases 1, 2, ... in this order, as far as the topic alias maximum for sending
+     * allows. In contrast to the topic aliases that are assigned automatically to frequently published topics, pinned
+     * topic aliases are never reassigned during the connection.
+     *
+     * @return the topics that get fixed topic aliases.
+     * @since 1.3
+     */
+    @Immutable @NotNull List<@NotNull ? extends MqttTopic> getPinnedTopicAliases();
+
+    /**
+     * Returns the optional store for the state of incoming QoS 2 Publish messages.
+     * <p>
+     * Without a store this state is only kept in memory, so a QoS 2 Publish message that the server resends after the
+     * client process was restarted is delivered again. With a store, QoS 2 Publish messages are delivered exactly
+     * once also across restarts of a client with a persistent session, except for messages that were delivered but
+     * whose state was not synced before the process ended.
+     *
+     * @return the optional store for the state of incoming QoS 2 Publish messages.
+     * @since 1.3
+     */
+    @Nullable Mqtt5IncomingQos2StateStore getIncomingQos2StateStore();
+
+    /**
+     * Returns the maximum amount of payload bytes of outgoing publishes that are kept in memory while the client is
+     * disconnected.
+     * <p>
+     * Outgoing publishes are buffered while disconnected if they are kept for the next connection, either because the
+     * session did not expire yet or because the client
+     * {@link com.hivemq.client.mqtt.lifecycle.MqttClientReconnector#republishIfSessionExpired(boolean) republishes}
+     * them. If the limit is reached, the payloads of further publishes are spilled to the
+     * {@link #getOutgoingOfflineBufferSpillDirectory() spill directory} if configured, otherwise the
+     * {@link #getOutgoingOfflineBufferOverflowStrategy() overflow strategy} applies. Buffered publishes are sent in
+     * their original order after the client reconnected.
+     *
+     * @return the maximum amount of payload bytes of outgoing publishes that are kept in memory while disconnected.
+     * @since 1.3
+     */
+    long getOutgoingOfflineBufferMemoryLimit();
+
+    /**
+     * Returns the optional directory that the payloads of outgoing publishes are spilled to if the
+     * {@link #getOutgoingOfflineBufferMemoryLimit() memory limit of the offline buffer} is reached.
+     * <p>
+     * The payloads are written to segment files that are deleted as soon as all of their publishes were sent or
+     * dropped. The segment files are not read again after the client process was restarted.
+     * <p>
+     * Payloads are written to and read from the segment files with blocking file I/O on the event loop of the client.
+     * While a payload is spilled or read back, the client can not handle other messages, so the directory should be on
+     * a fast local storage device.
+     *
+     * @return the optional directory that the payloads of outgoing publishes are spilled to.
+     * @since 1.3
+     */
+    @Nullable Path getOutgoingOfflineBufferSpillDirectory();
+
+    /**
+     * @return the maximum amount of bytes of the segment files in the {@link #getOutgoingOfflineBufferSpillDirectory()
+     *         spill directory}.
+     * @since 1.3
+     */
+    long getOutgoingOfflineBufferDiskLimit();
+
+    /**
+     * @return the strategy for handling outgoing publishes if the offline buffer is full.
+     * @since 1.3
+     */
+    @NotNull Mqtt5OutgoingOfflineBufferOverflowStrategy getOutgoingOfflineBufferOverflowStrategy();
+
     /**
      * Creates a builder for extending this advanced configuration.
      *
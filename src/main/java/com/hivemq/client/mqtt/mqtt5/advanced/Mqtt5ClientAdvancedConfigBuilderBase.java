@@ -18,11 +18,17 @@ package com.hivemq.client.mqtt.mqtt5.advanced;
 
 import com.hivemq.client.annotations.CheckReturnValue;
 import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.mqtt.datatypes.MqttTopic;
+import com.hivemq.client.mqtt.datatypes.MqttTopicFilter;
+import com.hivemq.client.mqtt.mqtt5.advanced.compression.Mqtt5PayloadCompressor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptorsBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5IncomingQos2StateStore;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.file.Path;
+
 /**
  * Builder base for a {@link Mqtt5ClientAdvancedConfig}.
  *
@@ -72,4 +78,223 @@ public interface Mqtt5ClientAdvancedConfigBuilderBase<B extends Mqtt5ClientAdvan
      */
     @CheckReturnValue
     Mqtt5ClientInterceptorsBuilder.@NotNull Nested<? extends B> interceptors();
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getIncomingQos0BufferSize() maximum amount of buffered incoming QoS 0
+     * publishes}.
+     * <p>
+     * The value must be greater than zero.
+     *
+     * @param incomingQos0BufferSize the maximum amount of buffered incoming QoS 0 publishes.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B incomingQos0BufferSize(int incomingQos0BufferSize);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getIncomingQos0OverflowStrategy() strategy for handling incoming QoS 0
+     * publishes if the buffer is full}.
+     *
+     * @param incomingQos0OverflowStrategy the strategy for handling incoming QoS 0 publishes if the buffer is full.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B incomingQos0OverflowStrategy(@NotNull Mqtt5IncomingQos0OverflowStrategy incomingQos0OverflowStrategy);
+
+    /**
+     * Adds a topic filter for which {@link Mqtt5ClientAdvancedConfig#getOutgoingQos0ConflationTopicFilters() outgoing
+     * QoS 0 publishes are conflated while the connection is not writable}.
+     *
+     * @param topicFilter the string representation of the topic filter.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B addOutgoingQos0ConflationTopicFilter(@NotNull String topicFilter);
+
+    /**
+     * Adds a topic filter for which {@link Mqtt5ClientAdvancedConfig#getOutgoingQos0ConflationTopicFilters() outgoing
+     * QoS 0 publishes are conflated while the connection is not writable}.
+     *
+     * @param topicFilter the topic filter.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B addOutgoingQos0ConflationTopicFilter(@NotNull MqttTopicFilter topicFilter);
+
+    /**
+     * Adds a topic filter for which {@link Mqtt5ClientAdvancedConfig#getOutgoingPriorityTopicFilters() outgoing
+     * publishes are sent with priority}.
+     *
+     * @param topicFilter the string representation of the topic filter.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B addOutgoingPriorityTopicFilter(@NotNull String topicFilter);
+
+    /**
+     * Adds a topic filter for which {@link Mqtt5ClientAdvancedConfig#getOutgoingPriorityTopicFilters() outgoing
+     * publishes are sent with priority}.
+     *
+     * @param topicFilter the topic filter.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B addOutgoingPriorityTopicFilter(@NotNull MqttTopicFilter topicFilter);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getOutgoingPrioritySendMaximumReserve() amount of send maximum slots
+     * that are reserved for outgoing priority publishes}.
+     * <p>
+     * The value must be in the range of an unsigned short: [0, 65_535].
+     *
+     * @param outgoingPrioritySendMaximumReserve the amount of send maximum slots reserved for outgoing priority
+     *                                           publishes.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B outgoingPrioritySendMaximumReserve(int outgoingPrioritySendMaximumReserve);
+
+    /**
+     * Sets whether the {@link Mqtt5ClientAdvancedConfig#isUseSharedTimer() shared timer is used} for the keep alive,
+     * connect, authentication and disconnect timeouts.
+     *
+     * @param useSharedTimer whether the shared timer is used.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B useSharedTimer(boolean useSharedTimer);
+
+    /**
+     * Sets whether the {@link Mqtt5ClientAdvancedConfig#isLazyPublishProperties() properties of incoming Publish
+     * messages are decoded lazily}.
+     *
+     * @param lazyPublishProperties whether the properties of incoming Publish messages are decoded lazily.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B lazyPublishProperties(boolean lazyPublishProperties);
+
+    /**
+     * Sets the optional {@link Mqtt5ClientAdvancedConfig#getPayloadCompressor() compressor of the payload of Publish
+     * messages}.
+     * <p>
+     * The content type of the compressor must be a valid UTF-8 encoded string.
+     *
+     * @param payloadCompressor the compressor of the payload of Publish messages or <code>null</code> to disable
+     *                          payload compression.
+     * @return the builder.
+     * @see Mqtt5PayloadCompressor#deflate()
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B payloadCompressor(@Nullable Mqtt5PayloadCompressor payloadCompressor);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getPayloadCompressionThreshold() minimum length of an outgoing payload
+     * that is compressed}.
+     * <p>
+     * The value must not be negative.
+     *
+     * @param payloadCompressionThreshold the minimum length of an outgoing payload in bytes that is compressed.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B payloadCompressionThreshold(int payloadCompressionThreshold);
+
+    /**
+     * Adds a topic that gets a {@link Mqtt5ClientAdvancedConfig#getPinnedTopicAliases() fixed topic alias} when the
+     * client connects.
+     *
+     * @param topic the string representation of the topic.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B addPinnedTopicAlias(@NotNull String topic);
+
+    /**
+     * Adds a topic that gets a {@link Mqtt5ClientAdvancedConfig#getPinnedTopicAliases() fixed topic alias} when the
+     * client connects.
+     *
+     * @param topic the topic.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B addPinnedTopicAlias(@NotNull MqttTopic topic);
+
+    /**
+     * Sets the optional {@link Mqtt5ClientAdvancedConfig#getIncomingQos2StateStore() store for the state of incoming
+     * QoS 2 Publish messages}.
+     *
+     * @param incomingQos2StateStore the store for the state of incoming QoS 2 Publish messages or <code>null</code> to
+     *                               keep the state only in memory.
+     * @return the builder.
+     * @see Mqtt5IncomingQos2StateStore#memoryMapped(java.nio.file.Path)
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B incomingQos2StateStore(@Nullable Mqtt5IncomingQos2StateStore incomingQos2StateStore);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getOutgoingOfflineBufferMemoryLimit() maximum amount of payload bytes
+     * of outgoing publishes that are kept in memory while the client is disconnected}.
+     * <p>
+     * The value must not be negative.
+     *
+     * @param outgoingOfflineBufferMemoryLimit the maximum amount of payload bytes kept in memory while disconnected.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B outgoingOfflineBufferMemoryLimit(long outgoingOfflineBufferMemoryLimit);
+
+    /**
+     * Sets the optional {@link Mqtt5ClientAdvancedConfig#getOutgoingOfflineBufferSpillDirectory() directory that the
+     * payloads of outgoing publishes are spilled to} if the memory limit of the offline buffer is reached.
+     * <p>
+     * The segment files in this directory are written and read with blocking file I/O on the event loop of the client.
+     *
+     * @param outgoingOfflineBufferSpillDirectory the spill directory or <code>null</code> to not spill payloads.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B outgoingOfflineBufferSpillDirectory(@Nullable Path outgoingOfflineBufferSpillDirectory);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getOutgoingOfflineBufferDiskLimit() maximum amount of bytes of the
+     * segment files in the spill directory}.
+     * <p>
+     * The value must not be negative.
+     *
+     * @param outgoingOfflineBufferDiskLimit the maximum amount of bytes of the segment files.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B outgoingOfflineBufferDiskLimit(long outgoingOfflineBufferDiskLimit);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getOutgoingOfflineBufferOverflowStrategy() strategy for handling
+     * outgoing publishes if the offline buffer is full}.
+     *
+     * @param outgoingOfflineBufferOverflowStrategy the strategy for handling outgoing publishes if the offline buffer
+     *                                              is full.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B outgoingOfflineBufferOverflowStrategy(
+            @NotNull Mqtt5OutgoingOfflineBufferOverflowStrategy outgoingOfflineBufferOverflowStrategy);
 }
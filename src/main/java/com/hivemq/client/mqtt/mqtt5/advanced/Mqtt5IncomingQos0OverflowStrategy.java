@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced;
+
+/**
+ * Strategies for handling incoming QoS 0 publishes if the {@link Mqtt5ClientAdvancedConfig#getIncomingQos0BufferSize()
+ * buffer for incoming QoS 0 publishes} is full.
+ *
+ * @since 1.3
+ */
+public enum Mqtt5IncomingQos0OverflowStrategy {
+
+    /**
+     * The oldest buffered QoS 0 publish is dropped in favour of the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * The new QoS 0 publish is dropped.
+     */
+    DROP_NEWEST,
+    /**
+     * The most recently buffered QoS 0 publish with the same topic as the new one is replaced in place. If no buffered
+     * QoS 0 publish has the same topic, the oldest buffered QoS 0 publish is dropped.
+     */
+    CONFLATE
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced;
+
+/**
+ * Strategies for handling outgoing publishes if the offline buffer is full, which means that neither its
+ * {@link Mqtt5ClientAdvancedConfig#getOutgoingOfflineBufferMemoryLimit() memory limit} nor its
+ * {@link Mqtt5ClientAdvancedConfig#getOutgoingOfflineBufferDiskLimit() disk limit} allows to buffer a new publish.
+ *
+ * @since 1.3
+ */
+public enum Mqtt5OutgoingOfflineBufferOverflowStrategy {
+
+    /**
+     * The oldest buffered publishes are dropped until the new one fits into the buffer.
+     */
+    DROP_OLDEST,
+    /**
+     * The new publish is rejected.
+     */
+    REJECT
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.compression;
+
+import com.hivemq.client.internal.mqtt.advanced.compression.MqttDeflatePayloadCompressor;
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
+/**
+ * Interface for compressors of the payload of Publish messages.
+ * <p>
+ * If a payload compressor is {@link Mqtt5ClientAdvancedConfig#getPayloadCompressor() configured}, the payload of
+ * outgoing Publish messages is compressed and the Publish messages are tagged with the {@link #getContentType()
+ * content type} of the compressor. Incoming Publish messages tagged with the same content type are decompressed before
+ * they are emitted to the subscribers.
+ * <p>
+ * The methods may be called concurrently from multiple threads.
+ *
+ * @since 1.3
+ */
+public interface Mqtt5PayloadCompressor {
+
+    /**
+     * Creates a payload compressor using the DEFLATE algorithm of the JDK with the default compression level.
+     * <p>
+     * The content type of the compressor is <code>application/x-deflate</code>.
+     *
+     * @return the created payload compressor.
+     */
+    static @NotNull Mqtt5PayloadCompressor deflate() {
+        return MqttDeflatePayloadCompressor.DEFAULT;
+    }
+
+    /**
+     * Creates a payload compressor using the DEFLATE algorithm of the JDK with the given compression level.
+     * <p>
+     * The content type of the compressor is <code>application/x-deflate</code>.
+     *
+     * @param level the compression level in the range [0, 9], see {@link Deflater}.
+     * @return the created payload compressor.
+     */
+    static @NotNull Mqtt5PayloadCompressor deflate(final int level) {
+        return new MqttDeflatePayloadCompressor(
+                (int) Checks.range(level, Deflater.NO_COMPRESSION, Deflater.BEST_COMPRESSION, "Compression level"));
+    }
+
+    /**
+     * Returns the content type that tags compressed payloads.
+     * <p>
+     * The content type must be a valid UTF-8 encoded string and must not change.
+     *
+     * @return the content type that tags compressed payloads.
+     */
+    @NotNull String getContentType();
+
+    /**
+     * Compresses a payload.
+     *
+     * @param payload the payload to compress. Its content must not be modified.
+     * @return the compressed payload.
+     */
+    @NotNull ByteBuffer compress(@NotNull ByteBuffer payload);
+
+    /**
+     * Decompresses a payload that was tagged with the {@link #getContentType() content type} of this compressor.
+     *
+     * @param payload       the compressed payload. Its content must not be modified.
+     * @param maximumLength the maximum length of the decompressed payload.
+     * @return the decompressed payload.
+     * @throws Exception if the payload is corrupt or the decompressed payload would be longer than the maximum length.
+     */
+    @NotNull ByteBuffer decompress(@NotNull ByteBuffer payload, int maximumLength) throws Exception;
+}
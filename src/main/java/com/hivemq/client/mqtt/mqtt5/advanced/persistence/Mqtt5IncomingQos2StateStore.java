@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.persistence;
+
+import com.hivemq.client.internal.mqtt.advanced.persistence.MqttMappedIncomingQos2StateStore;
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.IntConsumer;
+
+/**
+ * Store for the state of incoming QoS 2 Publish messages that outlives the client process.
+ * <p>
+ * The store contains the packet identifiers of QoS 2 Publish messages that the client has received and acknowledged
+ * with a PUBREC but that the server has not released with a PUBREL yet. If a client with a persistent session is
+ * restarted and the server resends such a Publish message, the message is only acknowledged again and not delivered
+ * to the application a second time.
+ * <p>
+ * If a store is {@link Mqtt5ClientAdvancedConfig#getIncomingQos2StateStore() configured}, changes are only required to
+ * be durable after {@link #sync()} is called. The client calls it once for all changes caused by a batch of incoming
+ * messages and before the corresponding PUBREC and PUBCOMP messages are sent (group commit).
+ * <p>
+ * The methods are called on the event loop of the client. A store must not be shared by multiple clients.
+ *
+ * @since 1.3
+ */
+public interface Mqtt5IncomingQos2StateStore {
+
+    /**
+     * Creates a store that keeps one bit per packet identifier in a memory-mapped file of 8 KiB.
+     * <p>
+     * Changes are visible in the file immediately, so they survive a crash of the client process. {@link #sync()}
+     * forces them to the storage device, so they also survive a crash of the operating system.
+     *
+     * @param file the file of the store. It is created if it does not exist.
+     * @return the created store.
+     * @throws IOException if the file can not be opened or mapped.
+     */
+    static @NotNull Mqtt5IncomingQos2StateStore memoryMapped(final @NotNull Path file) throws IOException {
+        return new MqttMappedIncomingQos2StateStore(Checks.notNull(file, "File"));
+    }
+
+    /**
+     * Passes all packet identifiers contained in this store to the given consumer.
+     * <p>
+     * This method is called when the client connects for the first time and the server has a session for it.
+     *
+     * @param consumer the consumer of the packet identifiers.
+     */
+    void load(@NotNull IntConsumer consumer);
+
+    /**
+     * Adds a packet identifier to this store.
+     *
+     * @param packetIdentifier the packet identifier in the range [1, 65535].
+     */
+    void add(int packetIdentifier);
+
+    /**
+     * Removes a packet identifier from this store.
+     *
+     * @param packetIdentifier the packet identifier in the range [1, 65535].
+     */
+    void remove(int packetIdentifier);
+
+    /**
+     * Removes all packet identifiers from this store.
+     * <p>
+     * This method is called if the session of the client ends or the server does not have a session for it.
+     */
+    void clear();
+
+    /**
+     * Makes all previous changes of this store durable.
+     */
+    void sync();
+}
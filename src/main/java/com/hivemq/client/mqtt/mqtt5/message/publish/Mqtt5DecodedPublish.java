@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.message.publish;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Incoming {@link Mqtt5Publish MQTT 5 Publish message} together with its payload decoded by a {@link
+ * Mqtt5PayloadDecoder}.
+ *
+ * @param <T> the type of the decoded payload.
+ * @since 1.3
+ */
+@DoNotImplement
+public interface Mqtt5DecodedPublish<T> {
+
+    /**
+     * @return the Publish message.
+     */
+    @NotNull Mqtt5Publish getPublish();
+
+    /**
+     * @return the payload of the Publish message decoded by the payload decoder of the subscription.
+     */
+    @NotNull T getDecodedPayload();
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.message.publish;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes the payload of incoming {@link Mqtt5Publish} messages of a subscription into application objects.
+ * <p>
+ * The decoder is called on the event loop of the client as part of emitting a Publish message to the subscription, so
+ * it must not block. Decoding there instead of on the application thread avoids parsing the same payload again for
+ * every consumer.
+ *
+ * @param <T> the type of the decoded payload.
+ * @since 1.3
+ */
+@FunctionalInterface
+public interface Mqtt5PayloadDecoder<T> {
+
+    /**
+     * Decodes the given payload.
+     *
+     * @param payload a read-only view of the payload, it is empty if the Publish message has no payload. It must not be
+     *                referenced after this method returns.
+     * @return the decoded payload.
+     * @throws Exception if the payload can not be decoded. The subscription then errors with the exception.
+     */
+    @NotNull T decode(@NotNull ByteBuffer payload) throws Exception;
+}
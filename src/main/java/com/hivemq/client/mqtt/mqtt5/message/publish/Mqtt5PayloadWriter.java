@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.message.publish;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes the payload of a {@link Mqtt5Publish} directly into the buffer the Publish packet is encoded to.
+ * <p>
+ * Serializers (for example Protobuf or JSON) can use a payload writer instead of serializing into an intermediate byte
+ * array that would then be copied into the encoded packet.
+ * <p>
+ * The writer is called on the event loop of the client every time the Publish message is encoded, which can happen
+ * more than once (for example if a QoS 1 or 2 message is redelivered after a reconnect). So it must not block and
+ * must always write the same bytes. It is also called if the payload is accessed via {@link Mqtt5Publish#getPayload()}
+ * or {@link Mqtt5Publish#getPayloadAsBytes()}, in this case into a newly allocated buffer.
+ *
+ * @since 1.3
+ */
+public interface Mqtt5PayloadWriter {
+
+    /**
+     * Returns the length of the payload in bytes.
+     * <p>
+     * The length has to be known before the payload is written as it is part of the fixed header of the Publish
+     * packet. If a serializer can not determine the length in advance, this method can run a first pass that only
+     * counts the bytes.
+     *
+     * @return the length of the payload in bytes.
+     */
+    int getLength();
+
+    /**
+     * Writes the payload to the given buffer.
+     * <p>
+     * The buffer has exactly {@link #getLength()} bytes remaining which all have to be written.
+     *
+     * @param buffer the buffer to write the payload to.
+     */
+    void write(@NotNull ByteBuffer buffer);
+}
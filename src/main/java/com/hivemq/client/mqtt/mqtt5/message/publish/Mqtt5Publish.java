@@ -118,6 +118,20 @@ public interface Mqtt5Publish extends Mqtt5Message {
      */
     void acknowledge();
 
+    /**
+     * Acknowledges this Publish message and all Publish messages that were emitted before it to the same consumer (the
+     * same subscription or global publish filter) and are not acknowledged yet.
+     * <p>
+     * All covered messages are acknowledged in one step on the client's event loop. Acknowledging only every n-th
+     * message this way, for example at a checkpoint of a stream processor, is cheaper than acknowledging each message
+     * individually.
+     *
+     * @throws UnsupportedOperationException if manual acknowledgement is not enabled.
+     * @throws IllegalStateException         if the message is acknowledged more than once.
+     * @since 1.3
+     */
+    void acknowledgeCumulatively();
+
     @Override
     default @NotNull Mqtt5MessageType getType() {
         return Mqtt5MessageType.PUBLISH;
@@ -43,6 +43,20 @@ public interface Mqtt5PublishBuilder extends Mqtt5PublishBuilderBase<Mqtt5Publis
     @DoNotImplement
     interface Complete extends Mqtt5PublishBuilder, Mqtt5PublishBuilderBase.Complete<Mqtt5PublishBuilder.Complete> {
 
+        /**
+         * Sets the {@link Mqtt5Publish#getPayload() payload} which is written by the given payload writer directly
+         * into the buffer of the encoded Publish packet.
+         * <p>
+         * Replaces any previously set payload. Payload writers are not supported for Will Publish messages, so the
+         * payload is written immediately if a Will Publish is created from this builder.
+         *
+         * @param payloadWriter the payload writer.
+         * @return the builder.
+         * @since 1.3
+         */
+        @CheckReturnValue
+        @NotNull Complete payload(@NotNull Mqtt5PayloadWriter payloadWriter);
+
         /**
          * Creates a builder for a {@link Mqtt5WillPublish} that extends the current Publish message of this builder.
          *
@@ -78,6 +92,19 @@ public interface Mqtt5PublishBuilder extends Mqtt5PublishBuilderBase<Mqtt5Publis
         @DoNotImplement
         interface Complete<P> extends Nested<P>, Mqtt5PublishBuilderBase.Complete<Nested.Complete<P>> {
 
+            /**
+             * Sets the {@link Mqtt5Publish#getPayload() payload} which is written by the given payload writer directly
+             * into the buffer of the encoded Publish packet.
+             * <p>
+             * Replaces any previously set payload.
+             *
+             * @param payloadWriter the payload writer.
+             * @return the builder.
+             * @since 1.3
+             */
+            @CheckReturnValue
+            @NotNull Complete<P> payload(@NotNull Mqtt5PayloadWriter payloadWriter);
+
             /**
              * Builds the {@link Mqtt5Publish} and applies it to the parent.
              *
@@ -102,6 +129,19 @@ public interface Mqtt5PublishBuilder extends Mqtt5PublishBuilderBase<Mqtt5Publis
         @DoNotImplement
         interface Complete<P> extends Send<P>, Mqtt5PublishBuilderBase.Complete<Send.Complete<P>> {
 
+            /**
+             * Sets the {@link Mqtt5Publish#getPayload() payload} which is written by the given payload writer directly
+             * into the buffer of the encoded Publish packet.
+             * <p>
+             * Replaces any previously set payload.
+             *
+             * @param payloadWriter the payload writer.
+             * @return the builder.
+             * @since 1.3
+             */
+            @CheckReturnValue
+            @NotNull Complete<P> payload(@NotNull Mqtt5PayloadWriter payloadWriter);
+
             /**
              * Builds the {@link Mqtt5Publish} and applies it to the parent which then sends the Publish message.
              *
@@ -0,0 +1,411 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.jfr;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.mqtt.lifecycle.MqttDisconnectSource;
+import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
+import jdk.jfr.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Entry point for Java Flight Recorder events of the client.
+ * <p>
+ * This is the Java 11 variant which records <code>jdk.jfr</code> events. It must have the same methods as the Java 8
+ * variant which does not record anything.
+ * <p>
+ * Every method first checks whether the event type is enabled via its cached {@link EventType}, so no event is
+ * allocated if no recording is running, independently of escape analysis of the JIT. Events that are recorded per
+ * message do not record stack traces, the decode event has to be enabled explicitly.
+ */
+public final class MqttFlightRecorder {
+
+    public static final int PHASE_DNS = 0;
+    public static final int PHASE_TCP = 1;
+    public static final int PHASE_PROXY = 2;
+    public static final int PHASE_TLS = 3;
+    public static final int PHASE_WEBSOCKET = 4;
+
+    public static final int STALL_CHANNEL_NOT_WRITABLE = 0;
+    public static final int STALL_SEND_MAXIMUM = 1;
+    public static final int STALL_RECEIVE_MAXIMUM = 2;
+
+    private static final @NotNull String CATEGORY = "HiveMQ MQTT Client";
+
+    private static final @NotNull EventType CONNECT = EventType.getEventType(ConnectEvent.class);
+    private static final @NotNull EventType RECONNECT = EventType.getEventType(ReconnectEvent.class);
+    private static final @NotNull EventType OUTGOING_PUBLISH = EventType.getEventType(OutgoingPublishEvent.class);
+    private static final @NotNull EventType DECODE = EventType.getEventType(DecodeEvent.class);
+    private static final @NotNull EventType INCOMING_PUBLISH = EventType.getEventType(IncomingPublishEvent.class);
+    private static final @NotNull EventType STALL = EventType.getEventType(StallEvent.class);
+
+    public static @Nullable Object beginConnect(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttClientTransportConfigImpl transportConfig) {
+
+        if (!CONNECT.isEnabled()) {
+            return null;
+        }
+        final ConnectEvent event = new ConnectEvent();
+        final InetSocketAddress serverAddress = transportConfig.getServerAddress();
+        event.clientIdentifier = clientConfig.getRawClientIdentifier().toString();
+        event.serverHost = serverAddress.getHostString();
+        event.serverPort = serverAddress.getPort();
+        event.phaseNanoTime = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    public static void connectPhase(final @Nullable Object event, final int phase) {
+        if (event == null) {
+            return;
+        }
+        final ConnectEvent connectEvent = (ConnectEvent) event;
+        final long nanoTime = System.nanoTime();
+        final long duration = nanoTime - connectEvent.phaseNanoTime;
+        connectEvent.phaseNanoTime = nanoTime;
+        switch (phase) {
+            case PHASE_DNS:
+                connectEvent.dnsDuration = duration;
+                break;
+            case PHASE_TCP:
+                connectEvent.tcpDuration = duration;
+                break;
+            case PHASE_PROXY:
+                connectEvent.proxyDuration = duration;
+                break;
+            case PHASE_TLS:
+                connectEvent.tlsDuration = duration;
+                break;
+            case PHASE_WEBSOCKET:
+                connectEvent.webSocketDuration = duration;
+                break;
+        }
+    }
+
+    public static void endConnect(final @Nullable Object event, final @Nullable Throwable cause) {
+        if (event == null) {
+            return;
+        }
+        final ConnectEvent connectEvent = (ConnectEvent) event;
+        connectEvent.end();
+        if (connectEvent.shouldCommit()) {
+            if (cause == null) {
+                connectEvent.connAckDuration = System.nanoTime() - connectEvent.phaseNanoTime;
+                connectEvent.success = true;
+            } else {
+                connectEvent.failure = cause.toString();
+            }
+            connectEvent.commit();
+        }
+    }
+
+    public static void reconnect(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttDisconnectSource source,
+            final @NotNull Throwable cause,
+            final int attempts,
+            final long delayNanos) {
+
+        if (!RECONNECT.isEnabled()) {
+            return;
+        }
+        final ReconnectEvent event = new ReconnectEvent();
+        if (event.shouldCommit()) {
+            event.clientIdentifier = clientConfig.getRawClientIdentifier().toString();
+            event.source = source.name();
+            event.cause = cause.toString();
+            event.attempts = attempts;
+            event.delay = delayNanos;
+            event.commit();
+        }
+    }
+
+    public static @Nullable Object beginOutgoingPublish(final @NotNull MqttPublish publish) {
+        if (!OUTGOING_PUBLISH.isEnabled()) {
+            return null;
+        }
+        final OutgoingPublishEvent event = new OutgoingPublishEvent();
+        event.topic = publish.getTopic().toString();
+        event.qos = publish.getQos().getCode();
+        event.payloadSize = publish.getRawPayloadLength();
+        event.enqueueNanoTime = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    public static void outgoingPublishWritten(final @Nullable Object event) {
+        if (event == null) {
+            return;
+        }
+        final OutgoingPublishEvent publishEvent = (OutgoingPublishEvent) event;
+        if (publishEvent.writeNanoTime == 0) { // a resend does not reset the queue duration
+            final long nanoTime = System.nanoTime();
+            publishEvent.queueDuration = nanoTime - publishEvent.enqueueNanoTime;
+            publishEvent.writeNanoTime = nanoTime;
+        }
+    }
+
+    public static void endOutgoingPublish(final @Nullable Object event, final @Nullable Throwable error) {
+        if (event == null) {
+            return;
+        }
+        final OutgoingPublishEvent publishEvent = (OutgoingPublishEvent) event;
+        publishEvent.end();
+        if (publishEvent.shouldCommit()) {
+            if (publishEvent.writeNanoTime != 0) {
+                publishEvent.ackDuration = System.nanoTime() - publishEvent.writeNanoTime;
+            }
+            if (error != null) {
+                publishEvent.error = error.toString();
+            }
+            publishEvent.commit();
+        }
+    }
+
+    public static @Nullable Object beginDecode() {
+        if (!DECODE.isEnabled()) {
+            return null;
+        }
+        final DecodeEvent event = new DecodeEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void endDecode(final @Nullable Object event, final int messageType, final int packetSize) {
+        if (event == null) {
+            return;
+        }
+        final DecodeEvent decodeEvent = (DecodeEvent) event;
+        decodeEvent.end();
+        if (decodeEvent.shouldCommit()) {
+            final Mqtt5MessageType type = Mqtt5MessageType.fromCode(messageType);
+            decodeEvent.messageType = (type == null) ? "UNKNOWN" : type.name();
+            decodeEvent.packetSize = packetSize;
+            decodeEvent.commit();
+        }
+    }
+
+    public static @Nullable Object beginIncomingPublish() {
+        if (!INCOMING_PUBLISH.isEnabled()) {
+            return null;
+        }
+        final IncomingPublishEvent event = new IncomingPublishEvent();
+        event.beginNanoTime = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    public static void incomingPublishMatched(final @Nullable Object event) {
+        if (event == null) {
+            return;
+        }
+        final IncomingPublishEvent publishEvent = (IncomingPublishEvent) event;
+        publishEvent.matchDuration = System.nanoTime() - publishEvent.beginNanoTime;
+    }
+
+    public static void endIncomingPublish(
+            final @Nullable Object event, final @NotNull MqttPublish publish, final boolean buffered) {
+
+        if (event == null) {
+            return;
+        }
+        final IncomingPublishEvent publishEvent = (IncomingPublishEvent) event;
+        publishEvent.end();
+        if (publishEvent.shouldCommit()) {
+            publishEvent.topic = publish.getTopic().toString();
+            publishEvent.qos = publish.getQos().getCode();
+            publishEvent.payloadSize = publish.getRawPayloadLength();
+            publishEvent.buffered = buffered;
+            publishEvent.commit();
+        }
+    }
+
+    public static @Nullable Object beginStall(final int reason) {
+        if (!STALL.isEnabled()) {
+            return null;
+        }
+        final StallEvent event = new StallEvent();
+        switch (reason) {
+            case STALL_CHANNEL_NOT_WRITABLE:
+                event.reason = "channel not writable";
+                break;
+            case STALL_SEND_MAXIMUM:
+                event.reason = "send maximum reached";
+                break;
+            case STALL_RECEIVE_MAXIMUM:
+                event.reason = "receive maximum reached";
+                break;
+        }
+        event.begin();
+        return event;
+    }
+
+    public static void endStall(final @Nullable Object event) {
+        if (event == null) {
+            return;
+        }
+        final StallEvent stallEvent = (StallEvent) event;
+        stallEvent.end();
+        if (stallEvent.shouldCommit()) {
+            stallEvent.commit();
+        }
+    }
+
+    private MqttFlightRecorder() {}
+
+    @Name("com.hivemq.client.Connect")
+    @Label("MQTT Connect")
+    @Description("Connect attempt from starting the connection until the CONNACK is received")
+    @Category({CATEGORY, "Connection"})
+    static class ConnectEvent extends Event {
+
+        @Label("Client Identifier")
+        @Nullable String clientIdentifier;
+        @Label("Server Host")
+        @Nullable String serverHost;
+        @Label("Server Port")
+        int serverPort;
+        @Label("DNS Duration")
+        @Timespan
+        long dnsDuration;
+        @Label("TCP Duration")
+        @Timespan
+        long tcpDuration;
+        @Label("Proxy Handshake Duration")
+        @Timespan
+        long proxyDuration;
+        @Label("TLS Handshake Duration")
+        @Timespan
+        long tlsDuration;
+        @Label("WebSocket Handshake Duration")
+        @Timespan
+        long webSocketDuration;
+        @Label("CONNACK Duration")
+        @Description("Duration from the end of the last transport phase until the CONNACK is received")
+        @Timespan
+        long connAckDuration;
+        @Label("Success")
+        boolean success;
+        @Label("Failure")
+        @Nullable String failure;
+
+        transient long phaseNanoTime;
+    }
+
+    @Name("com.hivemq.client.Reconnect")
+    @Label("MQTT Reconnect")
+    @Description("Reconnect scheduled after a disconnect or a failed connect attempt")
+    @Category({CATEGORY, "Connection"})
+    static class ReconnectEvent extends Event {
+
+        @Label("Client Identifier")
+        @Nullable String clientIdentifier;
+        @Label("Disconnect Source")
+        @Nullable String source;
+        @Label("Disconnect Cause")
+        @Nullable String cause;
+        @Label("Failed Attempts")
+        int attempts;
+        @Label("Delay")
+        @Timespan
+        long delay;
+    }
+
+    @Name("com.hivemq.client.OutgoingPublish")
+    @StackTrace(false)
+    @Label("MQTT Outgoing Publish")
+    @Description("Outgoing PUBLISH from enqueuing until it is acknowledged")
+    @Category({CATEGORY, "Publish"})
+    static class OutgoingPublishEvent extends Event {
+
+        @Label("Topic")
+        @Nullable String topic;
+        @Label("QoS")
+        int qos;
+        @Label("Payload Size")
+        @DataAmount
+        int payloadSize;
+        @Label("Queue Duration")
+        @Description("Duration from enqueuing until the PUBLISH is written to the channel")
+        @Timespan
+        long queueDuration;
+        @Label("Acknowledgement Duration")
+        @Description("Duration from writing the PUBLISH to the channel until it is acknowledged")
+        @Timespan
+        long ackDuration;
+        @Label("Error")
+        @Nullable String error;
+
+        transient long enqueueNanoTime;
+        transient long writeNanoTime;
+    }
+
+    @Name("com.hivemq.client.Decode")
+    @Enabled(false)
+    @StackTrace(false)
+    @Label("MQTT Decode")
+    @Description("Decoding of an incoming MQTT packet")
+    @Category({CATEGORY, "Codec"})
+    static class DecodeEvent extends Event {
+
+        @Label("Message Type")
+        @Nullable String messageType;
+        @Label("Packet Size")
+        @DataAmount
+        int packetSize;
+    }
+
+    @Name("com.hivemq.client.IncomingPublish")
+    @StackTrace(false)
+    @Label("MQTT Incoming Publish")
+    @Description("Incoming PUBLISH from matching the subscriptions until it is emitted or buffered")
+    @Category({CATEGORY, "Publish"})
+    static class IncomingPublishEvent extends Event {
+
+        @Label("Topic")
+        @Nullable String topic;
+        @Label("QoS")
+        int qos;
+        @Label("Payload Size")
+        @DataAmount
+        int payloadSize;
+        @Label("Match Duration")
+        @Timespan
+        long matchDuration;
+        @Label("Buffered")
+        @Description("Whether the PUBLISH could not be emitted to all matching flows because of missing demand")
+        boolean buffered;
+
+        transient long beginNanoTime;
+    }
+
+    @Name("com.hivemq.client.FlowControlStall")
+    @Label("MQTT Flow Control Stall")
+    @Description("Duration in which messages could not be sent or received because of flow control")
+    @Category({CATEGORY, "Flow Control"})
+    static class StallEvent extends Event {
+
+        @Label("Reason")
+        @Nullable String reason;
+    }
+}
@@ -16,11 +16,21 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.mqtt.MqttBufferAllocatorMetric;
+import com.hivemq.client.mqtt.MqttBufferAllocatorType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * @author Silvio Giebl
  */
@@ -30,8 +40,146 @@ class MqttClientExecutorConfigImplTest {
     void equals() {
         EqualsVerifier.forClass(MqttClientExecutorConfigImpl.class)
                 .withIgnoredAnnotations(NotNull.class) // EqualsVerifier thinks @NotNull Optional is @NotNull
-                .withNonnullFields("applicationScheduler")
+                .withNonnullFields("bufferAllocatorType", "applicationScheduler")
                 .suppress(Warning.STRICT_INHERITANCE)
                 .verify();
     }
-}
\ No newline at end of file
+
+    @Test
+    void bufferAllocatorType_default() {
+        final MqttClientExecutorConfigImpl executorConfig = new MqttClientExecutorConfigImplBuilder.Default().build();
+        assertEquals(MqttBufferAllocatorType.DEFAULT, executorConfig.getBufferAllocatorType());
+        assertNull(executorConfig.getRawNettyAllocator());
+    }
+
+    @Test
+    void bufferAllocatorType_extend() {
+        final MqttClientExecutorConfigImpl executorConfig = new MqttClientExecutorConfigImplBuilder.Default()
+                .bufferAllocatorType(MqttBufferAllocatorType.UNPOOLED_HEAP)
+                .build();
+        assertEquals(MqttBufferAllocatorType.UNPOOLED_HEAP, executorConfig.extend().build().getBufferAllocatorType());
+    }
+
+    @Test
+    void bufferAllocatorType_null_throws() {
+        final MqttClientExecutorConfigImplBuilder.Default builder = new MqttClientExecutorConfigImplBuilder.Default();
+        assertThrows(NullPointerException.class, () -> builder.bufferAllocatorType(null));
+    }
+
+    @Test
+    void bufferAllocatorType_pooled_isSharedByClients() {
+        final MqttClientExecutorConfigImpl executorConfig1 = new MqttClientExecutorConfigImplBuilder.Default()
+                .bufferAllocatorType(MqttBufferAllocatorType.POOLED_HEAP)
+                .build();
+        final MqttClientExecutorConfigImpl executorConfig2 = new MqttClientExecutorConfigImplBuilder.Default()
+                .bufferAllocatorType(MqttBufferAllocatorType.POOLED_HEAP)
+                .build();
+        final ByteBufAllocator allocator = executorConfig1.getRawNettyAllocator();
+        assertTrue(allocator instanceof PooledByteBufAllocator);
+        assertNotSame(PooledByteBufAllocator.DEFAULT, allocator);
+        assertSame(allocator, executorConfig2.getRawNettyAllocator());
+        assertFalse(((PooledByteBufAllocator) allocator).isDirectBufferPooled());
+    }
+
+    @Test
+    void bufferAllocatorType_pooledDirect() {
+        final ByteBufAllocator allocator = new MqttClientExecutorConfigImplBuilder.Default()
+                .bufferAllocatorType(MqttBufferAllocatorType.POOLED_DIRECT)
+                .build()
+                .getRawNettyAllocator();
+        assertTrue(allocator instanceof PooledByteBufAllocator);
+        assertNotSame(PooledByteBufAllocator.DEFAULT, allocator);
+    }
+
+    @Test
+    void bufferAllocatorArenas_default() {
+        final MqttClientExecutorConfigImpl executorConfig = new MqttClientExecutorConfigImplBuilder.Default()
+                .bufferAllocatorType(MqttBufferAllocatorType.POOLED_HEAP)
+                .build();
+        assertFalse(executorConfig.getBufferAllocatorArenas().isPresent());
+    }
+
+    @Test
+    void bufferAllocatorArenas_pooled_isSharedByClientsWithSameArenas() {
+        final MqttClientExecutorConfigImpl executorConfig1 = new MqttClientExecutorConfigImplBuilder.Default()
+                .bufferAllocatorType(MqttBufferAllocatorType.POOLED_DIRECT)
+                .bufferAllocatorArenas(2)
+                .build();
+        final MqttClientExecutorConfigImpl executorConfig2 = new MqttClientExecutorConfigImplBuilder.Default()
+                .bufferAllocatorType(MqttBufferAllocatorType.POOLED_DIRECT)
+                .bufferAllocatorArenas(2)
+                .build();
+        assertEquals(OptionalInt.of(2), executorConfig1.getBufferAllocatorArenas());
+        assertEquals(OptionalInt.of(2), executorConfig1.extend().build().getBufferAllocatorArenas());
+        final ByteBufAllocator allocator = executorConfig1.getRawNettyAllocator();
+        assertTrue(allocator instanceof PooledByteBufAllocator);
+        assertEquals(2, ((PooledByteBufAllocator) allocator).metric().numDirectArenas());
+        assertEquals(2, ((PooledByteBufAllocator) allocator).metric().numHeapArenas());
+        assertSame(allocator, executorConfig2.getRawNettyAllocator());
+        assertNotSame(allocator, new MqttClientExecutorConfigImplBuilder.Default()
+                .bufferAllocatorType(MqttBufferAllocatorType.POOLED_HEAP)
+                .bufferAllocatorArenas(2)
+                .build()
+                .getRawNettyAllocator());
+    }
+
+    @Test
+    void bufferAllocatorArenas_zero_throws() {
+        final MqttClientExecutorConfigImplBuilder.Default builder = new MqttClientExecutorConfigImplBuilder.Default();
+        assertThrows(IllegalArgumentException.class, () -> builder.bufferAllocatorArenas(0));
+    }
+
+    @Test
+    void bufferAllocatorMetric_usedMemory() {
+        final MqttClientExecutorConfigImpl executorConfig = new MqttClientExecutorConfigImplBuilder.Default()
+                .bufferAllocatorType(MqttBufferAllocatorType.UNPOOLED_HEAP)
+                .build();
+        final MqttBufferAllocatorMetric metric =
+                executorConfig.getBufferAllocatorMetric().orElseThrow(AssertionError::new);
+        final ByteBufAllocator allocator = executorConfig.getRawNettyAllocator();
+        assertNotNull(allocator);
+        final long usedHeapMemory = metric.getUsedHeapMemory();
+        final ByteBuf buffer = allocator.heapBuffer(1024, 1024);
+        try {
+            assertEquals(usedHeapMemory + 1024, metric.getUsedHeapMemory());
+        } finally {
+            buffer.release();
+        }
+        assertEquals(usedHeapMemory, metric.getUsedHeapMemory());
+    }
+
+    @Test
+    void bufferAllocatorMetric_default() {
+        assertTrue(new MqttClientExecutorConfigImplBuilder.Default().build().getBufferAllocatorMetric().isPresent());
+    }
+
+    @Test
+    void bufferAllocatorType_unpooledHeap() {
+        final ByteBufAllocator allocator = new MqttClientExecutorConfigImplBuilder.Default()
+                .bufferAllocatorType(MqttBufferAllocatorType.UNPOOLED_HEAP)
+                .build()
+                .getRawNettyAllocator();
+        assertTrue(allocator instanceof UnpooledByteBufAllocator);
+        final ByteBuf buffer = allocator.buffer();
+        try {
+            assertFalse(buffer.isDirect());
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    void bufferAllocatorType_unpooledDirect() {
+        final ByteBufAllocator allocator = new MqttClientExecutorConfigImplBuilder.Default()
+                .bufferAllocatorType(MqttBufferAllocatorType.UNPOOLED_DIRECT)
+                .build()
+                .getRawNettyAllocator();
+        assertTrue(allocator instanceof UnpooledByteBufAllocator);
+        final ByteBuf buffer = allocator.directBuffer();
+        try {
+            assertTrue(buffer.isDirect());
+        } finally {
+            buffer.release();
+        }
+    }
+}
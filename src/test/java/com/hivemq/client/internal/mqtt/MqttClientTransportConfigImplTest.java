@@ -16,6 +16,7 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.mqtt.MqttTransportType;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 import org.jetbrains.annotations.NotNull;
@@ -23,7 +24,12 @@ import org.junit.jupiter.api.Test;
 
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.TrustManagerFactory;
+import java.net.InetSocketAddress;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @author Silvio Giebl
@@ -40,9 +46,108 @@ class MqttClientTransportConfigImplTest {
         EqualsVerifier.forClass(MqttClientTransportConfigImpl.class)
                 .suppress(Warning.STRICT_INHERITANCE)
                 .withIgnoredAnnotations(NotNull.class) // EqualsVerifier thinks @NotNull Optional is @NotNull
-                .withNonnullFields("serverAddress")
+                .withNonnullFields("serverAddress", "transportType", "failoverServerAddresses")
                 .withPrefabValues(KeyManagerFactory.class, kmf1, kmf2)
                 .withPrefabValues(TrustManagerFactory.class, tmf1, tmf2)
                 .verify();
     }
-}
\ No newline at end of file
+
+    @Test
+    void failover_rotatesServerAddresses() {
+        final InetSocketAddress address1 = InetSocketAddress.createUnresolved("broker1", 1883);
+        final InetSocketAddress address2 = InetSocketAddress.createUnresolved("broker2", 1883);
+        final InetSocketAddress address3 = InetSocketAddress.createUnresolved("broker3", 1883);
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default()
+                .serverAddress(address1)
+                .addFailoverServerAddress(address2)
+                .addFailoverServerAddress(address3)
+                .failoverWarmStandby(true)
+                .build();
+
+        final MqttClientTransportConfigImpl failover1 = transportConfig.failover();
+        assertEquals(address2, failover1.getServerAddress());
+        assertEquals(Arrays.asList(address3, address1), failover1.getFailoverServerAddresses());
+        assertTrue(failover1.isFailoverWarmStandby());
+
+        final MqttClientTransportConfigImpl failover2 = failover1.failover();
+        assertEquals(address3, failover2.getServerAddress());
+        assertEquals(Arrays.asList(address1, address2), failover2.getFailoverServerAddresses());
+
+        assertEquals(transportConfig, failover2.failover());
+    }
+
+    @Test
+    void failover_withoutFailoverServerAddresses_returnsSame() {
+        final MqttClientTransportConfigImpl transportConfig =
+                new MqttClientTransportConfigImplBuilder.Default().build();
+        assertSame(transportConfig, transportConfig.failover());
+    }
+
+    @Test
+    void transportType_local_withServerPath() {
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default()
+                .transportType(MqttTransportType.LOCAL)
+                .serverPath("local")
+                .build();
+        assertEquals(MqttTransportType.LOCAL, transportConfig.getTransportType());
+        assertEquals(Optional.of("local"), transportConfig.getServerPath());
+    }
+
+    @Test
+    void transportType_tcp_ignoresServerPath() {
+        final MqttClientTransportConfigImpl transportConfig =
+                new MqttClientTransportConfigImplBuilder.Default().serverPath("local").build();
+        assertEquals(Optional.empty(), transportConfig.getServerPath());
+    }
+
+    @Test
+    void transportType_local_withoutServerPath_throws() {
+        final MqttClientTransportConfigImplBuilder.Default builder =
+                new MqttClientTransportConfigImplBuilder.Default().transportType(MqttTransportType.LOCAL);
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    void transportType_local_withProxy_throws() {
+        final MqttClientTransportConfigImplBuilder.Default builder = new MqttClientTransportConfigImplBuilder.Default()
+                .transportType(MqttTransportType.LOCAL)
+                .serverPath("local")
+                .proxyConfig()
+                .host("proxy")
+                .applyProxyConfig();
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    void transportType_local_withLocalAddress_throws() {
+        final MqttClientTransportConfigImplBuilder.Default builder = new MqttClientTransportConfigImplBuilder.Default()
+                .transportType(MqttTransportType.LOCAL)
+                .serverPath("local")
+                .localAddress(new InetSocketAddress(0));
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    void transportType_local_withFailoverServerAddress_throws() {
+        final MqttClientTransportConfigImplBuilder.Default builder = new MqttClientTransportConfigImplBuilder.Default()
+                .transportType(MqttTransportType.LOCAL)
+                .serverPath("local")
+                .addFailoverServerAddress(InetSocketAddress.createUnresolved("broker", 1883));
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    void transportType_local_withAsyncDnsResolution_throws() {
+        final MqttClientTransportConfigImplBuilder.Default builder = new MqttClientTransportConfigImplBuilder.Default()
+                .transportType(MqttTransportType.LOCAL)
+                .serverPath("local")
+                .asyncDnsResolution(true);
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    void serverPath_empty_throws() {
+        final MqttClientTransportConfigImplBuilder.Default builder = new MqttClientTransportConfigImplBuilder.Default();
+        assertThrows(IllegalArgumentException.class, () -> builder.serverPath(""));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.compression;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MqttDeflatePayloadCompressorTest {
+
+    private static byte @NotNull [] compressible(final int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) ("{\"speed\":" + (i % 10) + '}').charAt(i % 11);
+        }
+        return bytes;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 100, 4_096, 16_384, 200_000})
+    void compress_decompress(final int length) throws DataFormatException {
+        final byte[] payload = compressible(length);
+        final ByteBuffer compressed = MqttDeflatePayloadCompressor.DEFAULT.compress(ByteBuffer.wrap(payload));
+        final ByteBuffer decompressed = MqttDeflatePayloadCompressor.DEFAULT.decompress(compressed, length);
+        assertEquals(ByteBuffer.wrap(payload), decompressed);
+        if (length >= 4_096) {
+            assertTrue(compressed.remaining() < length / 4);
+        }
+    }
+
+    @Test
+    void compress_decompress_incompressible() throws DataFormatException {
+        final byte[] payload = new byte[100_000];
+        new Random(0).nextBytes(payload);
+        final ByteBuffer compressed = MqttDeflatePayloadCompressor.DEFAULT.compress(ByteBuffer.wrap(payload));
+        assertEquals(ByteBuffer.wrap(payload),
+                MqttDeflatePayloadCompressor.DEFAULT.decompress(compressed, payload.length));
+    }
+
+    @Test
+    void compress_decompress_directAndReadOnly() throws DataFormatException {
+        final byte[] payload = compressible(10_000);
+        final ByteBuffer direct = ByteBuffer.allocateDirect(payload.length);
+        direct.put(payload).flip();
+        final ByteBuffer compressed = MqttDeflatePayloadCompressor.DEFAULT.compress(direct);
+        assertEquals(0, direct.position());
+        final ByteBuffer decompressed =
+                MqttDeflatePayloadCompressor.DEFAULT.decompress(compressed.asReadOnlyBuffer(), payload.length);
+        assertEquals(ByteBuffer.wrap(payload), decompressed);
+    }
+
+    @Test
+    void compress_slice() throws DataFormatException {
+        final byte[] payload = compressible(10_000);
+        final ByteBuffer slice = ByteBuffer.wrap(payload, 100, 5_000).slice();
+        final ByteBuffer compressed = new MqttDeflatePayloadCompressor(9).compress(slice);
+        assertEquals(ByteBuffer.wrap(payload, 100, 5_000),
+                MqttDeflatePayloadCompressor.DEFAULT.decompress(compressed, 5_000));
+    }
+
+    @Test
+    void decompress_exceedsMaximumLength_throws() {
+        final ByteBuffer compressed = MqttDeflatePayloadCompressor.DEFAULT.compress(ByteBuffer.wrap(new byte[10_000]));
+        assertThrows(DataFormatException.class,
+                () -> MqttDeflatePayloadCompressor.DEFAULT.decompress(compressed, 9_999));
+    }
+
+    @Test
+    void decompress_corrupt_throws() {
+        assertThrows(DataFormatException.class,
+                () -> MqttDeflatePayloadCompressor.DEFAULT.decompress(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}), 100));
+    }
+
+    @Test
+    void decompress_truncated_throws() {
+        final ByteBuffer compressed =
+                MqttDeflatePayloadCompressor.DEFAULT.compress(ByteBuffer.wrap(compressible(1_000)));
+        compressed.limit(compressed.limit() / 2);
+        assertThrows(DataFormatException.class,
+                () -> MqttDeflatePayloadCompressor.DEFAULT.decompress(compressed, 1_000));
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.compression;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.util.collections.ImmutableIntList;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MqttPayloadCompressionTest {
+
+    private final @NotNull MqttPayloadCompression compression =
+            new MqttPayloadCompression(MqttDeflatePayloadCompressor.DEFAULT, 1_024);
+
+    private static byte @NotNull [] payload(final int length) {
+        final byte[] payload = new byte[length];
+        Arrays.fill(payload, (byte) 'a');
+        return payload;
+    }
+
+    private static @NotNull MqttStatefulPublish stateful(final @NotNull MqttPublish publish) {
+        return publish.createStateful(1, false, 0, ImmutableIntList.of());
+    }
+
+    @Test
+    void compress() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic")
+                .qos(MqttQos.AT_LEAST_ONCE)
+                .payload(payload(4_096))
+                .build();
+        final MqttPublish compressed = compression.compress(publish);
+
+        assertNotSame(publish, compressed);
+        assertTrue(compressed.getRawPayloadLength() < 4_096);
+        assertEquals(MqttUtf8StringImpl.of(MqttDeflatePayloadCompressor.CONTENT_TYPE), compressed.getRawContentType());
+        assertEquals(publish.getTopic(), compressed.getTopic());
+        assertEquals(publish.getQos(), compressed.getQos());
+        assertEquals(4_096, publish.getRawPayloadLength());
+    }
+
+    @Test
+    void compress_belowThreshold_unchanged() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").payload(payload(1_023)).build();
+        assertSame(publish, compression.compress(publish));
+    }
+
+    @Test
+    void compress_noPayload_unchanged() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").build();
+        assertSame(publish, new MqttPayloadCompression(MqttDeflatePayloadCompressor.DEFAULT, 0).compress(publish));
+    }
+
+    @Test
+    void compress_contentType_unchanged() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic")
+                .payload(payload(4_096))
+                .contentType("application/json")
+                .build();
+        assertSame(publish, compression.compress(publish));
+    }
+
+    @Test
+    void compress_payloadFormatIndicator_unchanged() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic")
+                .payload(payload(4_096))
+                .payloadFormatIndicator(Mqtt5PayloadFormatIndicator.UTF_8)
+                .build();
+        assertSame(publish, compression.compress(publish));
+    }
+
+    @Test
+    void compress_notSmaller_unchanged() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").payload(payload(4_096)).build();
+        final MqttPayloadCompression compression = new MqttPayloadCompression(new MqttDeflatePayloadCompressor(0) {
+            @Override
+            public @NotNull ByteBuffer compress(final @NotNull ByteBuffer payload) {
+                return ByteBuffer.allocate(payload.remaining());
+            }
+        }, 0);
+        assertSame(publish, compression.compress(publish));
+    }
+
+    @Test
+    void decompress() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic")
+                .qos(MqttQos.EXACTLY_ONCE)
+                .payload(payload(4_096))
+                .build();
+        final MqttStatefulPublish compressed = stateful(compression.compress(publish));
+        final MqttStatefulPublish decompressed = compression.decompress(compressed, 100_000);
+
+        assertEquals(publish, decompressed.stateless());
+        assertEquals(compressed.getPacketIdentifier(), decompressed.getPacketIdentifier());
+        assertEquals(compressed.isDup(), decompressed.isDup());
+    }
+
+    @Test
+    void decompress_otherContentType_unchanged() {
+        final MqttStatefulPublish publish = stateful(new MqttPublishBuilder.Default().topic("topic")
+                .payload(payload(4_096))
+                .contentType("application/json")
+                .build());
+        assertSame(publish, compression.decompress(publish, 100_000));
+    }
+
+    @Test
+    void decompress_corrupt_unchanged() {
+        final MqttStatefulPublish publish = stateful(new MqttPublishBuilder.Default().topic("topic")
+                .payload(payload(100))
+                .contentType(MqttDeflatePayloadCompressor.CONTENT_TYPE)
+                .build());
+        assertSame(publish, compression.decompress(publish, 100_000));
+    }
+
+    @Test
+    void decompress_exceedsMaximumLength_unchanged() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").payload(payload(4_096)).build();
+        final MqttStatefulPublish compressed = stateful(compression.compress(publish));
+        assertSame(compressed, compression.decompress(compressed, 4_095));
+    }
+}
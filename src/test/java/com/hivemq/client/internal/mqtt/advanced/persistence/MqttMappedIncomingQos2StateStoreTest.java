@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.persistence;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MqttMappedIncomingQos2StateStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void create_fileHasFixedSize() throws IOException {
+        final Path file = tempDir.resolve("qos2");
+        new MqttMappedIncomingQos2StateStore(file);
+
+        assertEquals(MqttMappedIncomingQos2StateStore.SIZE, Files.size(file));
+    }
+
+    @Test
+    void addAndRemove() throws IOException {
+        final MqttMappedIncomingQos2StateStore store = new MqttMappedIncomingQos2StateStore(tempDir.resolve("qos2"));
+        assertEquals(Arrays.asList(), load(store));
+
+        store.add(1);
+        store.add(63);
+        store.add(64);
+        store.add(65_535);
+        store.add(64);
+        assertEquals(Arrays.asList(1, 63, 64, 65_535), load(store));
+
+        store.remove(63);
+        store.remove(2);
+        assertEquals(Arrays.asList(1, 64, 65_535), load(store));
+    }
+
+    @Test
+    void clear() throws IOException {
+        final MqttMappedIncomingQos2StateStore store = new MqttMappedIncomingQos2StateStore(tempDir.resolve("qos2"));
+        store.add(1);
+        store.add(1_000);
+
+        store.clear();
+        assertEquals(Arrays.asList(), load(store));
+    }
+
+    @Test
+    void reopen_keepsPacketIdentifiers() throws IOException {
+        final Path file = tempDir.resolve("qos2");
+        final MqttMappedIncomingQos2StateStore store = new MqttMappedIncomingQos2StateStore(file);
+        store.add(5);
+        store.add(4_096);
+        store.sync();
+
+        assertEquals(Arrays.asList(5, 4_096), load(new MqttMappedIncomingQos2StateStore(file)));
+    }
+
+    private static @NotNull List<Integer> load(final @NotNull MqttMappedIncomingQos2StateStore store) {
+        final List<Integer> packetIdentifiers = new ArrayList<>();
+        store.load(packetIdentifiers::add);
+        return packetIdentifiers;
+    }
+}
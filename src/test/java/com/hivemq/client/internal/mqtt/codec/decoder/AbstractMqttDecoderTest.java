@@ -102,12 +102,14 @@ public abstract class AbstractMqttDecoderTest {
     }
 
     protected void createChannel() {
-        createChannel(false);
+        createChannel(false, false);
     }
 
-    private void createChannel(final boolean validatePayloadFormat) {
-        final MqttClientAdvancedConfig advancedConfig =
-                new MqttClientAdvancedConfigBuilder.Default().validatePayloadFormat(validatePayloadFormat).build();
+    private void createChannel(final boolean validatePayloadFormat, final boolean lazyPublishProperties) {
+        final MqttClientAdvancedConfig advancedConfig = new MqttClientAdvancedConfigBuilder.Default()
+                .validatePayloadFormat(validatePayloadFormat)
+                .lazyPublishProperties(lazyPublishProperties)
+                .build();
         final MqttClientConfig clientConfig =
                 new MqttClientConfig(MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("test"),
                         MqttClientTransportConfigImpl.DEFAULT, MqttClientExecutorConfigImpl.DEFAULT, advancedConfig,
@@ -118,7 +120,11 @@ public abstract class AbstractMqttDecoderTest {
     }
 
     protected void validatePayloadFormat() {
-        createChannel(true);
+        createChannel(true, false);
+    }
+
+    protected void lazyPublishProperties() {
+        createChannel(false, true);
     }
 
     public static @NotNull MqttPingRespDecoder createPingRespDecoder() {
@@ -1209,6 +1209,132 @@ class Mqtt5PublishDecoderTest extends AbstractMqtt5DecoderTest {
         decodeNok(encoded, PROTOCOL_ERROR);
     }
 
+    @Test
+    void decode_lazyProperties_equalToEager() {
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                53,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                43,
+                //     message expiry interval
+                0x02, 0, 0, 0, 10,
+                //     response topic
+                0x08, 0, 8, 'r', 'e', 's', 'p', 'o', 'n', 's', 'e',
+                //     correlation data
+                0x09, 0, 3, 1, 2, 3,
+                //     user properties
+                0x26, 0, 1, 'a', 0, 1, 'b',
+                0x26, 0, 1, 'a', 0, 1, 'c',
+                //     content type
+                0x03, 0, 4, 't', 'e', 'x', 't',
+                // payload
+                1, 2
+        };
+        final MqttPublish eager = decode(encoded);
+        lazyPublishProperties();
+        final MqttPublish lazy = decode(encoded);
+
+        assertEquals(10, lazy.getMessageExpiryInterval().getAsLong());
+        final ImmutableList<MqttUserPropertyImpl> userProperties = lazy.getUserProperties().asList();
+        assertEquals(2, userProperties.size());
+        assertEquals("b", userProperties.get(0).getValue().toString());
+        assertEquals("c", userProperties.get(1).getValue().toString());
+        assertEquals("text", lazy.getContentType().get().toString());
+        assertEquals("response", lazy.getResponseTopic().get().toString());
+        assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3}), lazy.getCorrelationData().get());
+
+        assertEquals(eager, lazy);
+        assertEquals(eager.hashCode(), lazy.hashCode());
+    }
+
+    @Test
+    void decode_lazyContentTypeWithNullCharacter_returnsNull() {
+        lazyPublishProperties();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                14,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                6,
+                //     content type
+                0x03, 0, 3, 'a', 0, 'b'
+        };
+        decodeNok(encoded, MALFORMED_PACKET);
+    }
+
+    @Test
+    void decode_lazyContentTypeMoreThanOnce_returnsNull() {
+        lazyPublishProperties();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                16,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                8,
+                //     content type
+                0x03, 0, 1, 'a',
+                //     content type
+                0x03, 0, 1, 'a'
+        };
+        decodeNok(encoded, PROTOCOL_ERROR);
+    }
+
+    @Test
+    void decode_lazyResponseTopicWithWildcard_returnsNull() {
+        lazyPublishProperties();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                14,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                6,
+                //     response topic
+                0x08, 0, 3, 'a', '/', '#'
+        };
+        decodeNok(encoded, TOPIC_NAME_INVALID);
+    }
+
+    @Test
+    void decode_lazyInvalidUserProperty_returnsNull() {
+        lazyPublishProperties();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                11,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                3,
+                //     user properties
+                0x26, 0, 4
+        };
+        decodeNok(encoded, MALFORMED_PACKET);
+    }
+
     @NotNull
     private MqttPublish decode(final @NotNull byte[] encoded) {
         return decodeInternal(encoded).stateless();
@@ -19,6 +19,7 @@ package com.hivemq.client.internal.mqtt.codec.encoder;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
 import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.embedded.EmbeddedChannel;
@@ -67,7 +68,8 @@ public abstract class AbstractMqttEncoderTest {
         encoder.onConnected(
                 new MqttClientConnectionConfig(MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false,
                         null, 10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10,
-                        maximumPacketSize, 3, MqttQos.EXACTLY_ONCE, true, true, true, true, channel));
+                        maximumPacketSize, 3, ImmutableList.of(), MqttQos.EXACTLY_ONCE, true, true, true, true,
+                        channel));
     }
 
     protected void encode(final @NotNull Object message, final @NotNull byte[] expected) {
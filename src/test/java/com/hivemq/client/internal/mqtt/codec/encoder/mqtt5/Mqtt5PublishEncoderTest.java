@@ -27,6 +27,7 @@ import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.exceptions.MqttEncodeException;
 import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadWriter;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.jetbrains.annotations.NotNull;
@@ -692,6 +693,62 @@ class Mqtt5PublishEncoderTest extends AbstractMqtt5EncoderWithUserPropertiesTest
         expected.release();
     }
 
+    @Test
+    void encode_payloadWriter() {
+        final byte[] expected = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                15,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                2,
+                //     payload format indicator
+                0x01, 0,
+                // payload
+                1, 2, 3, 4, 5
+        };
+
+        final MqttPublish publish =
+                new MqttPublish(MqttTopicImpl.of("topic"), null, payloadWriter(5, new byte[]{1, 2, 3, 4, 5}),
+                        MqttQos.AT_MOST_ONCE, false, MqttPublish.NO_MESSAGE_EXPIRY,
+                        Mqtt5PayloadFormatIndicator.UNSPECIFIED, null, null, null, NO_USER_PROPERTIES, null, null);
+
+        encode(expected, publish, -1, false, DEFAULT_NO_TOPIC_ALIAS, true, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+    }
+
+    @Test
+    void encode_payloadWriterWrongLength_throws() {
+        final MqttPublish publish =
+                new MqttPublish(MqttTopicImpl.of("topic"), null, payloadWriter(5, new byte[]{1, 2, 3}),
+                        MqttQos.AT_MOST_ONCE, false, MqttPublish.NO_MESSAGE_EXPIRY, null, null, null, null,
+                        NO_USER_PROPERTIES, null, null);
+
+        final MqttStatefulPublish publishInternal =
+                publish.createStateful(-1, false, DEFAULT_NO_TOPIC_ALIAS, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+
+        final Throwable exception =
+                assertThrows(IllegalStateException.class, () -> channel.writeOutbound(publishInternal));
+        assertTrue(exception.getMessage().contains("must write exactly 5 bytes, but wrote 3 bytes"));
+    }
+
+    private static @NotNull Mqtt5PayloadWriter payloadWriter(final int length, final byte @NotNull [] bytes) {
+        return new Mqtt5PayloadWriter() {
+            @Override
+            public int getLength() {
+                return length;
+            }
+
+            @Override
+            public void write(final @NotNull ByteBuffer buffer) {
+                buffer.put(bytes);
+            }
+        };
+    }
+
     private void encode(
             final @NotNull byte[] expected,
             final @NotNull MqttPublish publish,
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5BlockingClient;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5Client;
+import com.hivemq.client.testfixtures.MqttStandInBroker;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MqttFailoverStandbyTest {
+
+    @Test
+    void standby_isPromotedWithoutReconnectDelay() throws Exception {
+        try (final MqttStandInBroker brokerA = MqttStandInBroker.builder().start();
+             final MqttStandInBroker brokerB = MqttStandInBroker.builder().start()) {
+
+            final Mqtt5BlockingClient client = Mqtt5Client.builder()
+                    .serverPort(brokerA.getPort())
+                    .transportConfig()
+                    .addFailoverServerAddress(address(brokerB))
+                    .failoverWarmStandby(true)
+                    .applyTransportConfig()
+                    .automaticReconnect()
+                    .initialDelay(1, TimeUnit.MINUTES)
+                    .applyAutomaticReconnect()
+                    .buildBlocking();
+            final MqttClientConfig clientConfig = (MqttClientConfig) client.getConfig();
+            client.connect();
+            await(() -> isStandbyReady(clientConfig));
+            assertEquals(0, brokerB.getConnectionCount());
+
+            brokerA.close();
+            // the configured reconnect delay of one minute only applies if no standby connection is ready
+            await(() -> (brokerB.getConnectionCount() == 1) && (clientConfig.getState() == MqttClientState.CONNECTED));
+
+            client.disconnect();
+        }
+    }
+
+    @Test
+    void standby_releasesEventLoopOnDisconnect() throws Exception {
+        try (final MqttStandInBroker brokerA = MqttStandInBroker.builder().start();
+             final MqttStandInBroker brokerB = MqttStandInBroker.builder().start()) {
+
+            final Mqtt5BlockingClient client = Mqtt5Client.builder()
+                    .serverPort(brokerA.getPort())
+                    .transportConfig()
+                    .addFailoverServerAddress(address(brokerB))
+                    .failoverWarmStandby(true)
+                    .applyTransportConfig()
+                    .buildBlocking();
+            final MqttClientConfig clientConfig = (MqttClientConfig) client.getConfig();
+            client.connect();
+            await(() -> isStandbyReady(clientConfig));
+
+            client.disconnect();
+            await(() -> !clientConfig.executeInEventLoop(() -> {}));
+        }
+    }
+
+    @Test
+    void standby_isReopenedAfterDelay() throws Exception {
+        try (final MqttStandInBroker brokerA = MqttStandInBroker.builder().start()) {
+            MqttStandInBroker brokerB = MqttStandInBroker.builder().start();
+            final int portB = brokerB.getPort();
+            try {
+                final Mqtt5BlockingClient client = Mqtt5Client.builder()
+                        .serverPort(brokerA.getPort())
+                        .transportConfig()
+                        .addFailoverServerAddress(address(brokerB))
+                        .failoverWarmStandby(true)
+                        .applyTransportConfig()
+                        .buildBlocking();
+                final MqttClientConfig clientConfig = (MqttClientConfig) client.getConfig();
+                client.connect();
+                await(() -> isStandbyReady(clientConfig));
+
+                brokerB.close();
+                await(() -> !isStandbyReady(clientConfig));
+                final long closed = System.nanoTime();
+                brokerB = MqttStandInBroker.builder().port(portB).start();
+
+                await(() -> isStandbyReady(clientConfig), MqttFailoverStandby.REOPEN_DELAY_S + 10);
+                final long reopenDelay = TimeUnit.SECONDS.toNanos(MqttFailoverStandby.REOPEN_DELAY_S - 1);
+                assertTrue(System.nanoTime() - closed >= reopenDelay);
+
+                client.disconnect();
+                await(() -> !clientConfig.executeInEventLoop(() -> {}));
+            } finally {
+                brokerB.close();
+            }
+        }
+    }
+
+    @Test
+    void standby_isTakenIfReconnectIsCompletedOffEventLoop() throws Exception {
+        try (final MqttStandInBroker brokerA = MqttStandInBroker.builder().start();
+             final MqttStandInBroker brokerB = MqttStandInBroker.builder().start()) {
+
+            final CompletableFuture<Void> reconnectFuture = new CompletableFuture<>();
+            final Mqtt5BlockingClient client = Mqtt5Client.builder()
+                    .serverPort(brokerA.getPort())
+                    .transportConfig()
+                    .addFailoverServerAddress(address(brokerB))
+                    .failoverWarmStandby(true)
+                    .applyTransportConfig()
+                    .addDisconnectedListener(context -> context.getReconnector().reconnectWhen(reconnectFuture, null))
+                    .buildBlocking();
+            final MqttClientConfig clientConfig = (MqttClientConfig) client.getConfig();
+            client.connect();
+            await(() -> isStandbyReady(clientConfig));
+
+            brokerA.close();
+            await(() -> clientConfig.getState() == MqttClientState.DISCONNECTED_RECONNECT);
+            reconnectFuture.complete(null); // completed by the test thread and not by the event loop
+            await(() -> (brokerB.getConnectionCount() == 1) && (clientConfig.getState() == MqttClientState.CONNECTED));
+
+            client.disconnect();
+            await(() -> !clientConfig.executeInEventLoop(() -> {}));
+        }
+    }
+
+    private static @NotNull InetSocketAddress address(final @NotNull MqttStandInBroker broker) {
+        return (InetSocketAddress) broker.getAddress();
+    }
+
+    private static boolean isStandbyReady(final @NotNull MqttClientConfig clientConfig) {
+        final CompletableFuture<Boolean> ready = new CompletableFuture<>();
+        // the standby is only accessed on the event loop
+        if (!clientConfig.executeInEventLoop(() -> ready.complete(
+                MqttFailoverStandby.isReady(clientConfig, clientConfig.getCurrentTransportConfig().failover())))) {
+            return false;
+        }
+        return ready.join();
+    }
+
+    private static void await(final @NotNull BooleanSupplier condition) throws InterruptedException {
+        await(condition, 10);
+    }
+
+    private static void await(final @NotNull BooleanSupplier condition, final long timeoutS)
+            throws InterruptedException {
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutS);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.connect;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.mqtt.MqttClientTransportConfig;
+import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.MqttTransportType;
+import com.hivemq.client.mqtt.exceptions.ConnectionFailedException;
+import com.hivemq.client.mqtt.lifecycle.MqttDisconnectSource;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5BlockingClient;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5Client;
+import com.hivemq.client.testfixtures.MqttStandInBroker;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MqttConnAckSingleTest {
+
+    @Test
+    void reconnect_fromLocalToTcp_switchesEventLoop() throws Exception {
+        try (final MqttStandInBroker localBroker = MqttStandInBroker.builder().localAddress("switch-local").start();
+             final MqttStandInBroker tcpBroker = MqttStandInBroker.builder().start()) {
+
+            final MqttClientTransportConfig tcpTransportConfig =
+                    MqttClientTransportConfig.builder().serverPort(tcpBroker.getPort()).build();
+            final Mqtt5BlockingClient client = Mqtt5Client.builder()
+                    .transportConfig()
+                    .transportType(MqttTransportType.LOCAL)
+                    .serverPath("switch-local")
+                    .applyTransportConfig()
+                    .addDisconnectedListener(context -> {
+                        if (context.getSource() != MqttDisconnectSource.USER) {
+                            context.getReconnector().reconnect(true).transportConfig(tcpTransportConfig);
+                        }
+                    })
+                    .buildBlocking();
+            final MqttClientConfig clientConfig = (MqttClientConfig) client.getConfig();
+            client.connect();
+
+            localBroker.close();
+            await(() -> (tcpBroker.getConnectionCount() == 1) &&
+                    (clientConfig.getState() == MqttClientState.CONNECTED));
+            assertEquals(MqttTransportType.AUTO, clientConfig.getCurrentTransportConfig().getTransportType());
+            client.publishWith().topic("test").send();
+
+            client.disconnect();
+            await(() -> !clientConfig.executeInEventLoop(() -> {}));
+        }
+    }
+
+    @Test
+    void reconnect_fromTcpToLocal_switchesEventLoop() throws Exception {
+        try (final MqttStandInBroker tcpBroker = MqttStandInBroker.builder().start();
+             final MqttStandInBroker localBroker = MqttStandInBroker.builder().localAddress("switch-local").start()) {
+
+            final MqttClientTransportConfig localTransportConfig = MqttClientTransportConfig.builder()
+                    .transportType(MqttTransportType.LOCAL)
+                    .serverPath("switch-local")
+                    .build();
+            final Mqtt5BlockingClient client = Mqtt5Client.builder()
+                    .serverPort(tcpBroker.getPort())
+                    .addDisconnectedListener(context -> {
+                        if (context.getSource() != MqttDisconnectSource.USER) {
+                            context.getReconnector().reconnect(true).transportConfig(localTransportConfig);
+                        }
+                    })
+                    .buildBlocking();
+            final MqttClientConfig clientConfig = (MqttClientConfig) client.getConfig();
+            client.connect();
+
+            tcpBroker.close();
+            await(() -> (localBroker.getConnectionCount() == 1) &&
+                    (clientConfig.getState() == MqttClientState.CONNECTED));
+            assertEquals(MqttTransportType.LOCAL, clientConfig.getCurrentTransportConfig().getTransportType());
+            client.publishWith().topic("test").send();
+
+            client.disconnect();
+            await(() -> !clientConfig.executeInEventLoop(() -> {}));
+        }
+    }
+
+    @Test
+    void reconnect_switchingTransportTypeWhileFlowsAreActive_fails() throws Exception {
+        try (final MqttStandInBroker tcpBroker = MqttStandInBroker.builder().start();
+             final MqttStandInBroker localBroker = MqttStandInBroker.builder().localAddress("switch-local").start()) {
+
+            final MqttClientTransportConfig localTransportConfig = MqttClientTransportConfig.builder()
+                    .transportType(MqttTransportType.LOCAL)
+                    .serverPath("switch-local")
+                    .build();
+            final AtomicBoolean reconnected = new AtomicBoolean();
+            final Queue<Throwable> causes = new ConcurrentLinkedQueue<>();
+            final Mqtt5BlockingClient client = Mqtt5Client.builder()
+                    .serverPort(tcpBroker.getPort())
+                    .addDisconnectedListener(context -> {
+                        causes.add(context.getCause());
+                        if (!reconnected.getAndSet(true)) {
+                            context.getReconnector().reconnect(true).transportConfig(localTransportConfig);
+                        }
+                    })
+                    .buildBlocking();
+            final MqttClientConfig clientConfig = (MqttClientConfig) client.getConfig();
+            client.connect();
+
+            try (final Mqtt5BlockingClient.Mqtt5Publishes ignored = client.publishes(MqttGlobalPublishFilter.ALL)) {
+                tcpBroker.close();
+                await(() -> (causes.size() == 2) && (clientConfig.getState() == MqttClientState.DISCONNECTED));
+                assertEquals(0, localBroker.getConnectionCount());
+                causes.poll();
+                final Throwable cause = causes.poll();
+                assertTrue(cause instanceof ConnectionFailedException);
+                assertEquals("Transport type can not be changed while other flows use the event loop.",
+                        cause.getMessage());
+            }
+            await(() -> !clientConfig.executeInEventLoop(() -> {}));
+        }
+    }
+
+    private static void await(final @NotNull BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.disconnect;
+
+import com.hivemq.client.mqtt.mqtt5.Mqtt5BlockingClient;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5Client;
+import com.hivemq.client.testfixtures.MqttStandInBroker;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MqttDisconnectHandlerTest {
+
+    /**
+     * MQTT 5 CONNACK: no session present, reason code success, no properties.
+     */
+    private static final byte @NotNull [] CONNACK = {0x20, 0x03, 0x00, 0x00, 0x00};
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void disconnect_serverDoesNotClose_closedAfterDisconnectTimeout(final boolean sharedTimer) throws Exception {
+        try (final ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final CountDownLatch closedByClient = new CountDownLatch(1);
+            final Thread serverThread = new Thread(() -> {
+                try (final Socket socket = server.accept()) {
+                    final InputStream in = socket.getInputStream();
+                    skipPacket(in);
+                    final OutputStream out = socket.getOutputStream();
+                    out.write(CONNACK);
+                    out.flush();
+                    // read until the client shuts down its output, but never close the connection from this side
+                    //noinspection StatementWithEmptyBody
+                    while (in.read() != -1) {}
+                    closedByClient.await(30, TimeUnit.SECONDS);
+                } catch (final IOException | InterruptedException ignored) {
+                }
+            });
+            serverThread.start();
+
+            final Mqtt5BlockingClient client = Mqtt5Client.builder()
+                    .serverAddress(new InetSocketAddress(server.getInetAddress(), server.getLocalPort()))
+                    .advancedConfig()
+                    .useSharedTimer(sharedTimer)
+                    .applyAdvancedConfig()
+                    .buildBlocking();
+            client.connect();
+
+            final long start = System.nanoTime();
+            client.disconnect();
+            final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            closedByClient.countDown();
+            serverThread.join(TimeUnit.SECONDS.toMillis(10));
+
+            assertTrue(elapsedMs >= 9_000, "closed after " + elapsedMs + " ms, before the disconnect timeout");
+            assertTrue(elapsedMs < 20_000, "closed after " + elapsedMs + " ms, disconnect timeout did not fire");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void disconnect_serverCloses_disconnectTimeoutIsCancelled(final boolean sharedTimer) throws Exception {
+        try (final MqttStandInBroker broker = MqttStandInBroker.builder().start()) {
+            final Mqtt5BlockingClient client = Mqtt5Client.builder()
+                    .serverPort(broker.getPort())
+                    .advancedConfig()
+                    .useSharedTimer(sharedTimer)
+                    .applyAdvancedConfig()
+                    .buildBlocking();
+            client.connect();
+
+            final long start = System.nanoTime();
+            client.disconnect();
+            final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertTrue(elapsedMs < 5_000, "closed after " + elapsedMs + " ms, waited for the disconnect timeout");
+        }
+    }
+
+    private static void skipPacket(final @NotNull InputStream in) throws IOException {
+        final DataInputStream dataIn = new DataInputStream(in);
+        dataIn.readUnsignedByte();
+        int remainingLength = 0;
+        int multiplier = 1;
+        int encodedByte;
+        do {
+            encodedByte = dataIn.readUnsignedByte();
+            remainingLength += (encodedByte & 0x7F) * multiplier;
+            multiplier <<= 7;
+        } while ((encodedByte & 0x80) != 0);
+        dataIn.readFully(new byte[remainingLength]);
+    }
+}
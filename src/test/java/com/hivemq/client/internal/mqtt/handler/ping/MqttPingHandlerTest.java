@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.ping;
+
+import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectEvent;
+import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
+import com.hivemq.client.internal.mqtt.message.ping.MqttPingReq;
+import com.hivemq.client.internal.mqtt.message.ping.MqttPingResp;
+import com.hivemq.client.internal.netty.MqttTimer;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the ping handler on a local channel to a stand-in server that counts PINGREQ messages.
+ */
+class MqttPingHandlerTest {
+
+    private static final int KEEP_ALIVE = 1;
+
+    private final @NotNull DefaultEventLoopGroup eventLoopGroup = new DefaultEventLoopGroup(1);
+    private final @NotNull AtomicInteger pingReqs = new AtomicInteger();
+    private final @NotNull CompletableFuture<MqttDisconnectEvent> disconnectEvent = new CompletableFuture<>();
+    private volatile boolean respond = true;
+    private @Nullable Channel server;
+    private @Nullable Channel channel;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (channel != null) {
+            channel.close().await(10, TimeUnit.SECONDS);
+        }
+        if (server != null) {
+            server.close().await(10, TimeUnit.SECONDS);
+        }
+        eventLoopGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).await(10, TimeUnit.SECONDS);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void pingReq_sentEveryKeepAlive(final boolean sharedTimer) throws Exception {
+        final Channel channel = connect(sharedTimer);
+
+        await(() -> pingReqs.get() >= 2);
+        assertFalse(disconnectEvent.isDone());
+        assertTrue(channel.isActive());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void pingResp_notReceived_closes(final boolean sharedTimer) throws Exception {
+        respond = false;
+        connect(sharedTimer);
+
+        final MqttDisconnectEvent event = disconnectEvent.get(10, TimeUnit.SECONDS);
+        assertEquals("Timeout while waiting for PINGRESP", event.getCause().getMessage());
+        assertEquals(1, pingReqs.get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void disconnectEvent_cancelsTimeout(final boolean sharedTimer) throws Exception {
+        final Channel channel = connect(sharedTimer);
+        channel.eventLoop().submit(() -> MqttDisconnectUtil.close(channel, "test")).get(10, TimeUnit.SECONDS);
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(KEEP_ALIVE) * 2);
+        assertEquals(0, pingReqs.get());
+    }
+
+    private @NotNull Channel connect(final boolean sharedTimer) throws Exception {
+        final LocalAddress address = new LocalAddress("ping-" + System.nanoTime());
+        server = new ServerBootstrap().group(eventLoopGroup)
+                .channel(LocalServerChannel.class)
+                .childHandler(new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public void channelRead(final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg) {
+                        if (msg instanceof MqttPingReq) {
+                            pingReqs.incrementAndGet();
+                            if (respond) {
+                                ctx.writeAndFlush(MqttPingResp.INSTANCE);
+                            }
+                        }
+                    }
+                })
+                .bind(address)
+                .sync()
+                .channel();
+        final Channel channel = new Bootstrap().group(eventLoopGroup)
+                .channel(LocalChannel.class)
+                .handler(new ChannelInboundHandlerAdapter())
+                .connect(address)
+                .sync()
+                .channel();
+        this.channel = channel;
+        channel.eventLoop().submit(() -> {
+            final long nanoTime = System.nanoTime();
+            channel.pipeline()
+                    .addLast(new MqttPingHandler(KEEP_ALIVE, MqttTimer.of(sharedTimer), nanoTime, nanoTime))
+                    .addLast(new ChannelInboundHandlerAdapter() {
+                        @Override
+                        public void userEventTriggered(
+                                final @NotNull ChannelHandlerContext ctx, final @NotNull Object evt) {
+
+                            if (evt instanceof MqttDisconnectEvent) {
+                                disconnectEvent.complete((MqttDisconnectEvent) evt);
+                            }
+                        }
+                    });
+        }).get(10, TimeUnit.SECONDS);
+        return channel;
+    }
+
+    private static void await(final @NotNull BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImplBuilder;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribeBuilder;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.MqttVersion;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs a {@link MqttIncomingQosHandler} in an {@link EmbeddedChannel} with publish flows that use a real event loop.
+ * All interactions with the handler are executed on this event loop.
+ */
+abstract class AbstractMqttIncomingQosHandlerTest {
+
+    static final int RECEIVE_MAXIMUM = 10;
+
+    private final @NotNull DefaultEventLoopGroup eventLoopGroup = new DefaultEventLoopGroup(1);
+    @SuppressWarnings("NullabilityAnnotations")
+    MqttClientConfig clientConfig;
+    @SuppressWarnings("NullabilityAnnotations")
+    MqttIncomingPublishFlows incomingPublishFlows;
+    @SuppressWarnings("NullabilityAnnotations")
+    MqttIncomingQosHandler incomingQosHandler;
+    @SuppressWarnings("NullabilityAnnotations")
+    EmbeddedChannel channel;
+    private int nextSubscriptionIdentifier = 1;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (channel != null) {
+            inEventLoop(channel::close);
+        }
+        eventLoopGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).await(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates the handler and starts a session.
+     *
+     * @param advancedConfig the advanced config of the client.
+     * @param handlers       handlers that are added to the pipeline before the handler.
+     */
+    void createHandler(
+            final @NotNull MqttClientAdvancedConfig advancedConfig, final @NotNull ChannelHandler... handlers)
+            throws Exception {
+
+        createHandler(advancedConfig, false, handlers);
+    }
+
+    /**
+     * Creates the handler and starts a session.
+     *
+     * @param advancedConfig the advanced config of the client.
+     * @param sessionPresent whether the server has a session for the client.
+     * @param handlers       handlers that are added to the pipeline before the handler.
+     */
+    void createHandler(
+            final @NotNull MqttClientAdvancedConfig advancedConfig,
+            final boolean sessionPresent,
+            final @NotNull ChannelHandler... handlers) throws Exception {
+
+        final MqttClientExecutorConfigImpl executorConfig =
+                new MqttClientExecutorConfigImplBuilder.Default().nettyExecutor(eventLoopGroup).build();
+        clientConfig = new MqttClientConfig(MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("test"),
+                MqttClientTransportConfigImpl.DEFAULT, executorConfig, advancedConfig,
+                MqttClientConfig.ConnectDefaults.of(null, null, null), ImmutableList.of(), ImmutableList.of());
+        incomingPublishFlows = new MqttIncomingPublishFlows();
+        incomingQosHandler = new MqttIncomingQosHandler(clientConfig, incomingPublishFlows);
+        inEventLoop(() -> {
+            channel = new EmbeddedChannel(handlers);
+            channel.pipeline().addLast(incomingQosHandler);
+        });
+        startSession(sessionPresent);
+    }
+
+    void startSession(final boolean sessionPresent) throws Exception {
+        final MqttClientConnectionConfig connectionConfig = mock(MqttClientConnectionConfig.class);
+        when(connectionConfig.getReceiveMaximum()).thenReturn(RECEIVE_MAXIMUM);
+        inEventLoop(() -> {
+            incomingQosHandler.loadQos2State(sessionPresent);
+            incomingQosHandler.onSessionStartOrResume(connectionConfig, eventLoopGroup.next());
+        });
+    }
+
+    void inEventLoop(final @NotNull Runnable runnable) throws Exception {
+        eventLoopGroup.submit(runnable).get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Runs the given runnable on the calling thread while the event loop is blocked, so tasks that the runnable submits
+     * to the event loop are only executed after it returned.
+     */
+    void whileEventLoopBlocked(final @NotNull Runnable runnable) throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Future<Boolean> blocked = eventLoopGroup.submit(() -> release.await(10, TimeUnit.SECONDS));
+        try {
+            runnable.run();
+        } finally {
+            release.countDown();
+        }
+        blocked.get(10, TimeUnit.SECONDS);
+        inEventLoop(() -> {});
+    }
+
+    @NotNull TestSubscriber<Mqtt5Publish> subscribeGlobal(final boolean manualAcknowledgement) throws Exception {
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        final MqttGlobalIncomingPublishFlow flow = new MqttGlobalIncomingPublishFlow(subscriber, clientConfig,
+                incomingQosHandler, MqttGlobalPublishFilter.ALL, manualAcknowledgement);
+        subscriber.onSubscribe(flow);
+        inEventLoop(() -> {
+            if (flow.init()) {
+                incomingPublishFlows.subscribeGlobal(flow);
+            }
+        });
+        return subscriber;
+    }
+
+    @NotNull TestSubscriber<Mqtt5Publish> subscribe(
+            final @NotNull String topicFilter, final boolean manualAcknowledgement, final boolean conflate)
+            throws Exception {
+
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        final MqttSubscribedPublishFlow flow = new MqttSubscribedPublishFlow(subscriber, clientConfig,
+                incomingQosHandler, manualAcknowledgement, conflate);
+        final MqttSubscribe subscribe =
+                new MqttSubscribeBuilder.Default().topicFilter(topicFilter).qos(MqttQos.EXACTLY_ONCE).build();
+        final int subscriptionIdentifier = nextSubscriptionIdentifier++;
+        subscriber.onSubscribe(flow);
+        inEventLoop(() -> {
+            if (flow.init()) {
+                incomingPublishFlows.subscribe(subscribe, subscriptionIdentifier, flow);
+            }
+        });
+        return subscriber;
+    }
+
+    void request(final @NotNull TestSubscriber<?> subscriber, final long n) throws Exception {
+        subscriber.request(n);
+        inEventLoop(() -> {}); // the drain triggered by the request runs before this task
+    }
+
+    void receive(final @NotNull Object message) throws Exception {
+        inEventLoop(() -> channel.writeInbound(message));
+    }
+
+    <T> T readOutbound() throws Exception {
+        final Object[] message = new Object[1];
+        inEventLoop(() -> message[0] = channel.readOutbound());
+        //noinspection unchecked
+        return (T) message[0];
+    }
+
+    static @NotNull MqttStatefulPublish publish(
+            final @NotNull String topic,
+            final @NotNull MqttQos qos,
+            final int packetIdentifier,
+            final boolean dup,
+            final @NotNull String payload) {
+
+        return new MqttPublishBuilder.Default().topic(topic)
+                .qos(qos)
+                .payload(payload.getBytes(StandardCharsets.UTF_8))
+                .build()
+                .createStateful(packetIdentifier, dup, MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS,
+                        MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+    }
+
+    static @NotNull MqttStatefulPublish qos0Publish(final @NotNull String topic, final @NotNull String payload) {
+        return publish(topic, MqttQos.AT_MOST_ONCE, MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0, false, payload);
+    }
+
+    static @NotNull List<String> payloads(final @NotNull TestSubscriber<Mqtt5Publish> subscriber) {
+        return subscriber.values()
+                .stream()
+                .map(publish -> new String(publish.getPayloadAsBytes(), StandardCharsets.UTF_8))
+                .collect(Collectors.toList());
+    }
+}
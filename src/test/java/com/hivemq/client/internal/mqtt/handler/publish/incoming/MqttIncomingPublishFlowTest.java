@@ -0,0 +1,191 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests individual and cumulative manual acknowledgement of incoming publishes.
+ */
+class MqttIncomingPublishFlowTest extends AbstractMqttIncomingQosHandlerTest {
+
+    @Test
+    void acknowledgeCumulatively_acknowledgesAllPrecedingPublishes() throws Exception {
+        final List<Mqtt5Publish> publishes = receiveQos1Publishes(4);
+
+        publishes.get(2).acknowledgeCumulatively();
+        inEventLoop(() -> {});
+        assertPubAcks(1, 2, 3);
+
+        publishes.get(3).acknowledge();
+        inEventLoop(() -> {});
+        assertPubAcks(4);
+    }
+
+    @Test
+    void acknowledgeCumulatively_mixedWithIndividualAcknowledgement() throws Exception {
+        final List<Mqtt5Publish> publishes = receiveQos1Publishes(5);
+
+        // PUBACKs are sent in order, so the individually acknowledged publish waits for the first one
+        publishes.get(1).acknowledge();
+        inEventLoop(() -> {});
+        assertPubAcks();
+
+        // the cumulative acknowledgement does not count the individually acknowledged publish again
+        publishes.get(3).acknowledgeCumulatively();
+        inEventLoop(() -> {});
+        assertPubAcks(1, 2, 3, 4);
+
+        publishes.get(4).acknowledge();
+        inEventLoop(() -> {});
+        assertPubAcks(5);
+    }
+
+    @Test
+    void acknowledgeCumulatively_outOfOrder_laterFirst() throws Exception {
+        final List<Mqtt5Publish> publishes = receiveQos1Publishes(4);
+
+        // both acknowledgements are accepted before the event loop processes the first one
+        whileEventLoopBlocked(() -> {
+            publishes.get(3).acknowledgeCumulatively();
+            publishes.get(1).acknowledgeCumulatively();
+        });
+        assertPubAcks(1, 2, 3, 4);
+    }
+
+    @Test
+    void acknowledgeCumulatively_outOfOrder_earlierFirst() throws Exception {
+        final List<Mqtt5Publish> publishes = receiveQos1Publishes(4);
+
+        whileEventLoopBlocked(() -> {
+            publishes.get(1).acknowledgeCumulatively();
+            publishes.get(3).acknowledgeCumulatively();
+        });
+        assertPubAcks(1, 2, 3, 4);
+    }
+
+    @Test
+    void acknowledgeCumulatively_qos0_acknowledgesPrecedingQos1And2Publishes() throws Exception {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().build());
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribeGlobal(true);
+        receive(publish("t", MqttQos.AT_LEAST_ONCE, 1, false, "1"));
+        receive(publish("t", MqttQos.EXACTLY_ONCE, 2, false, "2"));
+        receive(qos0Publish("t", "3"));
+        request(subscriber, 10);
+        final List<Mqtt5Publish> publishes = subscriber.values();
+        assertEquals(3, publishes.size());
+        assertEquals(MqttQos.AT_MOST_ONCE, publishes.get(2).getQos());
+        assertNull(readOutbound());
+
+        publishes.get(2).acknowledgeCumulatively();
+        inEventLoop(() -> {});
+        assertEquals(1, this.<MqttPubAck>readOutbound().getPacketIdentifier());
+        assertEquals(2, this.<MqttPubRec>readOutbound().getPacketIdentifier());
+        assertNull(readOutbound());
+        assertThrows(IllegalStateException.class, () -> publishes.get(2).acknowledge());
+    }
+
+    @Test
+    void acknowledge_afterCoveredByCumulativeAcknowledgement_throws() throws Exception {
+        final List<Mqtt5Publish> publishes = receiveQos1Publishes(3);
+
+        publishes.get(2).acknowledgeCumulatively();
+        inEventLoop(() -> {});
+        assertPubAcks(1, 2, 3);
+
+        assertThrows(IllegalStateException.class, () -> publishes.get(0).acknowledge());
+        assertThrows(IllegalStateException.class, () -> publishes.get(1).acknowledgeCumulatively());
+        assertThrows(IllegalStateException.class, () -> publishes.get(2).acknowledge());
+        inEventLoop(() -> {});
+        assertNull(readOutbound());
+    }
+
+    @Test
+    void addUnconfirmed_individuallyConfirmedBehindUnconfirmedHead_areRemoved() throws Exception {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().build());
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        final MqttGlobalIncomingPublishFlow flow = new MqttGlobalIncomingPublishFlow(subscriber, clientConfig,
+                incomingQosHandler, MqttGlobalPublishFilter.ALL, true);
+        subscriber.onSubscribe(flow);
+        inEventLoop(flow::init);
+
+        final List<MqttIncomingPublishConfirmable> confirmables = new ArrayList<>();
+        inEventLoop(() -> {
+            for (int i = 1; i <= 32; i++) {
+                confirmables.add(addUnconfirmed(flow, i));
+            }
+        });
+        // all but the first publish are confirmed individually, so the head of the queue stays unconfirmed
+        for (int i = 1; i < confirmables.size(); i++) {
+            assertTrue(confirmables.get(i).confirm());
+        }
+        inEventLoop(() -> {
+            assertEquals(32, flow.getUnconfirmedSize());
+            addUnconfirmed(flow, 33);
+            assertEquals(2, flow.getUnconfirmedSize());
+        });
+
+        assertTrue(confirmables.get(0).confirmCumulative());
+        inEventLoop(() -> assertEquals(1, flow.getUnconfirmedSize()));
+    }
+
+    private static @NotNull MqttIncomingPublishConfirmable addUnconfirmed(
+            final @NotNull MqttIncomingPublishFlow flow, final int packetIdentifier) {
+
+        final MqttStatefulPublishWithFlows publishWithFlows = new MqttStatefulPublishWithFlows(
+                publish("t", MqttQos.AT_LEAST_ONCE, packetIdentifier, false, Integer.toString(packetIdentifier)));
+        publishWithFlows.add(flow);
+        final MqttIncomingPublishConfirmable confirmable =
+                new MqttIncomingPublishConfirmable(flow, publishWithFlows, flow.nextConfirmableIndex());
+        flow.addUnconfirmed(confirmable);
+        return confirmable;
+    }
+
+    private @NotNull List<Mqtt5Publish> receiveQos1Publishes(final int count) throws Exception {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().build());
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribeGlobal(true);
+        for (int i = 1; i <= count; i++) {
+            receive(publish("t", MqttQos.AT_LEAST_ONCE, i, false, Integer.toString(i)));
+        }
+        request(subscriber, count);
+        assertEquals(count, subscriber.values().size());
+        assertNull(readOutbound());
+        return subscriber.values();
+    }
+
+    private void assertPubAcks(final int... packetIdentifiers) throws Exception {
+        for (final int packetIdentifier : packetIdentifiers) {
+            final MqttPubAck pubAck = readOutbound();
+            assertNotNull(pubAck);
+            assertEquals(packetIdentifier, pubAck.getPacketIdentifier());
+        }
+        assertNull(readOutbound());
+    }
+}
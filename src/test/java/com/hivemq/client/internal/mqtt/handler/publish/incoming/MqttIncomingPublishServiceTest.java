@@ -0,0 +1,229 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingQos0OverflowStrategy;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MqttIncomingPublishServiceTest extends AbstractMqttIncomingQosHandlerTest {
+
+    private void createHandler(final int qos0BufferSize, final @NotNull Mqtt5IncomingQos0OverflowStrategy strategy)
+            throws Exception {
+
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().incomingQos0BufferSize(qos0BufferSize)
+                .incomingQos0OverflowStrategy(strategy)
+                .build());
+    }
+
+    @Test
+    void qos0Overflow_dropOldest() throws Exception {
+        createHandler(2, Mqtt5IncomingQos0OverflowStrategy.DROP_OLDEST);
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribeGlobal(false);
+
+        receive(qos0Publish("a", "1"));
+        receive(qos0Publish("a", "2"));
+        receive(qos0Publish("a", "3"));
+        request(subscriber, 10);
+
+        assertEquals(Arrays.asList("2", "3"), payloads(subscriber));
+    }
+
+    @Test
+    void qos0Overflow_dropNewest() throws Exception {
+        createHandler(2, Mqtt5IncomingQos0OverflowStrategy.DROP_NEWEST);
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribeGlobal(false);
+
+        receive(qos0Publish("a", "1"));
+        receive(qos0Publish("a", "2"));
+        receive(qos0Publish("a", "3"));
+        request(subscriber, 10);
+
+        assertEquals(Arrays.asList("1", "2"), payloads(subscriber));
+    }
+
+    @Test
+    void qos0Overflow_dropNewest_conflatingFlow_supersededPublishIsKept() throws Exception {
+        createHandler(2, Mqtt5IncomingQos0OverflowStrategy.DROP_NEWEST);
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("t/#", false, true);
+
+        receive(qos0Publish("t/a", "1"));
+        receive(qos0Publish("t/b", "2"));
+        // dropped because the buffer is full, so it must not supersede the queued publish with the same topic
+        receive(qos0Publish("t/a", "3"));
+        request(subscriber, 10);
+
+        assertEquals(Arrays.asList("1", "2"), payloads(subscriber));
+    }
+
+    @Test
+    void qos0Overflow_notFull_nothingDropped() throws Exception {
+        createHandler(3, Mqtt5IncomingQos0OverflowStrategy.DROP_NEWEST);
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribeGlobal(false);
+
+        receive(qos0Publish("a", "1"));
+        request(subscriber, 1);
+        receive(qos0Publish("a", "2"));
+        receive(qos0Publish("a", "3"));
+        receive(qos0Publish("a", "4"));
+        request(subscriber, 10);
+
+        assertEquals(Arrays.asList("1", "2", "3", "4"), payloads(subscriber));
+    }
+
+    @Test
+    void qos0Overflow_conflate_replacesPublishWithSameTopicInPlace() throws Exception {
+        createHandler(2, Mqtt5IncomingQos0OverflowStrategy.CONFLATE);
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribeGlobal(false);
+
+        receive(qos0Publish("a", "1"));
+        receive(qos0Publish("b", "2"));
+        receive(qos0Publish("a", "3"));
+        receive(qos0Publish("b", "4"));
+        request(subscriber, 10);
+
+        assertEquals(Arrays.asList("3", "4"), payloads(subscriber));
+        assertEquals("a", subscriber.values().get(0).getTopic().toString());
+        assertEquals("b", subscriber.values().get(1).getTopic().toString());
+    }
+
+    @Test
+    void qos0Overflow_conflate_noPublishWithSameTopic_dropsOldest() throws Exception {
+        createHandler(2, Mqtt5IncomingQos0OverflowStrategy.CONFLATE);
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribeGlobal(false);
+
+        receive(qos0Publish("a", "1"));
+        receive(qos0Publish("b", "2"));
+        receive(qos0Publish("c", "3"));
+        request(subscriber, 10);
+
+        assertEquals(Arrays.asList("2", "3"), payloads(subscriber));
+    }
+
+    @Test
+    void qos0Overflow_conflate_doesNotConflateIntoDeliveredPublish() throws Exception {
+        createHandler(1, Mqtt5IncomingQos0OverflowStrategy.CONFLATE);
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribeGlobal(false);
+
+        receive(qos0Publish("a", "1"));
+        request(subscriber, 1);
+        assertEquals(Collections.singletonList("1"), payloads(subscriber));
+
+        receive(qos0Publish("b", "2"));
+        // the delivered publish with topic a is not buffered anymore, so the oldest publish is dropped
+        receive(qos0Publish("a", "3"));
+        request(subscriber, 10);
+
+        assertEquals(Arrays.asList("1", "3"), payloads(subscriber));
+    }
+
+    @Test
+    void qos0Overflow_conflate_multipleFlows() throws Exception {
+        createHandler(1, Mqtt5IncomingQos0OverflowStrategy.CONFLATE);
+        final TestSubscriber<Mqtt5Publish> fastSubscriber = subscribeGlobal(false);
+        final TestSubscriber<Mqtt5Publish> slowSubscriber = subscribeGlobal(false);
+        request(fastSubscriber, Long.MAX_VALUE);
+
+        receive(qos0Publish("a", "1"));
+        receive(qos0Publish("a", "2"));
+        request(slowSubscriber, 10);
+
+        assertEquals(Arrays.asList("1", "2"), payloads(fastSubscriber));
+        assertEquals(Collections.singletonList("2"), payloads(slowSubscriber));
+        fastSubscriber.assertNotComplete();
+        slowSubscriber.assertNotComplete();
+    }
+
+    @Test
+    void conflate_dropsUndeliveredPublishWithSameTopic() throws Exception {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().build());
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("t/#", false, true);
+
+        receive(publish("t/a", MqttQos.AT_LEAST_ONCE, 1, false, "1"));
+        receive(publish("t/b", MqttQos.AT_LEAST_ONCE, 2, false, "2"));
+        receive(publish("t/a", MqttQos.AT_LEAST_ONCE, 3, false, "3"));
+        // the superseded publish is acknowledged without being emitted
+        assertEquals(1, this.<MqttPubAck>readOutbound().getPacketIdentifier());
+        assertNull(readOutbound());
+
+        request(subscriber, 10);
+        // the newer publish is emitted in the order of arrival and not at the position of the superseded publish
+        assertEquals(Arrays.asList("2", "3"), payloads(subscriber));
+        assertEquals(2, this.<MqttPubAck>readOutbound().getPacketIdentifier());
+        assertEquals(3, this.<MqttPubAck>readOutbound().getPacketIdentifier());
+        assertNull(readOutbound());
+    }
+
+    @Test
+    void conflate_onlyAffectsConflatingFlow() throws Exception {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().build());
+        final TestSubscriber<Mqtt5Publish> conflatingSubscriber = subscribe("t/#", false, true);
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("t/+", false, false);
+
+        receive(qos0Publish("t/a", "1"));
+        receive(qos0Publish("t/a", "2"));
+        request(conflatingSubscriber, 10);
+        request(subscriber, 10);
+
+        assertEquals(Collections.singletonList("2"), payloads(conflatingSubscriber));
+        assertEquals(Arrays.asList("1", "2"), payloads(subscriber));
+    }
+
+    @Test
+    void conflate_deliveredPublishIsNotSuperseded() throws Exception {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().build());
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("t/#", false, true);
+
+        receive(publish("t/a", MqttQos.EXACTLY_ONCE, 1, false, "1"));
+        request(subscriber, 1);
+        receive(publish("t/a", MqttQos.EXACTLY_ONCE, 2, false, "2"));
+        request(subscriber, 1);
+
+        assertEquals(Arrays.asList("1", "2"), payloads(subscriber));
+    }
+
+    @Test
+    void conflate_manualAcknowledgement_supersededPublishIsAcknowledged() throws Exception {
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().build());
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("t/#", true, true);
+
+        receive(publish("t/a", MqttQos.AT_LEAST_ONCE, 1, false, "1"));
+        receive(publish("t/a", MqttQos.AT_LEAST_ONCE, 2, false, "2"));
+        // the superseded publish does not wait for an acknowledgement by the application
+        assertEquals(1, this.<MqttPubAck>readOutbound().getPacketIdentifier());
+
+        request(subscriber, 10);
+        assertEquals(Collections.singletonList("2"), payloads(subscriber));
+        assertNull(readOutbound());
+
+        subscriber.values().get(0).acknowledge();
+        inEventLoop(() -> {});
+        assertEquals(2, this.<MqttPubAck>readOutbound().getPacketIdentifier());
+        assertNull(readOutbound());
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.message.publish.pubcomp.MqttPubComp;
+import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
+import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.advanced.persistence.Mqtt5IncomingQos2StateStore;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the handling of the incoming QoS 2 state store by the {@link MqttIncomingQosHandler}.
+ */
+class MqttIncomingQosHandlerTest extends AbstractMqttIncomingQosHandlerTest {
+
+    private final @NotNull List<String> log = new ArrayList<>();
+    private final @NotNull RecordingQos2StateStore store = new RecordingQos2StateStore();
+
+    @Test
+    void sessionPresent_restoresPubRecState() throws Exception {
+        store.packetIdentifiers.add(5);
+        createHandler(advancedConfig(), true);
+        assertEquals(Collections.singletonList("load"), log);
+
+        // the restored state is released by the PUBREL of the server
+        receive(pubRel(5));
+        assertEquals(5, this.<MqttPubComp>readOutbound().getPacketIdentifier());
+        assertNull(readOutbound());
+        assertTrue(store.packetIdentifiers.isEmpty());
+    }
+
+    @Test
+    void sessionPresent_resentDupPublish_isAcknowledgedButNotDeliveredAgain() throws Exception {
+        store.packetIdentifiers.add(5);
+        createHandler(advancedConfig(), true);
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribeGlobal(false);
+        request(subscriber, 10);
+
+        receive(publish("t", MqttQos.EXACTLY_ONCE, 5, true, "1"));
+        assertEquals(5, this.<MqttPubRec>readOutbound().getPacketIdentifier());
+        assertNull(readOutbound());
+        subscriber.assertNoValues();
+
+        receive(pubRel(5));
+        assertEquals(5, this.<MqttPubComp>readOutbound().getPacketIdentifier());
+        assertTrue(store.packetIdentifiers.isEmpty());
+    }
+
+    @Test
+    void cleanSession_clearsStore() throws Exception {
+        store.packetIdentifiers.add(5);
+        createHandler(advancedConfig(), false);
+        assertEquals(Arrays.asList("clear", "sync"), log);
+        assertTrue(store.packetIdentifiers.isEmpty());
+
+        // the packet identifier is not known anymore, so the publish is a new message
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribeGlobal(false);
+        request(subscriber, 10);
+        receive(publish("t", MqttQos.EXACTLY_ONCE, 5, false, "1"));
+        assertEquals(Collections.singletonList("1"), payloads(subscriber));
+        assertEquals(5, this.<MqttPubRec>readOutbound().getPacketIdentifier());
+        assertEquals(Collections.singleton(5), store.packetIdentifiers);
+    }
+
+    @Test
+    void sessionEnd_clearsStore() throws Exception {
+        createHandler(advancedConfig(), false);
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribeGlobal(false);
+        request(subscriber, 10);
+        receive(publish("t", MqttQos.EXACTLY_ONCE, 5, false, "1"));
+        assertEquals(Collections.singleton(5), store.packetIdentifiers);
+        log.clear();
+
+        inEventLoop(() -> incomingQosHandler.onSessionEnd(new Exception("session end")));
+        assertEquals(Arrays.asList("clear", "sync"), log);
+        assertTrue(store.packetIdentifiers.isEmpty());
+    }
+
+    @Test
+    void storeIsSyncedBeforePubRecAndPubCompAreFlushed() throws Exception {
+        createHandler(advancedConfig(), false, new FlushDeferringHandler());
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribeGlobal(false);
+        request(subscriber, 10);
+        log.clear();
+
+        // two publishes in one read are synced once (group commit)
+        inEventLoop(() -> channel.writeInbound(
+                publish("t", MqttQos.EXACTLY_ONCE, 1, false, "1"), publish("t", MqttQos.EXACTLY_ONCE, 2, false, "2")));
+        assertEquals(Arrays.asList("add 1", "add 2", "sync", "flush"), log);
+        assertEquals(1, this.<MqttPubRec>readOutbound().getPacketIdentifier());
+        assertEquals(2, this.<MqttPubRec>readOutbound().getPacketIdentifier());
+        assertNull(readOutbound());
+        log.clear();
+
+        receive(pubRel(1));
+        assertEquals(Arrays.asList("remove 1", "sync", "flush"), log);
+        assertEquals(1, this.<MqttPubComp>readOutbound().getPacketIdentifier());
+        assertNull(readOutbound());
+    }
+
+    private @NotNull MqttClientAdvancedConfig advancedConfig() {
+        return new MqttClientAdvancedConfigBuilder.Default().incomingQos2StateStore(store).build();
+    }
+
+    private static @NotNull MqttPubRel pubRel(final int packetIdentifier) {
+        return new MqttPubRel(packetIdentifier, MqttPubRel.DEFAULT_REASON_CODE, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+    }
+
+    private class RecordingQos2StateStore implements Mqtt5IncomingQos2StateStore {
+
+        final @NotNull Set<Integer> packetIdentifiers = new TreeSet<>();
+
+        @Override
+        public void load(final @NotNull IntConsumer consumer) {
+            log.add("load");
+            packetIdentifiers.forEach(consumer::accept);
+        }
+
+        @Override
+        public void add(final int packetIdentifier) {
+            log.add("add " + packetIdentifier);
+            packetIdentifiers.add(packetIdentifier);
+        }
+
+        @Override
+        public void remove(final int packetIdentifier) {
+            log.add("remove " + packetIdentifier);
+            packetIdentifiers.remove(packetIdentifier);
+        }
+
+        @Override
+        public void clear() {
+            log.add("clear");
+            packetIdentifiers.clear();
+        }
+
+        @Override
+        public void sync() {
+            log.add("sync");
+        }
+    }
+
+    /**
+     * Defers flushes during a read until the read is complete, like the encoder of the client.
+     */
+    private class FlushDeferringHandler extends ChannelDuplexHandler {
+
+        private boolean inRead;
+        private boolean pendingFlush;
+
+        @Override
+        public void channelRead(final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg) {
+            inRead = true;
+            ctx.fireChannelRead(msg);
+        }
+
+        @Override
+        public void channelReadComplete(final @NotNull ChannelHandlerContext ctx) {
+            ctx.fireChannelReadComplete();
+            inRead = false;
+            if (pendingFlush) {
+                pendingFlush = false;
+                flush(ctx);
+            }
+        }
+
+        @Override
+        public void flush(final @NotNull ChannelHandlerContext ctx) {
+            if (inRead) {
+                pendingFlush = true;
+            } else {
+                log.add("flush");
+                ctx.flush();
+            }
+        }
+    }
+}
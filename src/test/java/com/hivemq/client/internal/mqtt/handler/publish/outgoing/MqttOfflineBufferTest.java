@@ -0,0 +1,242 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.mqtt.exceptions.MqttPublishDroppedException;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5OutgoingOfflineBufferOverflowStrategy;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MqttOfflineBufferTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void poll_inOrder() {
+        final MqttOfflineBuffer buffer =
+                new MqttOfflineBuffer(100, null, 0, Mqtt5OutgoingOfflineBufferOverflowStrategy.DROP_OLDEST);
+        final MqttPublishWithFlow publish1 = publishWithFlow("a", 10);
+        final MqttPublishWithFlow publish2 = publishWithFlow("b", 20);
+        buffer.add(publish1);
+        buffer.add(publish2);
+        assertEquals(30, buffer.getMemoryBytes());
+
+        assertSame(publish1, buffer.poll());
+        assertSame(publish2, buffer.poll());
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+        assertEquals(0, buffer.getMemoryBytes());
+    }
+
+    @Test
+    void add_memoryLimitReached_spillsPayloadsAndRestoresThemInOrder() throws IOException {
+        final Path spillDirectory = tempDir.resolve("spill");
+        final MqttOfflineBuffer buffer = new MqttOfflineBuffer(15, spillDirectory, 100,
+                Mqtt5OutgoingOfflineBufferOverflowStrategy.DROP_OLDEST);
+        final MqttPublishWithFlow publish1 = publishWithFlow("a", 10);
+        final MqttPublishWithFlow publish2 = publishWithFlow("b", 10);
+        final MqttPublishWithFlow publish3 = publishWithFlow("c", 10);
+        buffer.add(publish1);
+        buffer.add(publish2);
+        buffer.add(publish3);
+        assertEquals(10, buffer.getMemoryBytes());
+        assertEquals(20, buffer.getDiskBytes());
+        assertEquals(0, publish2.getPublish().getRawPayloadLength());
+        assertEquals(0, publish3.getSendPublish().getRawPayloadLength());
+        assertEquals(1, countFiles(spillDirectory));
+
+        assertSame(publish1, buffer.poll());
+        assertSame(publish2, buffer.poll());
+        assertArrayEquals(payload("b", 10), publish2.getPublish().getPayloadAsBytes());
+        assertSame(publish3, buffer.poll());
+        assertArrayEquals(payload("c", 10), publish3.getSendPublish().getPayloadAsBytes());
+        assertTrue(buffer.isEmpty());
+        assertEquals(0, buffer.getMemoryBytes());
+        assertEquals(0, buffer.getDiskBytes());
+        assertEquals(0, countFiles(spillDirectory));
+    }
+
+    @Test
+    void add_full_dropOldest() {
+        final MqttOfflineBuffer buffer =
+                new MqttOfflineBuffer(20, null, 0, Mqtt5OutgoingOfflineBufferOverflowStrategy.DROP_OLDEST);
+        final MqttPublishWithFlow publish1 = publishWithFlow("a", 10);
+        final MqttPublishWithFlow publish2 = publishWithFlow("b", 10);
+        final MqttPublishWithFlow publish3 = publishWithFlow("c", 10);
+        buffer.add(publish1);
+        buffer.add(publish2);
+        buffer.add(publish3);
+
+        assertDropped(publish1);
+        assertSame(publish2, buffer.poll());
+        assertSame(publish3, buffer.poll());
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void add_fullWithSpilled_dropOldestWithoutReadingPayload() {
+        final MqttOfflineBuffer buffer = new MqttOfflineBuffer(10, tempDir, 10,
+                Mqtt5OutgoingOfflineBufferOverflowStrategy.DROP_OLDEST);
+        final MqttPublishWithFlow publish1 = publishWithFlow("a", 10);
+        final MqttPublishWithFlow publish2 = publishWithFlow("b", 10);
+        final MqttPublishWithFlow publish3 = publishWithFlow("c", 10);
+        final MqttPublishWithFlow publish4 = publishWithFlow("d", 10);
+        buffer.add(publish1);
+        buffer.add(publish2);
+        buffer.add(publish3);
+        buffer.add(publish4);
+
+        assertDropped(publish1);
+        assertEquals(0, assertDropped(publish2).getRawPayloadLength());
+        assertSame(publish3, buffer.poll());
+        assertSame(publish4, buffer.poll());
+        assertArrayEquals(payload("d", 10), publish4.getPublish().getPayloadAsBytes());
+        assertEquals(0, buffer.getDiskBytes());
+    }
+
+    @Test
+    void add_fullWithSeveralSpilledPerSegment_dropOldestFreesDiskBytesPerPublish() throws IOException {
+        // segments are limited to 320 / 8 = 40 bytes, so 4 spilled publishes of 10 bytes share a segment
+        final MqttOfflineBuffer buffer = new MqttOfflineBuffer(0, tempDir, 320,
+                Mqtt5OutgoingOfflineBufferOverflowStrategy.DROP_OLDEST);
+        final MqttPublishWithFlow[] publishes = new MqttPublishWithFlow[36];
+        for (int i = 0; i < 32; i++) {
+            publishes[i] = publishWithFlow("t" + i, 10);
+            buffer.add(publishes[i]);
+        }
+        assertEquals(320, buffer.getDiskBytes());
+        assertEquals(8, countFiles(tempDir));
+
+        publishes[32] = publishWithFlow("u", 10);
+        buffer.add(publishes[32]);
+        assertEquals(0, assertDropped(publishes[0]).getRawPayloadLength());
+        assertEquals(320, buffer.getDiskBytes());
+        // the first segment still contains 3 publishes
+        assertEquals(9, countFiles(tempDir));
+
+        for (int i = 33; i < 36; i++) {
+            publishes[i] = publishWithFlow("v", 10);
+            buffer.add(publishes[i]);
+            assertDropped(publishes[i - 32]);
+        }
+        assertEquals(320, buffer.getDiskBytes());
+        assertEquals(8, countFiles(tempDir));
+
+        for (int i = 4; i < 36; i++) {
+            assertSame(publishes[i], buffer.poll());
+        }
+        assertArrayEquals(payload("u", 10), publishes[32].getPublish().getPayloadAsBytes());
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.getDiskBytes());
+        assertEquals(0, countFiles(tempDir));
+    }
+
+    @Test
+    void add_full_reject() {
+        final MqttOfflineBuffer buffer =
+                new MqttOfflineBuffer(20, null, 0, Mqtt5OutgoingOfflineBufferOverflowStrategy.REJECT);
+        final MqttPublishWithFlow publish1 = publishWithFlow("a", 10);
+        final MqttPublishWithFlow publish2 = publishWithFlow("b", 10);
+        final MqttPublishWithFlow publish3 = publishWithFlow("c", 10);
+        buffer.add(publish1);
+        buffer.add(publish2);
+        buffer.add(publish3);
+
+        assertDropped(publish3);
+        assertSame(publish1, buffer.poll());
+        assertSame(publish2, buffer.poll());
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void add_exceedsLimits_rejectedWithoutDroppingOthers() {
+        final MqttOfflineBuffer buffer = new MqttOfflineBuffer(20, tempDir, 20,
+                Mqtt5OutgoingOfflineBufferOverflowStrategy.DROP_OLDEST);
+        final MqttPublishWithFlow publish1 = publishWithFlow("a", 10);
+        final MqttPublishWithFlow publish2 = publishWithFlow("b", 30);
+        buffer.add(publish1);
+        buffer.add(publish2);
+
+        assertDropped(publish2);
+        assertSame(publish1, buffer.poll());
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void clear_emitsCauseAndDeletesSegments() throws IOException {
+        final MqttOfflineBuffer buffer = new MqttOfflineBuffer(0, tempDir, 100,
+                Mqtt5OutgoingOfflineBufferOverflowStrategy.DROP_OLDEST);
+        final MqttPublishWithFlow publish1 = publishWithFlow("a", 10);
+        buffer.add(publish1);
+        assertEquals(1, countFiles(tempDir));
+
+        final Exception cause = new Exception("test");
+        buffer.clear(cause);
+
+        final MqttPublishResult result = result(publish1);
+        assertSame(cause, result.getError().orElse(null));
+        assertArrayEquals(payload("a", 10), result.getPublish().getPayloadAsBytes());
+        assertTrue(buffer.isEmpty());
+        assertEquals(0, countFiles(tempDir));
+    }
+
+    private static @NotNull MqttPublishWithFlow publishWithFlow(final @NotNull String topic, final int length) {
+        final MqttPublish publish =
+                new MqttPublishBuilder.Default().topic(topic).payload(payload(topic, length)).build();
+        return new MqttPublishWithFlow(publish, mock(MqttAckFlow.class), null);
+    }
+
+    private static byte @NotNull [] payload(final @NotNull String topic, final int length) {
+        final byte[] payload = new byte[length];
+        for (int i = 0; i < length; i++) {
+            payload[i] = (byte) (topic.charAt(0) + i);
+        }
+        return payload;
+    }
+
+    private static @NotNull MqttPublishResult result(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        final ArgumentCaptor<MqttPublishResult> captor = ArgumentCaptor.forClass(MqttPublishResult.class);
+        verify(publishWithFlow.getAckFlow()).onNext(captor.capture());
+        return captor.getValue();
+    }
+
+    private static @NotNull MqttPublish assertDropped(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        final MqttPublishResult result = result(publishWithFlow);
+        assertTrue(result.getError().orElse(null) instanceof MqttPublishDroppedException);
+        return result.getPublish();
+    }
+
+    private static long countFiles(final @NotNull Path directory) throws IOException {
+        try (final Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImplBuilder;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttVersion;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.exceptions.MqttPublishSupersededException;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5AsyncClient;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5Client;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import com.hivemq.client.testfixtures.MqttStandInBroker;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MqttOutgoingQosHandlerTest {
+
+    @Test
+    void priorityPublishes_usingUpSendMaximum_doNotStallQueuedPublishes() throws Exception {
+        try (final MqttStandInBroker broker = MqttStandInBroker.builder()
+                .receiveMaximum(2)
+                .latency(50, TimeUnit.MILLISECONDS)
+                .start()) {
+
+            final Mqtt5AsyncClient client = Mqtt5Client.builder()
+                    .serverPort(broker.getPort())
+                    .advancedConfig()
+                    .addOutgoingPriorityTopicFilter("priority/#")
+                    .outgoingPrioritySendMaximumReserve(1)
+                    .applyAdvancedConfig()
+                    .buildAsync();
+            client.connect().get(10, TimeUnit.SECONDS);
+
+            // the regular publishes are queued while the priority publishes use all slots of the send maximum
+            final List<CompletableFuture<Mqtt5PublishResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(client.publishWith().topic("regular/" + i).qos(MqttQos.AT_LEAST_ONCE).send());
+                futures.add(client.publishWith().topic("priority/" + i).qos(MqttQos.AT_LEAST_ONCE).send());
+                futures.add(client.publishWith().topic("priority/" + i).qos(MqttQos.EXACTLY_ONCE).send());
+            }
+            for (final CompletableFuture<Mqtt5PublishResult> future : futures) {
+                final Mqtt5PublishResult result = future.get(10, TimeUnit.SECONDS);
+                assertFalse(result.getError().isPresent());
+            }
+
+            client.disconnect().get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void qos0Conflation_channelNotWritable_supersedesQueuedPublishWithSameTopicInPlace() throws Exception {
+        final DefaultEventLoopGroup eventLoopGroup = new DefaultEventLoopGroup(1);
+        try {
+            final MqttClientAdvancedConfig advancedConfig =
+                    new MqttClientAdvancedConfigBuilder.Default().addOutgoingQos0ConflationTopicFilter("c/#").build();
+            final MqttClientConfig clientConfig = createClientConfig(eventLoopGroup, advancedConfig);
+            final MqttOutgoingQosHandler handler = new MqttOutgoingQosHandler(clientConfig);
+            final EmbeddedChannel channel = startSession(eventLoopGroup, handler);
+            final TestAckFlow ackFlow = new TestAckFlow(clientConfig);
+
+            inEventLoop(eventLoopGroup, () -> channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false));
+            // the publishes are dequeued together after this task, so they are conflated at once
+            inEventLoop(eventLoopGroup, () -> {
+                handler.onNext(new MqttPublishWithFlow(publish("c/a", MqttQos.AT_MOST_ONCE, "1"), ackFlow, null));
+                handler.onNext(new MqttPublishWithFlow(publish("other", MqttQos.AT_MOST_ONCE, "2"), ackFlow, null));
+                handler.onNext(new MqttPublishWithFlow(publish("c/a", MqttQos.AT_MOST_ONCE, "3"), ackFlow, null));
+                handler.onNext(new MqttPublishWithFlow(publish("c/b", MqttQos.AT_MOST_ONCE, "4"), ackFlow, null));
+                handler.onNext(new MqttPublishWithFlow(publish("c/a", MqttQos.AT_LEAST_ONCE, "5"), ackFlow, null));
+            });
+            inEventLoop(eventLoopGroup, () -> {});
+            // a publish that is queued later is conflated with the already conflated publishes
+            inEventLoop(eventLoopGroup, () -> handler.onNext(
+                    new MqttPublishWithFlow(publish("c/a", MqttQos.AT_MOST_ONCE, "6"), ackFlow, null)));
+            inEventLoop(eventLoopGroup, () -> {});
+
+            assertNull(channel.readOutbound());
+            assertEquals(Arrays.asList("1", "3"), payloads(ackFlow.results));
+            for (final MqttPublishResult result : ackFlow.results) {
+                assertTrue(result.getRawError() instanceof MqttPublishSupersededException);
+            }
+            ackFlow.results.clear();
+
+            inEventLoop(eventLoopGroup, () -> channel.unsafe().outboundBuffer().setUserDefinedWritability(1, true));
+            inEventLoop(eventLoopGroup, () -> {});
+
+            // the most recent publish with a conflated topic takes the position of the first one
+            // conflated publishes are written before the other publishes, which keep their order
+            assertEquals(Arrays.asList("6", "4", "2", "5"), payloads(readAllOutbound(channel)));
+            assertEquals(Arrays.asList("6", "4", "2"), payloads(ackFlow.results));
+            for (final MqttPublishResult result : ackFlow.results) {
+                assertNull(result.getRawError());
+            }
+        } finally {
+            eventLoopGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void qos0Conflation_channelNotWritable_otherPublishesStayQueuedInOrder() throws Exception {
+        final DefaultEventLoopGroup eventLoopGroup = new DefaultEventLoopGroup(1);
+        try {
+            final MqttClientAdvancedConfig advancedConfig =
+                    new MqttClientAdvancedConfigBuilder.Default().addOutgoingQos0ConflationTopicFilter("c/#").build();
+            final MqttClientConfig clientConfig = createClientConfig(eventLoopGroup, advancedConfig);
+            final MqttOutgoingQosHandler handler = new MqttOutgoingQosHandler(clientConfig);
+            final EmbeddedChannel channel = startSession(eventLoopGroup, handler);
+            final TestAckFlow ackFlow = new TestAckFlow(clientConfig);
+
+            inEventLoop(eventLoopGroup, () -> channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false));
+            inEventLoop(eventLoopGroup, () -> {
+                handler.onNext(new MqttPublishWithFlow(publish("other", MqttQos.AT_MOST_ONCE, "1"), ackFlow, null));
+                handler.onNext(new MqttPublishWithFlow(publish("c/a", MqttQos.AT_LEAST_ONCE, "2"), ackFlow, null));
+                handler.onNext(new MqttPublishWithFlow(publish("other", MqttQos.AT_MOST_ONCE, "3"), ackFlow, null));
+                handler.onNext(new MqttPublishWithFlow(publish("c/a", MqttQos.AT_LEAST_ONCE, "4"), ackFlow, null));
+            });
+            inEventLoop(eventLoopGroup, () -> {});
+
+            assertNull(channel.readOutbound());
+            assertTrue(ackFlow.results.isEmpty());
+
+            inEventLoop(eventLoopGroup, () -> channel.unsafe().outboundBuffer().setUserDefinedWritability(1, true));
+            inEventLoop(eventLoopGroup, () -> {});
+
+            assertEquals(Arrays.asList("1", "2", "3", "4"), payloads(readAllOutbound(channel)));
+            assertEquals(Arrays.asList("1", "3"), payloads(ackFlow.results));
+            for (final MqttPublishResult result : ackFlow.results) {
+                assertNull(result.getRawError());
+            }
+        } finally {
+            eventLoopGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void qos0Conflation_channelWritable_publishesAreNotConflated() throws Exception {
+        final DefaultEventLoopGroup eventLoopGroup = new DefaultEventLoopGroup(1);
+        try {
+            final MqttClientAdvancedConfig advancedConfig =
+                    new MqttClientAdvancedConfigBuilder.Default().addOutgoingQos0ConflationTopicFilter("c/#").build();
+            final MqttClientConfig clientConfig = createClientConfig(eventLoopGroup, advancedConfig);
+            final MqttOutgoingQosHandler handler = new MqttOutgoingQosHandler(clientConfig);
+            final EmbeddedChannel channel = startSession(eventLoopGroup, handler);
+            final TestAckFlow ackFlow = new TestAckFlow(clientConfig);
+
+            inEventLoop(eventLoopGroup, () -> {
+                handler.onNext(new MqttPublishWithFlow(publish("c/a", MqttQos.AT_MOST_ONCE, "1"), ackFlow, null));
+                handler.onNext(new MqttPublishWithFlow(publish("c/a", MqttQos.AT_MOST_ONCE, "2"), ackFlow, null));
+            });
+            inEventLoop(eventLoopGroup, () -> {});
+
+            assertEquals(Arrays.asList("1", "2"), payloads(readAllOutbound(channel)));
+            assertEquals(Arrays.asList("1", "2"), payloads(ackFlow.results));
+            for (final MqttPublishResult result : ackFlow.results) {
+                assertNull(result.getRawError());
+            }
+        } finally {
+            eventLoopGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static @NotNull MqttClientConfig createClientConfig(
+            final @NotNull DefaultEventLoopGroup eventLoopGroup,
+            final @NotNull MqttClientAdvancedConfig advancedConfig) {
+
+        final MqttClientExecutorConfigImpl executorConfig =
+                new MqttClientExecutorConfigImplBuilder.Default().nettyExecutor(eventLoopGroup).build();
+        return new MqttClientConfig(MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("test"),
+                MqttClientTransportConfigImpl.DEFAULT, executorConfig, advancedConfig,
+                MqttClientConfig.ConnectDefaults.of(null, null, null), ImmutableList.of(), ImmutableList.of());
+    }
+
+    private static @NotNull EmbeddedChannel startSession(
+            final @NotNull DefaultEventLoopGroup eventLoopGroup, final @NotNull MqttOutgoingQosHandler handler)
+            throws Exception {
+
+        final MqttClientConnectionConfig connectionConfig = mock(MqttClientConnectionConfig.class);
+        when(connectionConfig.getSendMaximum()).thenReturn(10);
+        final EmbeddedChannel[] channel = new EmbeddedChannel[1];
+        inEventLoop(eventLoopGroup, () -> {
+            channel[0] = new EmbeddedChannel(handler);
+            handler.onSessionStartOrResume(connectionConfig, eventLoopGroup.next());
+        });
+        return channel[0];
+    }
+
+    private static void inEventLoop(
+            final @NotNull DefaultEventLoopGroup eventLoopGroup, final @NotNull Runnable runnable) throws Exception {
+
+        eventLoopGroup.submit(runnable).get(10, TimeUnit.SECONDS);
+    }
+
+    private static @NotNull MqttPublish publish(
+            final @NotNull String topic, final @NotNull MqttQos qos, final @NotNull String payload) {
+
+        return new MqttPublishBuilder.Default().topic(topic)
+                .qos(qos)
+                .payload(payload.getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private static @NotNull List<MqttPublish> readAllOutbound(final @NotNull EmbeddedChannel channel) {
+        final List<MqttPublish> publishes = new ArrayList<>();
+        MqttStatefulPublish publish;
+        while ((publish = channel.readOutbound()) != null) {
+            publishes.add(publish.stateless());
+        }
+        return publishes;
+    }
+
+    private static @NotNull List<String> payloads(final @NotNull List<?> publishesOrResults) {
+        final List<String> payloads = new ArrayList<>();
+        for (final Object o : publishesOrResults) {
+            final MqttPublish publish =
+                    (o instanceof MqttPublishResult) ? ((MqttPublishResult) o).getPublish() : (MqttPublish) o;
+            payloads.add(new String(publish.getPayloadAsBytes(), StandardCharsets.UTF_8));
+        }
+        return payloads;
+    }
+
+    private static class TestAckFlow extends MqttAckFlow {
+
+        final @NotNull List<MqttPublishResult> results = new ArrayList<>();
+
+        TestAckFlow(final @NotNull MqttClientConfig clientConfig) {
+            super(clientConfig);
+        }
+
+        @Override
+        void onNext(final @NotNull MqttPublishResult result) {
+            results.add(result);
+        }
+
+        @Override
+        void acknowledged(final long acknowledged) {}
+    }
+}
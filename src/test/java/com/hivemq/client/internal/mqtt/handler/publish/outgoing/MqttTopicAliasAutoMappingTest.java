@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.TOPIC_ALIAS_FLAG_NEW;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MqttTopicAliasAutoMappingTest {
+
+    @Test
+    void onPublish_newAndExistingTopicAlias() {
+        final MqttTopicAliasAutoMapping mapping = new MqttTopicAliasAutoMapping(2);
+        final MqttTopicImpl topic = MqttTopicImpl.of("test/topic");
+
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(topic));
+        assertEquals(1, mapping.onPublish(topic));
+        assertEquals(1, mapping.onPublish(topic));
+    }
+
+    @Test
+    void onPublish_binaryAndStringTopicMapToSameTopicAlias() {
+        final MqttTopicAliasAutoMapping mapping = new MqttTopicAliasAutoMapping(2);
+        final MqttTopicImpl topic = MqttTopicImpl.of("test/topic");
+        final MqttTopicImpl binaryTopic = MqttTopicImpl.of("test/topic".getBytes(StandardCharsets.UTF_8));
+        assertNotNull(binaryTopic);
+
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(topic));
+        assertEquals(1, mapping.onPublish(binaryTopic));
+    }
+
+    @Test
+    void onPublish_pinnedTopicAliases() {
+        final MqttTopicAliasAutoMapping mapping = new MqttTopicAliasAutoMapping(
+                3, ImmutableList.of(MqttTopicImpl.of("pinned/1"), MqttTopicImpl.of("pinned/2")));
+
+        assertEquals(2 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("pinned/2")));
+        assertEquals(2, mapping.onPublish(MqttTopicImpl.of("pinned/2")));
+        assertEquals(3 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("other/1")));
+        assertEquals(DEFAULT_NO_TOPIC_ALIAS, mapping.onPublish(MqttTopicImpl.of("other/2")));
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("pinned/1")));
+    }
+
+    @Test
+    void onPublish_pinnedTopicAliasesLimitedByTopicAliasMaximum() {
+        final MqttTopicAliasAutoMapping mapping = new MqttTopicAliasAutoMapping(
+                1, ImmutableList.of(MqttTopicImpl.of("pinned/1"), MqttTopicImpl.of("pinned/2")));
+
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("pinned/1")));
+        assertEquals(DEFAULT_NO_TOPIC_ALIAS, mapping.onPublish(MqttTopicImpl.of("pinned/2")));
+    }
+
+    @Test
+    void onPublish_pinnedTopicAliasesAreNotReplaced() {
+        final MqttTopicAliasAutoMapping mapping =
+                new MqttTopicAliasAutoMapping(1, ImmutableList.of(MqttTopicImpl.of("pinned")));
+        final MqttTopicImpl other = MqttTopicImpl.of("other");
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(DEFAULT_NO_TOPIC_ALIAS, mapping.onPublish(other));
+        }
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("pinned")));
+    }
+
+    @Test
+    void getSavedBytes() {
+        final MqttTopicAliasAutoMapping mapping = new MqttTopicAliasAutoMapping(1);
+        final MqttTopicImpl topic = MqttTopicImpl.of("test/topic"); // 10 bytes
+
+        assertEquals(0, mapping.getSavedBytes());
+        mapping.onPublish(topic);
+        assertEquals(-3, mapping.getSavedBytes());
+        mapping.onPublish(topic);
+        assertEquals(4, mapping.getSavedBytes());
+        mapping.onPublish(topic);
+        assertEquals(11, mapping.getSavedBytes());
+        mapping.onPublish(MqttTopicImpl.of("other")); // no topic alias
+        assertEquals(11, mapping.getSavedBytes());
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.util;
+
+import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectEvent;
+import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
+import com.hivemq.client.internal.netty.MqttTimer;
+import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5DisconnectException;
+import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MqttTimeoutInboundHandlerTest {
+
+    private static final long TIMEOUT_MS = 100;
+
+    private final @NotNull DefaultEventLoopGroup eventLoopGroup = new DefaultEventLoopGroup(1);
+    private final @NotNull List<MqttDisconnectEvent> disconnectEvents = new CopyOnWriteArrayList<>();
+    private @Nullable Channel server;
+    private @Nullable Channel channel;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (channel != null) {
+            channel.close().await(10, TimeUnit.SECONDS);
+        }
+        if (server != null) {
+            server.close().await(10, TimeUnit.SECONDS);
+        }
+        eventLoopGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).await(10, TimeUnit.SECONDS);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void timeout_firesDisconnectEvent(final boolean sharedTimer) throws Exception {
+        final TestTimeoutHandler handler = new TestTimeoutHandler(MqttTimer.of(sharedTimer));
+        final Channel channel = connect(handler);
+
+        final long start = System.nanoTime();
+        channel.eventLoop()
+                .submit(() -> handler.operationComplete(channel.newSucceededFuture()))
+                .get(10, TimeUnit.SECONDS);
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (disconnectEvents.isEmpty()) {
+            assertTrue(System.nanoTime() < deadline, "timeout did not fire in time");
+            Thread.sleep(10);
+        }
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MS));
+        final Throwable cause = disconnectEvents.get(0).getCause();
+        assertTrue(cause instanceof Mqtt5DisconnectException);
+        assertEquals("Timeout", cause.getMessage());
+        assertEquals(Mqtt5DisconnectReasonCode.KEEP_ALIVE_TIMEOUT,
+                ((Mqtt5DisconnectException) cause).getMqttMessage().getReasonCode());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void cancelTimeout_timeoutDoesNotFire(final boolean sharedTimer) throws Exception {
+        final TestTimeoutHandler handler = new TestTimeoutHandler(MqttTimer.of(sharedTimer));
+        final Channel channel = connect(handler);
+
+        channel.eventLoop().submit(() -> {
+            handler.operationComplete(channel.newSucceededFuture());
+            handler.cancelTimeout();
+            return null;
+        }).get(10, TimeUnit.SECONDS);
+
+        Thread.sleep(TIMEOUT_MS * 3);
+        assertTrue(disconnectEvents.isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void disconnectEvent_cancelsTimeout(final boolean sharedTimer) throws Exception {
+        final TestTimeoutHandler handler = new TestTimeoutHandler(MqttTimer.of(sharedTimer));
+        final Channel channel = connect(handler);
+
+        channel.eventLoop().submit(() -> {
+            handler.operationComplete(channel.newSucceededFuture());
+            MqttDisconnectUtil.close(channel, "test");
+            return null;
+        }).get(10, TimeUnit.SECONDS);
+
+        Thread.sleep(TIMEOUT_MS * 3);
+        assertEquals(1, disconnectEvents.size());
+        assertEquals("test", disconnectEvents.get(0).getCause().getMessage());
+    }
+
+    private @NotNull Channel connect(final @NotNull TestTimeoutHandler handler) throws Exception {
+        final LocalAddress address = new LocalAddress("timeout-" + System.nanoTime());
+        server = new ServerBootstrap().group(eventLoopGroup)
+                .channel(LocalServerChannel.class)
+                .childHandler(new ChannelInboundHandlerAdapter())
+                .bind(address)
+                .sync()
+                .channel();
+        final Channel channel = new Bootstrap().group(eventLoopGroup)
+                .channel(LocalChannel.class)
+                .handler(new ChannelInboundHandlerAdapter())
+                .connect(address)
+                .sync()
+                .channel();
+        this.channel = channel;
+        channel.eventLoop().submit(() -> {
+            channel.pipeline().addLast(handler).addLast(new ChannelInboundHandlerAdapter() {
+                @Override
+                public void userEventTriggered(final @NotNull ChannelHandlerContext ctx, final @NotNull Object evt) {
+                    if (evt instanceof MqttDisconnectEvent) {
+                        disconnectEvents.add((MqttDisconnectEvent) evt);
+                    }
+                }
+            });
+        }).get(10, TimeUnit.SECONDS);
+        return channel;
+    }
+
+    private static class TestTimeoutHandler extends MqttTimeoutInboundHandler {
+
+        TestTimeoutHandler(final @NotNull MqttTimer timer) {
+            super(timer);
+        }
+
+        @Override
+        protected long getTimeoutMs() {
+            return TIMEOUT_MS;
+        }
+
+        @Override
+        protected @NotNull Mqtt5DisconnectReasonCode getTimeoutReasonCode() {
+            return Mqtt5DisconnectReasonCode.KEEP_ALIVE_TIMEOUT;
+        }
+
+        @Override
+        protected @NotNull String getTimeoutReasonString() {
+            return "Timeout";
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.websocket;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MqttWebSocketFrameCoalescerTest {
+
+    @Test
+    void write_coalescedUntilFlush() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new MqttWebSocketFrameCoalescer());
+
+        final ChannelFuture future1 = channel.write(Unpooled.wrappedBuffer(new byte[]{1, 2}));
+        final ChannelFuture future2 = channel.write(Unpooled.wrappedBuffer(new byte[]{3}));
+        channel.write(Unpooled.wrappedBuffer(new byte[]{4, 5, 6}), channel.voidPromise());
+        assertNull(channel.readOutbound());
+        assertFalse(future1.isDone());
+
+        channel.flush();
+        final ByteBuf frame = channel.readOutbound();
+        assertEquals(Unpooled.wrappedBuffer(new byte[]{1, 2, 3, 4, 5, 6}), frame);
+        frame.release();
+        assertNull(channel.readOutbound());
+        assertTrue(future1.isSuccess());
+        assertTrue(future2.isSuccess());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    void write_otherMessage_flushesPendingInOrder() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new MqttWebSocketFrameCoalescer());
+
+        channel.write(Unpooled.wrappedBuffer(new byte[]{1}));
+        channel.write(Unpooled.wrappedBuffer(new byte[]{2}));
+        channel.write("other");
+        channel.write(Unpooled.wrappedBuffer(new byte[]{3}));
+        channel.flush();
+
+        final ByteBuf frame1 = channel.readOutbound();
+        assertEquals(Unpooled.wrappedBuffer(new byte[]{1, 2}), frame1);
+        frame1.release();
+        assertEquals("other", channel.readOutbound());
+        final ByteBuf frame2 = channel.readOutbound();
+        assertEquals(Unpooled.wrappedBuffer(new byte[]{3}), frame2);
+        frame2.release();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    void write_maxFrameSizeExceeded_splitsFrames() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new MqttWebSocketFrameCoalescer());
+
+        final int packetSize = MqttWebSocketFrameCoalescer.MAX_FRAME_SIZE / 2 + 1;
+        channel.write(Unpooled.buffer(packetSize).writeZero(packetSize));
+        channel.write(Unpooled.buffer(packetSize).writeZero(packetSize));
+        channel.flush();
+
+        for (int i = 0; i < 2; i++) {
+            final ByteBuf frame = channel.readOutbound();
+            assertEquals(packetSize, frame.readableBytes());
+            frame.release();
+        }
+        assertNull(channel.readOutbound());
+        assertFalse(channel.finish());
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MqttDecodedPublishTest {
+
+    @Test
+    void decode() throws Exception {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic")
+                .payload("payload".getBytes(StandardCharsets.UTF_8))
+                .build();
+        final MqttDecodedPublish<String> decodedPublish = MqttDecodedPublish.decode(publish, payload -> {
+            assertTrue(payload.isReadOnly());
+            return StandardCharsets.UTF_8.decode(payload).toString();
+        });
+        assertSame(publish, decodedPublish.getPublish());
+        assertEquals("payload", decodedPublish.getDecodedPayload());
+    }
+
+    @Test
+    void decode_noPayload_emptyBuffer() throws Exception {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").build();
+        final MqttDecodedPublish<Integer> decodedPublish = MqttDecodedPublish.decode(publish, payload -> {
+            assertTrue(payload.isReadOnly());
+            return payload.remaining();
+        });
+        assertEquals(0, decodedPublish.getDecodedPayload());
+    }
+
+    @Test
+    void decode_decoderThrows_propagates() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").build();
+        final IllegalArgumentException exception = new IllegalArgumentException("malformed");
+        assertSame(exception, assertThrows(IllegalArgumentException.class, () -> MqttDecodedPublish.decode(publish,
+                payload -> {
+                    throw exception;
+                })));
+    }
+
+    @Test
+    void decode_decoderReturnsNull_throws() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").build();
+        assertThrows(NullPointerException.class,
+                () -> MqttDecodedPublish.decode(publish, (ByteBuffer payload) -> null));
+    }
+
+    @Test
+    void equals() throws Exception {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").build();
+        final MqttDecodedPublish<String> decodedPublish1 = MqttDecodedPublish.decode(publish, payload -> "a");
+        final MqttDecodedPublish<String> decodedPublish2 = MqttDecodedPublish.decode(publish, payload -> "a");
+        final MqttDecodedPublish<String> decodedPublish3 = MqttDecodedPublish.decode(publish, payload -> "b");
+        assertEquals(decodedPublish1, decodedPublish2);
+        assertEquals(decodedPublish1.hashCode(), decodedPublish2.hashCode());
+        assertNotEquals(decodedPublish1, decodedPublish3);
+    }
+}
@@ -66,4 +66,17 @@ class MqttPublishTest {
         };
         assertAll(IntStream.range(0, 16).mapToObj(i -> executable).parallel());
     }
+
+    @Test
+    void withMessageExpiryInterval() {
+        final byte[] payload = {1, 2, 3, 4, 5};
+        final MqttPublish publish =
+                new MqttPublishBuilder.Default().topic("topic").payload(payload).messageExpiryInterval(10).build();
+        final MqttPublish decremented = publish.withMessageExpiryInterval(4);
+        assertEquals(4, decremented.getRawMessageExpiryInterval());
+        assertEquals(publish.getTopic(), decremented.getTopic());
+        assertEquals(publish.getRawPayload(), decremented.getRawPayload());
+        assertEquals(10, publish.getRawMessageExpiryInterval());
+        assertEquals(publish, decremented.extend().messageExpiryInterval(10).build());
+    }
 }
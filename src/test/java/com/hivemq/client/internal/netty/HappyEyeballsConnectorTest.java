@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.Future;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HappyEyeballsConnectorTest {
+
+    private @NotNull NioEventLoopGroup eventLoopGroup;
+
+    @BeforeEach
+    void setUp() {
+        eventLoopGroup = new NioEventLoopGroup(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void interleave_alternatesAddressFamilies() throws Exception {
+        final InetSocketAddress ipv6a = new InetSocketAddress(InetAddress.getByName("::1"), 1883);
+        final InetSocketAddress ipv6b = new InetSocketAddress(InetAddress.getByName("::2"), 1883);
+        final InetSocketAddress ipv6c = new InetSocketAddress(InetAddress.getByName("::3"), 1883);
+        final InetSocketAddress ipv4a = new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 1883);
+        final InetSocketAddress ipv4b = new InetSocketAddress(InetAddress.getByName("127.0.0.2"), 1883);
+
+        assertEquals(Arrays.asList(ipv6a, ipv4a, ipv6b, ipv4b, ipv6c),
+                HappyEyeballsConnector.interleave(Arrays.asList(ipv6a, ipv6b, ipv6c, ipv4a, ipv4b)));
+        assertEquals(Arrays.asList(ipv4a, ipv6a, ipv4b, ipv6b),
+                HappyEyeballsConnector.interleave(Arrays.asList(ipv4a, ipv4b, ipv6a, ipv6b)));
+        assertEquals(Arrays.asList(ipv4a, ipv4b),
+                HappyEyeballsConnector.interleave(Arrays.asList(ipv4a, ipv4b)));
+    }
+
+    @Test
+    void connect_firstAddressRefused_connectsToSecond() throws Exception {
+        try (final ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final InetSocketAddress refused = refusedAddress();
+            final InetSocketAddress open =
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort());
+            final Handler handler = new Handler();
+
+            final Future<Channel> future =
+                    HappyEyeballsConnector.connect(bootstrap(handler), Arrays.asList(refused, open), null);
+
+            final Channel channel = future.get(5, TimeUnit.SECONDS);
+            assertEquals(open, channel.remoteAddress());
+            assertSame(handler, channel.pipeline().first());
+            assertSame(handler, channel.pipeline().last());
+            channel.close().sync();
+        }
+    }
+
+    @Test
+    void connect_allAddressesRefused_fails() throws Exception {
+        final Future<Channel> future = HappyEyeballsConnector.connect(
+                bootstrap(new Handler()), Arrays.asList(refusedAddress(), refusedAddress()), null);
+
+        final ExecutionException exception =
+                assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertNotNull(exception.getCause());
+    }
+
+    private @NotNull Bootstrap bootstrap(final @NotNull ChannelHandler handler) {
+        return new Bootstrap().group(eventLoopGroup.next()).channel(NioSocketChannel.class).handler(handler);
+    }
+
+    private static @NotNull InetSocketAddress refusedAddress() throws Exception {
+        final int port;
+        try (final ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = server.getLocalPort();
+        }
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+
+    private static class Handler extends ChannelInboundHandlerAdapter {}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.handler.codec.dns.*;
+import io.netty.resolver.dns.SingletonDnsServerAddressStreamProvider;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the resolver against a local stand-in DNS server which answers every A and AAAA query with a loopback address.
+ */
+class MqttDnsResolverTest {
+
+    private static final @NotNull String HOST = "mqtt.broker.test";
+    private static final long TTL_SECONDS = 60;
+
+    private @NotNull NioEventLoopGroup eventLoopGroup;
+    private @NotNull Channel dnsServer;
+    private final @NotNull AtomicInteger queries = new AtomicInteger();
+    private MqttDnsResolver.@NotNull Resolvers resolvers;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        eventLoopGroup = new NioEventLoopGroup(2);
+        dnsServer = new Bootstrap().group(eventLoopGroup)
+                .channel(NioDatagramChannel.class)
+                .handler(new ChannelInitializer<DatagramChannel>() {
+                    @Override
+                    protected void initChannel(final @NotNull DatagramChannel channel) {
+                        channel.pipeline()
+                                .addLast(new DatagramDnsQueryDecoder(), new DatagramDnsResponseEncoder(),
+                                        new DnsServerHandler());
+                    }
+                })
+                .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))
+                .sync()
+                .channel();
+        resolvers = new MqttDnsResolver.Resolvers(
+                new SingletonDnsServerAddressStreamProvider((InetSocketAddress) dnsServer.localAddress()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        resolvers.close();
+        dnsServer.close();
+        eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void resolveAll_returnsAddressesOfAllFamilies() throws Exception {
+        final List<InetAddress> addresses =
+                resolvers.resolveAll(eventLoopGroup.next(), NioDatagramChannel::new, HOST).get(5, TimeUnit.SECONDS);
+
+        final HashSet<InetAddress> expected = new HashSet<>();
+        expected.add(InetAddress.getByName("127.0.0.1"));
+        expected.add(InetAddress.getByName("::1"));
+        assertEquals(expected, new HashSet<>(addresses));
+    }
+
+    @Test
+    void resolveAll_cacheIsSharedBetweenEventLoops() throws Exception {
+        resolvers.resolveAll(eventLoopGroup.next(), NioDatagramChannel::new, HOST).get(5, TimeUnit.SECONDS);
+        final int queriesAfterFirstResolve = queries.get();
+        resolvers.resolveAll(eventLoopGroup.next(), NioDatagramChannel::new, HOST).get(5, TimeUnit.SECONDS);
+        resolvers.resolveAll(eventLoopGroup.next(), NioDatagramChannel::new, HOST).get(5, TimeUnit.SECONDS);
+
+        assertEquals(queriesAfterFirstResolve, queries.get());
+    }
+
+    private class DnsServerHandler extends SimpleChannelInboundHandler<DatagramDnsQuery> {
+
+        @Override
+        protected void channelRead0(final @NotNull ChannelHandlerContext ctx, final @NotNull DatagramDnsQuery query)
+                throws Exception {
+
+            queries.incrementAndGet();
+            final DnsQuestion question = query.recordAt(DnsSection.QUESTION);
+            final DatagramDnsResponse response = new DatagramDnsResponse(query.recipient(), query.sender(), query.id());
+            response.addRecord(DnsSection.QUESTION, question);
+            if (question.type() == DnsRecordType.A) {
+                response.addRecord(DnsSection.ANSWER, new DefaultDnsRawRecord(question.name(), DnsRecordType.A,
+                        TTL_SECONDS, Unpooled.wrappedBuffer(InetAddress.getByName("127.0.0.1").getAddress())));
+            } else if (question.type() == DnsRecordType.AAAA) {
+                response.addRecord(DnsSection.ANSWER, new DefaultDnsRawRecord(question.name(), DnsRecordType.AAAA,
+                        TTL_SECONDS, Unpooled.wrappedBuffer(InetAddress.getByName("::1").getAddress())));
+            }
+            ctx.writeAndFlush(response);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MqttTimerTest {
+
+    private final @NotNull DefaultEventLoopGroup eventLoopGroup = new DefaultEventLoopGroup(1);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        eventLoopGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).await(10, TimeUnit.SECONDS);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void schedule_runsTaskOnExecutorAfterDelay(final boolean shared) throws Exception {
+        final MqttTimer timer = MqttTimer.of(shared);
+        final EventLoop eventLoop = eventLoopGroup.next();
+        final CompletableFuture<Boolean> inEventLoop = new CompletableFuture<>();
+
+        final long start = System.nanoTime();
+        eventLoop.execute(() -> timer.schedule(
+                eventLoop, () -> inEventLoop.complete(eventLoop.inEventLoop()), 50, TimeUnit.MILLISECONDS));
+
+        assertTrue(inEventLoop.get(10, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void cancel_taskDoesNotRun(final boolean shared) throws Exception {
+        final MqttTimer timer = MqttTimer.of(shared);
+        final EventLoop eventLoop = eventLoopGroup.next();
+        final AtomicBoolean ran = new AtomicBoolean();
+
+        eventLoop.submit(() -> timer.schedule(eventLoop, () -> ran.set(true), 50, TimeUnit.MILLISECONDS).cancel())
+                .get(10, TimeUnit.SECONDS);
+
+        Thread.sleep(200);
+        assertFalse(ran.get());
+    }
+
+    @Test
+    void cancel_afterTimeoutWasHandedOverToExecutor_taskDoesNotRun() throws Exception {
+        final MqttTimer timer = MqttTimer.of(true);
+        final EventLoop eventLoop = eventLoopGroup.next();
+        final AtomicBoolean ran = new AtomicBoolean();
+
+        eventLoop.submit(() -> {
+            final MqttTimer.Cancellable cancellable =
+                    timer.schedule(eventLoop, () -> ran.set(true), 10, TimeUnit.MILLISECONDS);
+            // blocks the event loop until the timeout has fired and its task is queued on the event loop
+            try {
+                Thread.sleep(100);
+            } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            cancellable.cancel();
+        }).get(10, TimeUnit.SECONDS);
+
+        Thread.sleep(100);
+        assertFalse(ran.get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void nanoTime_isCloseToSystemTime(final boolean shared) throws Exception {
+        final MqttTimer timer = MqttTimer.of(shared);
+        final EventLoop eventLoop = eventLoopGroup.next();
+        // keeps the shared timer ticking during the test
+        final MqttTimer.Cancellable cancellable =
+                eventLoop.submit(() -> timer.schedule(eventLoop, () -> {}, 10, TimeUnit.SECONDS))
+                        .get(10, TimeUnit.SECONDS);
+        Thread.sleep(50);
+
+        final long before = System.nanoTime();
+        final long nanoTime = timer.nanoTime();
+        final long after = System.nanoTime();
+        assertTrue(nanoTime <= after);
+        // the shared timer updates its time every tick of 10 ms
+        assertTrue(nanoTime >= before - TimeUnit.MILLISECONDS.toNanos(100));
+
+        eventLoop.submit(cancellable::cancel).get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shared_stopsWhenIdle_andRestartsOnSchedule() throws Exception {
+        final MqttTimer.Shared timer = (MqttTimer.Shared) MqttTimer.of(true);
+        final EventLoop eventLoop = eventLoopGroup.next();
+        final CompletableFuture<Void> ran = new CompletableFuture<>();
+
+        eventLoop.execute(() -> timer.schedule(eventLoop, () -> ran.complete(null), 10, TimeUnit.MILLISECONDS));
+        ran.get(10, TimeUnit.SECONDS);
+        assertTrue(timer.isRunning());
+
+        // no timeouts are scheduled anymore, so the timer stops after its idle ticks
+        await(() -> !timer.isRunning());
+        final long before = System.nanoTime();
+        final long nanoTime = timer.nanoTime();
+        assertTrue(nanoTime >= before);
+
+        final CompletableFuture<Void> ranAgain = new CompletableFuture<>();
+        eventLoop.execute(() -> timer.schedule(eventLoop, () -> ranAgain.complete(null), 10, TimeUnit.MILLISECONDS));
+        ranAgain.get(10, TimeUnit.SECONDS);
+        assertTrue(timer.isRunning());
+    }
+
+    @Test
+    void shared_keepsRunningWhileTimeoutsAreScheduled() throws Exception {
+        final MqttTimer.Shared timer = (MqttTimer.Shared) MqttTimer.of(true);
+        final EventLoop eventLoop = eventLoopGroup.next();
+
+        final MqttTimer.Cancellable cancellable =
+                eventLoop.submit(() -> timer.schedule(eventLoop, () -> {}, 10, TimeUnit.SECONDS))
+                        .get(10, TimeUnit.SECONDS);
+        // longer than the idle ticks
+        Thread.sleep(TimeUnit.SECONDS.toMillis(2));
+        assertTrue(timer.isRunning());
+
+        eventLoop.submit(cancellable::cancel).get(10, TimeUnit.SECONDS);
+        await(() -> !timer.isRunning());
+    }
+
+    @Test
+    void shared_concurrentScheduleAndCancel_allTimeoutsAreCounted() throws Exception {
+        final MqttTimer.Shared timer = (MqttTimer.Shared) MqttTimer.of(true);
+        final DefaultEventLoopGroup eventLoops = new DefaultEventLoopGroup(4);
+        try {
+            final int count = 1000;
+            final CountDownLatch ran = new CountDownLatch(4 * count);
+            for (int i = 0; i < 4; i++) {
+                final EventLoop eventLoop = eventLoops.next();
+                eventLoop.execute(() -> {
+                    for (int j = 0; j < count; j++) {
+                        timer.schedule(eventLoop, ran::countDown, j % 20, TimeUnit.MILLISECONDS);
+                        timer.schedule(eventLoop, () -> {}, 1, TimeUnit.SECONDS).cancel();
+                    }
+                });
+            }
+            assertTrue(ran.await(10, TimeUnit.SECONDS));
+
+            // the timer only stops if every timeout was counted down again
+            await(() -> !timer.isRunning());
+        } finally {
+            eventLoops.shutdownGracefully(0, 1, TimeUnit.SECONDS).await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void await(final @NotNull BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -17,12 +17,17 @@
 package com.hivemq.client.internal.util;
 
 import com.google.common.base.Utf8;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
 /**
  * @author Silvio Giebl
@@ -43,6 +48,48 @@ class Utf8UtilTest {
         }
     }
 
+    @Test
+    void isWellFormed_byteBuffer_region() {
+        final Random random = new Random();
+        final byte[] bytes = new byte[100];
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 10);
+        for (int i = 0; i < 10_000; i++) {
+            random.nextBytes(bytes);
+            for (int j = 0; j < bytes.length; j += 3) {
+                bytes[j] &= 0x7F; // mix in ASCII so the word-at-a-time path is taken
+            }
+            final int offset = random.nextInt(10);
+            final int length = random.nextInt(bytes.length - offset);
+            final long expected = Utf8Util.isWellFormed(Arrays.copyOfRange(bytes, offset, offset + length));
+            assertEquals(Utf8.isWellFormed(bytes, offset, length), expected == 0);
+
+            assertEquals(expected, Utf8Util.isWellFormed(ByteBuffer.wrap(bytes, offset, length)));
+            direct.clear();
+            direct.put(bytes).position(offset).limit(offset + length);
+            assertEquals(expected, Utf8Util.isWellFormed(direct));
+            assertEquals(offset, direct.position());
+        }
+    }
+
+    @Test
+    void isWellFormed_byteBuf() {
+        final byte[] ascii = "topic/with/only/ascii/characters".getBytes(StandardCharsets.UTF_8);
+        final byte[] mixed = "température/温度/θερμοκρασία".getBytes(StandardCharsets.UTF_8);
+        final byte[] malformed = Arrays.copyOf(mixed, mixed.length - 1);
+
+        assertEquals(0, Utf8Util.isWellFormed(Unpooled.wrappedBuffer(ascii)));
+        assertEquals(0, Utf8Util.isWellFormed(Unpooled.wrappedBuffer(mixed)));
+        assertEquals(0, Utf8Util.isWellFormed(Unpooled.wrappedBuffer(Unpooled.wrappedBuffer(ascii),
+                Unpooled.wrappedBuffer(mixed))));
+        assertNotEquals(0, Utf8Util.isWellFormed(Unpooled.wrappedBuffer(malformed)));
+
+        final ByteBuf byteBuf = Unpooled.directBuffer().writeBytes(ascii).writeBytes(malformed);
+        byteBuf.readerIndex(ascii.length);
+        assertNotEquals(0, Utf8Util.isWellFormed(byteBuf));
+        assertEquals(ascii.length, byteBuf.readerIndex());
+        byteBuf.release();
+    }
+
     @Test
     void encodedLength() {
         final Random random = new Random();
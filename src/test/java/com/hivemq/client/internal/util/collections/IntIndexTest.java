@@ -228,6 +228,22 @@ class IntIndexTest {
         for (int i = 0; i < size; i++) {
             assertNull(map.get(i));
         }
+        for (int i = 0; i < size; i += 3) {
+            map.put(new Entry(i, "test" + i));
+        }
+        for (int i = 0; i < size; i++) {
+            assertEquals((i % 3 == 0) ? new Entry(i, "test" + i) : null, map.get(i));
+        }
+    }
+
+    @Test
+    void get_remove_forEach_empty() {
+        final IntIndex<Entry> map = new IntIndex<>(new IntIndex.Spec<>(e -> e.id));
+        assertNull(map.get(1));
+        assertNull(map.remove(1));
+        map.forEach(entry -> fail());
+        map.clear();
+        assertEquals(0, map.size());
     }
 
     @Test
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.testfixtures;
+
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.MqttTransportType;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt3.Mqtt3BlockingClient;
+import com.hivemq.client.mqtt.mqtt3.Mqtt3Client;
+import com.hivemq.client.mqtt.mqtt3.message.publish.Mqtt3Publish;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5BlockingClient;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5Client;
+import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MqttStandInBrokerTest {
+
+    @Test
+    void connAck_announcesReceiveMaximumAndTopicAliasMaximum() throws Exception {
+        try (final MqttStandInBroker broker = MqttStandInBroker.builder()
+                .receiveMaximum(10)
+                .topicAliasMaximum(5)
+                .start()) {
+
+            final Mqtt5BlockingClient client =
+                    Mqtt5Client.builder().serverPort(broker.getPort()).buildBlocking();
+            final Mqtt5ConnAck connAck = client.connect();
+
+            assertEquals(10, connAck.getRestrictions().getReceiveMaximum());
+            assertEquals(5, connAck.getRestrictions().getTopicAliasMaximum());
+            assertTrue(connAck.getAssignedClientIdentifier().isPresent());
+            client.disconnect();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = MqttQos.class)
+    void mqtt5_publish_subscribe(final MqttQos qos) throws Exception {
+        try (final MqttStandInBroker broker = MqttStandInBroker.builder().receiveMaximum(2).start()) {
+            final Mqtt5BlockingClient subscriber =
+                    Mqtt5Client.builder().serverPort(broker.getPort()).buildBlocking();
+            final Mqtt5BlockingClient publisher =
+                    Mqtt5Client.builder().serverPort(broker.getPort()).buildBlocking();
+            subscriber.connect();
+            publisher.connect();
+
+            try (final Mqtt5BlockingClient.Mqtt5Publishes publishes =
+                         subscriber.publishes(MqttGlobalPublishFilter.ALL)) {
+
+                subscriber.subscribeWith().topicFilter("test/+").qos(qos).send();
+                for (int i = 0; i < 10; i++) {
+                    publisher.publishWith()
+                            .topic("test/" + i)
+                            .qos(qos)
+                            .contentType("text/plain")
+                            .payload(("payload" + i).getBytes(StandardCharsets.UTF_8))
+                            .send();
+                }
+                for (int i = 0; i < 10; i++) {
+                    final Optional<Mqtt5Publish> publish = publishes.receive(10, TimeUnit.SECONDS);
+                    assertTrue(publish.isPresent());
+                    assertEquals("test/" + i, publish.get().getTopic().toString());
+                    assertEquals(qos, publish.get().getQos());
+                    assertEquals("text/plain", publish.get().getContentType().map(Object::toString).orElse(null));
+                    assertEquals("payload" + i, new String(publish.get().getPayloadAsBytes(), StandardCharsets.UTF_8));
+                }
+            }
+            subscriber.disconnect();
+            publisher.disconnect();
+        }
+    }
+
+    @Test
+    void mqtt3_local_publish_subscribe() throws Exception {
+        try (final MqttStandInBroker broker = MqttStandInBroker.builder().localAddress("standin").start()) {
+            final Mqtt3BlockingClient client = Mqtt3Client.builder()
+                    .transportConfig()
+                    .transportType(MqttTransportType.LOCAL)
+                    .serverPath("standin")
+                    .applyTransportConfig()
+                    .buildBlocking();
+            client.connect();
+
+            try (final Mqtt3BlockingClient.Mqtt3Publishes publishes = client.publishes(MqttGlobalPublishFilter.ALL)) {
+                client.subscribeWith().topicFilter("test/#").qos(MqttQos.EXACTLY_ONCE).send();
+                client.publishWith().topic("test/local").qos(MqttQos.AT_LEAST_ONCE).payload(new byte[10]).send();
+
+                final Optional<Mqtt3Publish> publish = publishes.receive(10, TimeUnit.SECONDS);
+                assertTrue(publish.isPresent());
+                assertEquals("test/local", publish.get().getTopic().toString());
+                assertEquals(MqttQos.AT_LEAST_ONCE, publish.get().getQos());
+                assertEquals(10, publish.get().getPayloadAsBytes().length);
+            }
+            client.disconnect();
+        }
+    }
+
+    @Test
+    void latency_delaysMessagesOfTheBroker() throws Exception {
+        try (final MqttStandInBroker broker =
+                     MqttStandInBroker.builder().latency(200, TimeUnit.MILLISECONDS).start()) {
+
+            final Mqtt5BlockingClient client = Mqtt5Client.builder().serverPort(broker.getPort()).buildBlocking();
+            final long start = System.nanoTime();
+            client.connect();
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+            client.disconnect();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.jfr;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MqttFlightRecorderTest {
+
+    private static final @NotNull String OUTGOING_PUBLISH = "com.hivemq.client.OutgoingPublish";
+    private static final @NotNull String INCOMING_PUBLISH = "com.hivemq.client.IncomingPublish";
+    private static final @NotNull String DECODE = "com.hivemq.client.Decode";
+    private static final @NotNull String STALL = "com.hivemq.client.FlowControlStall";
+
+    @Test
+    void begin_noRecording_returnsNull() {
+        assertNull(MqttFlightRecorder.beginOutgoingPublish(publish()));
+        assertNull(MqttFlightRecorder.beginIncomingPublish());
+        assertNull(MqttFlightRecorder.beginDecode());
+        assertNull(MqttFlightRecorder.beginStall(MqttFlightRecorder.STALL_SEND_MAXIMUM));
+    }
+
+    @Test
+    void begin_recordingStopped_returnsNull() {
+        try (final Recording recording = new Recording()) {
+            recording.enable(OUTGOING_PUBLISH);
+            recording.start();
+            assertNotNull(MqttFlightRecorder.beginOutgoingPublish(publish()));
+            recording.stop();
+        }
+        assertNull(MqttFlightRecorder.beginOutgoingPublish(publish()));
+    }
+
+    @Test
+    void begin_otherEventEnabled_returnsNull() {
+        try (final Recording recording = new Recording()) {
+            recording.enable(OUTGOING_PUBLISH);
+            recording.start();
+            assertNull(MqttFlightRecorder.beginIncomingPublish());
+            assertNull(MqttFlightRecorder.beginDecode());
+            assertNull(MqttFlightRecorder.beginStall(MqttFlightRecorder.STALL_SEND_MAXIMUM));
+        }
+    }
+
+    @Test
+    void outgoingPublish_recorded(final @TempDir @NotNull Path tempDir) throws IOException {
+        final List<RecordedEvent> events;
+        try (final Recording recording = new Recording()) {
+            recording.enable(OUTGOING_PUBLISH);
+            recording.start();
+            final Object event = MqttFlightRecorder.beginOutgoingPublish(publish());
+            assertNotNull(event);
+            MqttFlightRecorder.outgoingPublishWritten(event);
+            MqttFlightRecorder.endOutgoingPublish(event, null);
+            recording.stop();
+            events = readEvents(recording, tempDir, OUTGOING_PUBLISH);
+        }
+        assertEquals(1, events.size());
+        final RecordedEvent event = events.get(0);
+        assertEquals("test/topic", event.getString("topic"));
+        assertEquals(1, event.getInt("qos"));
+        assertEquals(3, event.getInt("payloadSize"));
+        assertNull(event.getString("error"));
+    }
+
+    @Test
+    void incomingPublish_recorded(final @TempDir @NotNull Path tempDir) throws IOException {
+        final List<RecordedEvent> events;
+        try (final Recording recording = new Recording()) {
+            recording.enable(INCOMING_PUBLISH);
+            recording.start();
+            final Object event = MqttFlightRecorder.beginIncomingPublish();
+            assertNotNull(event);
+            MqttFlightRecorder.incomingPublishMatched(event);
+            MqttFlightRecorder.endIncomingPublish(event, publish(), true);
+            recording.stop();
+            events = readEvents(recording, tempDir, INCOMING_PUBLISH);
+        }
+        assertEquals(1, events.size());
+        assertEquals("test/topic", events.get(0).getString("topic"));
+        assertTrue(events.get(0).getBoolean("buffered"));
+    }
+
+    @Test
+    void decode_enabledExplicitly_recorded(final @TempDir @NotNull Path tempDir) throws IOException {
+        final List<RecordedEvent> events;
+        try (final Recording recording = new Recording()) {
+            recording.enable(DECODE);
+            recording.start();
+            final Object event = MqttFlightRecorder.beginDecode();
+            assertNotNull(event);
+            MqttFlightRecorder.endDecode(event, 3, 42);
+            recording.stop();
+            events = readEvents(recording, tempDir, DECODE);
+        }
+        assertEquals(1, events.size());
+        assertEquals("PUBLISH", events.get(0).getString("messageType"));
+        assertEquals(42, events.get(0).getInt("packetSize"));
+    }
+
+    @Test
+    void stall_recorded(final @TempDir @NotNull Path tempDir) throws IOException {
+        final List<RecordedEvent> events;
+        try (final Recording recording = new Recording()) {
+            recording.enable(STALL);
+            recording.start();
+            final Object event = MqttFlightRecorder.beginStall(MqttFlightRecorder.STALL_CHANNEL_NOT_WRITABLE);
+            assertNotNull(event);
+            MqttFlightRecorder.endStall(event);
+            recording.stop();
+            events = readEvents(recording, tempDir, STALL);
+        }
+        assertEquals(1, events.size());
+        assertEquals("channel not writable", events.get(0).getString("reason"));
+    }
+
+    private static @NotNull MqttPublish publish() {
+        return new MqttPublishBuilder.Default().topic("test/topic")
+                .qos(MqttQos.AT_LEAST_ONCE)
+                .payload(new byte[]{1, 2, 3})
+                .build();
+    }
+
+    private static @NotNull List<RecordedEvent> readEvents(
+            final @NotNull Recording recording, final @NotNull Path tempDir, final @NotNull String name)
+            throws IOException {
+
+        final Path file = tempDir.resolve("recording.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file)
+                .stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.testfixtures;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.util.Checks;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal in-process MQTT 3.1.1 and 5.0 broker stand-in for end-to-end tests, benchmarks and load tests which must run
+ * without an external broker.
+ * <p>
+ * The stand-in listens on TCP loopback or on a Netty {@link LocalAddress local address} (usable with the {@link
+ * com.hivemq.client.mqtt.MqttTransportType#LOCAL LOCAL} transport type of the client). It supports:
+ * <ul>
+ *   <li>clean sessions only, no session state is kept after a disconnect
+ *   <li>subscriptions with wildcards, overlapping subscriptions of one client deliver once with the maximum QoS
+ *   <li>QoS 0, 1 and 2 in both directions, outgoing messages respect the Receive Maximum of the client
+ *   <li>a configurable Receive Maximum and Topic Alias Maximum which are sent to MQTT 5 clients in the ConnAck
+ *   <li>an artificial latency which delays every message sent by the broker
+ * </ul>
+ * Retained messages, shared subscriptions, subscription identifiers, Will messages and enhanced authentication are not
+ * supported.
+ */
+public final class MqttStandInBroker implements AutoCloseable {
+
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    private final @NotNull EventLoopGroup eventLoopGroup;
+    private final @NotNull Channel serverChannel;
+    private final int receiveMaximum;
+    private final int topicAliasMaximum;
+    private final long latencyNanos;
+    private final @NotNull Set<MqttStandInBrokerHandler> handlers = ConcurrentHashMap.newKeySet();
+
+    private MqttStandInBroker(final @NotNull Builder builder) throws InterruptedException {
+        receiveMaximum = builder.receiveMaximum;
+        topicAliasMaximum = builder.topicAliasMaximum;
+        latencyNanos = builder.latencyNanos;
+
+        final ServerBootstrap bootstrap = new ServerBootstrap();
+        final SocketAddress bindAddress;
+        if (builder.localAddress == null) {
+            eventLoopGroup = new NioEventLoopGroup(builder.threads);
+            bootstrap.channel(NioServerSocketChannel.class);
+            bindAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), builder.port);
+        } else {
+            eventLoopGroup = new DefaultEventLoopGroup(builder.threads);
+            bootstrap.channel(LocalServerChannel.class);
+            bindAddress = new LocalAddress(builder.localAddress);
+        }
+        try {
+            serverChannel = bootstrap.group(eventLoopGroup).childHandler(new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(final @NotNull Channel channel) {
+                    channel.pipeline().addLast(new MqttStandInBrokerHandler(MqttStandInBroker.this));
+                }
+            }).bind(bindAddress).sync().channel();
+        } catch (final Throwable t) {
+            eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+            throw t;
+        }
+    }
+
+    /**
+     * @return the address the broker listens on, either an {@link InetSocketAddress} or a {@link LocalAddress}.
+     */
+    public @NotNull SocketAddress getAddress() {
+        return serverChannel.localAddress();
+    }
+
+    /**
+     * @return the TCP port the broker listens on.
+     * @throws IllegalStateException if the broker listens on a local address.
+     */
+    public int getPort() {
+        final SocketAddress address = getAddress();
+        if (!(address instanceof InetSocketAddress)) {
+            throw new IllegalStateException("Broker listens on a local address.");
+        }
+        return ((InetSocketAddress) address).getPort();
+    }
+
+    /**
+     * @return the count of currently connected clients.
+     */
+    public int getConnectionCount() {
+        return handlers.size();
+    }
+
+    @Override
+    public void close() {
+        serverChannel.close().syncUninterruptibly();
+        eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS).syncUninterruptibly();
+    }
+
+    int getReceiveMaximum() {
+        return receiveMaximum;
+    }
+
+    int getTopicAliasMaximum() {
+        return topicAliasMaximum;
+    }
+
+    long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    void onConnected(final @NotNull MqttStandInBrokerHandler handler) {
+        handlers.add(handler);
+    }
+
+    void onDisconnected(final @NotNull MqttStandInBrokerHandler handler) {
+        handlers.remove(handler);
+    }
+
+    /**
+     * Routes a Publish message to all matching subscribers.
+     *
+     * @param topic      the topic of the Publish message.
+     * @param qos        the QoS of the Publish message.
+     * @param payload    the payload, only retained by this method for every subscriber.
+     * @param properties the encoded MQTT 5 properties which are forwarded to MQTT 5 subscribers, only retained by this
+     *                   method for every subscriber.
+     */
+    void route(
+            final @NotNull MqttTopicImpl topic,
+            final int qos,
+            final @NotNull ByteBuf payload,
+            final @Nullable ByteBuf properties) {
+
+        for (final MqttStandInBrokerHandler handler : handlers) {
+            final int subscriptionQos = handler.getSubscriptionQos(topic);
+            if (subscriptionQos >= 0) {
+                handler.deliver(topic, Math.min(qos, subscriptionQos), payload.retainedDuplicate(),
+                        (properties == null) ? null : properties.retainedDuplicate());
+            }
+        }
+    }
+
+    public static final class Builder {
+
+        private int receiveMaximum = 65_535;
+        private int topicAliasMaximum = 0;
+        private long latencyNanos = 0;
+        private int port = 0;
+        private @Nullable String localAddress;
+        private int threads = 1;
+
+        Builder() {}
+
+        /**
+         * Sets the Receive Maximum the broker announces to MQTT 5 clients, which limits the amount of concurrent QoS 1
+         * and 2 Publish messages the client may send.
+         *
+         * @param receiveMaximum the Receive Maximum, default 65535.
+         * @return the builder.
+         */
+        public @NotNull Builder receiveMaximum(final int receiveMaximum) {
+            this.receiveMaximum = Checks.unsignedShortNotZero(receiveMaximum, "Receive maximum");
+            return this;
+        }
+
+        /**
+         * Sets the Topic Alias Maximum the broker announces to MQTT 5 clients.
+         *
+         * @param topicAliasMaximum the Topic Alias Maximum, default 0 (no topic aliases).
+         * @return the builder.
+         */
+        public @NotNull Builder topicAliasMaximum(final int topicAliasMaximum) {
+            this.topicAliasMaximum = Checks.unsignedShort(topicAliasMaximum, "Topic alias maximum");
+            return this;
+        }
+
+        /**
+         * Sets the artificial latency by which every message sent by the broker is delayed.
+         *
+         * @param latency  the latency, default 0.
+         * @param timeUnit the time unit of the latency.
+         * @return the builder.
+         */
+        public @NotNull Builder latency(final long latency, final @NotNull TimeUnit timeUnit) {
+            Checks.notNull(timeUnit, "Time unit");
+            this.latencyNanos = Checks.range(timeUnit.toNanos(latency), 0, Long.MAX_VALUE, "Latency");
+            return this;
+        }
+
+        /**
+         * Sets the TCP loopback port the broker listens on.
+         *
+         * @param port the port, default 0 (any free port).
+         * @return the builder.
+         */
+        public @NotNull Builder port(final int port) {
+            this.port = Checks.unsignedShort(port, "Port");
+            this.localAddress = null;
+            return this;
+        }
+
+        /**
+         * Sets the name of the Netty local address the broker listens on instead of TCP loopback.
+         *
+         * @param localAddress the name of the local address.
+         * @return the builder.
+         */
+        public @NotNull Builder localAddress(final @NotNull String localAddress) {
+            this.localAddress = Checks.notEmpty(localAddress, "Local address");
+            return this;
+        }
+
+        /**
+         * Sets the amount of threads of the event loop group of the broker.
+         *
+         * @param threads the amount of threads, default 1.
+         * @return the builder.
+         */
+        public @NotNull Builder threads(final int threads) {
+            this.threads = (int) Checks.range(threads, 1, Integer.MAX_VALUE, "Threads");
+            return this;
+        }
+
+        /**
+         * Starts the broker.
+         *
+         * @return the started broker.
+         * @throws InterruptedException if interrupted while binding.
+         */
+        public @NotNull MqttStandInBroker start() throws InterruptedException {
+            return new MqttStandInBroker(this);
+        }
+    }
+}
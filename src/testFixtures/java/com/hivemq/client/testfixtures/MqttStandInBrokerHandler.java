@@ -0,0 +1,607 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.testfixtures;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.MqttProperty;
+import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Broker side of one connection of the {@link MqttStandInBroker}: decodes the messages sent by the client and encodes
+ * the messages sent to the client, the mirror image of the client's encoders and decoders.
+ * <p>
+ * All state except the subscriptions is only accessed on the event loop of the channel.
+ */
+class MqttStandInBrokerHandler extends ByteToMessageDecoder {
+
+    private static final int PROTOCOL_LEVEL_3_1_1 = 4;
+    private static final int PROTOCOL_LEVEL_5 = 5;
+    private static final int UNSUBACK_NO_SUBSCRIPTIONS_EXISTED = 0x11;
+
+    private final @NotNull MqttStandInBroker broker;
+    private @Nullable Channel channel;
+    private boolean connected;
+    private boolean mqtt5;
+    private boolean flushPending;
+    private int clientReceiveMaximum = 65_535;
+
+    private final @NotNull Map<MqttTopicFilterImpl, Integer> subscriptions = new ConcurrentHashMap<>();
+    private @Nullable MqttTopicImpl @Nullable [] topicAliases;
+    private final @NotNull Set<Integer> incomingQos2PacketIds = new HashSet<>();
+
+    private int nextPacketId = 1;
+    private int outgoingInFlight;
+    private final @NotNull ArrayDeque<Delivery> outgoingQueue = new ArrayDeque<>();
+
+    MqttStandInBrokerHandler(final @NotNull MqttStandInBroker broker) {
+        this.broker = broker;
+    }
+
+    @Override
+    public void handlerAdded(final @NotNull ChannelHandlerContext ctx) {
+        channel = ctx.channel();
+    }
+
+    @Override
+    protected void decode(
+            final @NotNull ChannelHandlerContext ctx, final @NotNull ByteBuf in, final @NotNull List<Object> out) {
+
+        if (in.readableBytes() < 2) {
+            return;
+        }
+        final int readerIndex = in.readerIndex();
+        final int fixedHeader = in.readUnsignedByte();
+        final int remainingLength = MqttVariableByteInteger.decode(in);
+        if (remainingLength == MqttVariableByteInteger.NOT_ENOUGH_BYTES) {
+            in.readerIndex(readerIndex);
+            return;
+        }
+        if (remainingLength < 0) {
+            closeMalformed(ctx, in);
+            return;
+        }
+        if (in.readableBytes() < remainingLength) {
+            in.readerIndex(readerIndex);
+            return;
+        }
+        final ByteBuf message = in.readSlice(remainingLength);
+        final Mqtt5MessageType type = Mqtt5MessageType.fromCode(fixedHeader >> 4);
+        final int flags = fixedHeader & 0xF;
+        if ((type == null) || (connected == (type == Mqtt5MessageType.CONNECT))) {
+            closeMalformed(ctx, in);
+            return;
+        }
+        try {
+            if (!readMessage(ctx, type, flags, message)) {
+                closeMalformed(ctx, in);
+            }
+        } catch (final IndexOutOfBoundsException e) {
+            closeMalformed(ctx, in);
+        }
+    }
+
+    private boolean readMessage(
+            final @NotNull ChannelHandlerContext ctx,
+            final @NotNull Mqtt5MessageType type,
+            final int flags,
+            final @NotNull ByteBuf message) {
+
+        switch (type) {
+            case CONNECT:
+                return readConnect(message);
+            case PUBLISH:
+                return readPublish(flags, message);
+            case PUBACK:
+            case PUBCOMP:
+                onOutgoingComplete();
+                return true;
+            case PUBREC:
+                send(ackMessage(Mqtt5MessageType.PUBREL, 0b0010, message.readUnsignedShort()), false);
+                return true;
+            case PUBREL:
+                final int packetId = message.readUnsignedShort();
+                incomingQos2PacketIds.remove(packetId);
+                send(ackMessage(Mqtt5MessageType.PUBCOMP, 0, packetId), false);
+                return true;
+            case SUBSCRIBE:
+                return readSubscribe(message);
+            case UNSUBSCRIBE:
+                return readUnsubscribe(message);
+            case PINGREQ:
+                send(message(Mqtt5MessageType.PINGRESP, 0, 0), false);
+                return true;
+            case DISCONNECT:
+                ctx.close();
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private boolean readConnect(final @NotNull ByteBuf message) {
+        if (MqttUtf8StringImpl.decode(message) == null) {
+            return false;
+        }
+        final int protocolLevel = message.readUnsignedByte();
+        if ((protocolLevel != PROTOCOL_LEVEL_3_1_1) && (protocolLevel != PROTOCOL_LEVEL_5)) {
+            return false;
+        }
+        mqtt5 = protocolLevel == PROTOCOL_LEVEL_5;
+        message.skipBytes(3); // connect flags, keep alive
+        if (mqtt5) {
+            final ByteBuf properties = readProperties(message);
+            if (properties == null) {
+                return false;
+            }
+            while (properties.isReadable()) {
+                final int propertyIdentifier = properties.readUnsignedByte();
+                if (propertyIdentifier == MqttProperty.RECEIVE_MAXIMUM) {
+                    clientReceiveMaximum = properties.readUnsignedShort();
+                } else if (!skipProperty(propertyIdentifier, properties)) {
+                    return false;
+                }
+            }
+        }
+        final MqttUtf8StringImpl clientIdentifier = MqttUtf8StringImpl.decode(message);
+        if (clientIdentifier == null) {
+            return false;
+        }
+        connected = true;
+        broker.onConnected(this);
+
+        if (!mqtt5) {
+            final ByteBuf connAck = message(Mqtt5MessageType.CONNACK, 0, 2);
+            connAck.writeByte(0).writeByte(0);
+            send(connAck, false);
+            return true;
+        }
+        final MqttUtf8StringImpl assignedClientIdentifier = (clientIdentifier.encodedLength() == 2) ?
+                MqttUtf8StringImpl.of("standin-" + Integer.toHexString(System.identityHashCode(this))) : null;
+        final int receiveMaximum = broker.getReceiveMaximum();
+        final int topicAliasMaximum = broker.getTopicAliasMaximum();
+        if (topicAliasMaximum > 0) {
+            topicAliases = new MqttTopicImpl[topicAliasMaximum];
+        }
+        int propertiesLength = 3 * 2; // retain, subscription identifiers and shared subscriptions not available
+        if (assignedClientIdentifier != null) {
+            propertiesLength += 1 + assignedClientIdentifier.encodedLength();
+        }
+        if (receiveMaximum != 65_535) {
+            propertiesLength += 3;
+        }
+        if (topicAliasMaximum > 0) {
+            propertiesLength += 3;
+        }
+        final ByteBuf connAck = message(Mqtt5MessageType.CONNACK, 0,
+                2 + MqttVariableByteInteger.encodedLength(propertiesLength) + propertiesLength);
+        connAck.writeByte(0).writeByte(0);
+        MqttVariableByteInteger.encode(propertiesLength, connAck);
+        connAck.writeByte(MqttProperty.RETAIN_AVAILABLE).writeByte(0);
+        connAck.writeByte(MqttProperty.SUBSCRIPTION_IDENTIFIERS_AVAILABLE).writeByte(0);
+        connAck.writeByte(MqttProperty.SHARED_SUBSCRIPTION_AVAILABLE).writeByte(0);
+        if (assignedClientIdentifier != null) {
+            connAck.writeByte(MqttProperty.ASSIGNED_CLIENT_IDENTIFIER);
+            assignedClientIdentifier.encode(connAck);
+        }
+        if (receiveMaximum != 65_535) {
+            connAck.writeByte(MqttProperty.RECEIVE_MAXIMUM).writeShort(receiveMaximum);
+        }
+        if (topicAliasMaximum > 0) {
+            connAck.writeByte(MqttProperty.TOPIC_ALIAS_MAXIMUM).writeShort(topicAliasMaximum);
+        }
+        send(connAck, false);
+        return true;
+    }
+
+    private boolean readPublish(final int flags, final @NotNull ByteBuf message) {
+        final int qos = (flags & 0b0110) >> 1;
+        if (qos == 3) {
+            return false;
+        }
+        final int topicLength = message.readUnsignedShort();
+        MqttTopicImpl topic = null;
+        if (topicLength > 0) {
+            final byte[] topicBinary = new byte[topicLength];
+            message.readBytes(topicBinary);
+            topic = MqttTopicImpl.of(topicBinary);
+            if (topic == null) {
+                return false;
+            }
+        }
+        final int packetId = (qos > 0) ? message.readUnsignedShort() : 0;
+
+        ByteBuf forwardedProperties = null;
+        if (mqtt5) {
+            final ByteBuf properties = readProperties(message);
+            if (properties == null) {
+                return false;
+            }
+            forwardedProperties = properties.alloc().buffer(properties.readableBytes());
+            try {
+                while (properties.isReadable()) {
+                    final int propertyStart = properties.readerIndex();
+                    final int propertyIdentifier = properties.readUnsignedByte();
+                    if (propertyIdentifier == MqttProperty.TOPIC_ALIAS) {
+                        final int topicAlias = properties.readUnsignedShort();
+                        if ((topicAliases == null) || (topicAlias == 0) || (topicAlias > topicAliases.length)) {
+                            return false;
+                        }
+                        if (topic == null) {
+                            topic = topicAliases[topicAlias - 1];
+                        } else {
+                            topicAliases[topicAlias - 1] = topic;
+                        }
+                    } else if (skipProperty(propertyIdentifier, properties)) {
+                        forwardedProperties.writeBytes(
+                                properties, propertyStart, properties.readerIndex() - propertyStart);
+                    } else {
+                        return false;
+                    }
+                }
+                if (topic == null) {
+                    return false;
+                }
+                routeOrDrop(topic, qos, packetId, message, forwardedProperties);
+            } finally {
+                forwardedProperties.release();
+            }
+        } else {
+            if (topic == null) {
+                return false;
+            }
+            routeOrDrop(topic, qos, packetId, message, null);
+        }
+
+        if (qos == 1) {
+            send(ackMessage(Mqtt5MessageType.PUBACK, 0, packetId), false);
+        } else if (qos == 2) {
+            send(ackMessage(Mqtt5MessageType.PUBREC, 0, packetId), false);
+        }
+        return true;
+    }
+
+    private void routeOrDrop(
+            final @NotNull MqttTopicImpl topic,
+            final int qos,
+            final int packetId,
+            final @NotNull ByteBuf payload,
+            final @Nullable ByteBuf properties) {
+
+        // a QoS 2 Publish message is forwarded only once, resent duplicates are only acknowledged again
+        if ((qos == 2) && !incomingQos2PacketIds.add(packetId)) {
+            return;
+        }
+        broker.route(topic, qos, payload, properties);
+    }
+
+    private boolean readSubscribe(final @NotNull ByteBuf message) {
+        final int packetId = message.readUnsignedShort();
+        if (mqtt5 && (readProperties(message) == null)) {
+            return false;
+        }
+        final int propertiesLength = mqtt5 ? 1 : 0;
+        final ByteBuf subAck = message.alloc().buffer(message.readableBytes());
+        try {
+            while (message.isReadable()) {
+                final MqttTopicFilterImpl topicFilter = MqttTopicFilterImpl.decode(message);
+                if (topicFilter == null) {
+                    return false;
+                }
+                final int qos = message.readUnsignedByte() & 0b11;
+                if (qos == 3) {
+                    return false;
+                }
+                subscriptions.put(topicFilter, qos);
+                subAck.writeByte(qos);
+            }
+            final ByteBuf subAckMessage =
+                    message(Mqtt5MessageType.SUBACK, 0, 2 + propertiesLength + subAck.readableBytes());
+            subAckMessage.writeShort(packetId);
+            if (mqtt5) {
+                subAckMessage.writeByte(0);
+            }
+            subAckMessage.writeBytes(subAck);
+            send(subAckMessage, false);
+            return true;
+        } finally {
+            subAck.release();
+        }
+    }
+
+    private boolean readUnsubscribe(final @NotNull ByteBuf message) {
+        final int packetId = message.readUnsignedShort();
+        if (mqtt5 && (readProperties(message) == null)) {
+            return false;
+        }
+        final ByteBuf reasonCodes = message.alloc().buffer(message.readableBytes());
+        try {
+            while (message.isReadable()) {
+                final MqttTopicFilterImpl topicFilter = MqttTopicFilterImpl.decode(message);
+                if (topicFilter == null) {
+                    return false;
+                }
+                reasonCodes.writeByte(
+                        (subscriptions.remove(topicFilter) == null) ? UNSUBACK_NO_SUBSCRIPTIONS_EXISTED : 0);
+            }
+            final ByteBuf unsubAck;
+            if (mqtt5) {
+                unsubAck = message(Mqtt5MessageType.UNSUBACK, 0, 2 + 1 + reasonCodes.readableBytes());
+                unsubAck.writeShort(packetId).writeByte(0).writeBytes(reasonCodes);
+            } else {
+                unsubAck = message(Mqtt5MessageType.UNSUBACK, 0, 2);
+                unsubAck.writeShort(packetId);
+            }
+            send(unsubAck, false);
+            return true;
+        } finally {
+            reasonCodes.release();
+        }
+    }
+
+    /**
+     * Returns the maximum QoS of the subscriptions matching the given topic.
+     * <p>
+     * Thread safe, called on the event loop of the publishing connection.
+     *
+     * @param topic the topic.
+     * @return the maximum QoS or -1 if no subscription matches.
+     */
+    int getSubscriptionQos(final @NotNull MqttTopicImpl topic) {
+        int maxQos = -1;
+        for (final Map.Entry<MqttTopicFilterImpl, Integer> subscription : subscriptions.entrySet()) {
+            if ((subscription.getValue() > maxQos) && subscription.getKey().matches(topic)) {
+                maxQos = subscription.getValue();
+            }
+        }
+        return maxQos;
+    }
+
+    /**
+     * Delivers a Publish message to the client of this connection.
+     * <p>
+     * Thread safe, the message is sent on the event loop of this connection.
+     *
+     * @param topic      the topic.
+     * @param qos        the QoS.
+     * @param payload    the payload, released by this method.
+     * @param properties the encoded MQTT 5 properties, released by this method.
+     */
+    void deliver(
+            final @NotNull MqttTopicImpl topic,
+            final int qos,
+            final @NotNull ByteBuf payload,
+            final @Nullable ByteBuf properties) {
+
+        final Channel channel = this.channel;
+        if (channel == null) {
+            release(payload, properties);
+            return;
+        }
+        final Delivery delivery = new Delivery(topic, qos, payload, properties);
+        if (channel.eventLoop().inEventLoop()) {
+            deliver(delivery);
+        } else {
+            channel.eventLoop().execute(() -> deliver(delivery));
+        }
+    }
+
+    private void deliver(final @NotNull Delivery delivery) {
+        if (!connected) {
+            delivery.release();
+        } else if ((delivery.qos > 0) && (outgoingInFlight >= clientReceiveMaximum)) {
+            outgoingQueue.add(delivery);
+        } else {
+            sendPublish(delivery);
+        }
+    }
+
+    private void sendPublish(final @NotNull Delivery delivery) {
+        final ByteBuf properties = delivery.properties;
+        final int propertiesLength = (mqtt5 && (properties != null)) ? properties.readableBytes() : 0;
+        final int remainingLength = delivery.topic.encodedLength() + ((delivery.qos > 0) ? 2 : 0) +
+                (mqtt5 ? MqttVariableByteInteger.encodedLength(propertiesLength) + propertiesLength : 0) +
+                delivery.payload.readableBytes();
+        final ByteBuf publish = message(Mqtt5MessageType.PUBLISH, delivery.qos << 1, remainingLength);
+        delivery.topic.encode(publish);
+        if (delivery.qos > 0) {
+            publish.writeShort(nextPacketId());
+            outgoingInFlight++;
+        }
+        if (mqtt5) {
+            MqttVariableByteInteger.encode(propertiesLength, publish);
+            if (properties != null) {
+                publish.writeBytes(properties, properties.readerIndex(), propertiesLength);
+            }
+        }
+        publish.writeBytes(delivery.payload, delivery.payload.readerIndex(), delivery.payload.readableBytes());
+        delivery.release();
+        send(publish, true);
+    }
+
+    private void onOutgoingComplete() {
+        if (outgoingInFlight > 0) {
+            outgoingInFlight--;
+        }
+        final Delivery delivery = outgoingQueue.poll();
+        if (delivery != null) {
+            sendPublish(delivery);
+        }
+    }
+
+    private int nextPacketId() {
+        final int packetId = nextPacketId;
+        nextPacketId = (packetId == 65_535) ? 1 : packetId + 1;
+        return packetId;
+    }
+
+    private @NotNull ByteBuf message(
+            final @NotNull Mqtt5MessageType type, final int flags, final int remainingLength) {
+
+        final Channel channel = this.channel;
+        assert channel != null;
+        final ByteBuf message =
+                channel.alloc().ioBuffer(1 + MqttVariableByteInteger.encodedLength(remainingLength) + remainingLength);
+        message.writeByte((type.getCode() << 4) | flags);
+        MqttVariableByteInteger.encode(remainingLength, message);
+        return message;
+    }
+
+    private @NotNull ByteBuf ackMessage(final @NotNull Mqtt5MessageType type, final int flags, final int packetId) {
+        final ByteBuf message = message(type, flags, 2);
+        message.writeShort(packetId);
+        return message;
+    }
+
+    private void send(final @NotNull ByteBuf message, final boolean flush) {
+        final Channel channel = this.channel;
+        assert channel != null;
+        final long latencyNanos = broker.getLatencyNanos();
+        if (latencyNanos > 0) {
+            channel.eventLoop()
+                    .schedule(() -> channel.writeAndFlush(message, channel.voidPromise()), latencyNanos,
+                            TimeUnit.NANOSECONDS);
+        } else if (flush) {
+            channel.writeAndFlush(message, channel.voidPromise());
+        } else {
+            channel.write(message, channel.voidPromise());
+            flushPending = true;
+        }
+    }
+
+    @Override
+    public void channelReadComplete(final @NotNull ChannelHandlerContext ctx) {
+        if (flushPending) {
+            flushPending = false;
+            ctx.flush();
+        }
+        super.channelReadComplete(ctx);
+    }
+
+    @Override
+    protected void handlerRemoved0(final @NotNull ChannelHandlerContext ctx) {
+        connected = false;
+        broker.onDisconnected(this);
+        Delivery delivery;
+        while ((delivery = outgoingQueue.poll()) != null) {
+            delivery.release();
+        }
+    }
+
+    @Override
+    public void channelInactive(final @NotNull ChannelHandlerContext ctx) throws Exception {
+        connected = false;
+        broker.onDisconnected(this);
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void exceptionCaught(final @NotNull ChannelHandlerContext ctx, final @NotNull Throwable cause) {
+        ctx.close();
+    }
+
+    private static void closeMalformed(final @NotNull ChannelHandlerContext ctx, final @NotNull ByteBuf in) {
+        in.skipBytes(in.readableBytes());
+        ctx.close();
+    }
+
+    private static @Nullable ByteBuf readProperties(final @NotNull ByteBuf message) {
+        final int propertiesLength = MqttVariableByteInteger.decode(message);
+        if ((propertiesLength < 0) || (message.readableBytes() < propertiesLength)) {
+            return null;
+        }
+        return message.readSlice(propertiesLength);
+    }
+
+    private static boolean skipProperty(final int propertyIdentifier, final @NotNull ByteBuf properties) {
+        switch (propertyIdentifier) {
+            case MqttProperty.PAYLOAD_FORMAT_INDICATOR:
+            case MqttProperty.REQUEST_PROBLEM_INFORMATION:
+            case MqttProperty.REQUEST_RESPONSE_INFORMATION:
+                properties.skipBytes(1);
+                return true;
+            case MqttProperty.TOPIC_ALIAS_MAXIMUM:
+            case MqttProperty.RECEIVE_MAXIMUM:
+                properties.skipBytes(2);
+                return true;
+            case MqttProperty.MESSAGE_EXPIRY_INTERVAL:
+            case MqttProperty.SESSION_EXPIRY_INTERVAL:
+            case MqttProperty.WILL_DELAY_INTERVAL:
+            case MqttProperty.MAXIMUM_PACKET_SIZE:
+                properties.skipBytes(4);
+                return true;
+            case MqttProperty.SUBSCRIPTION_IDENTIFIER:
+                return MqttVariableByteInteger.decode(properties) >= 0;
+            case MqttProperty.CONTENT_TYPE:
+            case MqttProperty.RESPONSE_TOPIC:
+            case MqttProperty.CORRELATION_DATA:
+            case MqttProperty.AUTHENTICATION_METHOD:
+            case MqttProperty.AUTHENTICATION_DATA:
+                properties.skipBytes(properties.readUnsignedShort());
+                return true;
+            case MqttProperty.USER_PROPERTY:
+                properties.skipBytes(properties.readUnsignedShort());
+                properties.skipBytes(properties.readUnsignedShort());
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static void release(final @NotNull ByteBuf payload, final @Nullable ByteBuf properties) {
+        payload.release();
+        if (properties != null) {
+            properties.release();
+        }
+    }
+
+    private static final class Delivery {
+
+        final @NotNull MqttTopicImpl topic;
+        final int qos;
+        final @NotNull ByteBuf payload;
+        final @Nullable ByteBuf properties;
+
+        Delivery(
+                final @NotNull MqttTopicImpl topic,
+                final int qos,
+                final @NotNull ByteBuf payload,
+                final @Nullable ByteBuf properties) {
+
+            this.topic = topic;
+            this.qos = qos;
+            this.payload = payload;
+            this.properties = properties;
+        }
+
+        void release() {
+            MqttStandInBrokerHandler.release(payload, properties);
+        }
+    }
+}